@@ -0,0 +1,68 @@
+package physicianconnect.logic;
+
+import org.openjdk.jmh.annotations.*;
+import physicianconnect.logic.manager.PhysicianManager;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
+import physicianconnect.persistence.stub.PhysicianPersistenceStub;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searching a year of schedules for the next openings. Every physician is
+ * about 95% booked on weekdays, so the search has to skip a lot of taken
+ * slots before it finds free ones.
+ *
+ * Run with ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SlotSearchBenchmark {
+
+    @Param({ "300" })
+    public int physicianCount;
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = FROM.plusYears(1);
+
+    private SlotSearchService search;
+
+    @Setup(Level.Trial)
+    public void buildSchedules() {
+        Random random = new Random(42);
+        PhysicianPersistenceStub physicians = new PhysicianPersistenceStub(false);
+        AppointmentPersistenceStub appointments = new AppointmentPersistenceStub(false);
+        List<Appointment> batch = new ArrayList<>();
+        for (int p = 0; p < physicianCount; p++) {
+            String id = "doc" + p;
+            physicians.addPhysician(new Physician(id, "Dr " + p, id + "@bench", "pw"));
+            for (LocalDate day = FROM; day.isBefore(TO); day = day.plusDays(1)) {
+                for (int slot = 0; slot < TimeSlot.SLOTS_PER_DAY; slot++) {
+                    if (random.nextInt(100) < 95) {
+                        batch.add(new Appointment(id, "Patient", day.atTime(TimeSlot.DAY_START).plusMinutes(30L * slot)));
+                    }
+                }
+            }
+        }
+        appointments.addAppointments(batch);
+        Clock clock = Clock.fixed(FROM.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        search = new SlotSearchService(new PhysicianManager(physicians), new AvailabilityService(appointments), clock);
+    }
+
+    @Benchmark
+    public List<SlotSearchService.FreeSlot> firstTenSlotsInAYear() {
+        return search.findFreeSlots(null, FROM, TO, 10);
+    }
+}
@@ -0,0 +1,128 @@
+package physicianconnect.persistence;
+
+import org.openjdk.jmh.annotations.*;
+import physicianconnect.objects.Invoice;
+import physicianconnect.persistence.sqlite.InvoiceDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly invoice report over a 1M-row invoices table with two
+ * invoice_items rows each: the indexed created_at_epoch range query against
+ * the old approach of reading every invoice with its items and filtering on
+ * the parsed created_at in Java.
+ *
+ * Run with ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BillingMonthQueryBenchmark {
+
+    @Param({ "1000000" })
+    public int invoiceCount;
+
+    // ten years of history, so a month holds roughly 1/120 of the rows
+    private static final int MONTHS = 120;
+    private static final LocalDateTime FIRST_MONTH = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private InvoiceDB invoiceDB;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = Files.createTempFile("billing-month-bench", ".db");
+        pool = ConnectionPool.open(dbFile.toString(), 1, ConnectionPool.DEFAULT_TIMEOUT_MS);
+        Connection conn = pool.getWriterConnection();
+        SchemaInitializer.initializeSchema(conn);
+        invoiceDB = new InvoiceDB(pool);
+
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment_cents, "
+                + "total_cents, balance_cents, status, created_at) VALUES (?, NULL, ?, 0, 15000, 15000, 'Sent', ?)";
+        String itemSql = "INSERT INTO invoice_items (invoice_id, position, name, cost_cents) VALUES (?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+                PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+            for (int i = 0; i < invoiceCount; i++) {
+                LocalDateTime createdAt = FIRST_MONTH
+                        .plusMonths(i % MONTHS)
+                        .plusMinutes((i / MONTHS) % (28 * 24 * 60));
+                stmt.setString(1, "inv-" + i);
+                stmt.setString(2, "Patient " + (i % 5000));
+                stmt.setString(3, createdAt.toString());
+                stmt.addBatch();
+                addItem(itemStmt, "inv-" + i, 0, "Consult", 10000);
+                addItem(itemStmt, "inv-" + i, 1, "Lab", 5000);
+                if (i % 10_000 == 9_999) {
+                    stmt.executeBatch();
+                    itemStmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            itemStmt.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    private static void addItem(PreparedStatement stmt, String invoiceId, int position, String name, long costCents)
+            throws SQLException {
+        stmt.setString(1, invoiceId);
+        stmt.setInt(2, position);
+        stmt.setString(3, name);
+        stmt.setLong(4, costCents);
+        stmt.addBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(new File(dbFile + "-wal").toPath());
+        Files.deleteIfExists(new File(dbFile + "-shm").toPath());
+    }
+
+    @Benchmark
+    public List<Invoice> indexedMonthRange() {
+        return invoiceDB.getInvoicesByMonth(2020, 6);
+    }
+
+    @Benchmark
+    public int fullScanWithJavaFilter() throws SQLException {
+        int matches = 0;
+        String lastMatch = null;
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT i.*, it.name, it.cost_cents FROM invoices i "
+                        + "LEFT JOIN invoice_items it ON it.invoice_id = i.id ORDER BY i.id, it.position")) {
+            while (rs.next()) {
+                LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
+                if (createdAt.getYear() == 2020 && createdAt.getMonthValue() == 6) {
+                    String id = rs.getString("id");
+                    if (!id.equals(lastMatch)) {
+                        matches++;
+                        lastMatch = id;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+}
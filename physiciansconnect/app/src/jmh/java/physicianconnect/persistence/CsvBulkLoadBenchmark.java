@@ -0,0 +1,97 @@
+package physicianconnect.persistence;
+
+import org.openjdk.jmh.annotations.*;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a synthetic appointments CSV into a file-backed database: the
+ * batched single-transaction {@link DatabaseSeeder#loadCsv} path against one
+ * auto-committed INSERT per row, which is what the old seeder did.
+ *
+ * Run with ./gradlew jmh
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class CsvBulkLoadBenchmark {
+
+    @Param({ "20000" })
+    public int appointmentCount;
+
+    private static final int PHYSICIANS = 50;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private Path csvFile;
+    private Path dbFile;
+    private ConnectionPool pool;
+
+    @Setup(Level.Trial)
+    public void writeCsv() throws Exception {
+        csvFile = Files.createTempFile("appointments-bench", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csvFile)) {
+            out.write("physician_id,patient_name,datetime,notes\n");
+            for (int i = 0; i < appointmentCount; i++) {
+                LocalDateTime slot = FIRST_SLOT.plusMinutes(30L * (i / PHYSICIANS));
+                out.write("doc" + (i % PHYSICIANS) + ",Patient " + i + "," + slot + ",\"Follow-up, bring labs\"\n");
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshDatabase() throws Exception {
+        dbFile = Files.createTempFile("appointments-bench", ".db");
+        pool = ConnectionPool.open(dbFile.toString(), 1, ConnectionPool.DEFAULT_TIMEOUT_MS);
+        Connection conn = pool.getWriterConnection();
+        SchemaInitializer.initializeSchema(conn);
+        try (Statement stmt = conn.createStatement()) {
+            for (int p = 0; p < PHYSICIANS; p++) {
+                stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc" + p + "', 'Dr " + p
+                        + "', 'doc" + p + "@bench', 'pw')");
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void dropDatabase() throws Exception {
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(new File(dbFile + "-wal").toPath());
+        Files.deleteIfExists(new File(dbFile + "-shm").toPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCsv() throws Exception {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public long batchedCsvLoad() {
+        return DatabaseSeeder.loadCsv(pool.getWriterConnection(), "appointments", csvFile);
+    }
+
+    @Benchmark
+    public int autocommitPerRow() throws Exception {
+        Connection conn = pool.getWriterConnection();
+        int rows = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (int i = 0; i < appointmentCount; i++) {
+                LocalDateTime slot = FIRST_SLOT.plusMinutes(30L * (i / PHYSICIANS));
+                rows += stmt.executeUpdate("INSERT INTO appointments (physician_id, patient_name, datetime, notes) "
+                        + "VALUES ('doc" + (i % PHYSICIANS) + "', 'Patient " + i + "', '" + slot
+                        + "', 'Follow-up, bring labs')");
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,133 @@
+package physicianconnect.persistence;
+
+import org.openjdk.jmh.annotations.*;
+import physicianconnect.objects.RevenueSummary;
+import physicianconnect.persistence.sqlite.RevenueRollupDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revenue totals over a 1M-row invoices table with amounts in integer cents:
+ * a SUM over the whole table, a Java loop of long adds over every row, and
+ * the dashboard's RevenueSummary over the monthly rollups. Setup checks all
+ * three against the exact totals before anything is measured, so a drifting
+ * sum fails the run instead of being timed.
+ *
+ * Run with ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RevenueAggregationBenchmark {
+
+    @Param({ "1000000" })
+    public int invoiceCount;
+
+    private static final int MONTHS = 120;
+    private static final LocalDateTime FIRST_MONTH = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private RevenueRollupDB rollupDB;
+    private long expectedBilledCents;
+    private long expectedOutstandingCents;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = Files.createTempFile("revenue-aggregation-bench", ".db");
+        pool = ConnectionPool.open(dbFile.toString(), 1, ConnectionPool.DEFAULT_TIMEOUT_MS);
+        Connection conn = pool.getWriterConnection();
+        SchemaInitializer.initializeSchema(conn);
+        rollupDB = new RevenueRollupDB(pool);
+
+        // $0.10 to $99.99 totals: exactly the amounts a double cannot hold, so
+        // summing them as dollars would drift long before a million rows
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment_cents, "
+                + "total_cents, balance_cents, status, created_at) VALUES (?, NULL, ?, 0, ?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < invoiceCount; i++) {
+                long totalCents = 10 + (i * 7919L) % 9990;
+                long balanceCents = i % 3 == 0 ? 0 : i % 3 == 1 ? totalCents : totalCents / 3;
+                expectedBilledCents += totalCents;
+                expectedOutstandingCents += balanceCents;
+                stmt.setString(1, "inv-" + i);
+                stmt.setString(2, "Patient " + (i % 5000));
+                stmt.setLong(3, totalCents);
+                stmt.setLong(4, balanceCents);
+                stmt.setString(5, balanceCents == 0 ? "Paid" : balanceCents == totalCents ? "Sent" : "Partial");
+                stmt.setString(6, FIRST_MONTH.plusMonths(i % MONTHS).plusMinutes(i / MONTHS).toString());
+                stmt.addBatch();
+                if (i % 10_000 == 9_999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+        rollupDB.rebuild();
+
+        check("SQL SUM", sumInSql());
+        check("Java long sum", sumRowsInJava());
+        RevenueSummary summary = summaryFromRollups();
+        check("rollup summary", new long[] { summary.getTotalBilledCents(), summary.getOutstandingCents() });
+    }
+
+    private void check(String what, long[] billedAndOutstanding) {
+        if (billedAndOutstanding[0] != expectedBilledCents || billedAndOutstanding[1] != expectedOutstandingCents) {
+            throw new IllegalStateException(what + " gave " + billedAndOutstanding[0] + "/" + billedAndOutstanding[1]
+                    + " cents, expected " + expectedBilledCents + "/" + expectedOutstandingCents);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(new File(dbFile + "-wal").toPath());
+        Files.deleteIfExists(new File(dbFile + "-shm").toPath());
+    }
+
+    @Benchmark
+    public long[] sumInSql() throws SQLException {
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT SUM(total_cents), SUM(balance_cents) FROM invoices")) {
+            rs.next();
+            return new long[] { rs.getLong(1), rs.getLong(2) };
+        }
+    }
+
+    @Benchmark
+    public long[] sumRowsInJava() throws SQLException {
+        long billed = 0;
+        long outstanding = 0;
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT total_cents, balance_cents FROM invoices")) {
+            while (rs.next()) {
+                billed += rs.getLong(1);
+                outstanding += rs.getLong(2);
+            }
+        }
+        return new long[] { billed, outstanding };
+    }
+
+    @Benchmark
+    public RevenueSummary summaryFromRollups() {
+        return RevenueSummary.of(rollupDB.getRollups(null, null));
+    }
+}
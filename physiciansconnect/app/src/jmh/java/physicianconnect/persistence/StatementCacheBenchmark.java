@@ -0,0 +1,79 @@
+package physicianconnect.persistence;
+
+import org.openjdk.jmh.annotations.*;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Message;
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.persistence.sqlite.MessageDB;
+import physicianconnect.persistence.sqlite.PhysicianDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the two queries behind the polling timers, with the
+ * statement cache disabled (cacheSize = 0) and enabled.
+ *
+ * Run with ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class StatementCacheBenchmark {
+
+    @Param({ "0", "64" })
+    public int cacheSize;
+
+    private Path dbFile;
+    private ConnectionPool pool;
+    private MessageDB messageDB;
+    private AppointmentDB appointmentDB;
+    private LocalDateTime weekStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = Files.createTempFile("statement-cache-bench", ".db");
+        pool = ConnectionPool.open(dbFile.toString(), 1, ConnectionPool.DEFAULT_TIMEOUT_MS, cacheSize);
+        SchemaInitializer.initializeSchema(pool.getWriterConnection());
+
+        PhysicianDB physicianDB = new PhysicianDB(pool);
+        messageDB = new MessageDB(pool);
+        appointmentDB = new AppointmentDB(pool);
+
+        weekStart = LocalDateTime.of(2025, 6, 2, 8, 0);
+        for (int p = 0; p < 20; p++) {
+            String id = "doc" + p;
+            physicianDB.addPhysician(new Physician(id, "Dr " + p, id + "@clinic.test", "pw"));
+            for (int i = 0; i < 200; i++) {
+                appointmentDB.addAppointment(new Appointment(id, "Patient " + i,
+                        weekStart.plusMinutes(30L * i), "notes"));
+                messageDB.save(new Message("rec1", "receptionist", id, "physician", "msg " + i));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("cacheSize=%d %s%n", cacheSize, pool.getStatementCacheStats());
+        pool.close();
+        Files.deleteIfExists(dbFile);
+        Files.deleteIfExists(new File(dbFile + "-wal").toPath());
+        Files.deleteIfExists(new File(dbFile + "-shm").toPath());
+    }
+
+    @Benchmark
+    public int countUnreadMessages() {
+        return messageDB.countUnreadMessages("doc7", "physician");
+    }
+
+    @Benchmark
+    public List<Appointment> getAppointmentsForPhysicianInRange() {
+        return appointmentDB.getAppointmentsForPhysicianInRange("doc7", weekStart, weekStart.plusDays(1));
+    }
+}
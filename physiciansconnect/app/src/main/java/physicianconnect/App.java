@@ -5,10 +5,12 @@ import physicianconnect.logic.manager.AppointmentManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
 import physicianconnect.persistence.PersistenceFactory;
+import physicianconnect.presentation.util.EdtWatchdog;
 
 public class App {
     public static void main(String[] args) {
         PersistenceFactory.initialize(AppConfig.getPersistenceType(), AppConfig.shouldSeedData());
+        EdtWatchdog.start(AppConfig.getEdtStallThresholdMs());
 
         PhysicianManager physicianManager = new PhysicianManager(PersistenceFactory.getPhysicianPersistence());
         AppointmentManager appointmentManager = new AppointmentManager(PersistenceFactory.getAppointmentPersistence());
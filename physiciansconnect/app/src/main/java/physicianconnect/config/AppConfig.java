@@ -5,6 +5,7 @@ import physicianconnect.persistence.PersistenceType;
 public class AppConfig {
     private static PersistenceType persistenceType = PersistenceType.PROD;
     private static boolean seedData = true;
+    private static long edtStallThresholdMs = 500;
 
     public static void setPersistenceType(PersistenceType type) {
         persistenceType = type;
@@ -21,4 +22,12 @@ public class AppConfig {
     public static boolean shouldSeedData() {
         return seedData;
     }
-} 
\ No newline at end of file
+
+    public static void setEdtStallThresholdMs(long thresholdMs) {
+        edtStallThresholdMs = thresholdMs;
+    }
+
+    public static long getEdtStallThresholdMs() {
+        return edtStallThresholdMs;
+    }
+}
@@ -0,0 +1,62 @@
+package physicianconnect.events;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe hub for change events such as
+ * {@link MessageSent} and {@link NotificationAdded}. Writers publish right
+ * after a change is stored, so subscribers learn about it without polling
+ * the database.
+ *
+ * Events are delivered synchronously on the publishing thread, to the
+ * listeners registered for the event's exact class. Listeners that touch
+ * Swing must hop to the EDT themselves. A listener that throws does not stop
+ * delivery to the others.
+ */
+public class EventBus {
+    private static final EventBus DEFAULT = new EventBus();
+
+    private final Map<Class<?>, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    /** The bus shared by the persistence and presentation layers. */
+    public static EventBus getDefault() {
+        return DEFAULT;
+    }
+
+    /** Handle returned by {@link #subscribe}; closing it removes the listener. */
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public <E> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Consumer<Object> wrapped = event -> listener.accept(type.cast(event));
+        List<Consumer<Object>> forType = listeners.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+        forType.add(wrapped);
+        return () -> forType.remove(wrapped);
+    }
+
+    public void publish(Object event) {
+        List<Consumer<Object>> forType = listeners.get(event.getClass());
+        if (forType == null) {
+            return;
+        }
+        for (Consumer<Object> listener : forType) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public int getSubscriberCount(Class<?> type) {
+        List<Consumer<Object>> forType = listeners.get(type);
+        return forType == null ? 0 : forType.size();
+    }
+}
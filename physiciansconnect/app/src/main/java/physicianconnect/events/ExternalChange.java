@@ -0,0 +1,8 @@
+package physicianconnect.events;
+
+/**
+ * Another process committed to the database file, so anything cached from it
+ * may be stale. Carries SQLite's data_version after the change.
+ */
+public record ExternalChange(long dataVersion) {
+}
@@ -0,0 +1,11 @@
+package physicianconnect.events;
+
+import physicianconnect.objects.Message;
+
+/** A message was stored and is waiting for its receiver. */
+public record MessageSent(Message message) {
+
+    public boolean isFor(String userId, String userType) {
+        return message.getReceiverId().equals(userId) && message.getReceiverType().equals(userType);
+    }
+}
@@ -0,0 +1,11 @@
+package physicianconnect.events;
+
+import physicianconnect.objects.Notification;
+
+/** A notification was stored for a user. */
+public record NotificationAdded(Notification notification) {
+
+    public boolean isFor(String userId, String userType) {
+        return notification.getUserId().equals(userId) && notification.getUserType().equals(userType);
+    }
+}
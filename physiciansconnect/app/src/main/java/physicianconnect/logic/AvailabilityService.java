@@ -1,49 +1,50 @@
 package physicianconnect.logic;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
 
-import physicianconnect.persistence.sqlite.AppointmentDB;
+import physicianconnect.persistence.interfaces.AppointmentPersistence;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.DaySchedule;
 import physicianconnect.objects.TimeSlot;
 
+/**
+ * Builds the half-hour slot grids shown by the availability panels. Each view
+ * (a day, a week, or one day across many physicians) costs a single range
+ * query. Occupancy is kept as a {@link DaySchedule} bitmask per physician-day;
+ * the TimeSlot lists handed to the panels are views over it that create each
+ * slot only when it is read.
+ */
 public class AvailabilityService {
-    private final AppointmentDB appointmentDb;
+    private final AppointmentPersistence appointmentDb;
 
-    public AvailabilityService(AppointmentDB appointmentDb) {
+    public AvailabilityService(AppointmentPersistence appointmentDb) {
         this.appointmentDb = appointmentDb;
     }
 
     public List<TimeSlot> getDailyAvailability(String physicianId, LocalDate date)
             throws SQLException
     {
-        List<TimeSlot> slots = TimeSlot.generateDailySlots(date);
+        return getDaySchedule(physicianId, date).asTimeSlots();
+    }
 
-        LocalDateTime start = date.atTime(8, 0);
-        LocalDateTime end   = date.atTime(17, 0);
+    public DaySchedule getDaySchedule(String physicianId, LocalDate date) {
+        DaySchedule schedule = new DaySchedule(date);
 
         List<Appointment> appts = appointmentDb.getAppointmentsForPhysicianInRange(
                 physicianId,
-                start,
-                end
+                date.atTime(TimeSlot.DAY_START),
+                date.atTime(TimeSlot.DAY_END)
         );
 
         for (Appointment a : appts) {
-            LocalDateTime apptStart = a.getDateTime();
-            for (TimeSlot ts : slots) {
-                if (ts.getStart().equals(apptStart)) {
-                    ts.setBooked(true);
-                    ts.setPatientName(a.getPatientName());
-                    break;
-                }
-            }
+            schedule.book(a.getDateTime(), a.getPatientName());
         }
-
-        return slots;
+        return schedule;
     }
 
     public Map<LocalDate, List<TimeSlot>> getWeeklyAvailability(
@@ -52,11 +53,87 @@ public class AvailabilityService {
     ) throws SQLException
     {
         Map<LocalDate, List<TimeSlot>> weekMap = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, DaySchedule> day : getWeekSchedule(physicianId, weekStart).entrySet()) {
+            weekMap.put(day.getKey(), day.getValue().asTimeSlots());
+        }
+        return weekMap;
+    }
+
+    public Map<LocalDate, DaySchedule> getWeekSchedule(String physicianId, LocalDate weekStart) {
+        Map<LocalDate, DaySchedule> week = new LinkedHashMap<>();
         for (int i = 0; i < 7; i++) {
             LocalDate day = weekStart.plusDays(i);
-            List<TimeSlot> daily = getDailyAvailability(physicianId, day);
-            weekMap.put(day, daily);
+            week.put(day, new DaySchedule(day));
         }
-        return weekMap;
+
+        // one query for the whole week; off-hours rows fall outside every grid
+        List<Appointment> appts = appointmentDb.getAppointmentsForPhysicianInRange(
+                physicianId,
+                weekStart.atTime(TimeSlot.DAY_START),
+                weekStart.plusDays(6).atTime(TimeSlot.DAY_END)
+        );
+
+        for (Appointment a : appts) {
+            DaySchedule daily = week.get(a.getDateTime().toLocalDate());
+            if (daily != null) {
+                daily.book(a.getDateTime(), a.getPatientName());
+            }
+        }
+        return week;
+    }
+
+    /**
+     * One day's grid for each physician, from a single grouped query. The map
+     * follows the iteration order of physicianIds.
+     */
+    public Map<String, List<TimeSlot>> getDailyAvailability(
+            Collection<String> physicianIds,
+            LocalDate date
+    ) throws SQLException
+    {
+        Map<String, List<TimeSlot>> grids = new LinkedHashMap<>();
+        for (Map.Entry<String, DaySchedule> entry : getDaySchedules(physicianIds, date).entrySet()) {
+            grids.put(entry.getKey(), entry.getValue().asTimeSlots());
+        }
+        return grids;
+    }
+
+    public Map<String, DaySchedule> getDaySchedules(Collection<String> physicianIds, LocalDate date) {
+        Map<String, DaySchedule> schedules = new LinkedHashMap<>();
+        for (String physicianId : physicianIds) {
+            schedules.put(physicianId, new DaySchedule(date));
+        }
+        if (schedules.isEmpty()) {
+            return schedules;
+        }
+
+        List<Appointment> appts = appointmentDb.getAppointmentsForPhysiciansInRange(
+                schedules.keySet(),
+                date.atTime(TimeSlot.DAY_START),
+                date.atTime(TimeSlot.DAY_END)
+        );
+
+        for (Appointment a : appts) {
+            DaySchedule daily = schedules.get(a.getPhysicianId());
+            if (daily != null) {
+                daily.book(a.getDateTime(), a.getPatientName());
+            }
+        }
+        return schedules;
+    }
+
+    /**
+     * Occupancy of every given physician from the start of from up to (not
+     * including) to, from one grouped query. Suited to scanning long ranges
+     * for free slots.
+     */
+    public OccupancyIndex getOccupancy(Collection<String> physicianIds, LocalDate from, LocalDate to) {
+        List<Appointment> appts = physicianIds.isEmpty() || !from.isBefore(to)
+                ? List.of()
+                : appointmentDb.getAppointmentsForPhysiciansInRange(
+                        physicianIds,
+                        from.atStartOfDay(),
+                        to.atStartOfDay());
+        return new OccupancyIndex(physicianIds, from, to, appts);
     }
 }
@@ -1,22 +1,34 @@
 package physicianconnect.logic;
 
+import physicianconnect.events.EventBus;
+import physicianconnect.events.MessageSent;
 import physicianconnect.objects.Message;
 import physicianconnect.persistence.interfaces.MessageRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public class MessageService {
     private final MessageRepository messageRepository;
+    private final EventBus eventBus;
 
     public MessageService(MessageRepository messageRepository) {
+        this(messageRepository, EventBus.getDefault());
+    }
+
+    /** Sent messages are announced on eventBus as {@link MessageSent}. */
+    public MessageService(MessageRepository messageRepository, EventBus eventBus) {
         this.messageRepository = messageRepository;
+        this.eventBus = eventBus;
     }
 
     public Message sendMessage(String senderId, String senderType, String receiverId, String receiverType,
             String content) {
         Message message = new Message(senderId, senderType, receiverId, receiverType, content);
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        eventBus.publish(new MessageSent(saved));
+        return saved;
     }
 
     public List<Message> getMessagesForUser(String userId, String userType) {
@@ -29,6 +41,16 @@ public class MessageService {
         return allMessages;
     }
 
+    public List<Message> getConversation(String userId, String userType, String otherId, String otherType,
+            LocalDateTime since, int limit) {
+        return messageRepository.findConversation(userId, userType, otherId, otherType, since, limit);
+    }
+
+    public List<Message> getConversationBefore(String userId, String userType, String otherId, String otherType,
+            LocalDateTime before, int limit) {
+        return messageRepository.findConversationBefore(userId, userType, otherId, otherType, before, limit);
+    }
+
     public List<Message> getUnreadMessagesForUser(String userId, String userType) {
         return messageRepository.findUnreadByReceiverId(userId, userType);
     }
@@ -41,4 +63,9 @@ public class MessageService {
         messageRepository.markAsRead(messageId);
     }
 
+    public int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, LocalDateTime upTo) {
+        return messageRepository.markConversationRead(readerId, readerType, counterpartId, counterpartType, upTo);
+    }
+
 }
\ No newline at end of file
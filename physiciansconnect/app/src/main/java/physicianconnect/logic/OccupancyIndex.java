@@ -0,0 +1,113 @@
+package physicianconnect.logic;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.DaySchedule;
+import physicianconnect.objects.TimeSlot;
+
+/**
+ * Slot occupancy for a set of physicians over a date range, built from one
+ * range query. Only days with at least one booking are stored; every other
+ * day in the range is entirely free. Lookups and free-slot scans work on the
+ * per-day bitmasks and allocate nothing until a result is returned.
+ */
+public class OccupancyIndex {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Set<String> physicianIds;
+    private final Map<String, Map<LocalDate, DaySchedule>> days = new HashMap<>();
+
+    /**
+     * @param from first day covered
+     * @param to   day after the last one covered
+     */
+    public OccupancyIndex(Collection<String> physicianIds, LocalDate from, LocalDate to,
+                          Collection<Appointment> appointments) {
+        this.from = from;
+        this.to = to;
+        this.physicianIds = new LinkedHashSet<>(physicianIds);
+        for (Appointment a : appointments) {
+            LocalDate day = a.getDateTime().toLocalDate();
+            if (!this.physicianIds.contains(a.getPhysicianId()) || day.isBefore(from) || !day.isBefore(to)) {
+                continue;
+            }
+            int slot = TimeSlot.slotIndex(a.getDateTime());
+            if (slot >= 0) {
+                days.computeIfAbsent(a.getPhysicianId(), id -> new HashMap<>())
+                        .computeIfAbsent(day, DaySchedule::new)
+                        .book(slot, a.getPatientName());
+            }
+        }
+    }
+
+    public LocalDate getFrom() { return from; }
+
+    public LocalDate getTo() { return to; }
+
+    public Set<String> getPhysicianIds() {
+        return physicianIds;
+    }
+
+    /** The physician's schedule for that day; an empty one if nothing is booked. */
+    public DaySchedule getDay(String physicianId, LocalDate date) {
+        Map<LocalDate, DaySchedule> byDay = days.get(physicianId);
+        DaySchedule schedule = byDay == null ? null : byDay.get(date);
+        return schedule != null ? schedule : new DaySchedule(date);
+    }
+
+    /** Bitmask of the booked slots that day (bit i = slot i); 0 when free. */
+    public long bookedMask(String physicianId, LocalDate date) {
+        Map<LocalDate, DaySchedule> byDay = days.get(physicianId);
+        DaySchedule schedule = byDay == null ? null : byDay.get(date);
+        return schedule == null ? 0L : schedule.bookedMask();
+    }
+
+    public boolean isFree(String physicianId, LocalDateTime slotStart) {
+        int slot = TimeSlot.slotIndex(slotStart);
+        return slot >= 0 && (bookedMask(physicianId, slotStart.toLocalDate()) & (1L << slot)) == 0;
+    }
+
+    /**
+     * Start of the physician's first free slot at or after notBefore within
+     * the range, or null if every remaining slot is taken.
+     */
+    public LocalDateTime firstFree(String physicianId, LocalDateTime notBefore) {
+        LocalDate day = notBefore.toLocalDate();
+        int fromSlot = firstSlotNotBefore(notBefore);
+        if (day.isBefore(from)) {
+            day = from;
+            fromSlot = 0;
+        }
+        Map<LocalDate, DaySchedule> byDay = days.get(physicianId);
+        for (; day.isBefore(to); day = day.plusDays(1), fromSlot = 0) {
+            DaySchedule schedule = byDay == null ? null : byDay.get(day);
+            int slot = DaySchedule.nextFree(schedule == null ? 0L : schedule.bookedMask(), fromSlot);
+            if (slot >= 0) {
+                return day.atTime(TimeSlot.DAY_START).plusMinutes((long) slot * TimeSlot.SLOT_MINUTES);
+            }
+        }
+        return null;
+    }
+
+    /** Index of the first slot of that day starting at or after the given time. */
+    static int firstSlotNotBefore(LocalDateTime time) {
+        int seconds = time.toLocalTime().toSecondOfDay() - TimeSlot.DAY_START.toSecondOfDay();
+        // anything before the day starts, fractions of a second included, waits for the first slot
+        if (seconds < 0 || (seconds == 0 && time.getNano() == 0)) {
+            return 0;
+        }
+        int slotSeconds = TimeSlot.SLOT_MINUTES * 60;
+        int slot = seconds / slotSeconds;
+        if (seconds % slotSeconds != 0 || time.getNano() != 0) {
+            slot++;
+        }
+        return slot;
+    }
+}
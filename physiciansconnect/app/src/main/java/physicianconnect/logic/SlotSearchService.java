@@ -0,0 +1,121 @@
+package physicianconnect.logic;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import physicianconnect.logic.manager.PhysicianManager;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
+
+/**
+ * Answers "the first N open slots for any physician (optionally of one
+ * specialty) between two dates". The range is read front to back in windows
+ * (a week, then doubling), each with one grouped query into an
+ * {@link OccupancyIndex}. Within a window each physician's earliest openings
+ * are found in parallel from the bitmasks and merged by start time. Windows
+ * are in date order, so the search stops at the first one that fills the
+ * request, and a busy year is only read as far as it has to be.
+ */
+public class SlotSearchService {
+
+    /** One open slot and who it belongs to. */
+    public record FreeSlot(String physicianId, String physicianName, LocalDateTime start) {
+
+        public LocalDateTime end() {
+            return start.plusMinutes(TimeSlot.SLOT_MINUTES);
+        }
+    }
+
+    private static final Comparator<FreeSlot> EARLIEST_FIRST = Comparator
+            .comparing(FreeSlot::start)
+            .thenComparing(FreeSlot::physicianName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(FreeSlot::physicianId);
+
+    private static final int FIRST_WINDOW_DAYS = 7;
+
+    private final PhysicianManager physicianManager;
+    private final AvailabilityService availabilityService;
+    private final Clock clock;
+
+    public SlotSearchService(PhysicianManager physicianManager, AvailabilityService availabilityService) {
+        this(physicianManager, availabilityService, Clock.systemDefaultZone());
+    }
+
+    /** Full constructor (allows tests to pass in a fixed Clock) */
+    public SlotSearchService(PhysicianManager physicianManager, AvailabilityService availabilityService,
+                             Clock clock) {
+        this.physicianManager = physicianManager;
+        this.availabilityService = availabilityService;
+        this.clock = clock;
+    }
+
+    /**
+     * The earliest limit free slots from the start of from up to (not
+     * including) to, never earlier than now. A null or blank specialty
+     * matches every physician; otherwise the match ignores case.
+     */
+    public List<FreeSlot> findFreeSlots(String specialty, LocalDate from, LocalDate to, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Search range ends before it starts: " + from + " to " + to);
+        }
+
+        List<Physician> physicians = physicianManager.getAllPhysicians().stream()
+                .filter(p -> matchesSpecialty(p, specialty))
+                .collect(Collectors.toList());
+        if (physicians.isEmpty() || from.equals(to)) {
+            return List.of();
+        }
+
+        List<String> ids = physicians.stream().map(Physician::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime notBefore = from.atStartOfDay().isBefore(now) ? now : from.atStartOfDay();
+        LocalDate windowStart = notBefore.toLocalDate().isAfter(from) ? notBefore.toLocalDate() : from;
+
+        List<FreeSlot> found = new ArrayList<>();
+        long windowDays = FIRST_WINDOW_DAYS;
+        while (windowStart.isBefore(to) && found.size() < limit) {
+            LocalDate windowEnd = windowStart.plusDays(windowDays).isBefore(to) ? windowStart.plusDays(windowDays) : to;
+            OccupancyIndex occupancy = availabilityService.getOccupancy(ids, windowStart, windowEnd);
+            int wanted = limit - found.size();
+
+            // every physician contributes at most wanted slots, so the merged head is exact
+            found.addAll(physicians.parallelStream()
+                    .flatMap(p -> firstFree(occupancy, p, notBefore, wanted).stream())
+                    .sorted(EARLIEST_FIRST)
+                    .limit(wanted)
+                    .collect(Collectors.toList()));
+
+            windowStart = windowEnd;
+            windowDays *= 2;
+        }
+        return found;
+    }
+
+    private static List<FreeSlot> firstFree(OccupancyIndex occupancy, Physician physician,
+                                            LocalDateTime notBefore, int limit) {
+        List<FreeSlot> found = new ArrayList<>(Math.min(limit, 16));
+        LocalDateTime next = occupancy.firstFree(physician.getId(), notBefore);
+        while (next != null && found.size() < limit) {
+            found.add(new FreeSlot(physician.getId(), physician.getName(), next));
+            next = occupancy.firstFree(physician.getId(), next.plusMinutes(TimeSlot.SLOT_MINUTES));
+        }
+        return found;
+    }
+
+    private static boolean matchesSpecialty(Physician physician, String specialty) {
+        if (specialty == null || specialty.isBlank()) {
+            return true;
+        }
+        String own = physician.getSpecialty();
+        return own != null && own.trim().toLowerCase(Locale.ROOT).equals(specialty.trim().toLowerCase(Locale.ROOT));
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.ArrayList;
+import java.util.stream.Stream;
 
 import physicianconnect.logic.exceptions.InvalidAppointmentException;
 import physicianconnect.logic.manager.AppointmentManager;
@@ -132,10 +133,24 @@ public class AppointmentController {
         return appointmentManager.getAppointmentsForPhysician(physicianId);
     }
 
+    /**
+     * Fetch one appointment by id, e.g. the current copy of a table row.
+     *
+     * @param id the appointment's id
+     * @return the stored Appointment, or null if it no longer exists
+     */
+    public Appointment getAppointmentById(int id) {
+        return appointmentManager.getAppointmentById(id);
+    }
+
     public List<Appointment> getAllAppointments() {
     return appointmentManager.getAllAppointments();
 }
 
+    public Stream<Appointment> streamAppointments() {
+        return appointmentManager.streamAppointments();
+    }
+
     /**
      * Update the date and time of an existing appointment.
      *
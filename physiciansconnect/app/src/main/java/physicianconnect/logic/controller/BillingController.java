@@ -2,54 +2,102 @@ package physicianconnect.logic.controller;
 
 import physicianconnect.logic.manager.InvoiceManager;
 import physicianconnect.logic.manager.PaymentManager;
+import physicianconnect.logic.manager.RevenueRollupManager;
 import physicianconnect.logic.validation.BillingValidator;
 import physicianconnect.logic.exceptions.InvalidBillingException;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.objects.RevenueSummary;
 import physicianconnect.objects.ServiceItem;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public class BillingController {
+
+    /** One payment to post: e.g. a line of an insurer's remittance file. */
+    public record PaymentLine(String invoiceId, long amountCents, String method) {
+    }
+
     private final InvoiceManager invoiceManager;
     private final PaymentManager paymentManager;
+    private final RevenueRollupManager revenueRollups;
 
-    public BillingController(InvoiceManager invoiceManager, PaymentManager paymentManager) {
+    public BillingController(InvoiceManager invoiceManager, PaymentManager paymentManager,
+                             RevenueRollupManager revenueRollups) {
         this.invoiceManager = invoiceManager;
         this.paymentManager = paymentManager;
+        this.revenueRollups = revenueRollups;
     }
 
-    public Invoice createInvoice(String appointmentId, String patientName, List<ServiceItem> services, double insuranceAdjustment) {
+    public Invoice createInvoice(String appointmentId, String patientName, List<ServiceItem> services,
+                                 long insuranceAdjustmentCents) {
         BillingValidator.validateInvoiceServices(services);
         String id = UUID.randomUUID().toString();
-        Invoice invoice = new Invoice(id, appointmentId, patientName, services, insuranceAdjustment);
+        Invoice invoice = new Invoice(id, appointmentId, patientName, services, insuranceAdjustmentCents);
         invoiceManager.addInvoice(invoice);
         return invoice;
     }
 
-    public void recordPayment(String invoiceId, double amount, String method) {
-        Invoice invoice = invoiceManager.getInvoiceById(invoiceId);
-        BillingValidator.validatePaymentAmount(amount, invoice.getBalance());
-        String paymentId = UUID.randomUUID().toString();
-        Payment payment = new Payment(paymentId, invoiceId, amount, method);
-        paymentManager.addPayment(payment);
-
-        // Update invoice balance and status
-        double newBalance = invoice.getBalance() - amount;
-        invoice.setBalance(newBalance);
-        if (newBalance == 0) {
-            invoice.setStatus("Paid");
-        } else {
-            invoice.setStatus("Partial");
+    /**
+     * Records the payment and debits the invoice in one transaction, so two
+     * receptionists paying the same invoice at once cannot both spend the
+     * same balance. Returns the balance left on the invoice, in cents.
+     */
+    public long recordPayment(String invoiceId, long amountCents, String method) {
+        PaymentPosting posting = recordPayments(List.of(new PaymentLine(invoiceId, amountCents, method))).get(0);
+        if (!posting.isPosted()) {
+            throw new InvalidBillingException(posting.outcome().getMessage());
+        }
+        return posting.newBalanceCents();
+    }
+
+    /**
+     * Posts every line in one commit and reports each one: a rejected line
+     * (bad amount, unknown invoice, more than the balance left) is skipped
+     * and the rest still post. Results are in line order. The revenue rollups
+     * move in the same commit.
+     */
+    public List<PaymentPosting> recordPayments(List<PaymentLine> lines) {
+        List<Payment> payments = new ArrayList<>(lines.size());
+        for (PaymentLine line : lines) {
+            payments.add(new Payment(UUID.randomUUID().toString(), line.invoiceId(), line.amountCents(), line.method()));
         }
-        invoiceManager.updateInvoice(invoice);
+        return paymentManager.postPayments(payments);
     }
 
     public List<Invoice> getInvoicesByMonth(int year, int month) {
         return invoiceManager.getInvoicesByMonth(year, month);
     }
 
+    /** Service name to cents billed for invoices created in that month, highest first. */
+    public Map<String, Long> getRevenueByService(int year, int month) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return invoiceManager.getRevenueByService(from, from.plusMonths(1));
+    }
+
+    /** Billed, paid and outstanding over every invoice, from the monthly rollups. */
+    public RevenueSummary getRevenueSummary() {
+        return revenueRollups.getSummary(null, null);
+    }
+
+    /** Same, for invoices created in months [from, to); a null bound is open. */
+    public RevenueSummary getRevenueSummary(YearMonth from, YearMonth to) {
+        return revenueRollups.getSummary(from, to);
+    }
+
+    /** Per-month, per-status totals for months [from, to), e.g. for a trend chart. */
+    public List<RevenueRollup> getRevenueRollups(YearMonth from, YearMonth to) {
+        return revenueRollups.getRollups(from, to);
+    }
+
     public List<Payment> getPaymentsByInvoice(String invoiceId) {
         return paymentManager.getPaymentsByInvoice(invoiceId);
     }
@@ -58,6 +106,11 @@ public class BillingController {
     return invoiceManager.getAllInvoices();
 }
 
+    /** Every invoice, read a page at a time rather than all at once. */
+    public Stream<Invoice> streamInvoices() {
+        return invoiceManager.streamInvoices();
+    }
+
 public Invoice getInvoiceById(String id) {
     return invoiceManager.getInvoiceById(id);
 }
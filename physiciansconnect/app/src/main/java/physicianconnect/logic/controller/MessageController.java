@@ -4,6 +4,7 @@ import physicianconnect.logic.exceptions.InvalidMessageException;
 import physicianconnect.logic.MessageService;
 import physicianconnect.objects.Message;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -61,6 +62,41 @@ public class MessageController {
         return messageService.getMessagesForUser(userId, userType);
     }
 
+    /**
+     * Retrieve one conversation, oldest first: the latest limit messages
+     * exchanged between the two users when since is null, otherwise the first
+     * limit messages sent after since.
+     *
+     * @param userId    the ID of the current user
+     * @param userType  the type of the current user
+     * @param otherId   the ID of the other participant
+     * @param otherType the type of the other participant
+     * @param since     only messages sent after this time; null for the latest page
+     * @param limit     the maximum number of messages to return
+     * @return a List of Message objects in timestamp order
+     */
+    public List<Message> getConversation(String userId, String userType, String otherId, String otherType,
+            LocalDateTime since, int limit) {
+        return messageService.getConversation(userId, userType, otherId, otherType, since, limit);
+    }
+
+    /**
+     * Retrieve the page of a conversation just before a point in it: the
+     * latest limit messages sent before the given time, oldest first.
+     *
+     * @param userId    the ID of the current user
+     * @param userType  the type of the current user
+     * @param otherId   the ID of the other participant
+     * @param otherType the type of the other participant
+     * @param before    only messages sent before this time
+     * @param limit     the maximum number of messages to return
+     * @return a List of Message objects in timestamp order
+     */
+    public List<Message> getConversationBefore(String userId, String userType, String otherId, String otherType,
+            LocalDateTime before, int limit) {
+        return messageService.getConversationBefore(userId, userType, otherId, otherType, before, limit);
+    }
+
     /**
      * Retrieve only unread messages for a user.
      *
@@ -81,6 +117,22 @@ public class MessageController {
         messageService.markMessageAsRead(messageId);
     }
 
+    /**
+     * Mark everything a user has received in one conversation as read, up to
+     * a point in time, with a single update.
+     *
+     * @param readerId        the ID of the user reading the conversation
+     * @param readerType      the type of that user
+     * @param counterpartId   the ID of the other participant
+     * @param counterpartType the type of the other participant
+     * @param upTo            messages sent after this time are left unread
+     * @return the reader's unread message count afterwards
+     */
+    public int markConversationRead(String readerId, String readerType, String counterpartId,
+            String counterpartType, LocalDateTime upTo) {
+        return messageService.markConversationRead(readerId, readerType, counterpartId, counterpartType, upTo);
+    }
+
     /**
      * Count how many unread messages a user has.
      *
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 public class AppointmentManager {
 
@@ -50,12 +51,12 @@ public class AppointmentManager {
         // ← use validate(appointment, clock) so “now” is correct
         AppointmentValidator.validate(appointment, clock);
 
-        if (!isSlotAvailable(appointment.getPhysicianId(), appointment.getDateTime())) {
+        // check and insert in one step, so a concurrent booking can't slip in between
+        if (!appointmentDB.addAppointmentIfSlotFree(appointment)) {
             throw new InvalidAppointmentException(
                     "Slot already taken at " + appointment.getDateTime()
             );
         }
-        appointmentDB.addAppointment(appointment);
         notifyListeners(); 
     }
 
@@ -83,39 +84,38 @@ public class AppointmentManager {
         return Collections.unmodifiableList(appointmentDB.getAppointmentsForPhysician(physicianId));
     }
 
+    /** The stored appointment with that id, or null if there is none. */
+    public Appointment getAppointmentById(int id) {
+        return appointmentDB.getAppointmentById(id);
+    }
+
     public void deleteAll() {
         appointmentDB.deleteAllAppointments();
         notifyListeners(); 
     }
 
     public boolean isSlotAvailable(String physicianId, LocalDateTime slotTime) {
-        for (Appointment a : getAppointmentsForPhysician(physicianId)) {
-            if (a.getDateTime().equals(slotTime)) {
-                return false;
-            }
-        }
-        return true;
+        return !appointmentDB.isSlotTaken(physicianId, slotTime);
     }
 
     public boolean isSlotAvailableForUpdate(String physicianId,
                                             LocalDateTime slotTime,
                                             Appointment original) {
-        for (Appointment other : getAppointmentsForPhysician(physicianId)) {
-            boolean sameRecord =
-                    other.getPhysicianId().equals(original.getPhysicianId())
-                            && other.getPatientName().equals(original.getPatientName())
-                            && other.getDateTime().equals(original.getDateTime());
-            if (sameRecord) {
-                continue;
-            }
-            if (other.getDateTime().equals(slotTime)) {
-                return false;
-            }
+        // the original only occupies slotTime if it is already booked there
+        boolean originalAtSlot = original.getPhysicianId().equals(physicianId)
+                && original.getDateTime().equals(slotTime);
+        if (!originalAtSlot) {
+            return !appointmentDB.isSlotTaken(physicianId, slotTime);
         }
-        return true;
+        return !appointmentDB.isSlotTakenByOther(physicianId, slotTime, original.getPatientName());
     }
 
     public List<Appointment> getAllAppointments() {
     return appointmentDB.getAllAppointments();
 }
+
+    /** Every appointment, read a page at a time rather than all at once. */
+    public Stream<Appointment> streamAppointments() {
+        return appointmentDB.streamAppointments();
+    }
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package physicianconnect.logic.manager;
 
 import physicianconnect.objects.Invoice;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class InvoiceManager {
     private final InvoicePersistence invoiceDB;
@@ -13,6 +17,8 @@ public class InvoiceManager {
     public Invoice getInvoiceById(String id) { return invoiceDB.getInvoiceById(id); }
     public List<Invoice> getInvoicesByMonth(int year, int month) { return invoiceDB.getInvoicesByMonth(year, month); }
     public List<Invoice> getAllInvoices() { return invoiceDB.getAllInvoices(); }
+    public Stream<Invoice> streamInvoices() { return invoiceDB.streamInvoices(); }
+    public Map<String, Long> getRevenueByService(LocalDateTime from, LocalDateTime to) { return invoiceDB.getRevenueByService(from, to); }
     public void updateInvoice(Invoice invoice) { invoiceDB.updateInvoice(invoice); }
     public void deleteInvoice(String id) {
     invoiceDB.deleteInvoiceById(id);
@@ -1,6 +1,7 @@
 package physicianconnect.logic.manager;
 
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
 import java.util.List;
 
@@ -12,4 +13,5 @@ public class PaymentManager {
     public void addPayment(Payment payment) { paymentDB.addPayment(payment); }
     public List<Payment> getPaymentsByInvoice(String invoiceId) { return paymentDB.getPaymentsByInvoice(invoiceId); }
     public List<Payment> getPaymentsByMonth(int year, int month) { return paymentDB.getPaymentsByMonth(year, month); }
+    public List<PaymentPosting> postPayments(List<Payment> payments) { return paymentDB.postPayments(payments); }
 }
\ No newline at end of file
@@ -50,10 +50,7 @@ public class PhysicianManager {
     }
 
     public Physician getPhysicianByEmail(String email) {
-        return physicianDB.getAllPhysicians().stream()
-                .filter(p -> p.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
+        return physicianDB.getPhysicianByEmail(email);
     }
 
     public Physician login(String email, String password) {
@@ -0,0 +1,33 @@
+package physicianconnect.logic.manager;
+
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.objects.RevenueSummary;
+import physicianconnect.persistence.interfaces.RevenueRollupPersistence;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Reads the per-month, per-status revenue totals, so a dashboard total costs
+ * one row per month and status rather than a pass over every invoice. An
+ * invoice counts toward the month it was created in and the status it has
+ * now. The store keeps the totals in step with every invoice write,
+ * including invoices deleted along with their appointment.
+ */
+public class RevenueRollupManager {
+    private final RevenueRollupPersistence rollupDB;
+
+    public RevenueRollupManager(RevenueRollupPersistence rollupDB) { this.rollupDB = rollupDB; }
+
+    /** Totals for months in [from, to); a null bound is open. */
+    public List<RevenueRollup> getRollups(YearMonth from, YearMonth to) {
+        return rollupDB.getRollups(from, to);
+    }
+
+    public RevenueSummary getSummary(YearMonth from, YearMonth to) {
+        return RevenueSummary.of(rollupDB.getRollups(from, to));
+    }
+
+    /** Recomputes every total from the invoices in one pass. */
+    public void rebuild() { rollupDB.rebuild(); }
+}
@@ -3,7 +3,7 @@ package physicianconnect.objects;
 import java.time.LocalDateTime;
 
 public class Appointment {
-    private final int id; // <-- add this
+    private int id; // -1 until stored
     private final String physicianId;
     private final String patientName;
     private final LocalDateTime dateTime;
@@ -31,6 +31,14 @@ public class Appointment {
         return id;
     }
 
+    /** Called by the persistence layer once a new appointment is stored. */
+    public void setId(int id) {
+        if (this.id >= 0 && this.id != id) {
+            throw new IllegalStateException("Appointment already has id " + this.id);
+        }
+        this.id = id;
+    }
+
     public String getPhysicianId() {
         return physicianId;
     }
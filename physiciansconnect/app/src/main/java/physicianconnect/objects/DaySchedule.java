@@ -0,0 +1,131 @@
+package physicianconnect.objects;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * One physician-day of half-hour slots held as a bitmask, with patient names
+ * kept on the side only for the slots that are booked. {@link TimeSlot}
+ * objects are made on demand, e.g. by {@link #asTimeSlots()}.
+ */
+public class DaySchedule {
+    static {
+        if (TimeSlot.SLOTS_PER_DAY > Long.SIZE) {
+            throw new IllegalStateException("A day has more slots than fit in a long");
+        }
+    }
+
+    private static final long ALL_SLOTS = TimeSlot.SLOTS_PER_DAY == Long.SIZE
+            ? -1L
+            : (1L << TimeSlot.SLOTS_PER_DAY) - 1;
+
+    private final LocalDate date;
+    private long booked;            // bit i set = slot i taken
+    private String[] patientNames;  // allocated on the first booking
+
+    public DaySchedule(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public int slotCount() { return TimeSlot.SLOTS_PER_DAY; }
+
+    public boolean isBooked(int slot) {
+        return (booked & (1L << slot)) != 0;
+    }
+
+    public String getPatientName(int slot) {
+        return patientNames == null ? null : patientNames[slot];
+    }
+
+    public void book(int slot, String patientName) {
+        if (slot < 0 || slot >= TimeSlot.SLOTS_PER_DAY) {
+            throw new IndexOutOfBoundsException("No slot " + slot);
+        }
+        booked |= 1L << slot;
+        if (patientNames == null) {
+            patientNames = new String[TimeSlot.SLOTS_PER_DAY];
+        }
+        patientNames[slot] = patientName;
+    }
+
+    /** Books the slot starting at dateTime; false if no slot of this day starts then. */
+    public boolean book(LocalDateTime dateTime, String patientName) {
+        int slot = TimeSlot.slotIndex(dateTime);
+        if (slot < 0 || !dateTime.toLocalDate().equals(date)) {
+            return false;
+        }
+        book(slot, patientName);
+        return true;
+    }
+
+    public int bookedCount() {
+        return Long.bitCount(booked);
+    }
+
+    public boolean isFullyBooked() {
+        return booked == ALL_SLOTS;
+    }
+
+    /** First free slot at or after fromSlot, or -1 if the rest of the day is taken. */
+    public int nextFree(int fromSlot) {
+        return nextFree(booked, fromSlot);
+    }
+
+    /** Same as {@link #nextFree(int)} on a raw mask; a day with no schedule is mask 0. */
+    public static int nextFree(long bookedMask, int fromSlot) {
+        if (fromSlot < 0) {
+            fromSlot = 0;
+        }
+        if (fromSlot >= TimeSlot.SLOTS_PER_DAY) {
+            return -1;
+        }
+        long free = ~bookedMask & ALL_SLOTS & (-1L << fromSlot);
+        return free == 0 ? -1 : Long.numberOfTrailingZeros(free);
+    }
+
+    public long bookedMask() {
+        return booked;
+    }
+
+    public LocalDateTime slotStart(int slot) {
+        return date.atTime(TimeSlot.DAY_START).plusMinutes((long) slot * TimeSlot.SLOT_MINUTES);
+    }
+
+    public TimeSlot toTimeSlot(int slot) {
+        LocalDateTime start = slotStart(slot);
+        TimeSlot ts = new TimeSlot(start, start.plusMinutes(TimeSlot.SLOT_MINUTES));
+        if (isBooked(slot)) {
+            ts.setBooked(true);
+            ts.setPatientName(getPatientName(slot));
+        }
+        return ts;
+    }
+
+    /**
+     * The day as a list of TimeSlots, each built when it is read. Changes made
+     * to the returned slots are not written back.
+     */
+    public List<TimeSlot> asTimeSlots() {
+        return new SlotView();
+    }
+
+    private final class SlotView extends AbstractList<TimeSlot> implements RandomAccess {
+        @Override
+        public TimeSlot get(int index) {
+            if (index < 0 || index >= TimeSlot.SLOTS_PER_DAY) {
+                throw new IndexOutOfBoundsException("No slot " + index);
+            }
+            return toTimeSlot(index);
+        }
+
+        @Override
+        public int size() {
+            return TimeSlot.SLOTS_PER_DAY;
+        }
+    }
+}
@@ -8,27 +8,35 @@ public class Invoice {
     private final String appointmentId;
     private final String patientName;
     private final List<ServiceItem> services;
-    private final double insuranceAdjustment;
-    private double totalAmount;
-    private double balance;
+    // money in cents, see Money
+    private final long insuranceAdjustmentCents;
+    private final long totalCents;
+    private long balanceCents;
     private String status; // "Sent", "Partial", "Paid"
     private final LocalDateTime createdAt;
 
-    public Invoice(String id, String appointmentId, String patientName, List<ServiceItem> services, double insuranceAdjustment) {
+    public Invoice(String id, String appointmentId, String patientName, List<ServiceItem> services, long insuranceAdjustmentCents) {
+        this(id, appointmentId, patientName, services, insuranceAdjustmentCents, LocalDateTime.now());
+    }
+
+    public Invoice(String id, String appointmentId, String patientName, List<ServiceItem> services, long insuranceAdjustmentCents, LocalDateTime createdAt) {
         this.id = id;
         this.appointmentId = appointmentId;
         this.patientName = patientName;
         this.services = services;
-        this.insuranceAdjustment = insuranceAdjustment;
-        this.totalAmount = calculateTotal();
-        this.balance = totalAmount;
+        this.insuranceAdjustmentCents = insuranceAdjustmentCents;
+        this.totalCents = calculateTotal();
+        this.balanceCents = totalCents;
         this.status = "Sent";
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
-    private double calculateTotal() {
-        double sum = services.stream().mapToDouble(ServiceItem::getCost).sum();
-        return Math.max(0, sum - insuranceAdjustment);
+    private long calculateTotal() {
+        long sum = 0;
+        for (ServiceItem item : services) {
+            sum += item.getCostCents();
+        }
+        return Math.max(0, sum - insuranceAdjustmentCents);
     }
 
     // Getters and setters...
@@ -36,10 +44,10 @@ public class Invoice {
     public String getAppointmentId() { return appointmentId; }
     public String getPatientName() { return patientName; }
     public List<ServiceItem> getServices() { return services; }
-    public double getInsuranceAdjustment() { return insuranceAdjustment; }
-    public double getTotalAmount() { return totalAmount; }
-    public double getBalance() { return balance; }
-    public void setBalance(double balance) { this.balance = balance; }
+    public long getInsuranceAdjustmentCents() { return insuranceAdjustmentCents; }
+    public long getTotalCents() { return totalCents; }
+    public long getBalanceCents() { return balanceCents; }
+    public void setBalanceCents(long balanceCents) { this.balanceCents = balanceCents; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
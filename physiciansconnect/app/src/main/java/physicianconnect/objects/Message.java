@@ -36,4 +36,15 @@ public class Message {
     public void setRead(boolean read) { isRead = read; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     public void setMessageId(UUID messageId) { this.messageId = messageId; }
+
+    /** Key shared by every message between the same two users, whichever way it was sent. */
+    public String getConversationKey() {
+        return conversationKey(senderId, senderType, receiverId, receiverType);
+    }
+
+    public static String conversationKey(String userA, String typeA, String userB, String typeB) {
+        String a = typeA + ":" + userA;
+        String b = typeB + ":" + userB;
+        return a.compareTo(b) <= 0 ? a + "|" + b : b + "|" + a;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package physicianconnect.objects;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amounts of money are whole cents in a long everywhere: on the objects, in
+ * the INTEGER *_cents columns and in every total, so sums are exact and a
+ * balance paid off is exactly 0. Dollars only appear at the edges, as text
+ * typed in or shown; these are the conversions.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * "12.34", "12.3" or "12" as cents. Anything with more than two decimal
+     * places, or that is not a number, is a NumberFormatException.
+     */
+    public static long parseCents(String dollars) {
+        if (dollars == null) {
+            throw new NumberFormatException("No amount given");
+        }
+        try {
+            return new BigDecimal(dollars.trim()).movePointRight(2)
+                    .setScale(0, RoundingMode.UNNECESSARY)
+                    .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Not an amount in dollars and cents: " + dollars);
+        }
+    }
+
+    /** Nearest cent of a dollar amount held in a double, e.g. from legacy data. */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    /** 1234 as "12.34" and -50 as "-0.50". */
+    public static String format(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    /** 1234 as "$12.34" and -50 as "-$0.50". */
+    public static String formatDollars(long cents) {
+        return (cents < 0 ? "-$" : "$") + format(Math.abs(cents));
+    }
+}
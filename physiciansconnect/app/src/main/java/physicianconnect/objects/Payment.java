@@ -5,21 +5,25 @@ import java.time.LocalDateTime;
 public class Payment {
     private final String id;
     private final String invoiceId;
-    private final double amount;
+    private final long amountCents;
     private final String method; // "Cash", "Card", "Insurance"
     private final LocalDateTime paidAt;
 
-    public Payment(String id, String invoiceId, double amount, String method) {
+    public Payment(String id, String invoiceId, long amountCents, String method) {
+        this(id, invoiceId, amountCents, method, LocalDateTime.now());
+    }
+
+    public Payment(String id, String invoiceId, long amountCents, String method, LocalDateTime paidAt) {
         this.id = id;
         this.invoiceId = invoiceId;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.method = method;
-        this.paidAt = LocalDateTime.now();
+        this.paidAt = paidAt;
     }
 
     public String getId() { return id; }
     public String getInvoiceId() { return invoiceId; }
-    public double getAmount() { return amount; }
+    public long getAmountCents() { return amountCents; }
     public String getMethod() { return method; }
     public LocalDateTime getPaidAt() { return paidAt; }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package physicianconnect.objects;
+
+import java.time.LocalDateTime;
+
+/**
+ * What became of one payment handed to
+ * {@link physicianconnect.persistence.interfaces.PaymentPersistence#postPayments}.
+ * A posted payment carries the invoice's balance and status from just before
+ * and just after it, as read inside the posting transaction; a rejected one
+ * only says why, and changed nothing. Amounts are in cents.
+ */
+public record PaymentPosting(Payment payment, Outcome outcome, LocalDateTime invoiceCreatedAt,
+                             long invoiceTotalCents, String oldStatus, long oldBalanceCents,
+                             String newStatus, long newBalanceCents) {
+
+    public enum Outcome {
+        POSTED("Payment posted."),
+        INVALID_AMOUNT("Payment must be greater than zero."),
+        INVOICE_NOT_FOUND("Invoice not found."),
+        EXCEEDS_BALANCE("Payment exceeds outstanding balance.");
+
+        private final String message;
+
+        Outcome(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    public static PaymentPosting posted(Payment payment, LocalDateTime invoiceCreatedAt, long invoiceTotalCents,
+                                        String oldStatus, long oldBalanceCents, String newStatus,
+                                        long newBalanceCents) {
+        return new PaymentPosting(payment, Outcome.POSTED, invoiceCreatedAt, invoiceTotalCents,
+                oldStatus, oldBalanceCents, newStatus, newBalanceCents);
+    }
+
+    public static PaymentPosting rejected(Payment payment, Outcome outcome) {
+        if (outcome == Outcome.POSTED) {
+            throw new IllegalArgumentException("A rejected payment needs a reason");
+        }
+        return new PaymentPosting(payment, outcome, null, 0, null, 0, null, 0);
+    }
+
+    public boolean isPosted() {
+        return outcome == Outcome.POSTED;
+    }
+
+    /** Status an invoice has once a payment leaves newBalanceCents on it. */
+    public static String statusFor(long newBalanceCents) {
+        return newBalanceCents == 0 ? "Paid" : "Partial";
+    }
+}
@@ -0,0 +1,30 @@
+package physicianconnect.objects;
+
+import java.time.YearMonth;
+
+/**
+ * Totals over the invoices created in one month that currently have one
+ * status ("Sent", "Partial", "Paid"). Amounts are in cents.
+ */
+public class RevenueRollup {
+    private final YearMonth month;
+    private final String status;
+    private final int invoiceCount;
+    private final long billedCents;
+    private final long outstandingCents;
+
+    public RevenueRollup(YearMonth month, String status, int invoiceCount, long billedCents, long outstandingCents) {
+        this.month = month;
+        this.status = status;
+        this.invoiceCount = invoiceCount;
+        this.billedCents = billedCents;
+        this.outstandingCents = outstandingCents;
+    }
+
+    public YearMonth getMonth() { return month; }
+    public String getStatus() { return status; }
+    public int getInvoiceCount() { return invoiceCount; }
+    public long getBilledCents() { return billedCents; }
+    public long getOutstandingCents() { return outstandingCents; }
+    public long getPaidCents() { return billedCents - outstandingCents; }
+}
@@ -0,0 +1,34 @@
+package physicianconnect.objects;
+
+import java.util.Collection;
+
+/** Billed, paid and outstanding totals in cents, as shown on the revenue dashboard. */
+public class RevenueSummary {
+    private final int invoiceCount;
+    private final long billedCents;
+    private final long outstandingCents;
+
+    public RevenueSummary(int invoiceCount, long billedCents, long outstandingCents) {
+        this.invoiceCount = invoiceCount;
+        this.billedCents = billedCents;
+        this.outstandingCents = outstandingCents;
+    }
+
+    /** Sum of the given rollups; one pass of long adds, one step per month and status. */
+    public static RevenueSummary of(Collection<RevenueRollup> rollups) {
+        int count = 0;
+        long billed = 0;
+        long outstanding = 0;
+        for (RevenueRollup r : rollups) {
+            count += r.getInvoiceCount();
+            billed += r.getBilledCents();
+            outstanding += r.getOutstandingCents();
+        }
+        return new RevenueSummary(count, billed, outstanding);
+    }
+
+    public int getInvoiceCount() { return invoiceCount; }
+    public long getTotalBilledCents() { return billedCents; }
+    public long getTotalPaidCents() { return billedCents - outstandingCents; }
+    public long getOutstandingCents() { return outstandingCents; }
+}
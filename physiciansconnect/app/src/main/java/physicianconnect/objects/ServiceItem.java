@@ -5,25 +5,26 @@ import java.util.List;
 
 public class ServiceItem {
     private final String name;
-    private double cost;
+    private long costCents;
 
-    public ServiceItem(String name, double cost) {
+    public ServiceItem(String name, long costCents) {
         this.name = name;
-        this.cost = cost;
+        this.costCents = costCents;
     }
 
     public String getName() {
         return name;
     }
 
-    public double getCost() {
-        return cost;
+    public long getCostCents() {
+        return costCents;
     }
 
-    public void setCost(double cost) {
-        this.cost = cost;
+    public void setCostCents(long costCents) {
+        this.costCents = costCents;
     }
 
+    /** "Consult:100,Lab:49.99" - costs in dollars and cents. */
     public static List<ServiceItem> parseList(String str) {
         List<ServiceItem> list = new ArrayList<>();
         if (str == null || str.isEmpty())
@@ -31,7 +32,7 @@ public class ServiceItem {
         for (String part : str.split(",")) {
             String[] arr = part.split(":");
             if (arr.length == 2)
-                list.add(new ServiceItem(arr[0].trim(), Double.parseDouble(arr[1].trim())));
+                list.add(new ServiceItem(arr[0].trim(), Money.parseCents(arr[1])));
         }
         return list;
     }
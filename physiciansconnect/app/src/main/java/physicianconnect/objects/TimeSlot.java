@@ -2,10 +2,17 @@ package physicianconnect.objects;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class TimeSlot {
+    public static final LocalTime DAY_START = LocalTime.of(8, 0);
+    public static final LocalTime DAY_END = LocalTime.of(17, 0);
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY =
+            (DAY_END.toSecondOfDay() - DAY_START.toSecondOfDay()) / 60 / SLOT_MINUTES;
+
     private final LocalDateTime start;   // e.g. 2025-06-01T09:00
     private final LocalDateTime end;     // e.g. 2025-06-01T09:30
     private boolean booked;              // true = this slot is occupied
@@ -29,14 +36,28 @@ public class TimeSlot {
     }
 
     public static List<TimeSlot> generateDailySlots(LocalDate date) {
-        List<TimeSlot> slots = new ArrayList<>();
-        LocalDateTime current = date.atTime(8, 0);
-        LocalDateTime endOfDay = date.atTime(17, 0);
+        List<TimeSlot> slots = new ArrayList<>(SLOTS_PER_DAY);
+        LocalDateTime current = date.atTime(DAY_START);
+        LocalDateTime endOfDay = date.atTime(DAY_END);
         while (current.isBefore(endOfDay)) {
-            TimeSlot ts = new TimeSlot(current, current.plusMinutes(30));
+            TimeSlot ts = new TimeSlot(current, current.plusMinutes(SLOT_MINUTES));
             slots.add(ts);
-            current = current.plusMinutes(30);
+            current = current.plusMinutes(SLOT_MINUTES);
         }
         return slots;
     }
-}
\ No newline at end of file
+
+    /**
+     * Position of the slot starting exactly at dateTime within its day's
+     * grid, or -1 if no slot starts then.
+     */
+    public static int slotIndex(LocalDateTime dateTime) {
+        LocalTime time = dateTime.toLocalTime();
+        int minutes = (time.toSecondOfDay() - DAY_START.toSecondOfDay()) / 60;
+        if (time.getSecond() != 0 || time.getNano() != 0 || minutes < 0 || minutes % SLOT_MINUTES != 0) {
+            return -1;
+        }
+        int index = minutes / SLOT_MINUTES;
+        return index < SLOTS_PER_DAY ? index : -1;
+    }
+}
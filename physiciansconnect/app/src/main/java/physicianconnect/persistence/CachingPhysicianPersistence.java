@@ -0,0 +1,91 @@
+package physicianconnect.persistence;
+
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.interfaces.PhysicianPersistence;
+
+import java.util.List;
+
+/**
+ * Read-through cache in front of another {@link PhysicianPersistence}.
+ * Lookups by id and by email (case-insensitive) and getAllPhysicians are
+ * served from an {@link EntityCache}; every write goes to the delegate first
+ * and then invalidates what it touched.
+ *
+ * Only writes made through this instance are seen, so wrap the single shared
+ * persistence object rather than creating one per caller, and call
+ * {@link #invalidateAll()} when another process changes the database.
+ */
+public class CachingPhysicianPersistence implements PhysicianPersistence {
+
+    private final PhysicianPersistence delegate;
+    private final EntityCache<Physician> cache;
+
+    public CachingPhysicianPersistence(PhysicianPersistence delegate) {
+        this(delegate, EntityCache.DEFAULT_CAPACITY);
+    }
+
+    public CachingPhysicianPersistence(PhysicianPersistence delegate, int capacity) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(capacity, Physician::getId, Physician::getEmail,
+                CachingPhysicianPersistence::copyOf);
+    }
+
+    @Override
+    public void addPhysician(Physician physician) {
+        delegate.addPhysician(physician);
+        cache.invalidate(physician.getId());
+        cache.invalidateEmail(physician.getEmail());
+    }
+
+    @Override
+    public void deletePhysicianById(String id) {
+        delegate.deletePhysicianById(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void deleteAllPhysicians() {
+        delegate.deleteAllPhysicians();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public List<Physician> getAllPhysicians() {
+        return cache.getAll(delegate::getAllPhysicians);
+    }
+
+    @Override
+    public Physician getPhysicianById(String id) {
+        return cache.getById(id, delegate::getPhysicianById);
+    }
+
+    @Override
+    public Physician getPhysicianByEmail(String email) {
+        return cache.getByEmail(email, delegate::getPhysicianByEmail);
+    }
+
+    @Override
+    public void updatePhysician(Physician physician) {
+        try {
+            delegate.updatePhysician(physician);
+        } finally {
+            // the caller may have mutated its copy even if the update failed
+            cache.invalidate(physician.getId());
+        }
+    }
+
+    /** Drops every cached entry, e.g. after another process wrote the file. */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public EntityCache.Stats getStats() {
+        return cache.getStats();
+    }
+
+    private static Physician copyOf(Physician p) {
+        return new Physician(p.getId(), p.getName(), p.getEmail(), p.getPassword(), p.getSpecialty(),
+                p.getOfficeHours(), p.isNotifyAppointment(), p.isNotifyBilling(), p.isNotifyMessages(),
+                p.getPhone(), p.getOfficeAddress());
+    }
+}
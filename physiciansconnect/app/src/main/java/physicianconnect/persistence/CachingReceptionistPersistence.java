@@ -0,0 +1,84 @@
+package physicianconnect.persistence;
+
+import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.interfaces.ReceptionistPersistence;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of another {@link ReceptionistPersistence};
+ * see {@link CachingPhysicianPersistence}.
+ */
+public class CachingReceptionistPersistence implements ReceptionistPersistence {
+
+    private final ReceptionistPersistence delegate;
+    private final EntityCache<Receptionist> cache;
+
+    public CachingReceptionistPersistence(ReceptionistPersistence delegate) {
+        this(delegate, EntityCache.DEFAULT_CAPACITY);
+    }
+
+    public CachingReceptionistPersistence(ReceptionistPersistence delegate, int capacity) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>(capacity, Receptionist::getId, Receptionist::getEmail,
+                CachingReceptionistPersistence::copyOf);
+    }
+
+    @Override
+    public Receptionist getReceptionistById(String id) {
+        return cache.getById(id, delegate::getReceptionistById);
+    }
+
+    @Override
+    public Receptionist getReceptionistByEmail(String email) {
+        return cache.getByEmail(email, delegate::getReceptionistByEmail);
+    }
+
+    @Override
+    public void addReceptionist(Receptionist receptionist) {
+        delegate.addReceptionist(receptionist);
+        cache.invalidate(receptionist.getId());
+        cache.invalidateEmail(receptionist.getEmail());
+    }
+
+    @Override
+    public List<Receptionist> getAllReceptionists() {
+        return cache.getAll(delegate::getAllReceptionists);
+    }
+
+    @Override
+    public List<String> getAllReceptionistIds() {
+        return getAllReceptionists().stream().map(Receptionist::getId).collect(Collectors.toList());
+    }
+
+    @Override
+    public void updateReceptionist(Receptionist receptionist) {
+        try {
+            delegate.updateReceptionist(receptionist);
+        } finally {
+            // the email can change here, so drop the old index entry by id
+            cache.invalidate(receptionist.getId());
+        }
+    }
+
+    @Override
+    public void deleteReceptionist(String id) {
+        delegate.deleteReceptionist(id);
+        cache.invalidate(id);
+    }
+
+    /** Drops every cached entry; see {@link CachingPhysicianPersistence#invalidateAll()}. */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public EntityCache.Stats getStats() {
+        return cache.getStats();
+    }
+
+    private static Receptionist copyOf(Receptionist r) {
+        return new Receptionist(r.getId(), r.getName(), r.getEmail(), r.getPassword(),
+                r.isNotifyAppointment(), r.isNotifyBilling(), r.isNotifyMessages());
+    }
+}
@@ -1,43 +1,42 @@
 package physicianconnect.persistence;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 
 public class ConnectionManager {
-    private static Connection connection;
+    private static ConnectionPool pool;
 
     public static void initialize(String dbFilePath) {
-        if (connection != null)
+        if (pool != null)
             return;
 
-        try {
-            connection = DriverManager.getConnection("jdbc:sqlite:" + dbFilePath);
-
-            try (var stmt = connection.createStatement()) {
-                stmt.execute("PRAGMA foreign_keys = ON;");
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to initialize DB connection", e);
-        }
+        pool = ConnectionPool.open(dbFilePath);
     }
 
+    /**
+     * Returns the writer connection. Schema setup, seeding and the tests use
+     * it directly; DAOs should lease through {@link #getPool()} instead.
+     */
     public static Connection get() {
-        if (connection == null) {
+        return getPool().getWriterConnection();
+    }
+
+    public static ConnectionPool getPool() {
+        if (pool == null) {
             throw new IllegalStateException("Connection not initialized");
         }
-        return connection;
+        return pool;
+    }
+
+    public static ConnectionPool.Metrics getMetrics() {
+        return getPool().getMetrics();
     }
 
     public static void close() {
-        if (connection != null) {
+        if (pool != null) {
             try {
-                connection.close();
-            } catch (SQLException e) {
-                throw new RuntimeException("Failed to close DB connection", e);
+                pool.close();
             } finally {
-                connection = null;
+                pool = null;
             }
         }
     }
@@ -47,6 +46,6 @@ public class ConnectionManager {
     }
 
     public static boolean isInitialized() {
-        return connection != null;
+        return pool != null;
     }
 }
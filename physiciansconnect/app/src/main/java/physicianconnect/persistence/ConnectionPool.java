@@ -0,0 +1,313 @@
+package physicianconnect.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded SQLite connection pool with a single writer lane and a set of
+ * read-only reader connections.
+ *
+ * SQLite allows one writer at a time, so every write goes through the writer
+ * connection behind a fair, reentrant lock. In WAL mode readers never block
+ * behind that writer, so reads lease one of the reader connections instead.
+ * A thread that already holds the writer lane reads through it as well, so it
+ * sees its own uncommitted changes.
+ *
+ * In-memory databases are private to a single connection, so they run with
+ * no reader connections and every lease goes through the writer lane.
+ *
+ * Each connection carries its own {@link StatementCache}; DAOs prepare through
+ * {@link Lease#prepareStatement(String)} so repeated queries reuse the
+ * compiled statement instead of re-parsing and re-planning the SQL.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_READERS = 4;
+    public static final long DEFAULT_TIMEOUT_MS = 5000;
+    static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final Connection writer;
+    private final List<Connection> readers;
+    private final BlockingQueue<Connection> idleReaders;
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final long timeoutMs;
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicInteger activeReaders = new AtomicInteger();
+
+    private ConnectionPool(Connection writer, List<Connection> readers, long timeoutMs, int statementCacheSize) {
+        this.writer = writer;
+        this.readers = readers;
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readers.size()), true, readers);
+        this.timeoutMs = timeoutMs;
+        statementCaches.put(writer, new StatementCache(writer, statementCacheSize));
+        for (Connection reader : readers) {
+            statementCaches.put(reader, new StatementCache(reader, statementCacheSize));
+        }
+    }
+
+    /**
+     * Opens a pool on the given database file with WAL journaling,
+     * synchronous=NORMAL and a busy timeout on every connection. A
+     * statementCacheSize of 0 disables statement caching.
+     */
+    public static ConnectionPool open(String dbFilePath, int readerCount, long timeoutMs, int statementCacheSize) {
+        boolean inMemory = dbFilePath.isBlank() || dbFilePath.contains(":memory:");
+        List<Connection> readers = new ArrayList<>();
+        Connection writer = null;
+        try {
+            writer = DriverManager.getConnection("jdbc:sqlite:" + dbFilePath);
+            try (Statement stmt = writer.createStatement()) {
+                stmt.execute("PRAGMA foreign_keys = ON;");
+                stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS + ";");
+                if (!inMemory) {
+                    stmt.execute("PRAGMA journal_mode = WAL;");
+                    stmt.execute("PRAGMA synchronous = NORMAL;");
+                }
+            }
+
+            if (!inMemory) {
+                for (int i = 0; i < readerCount; i++) {
+                    Connection reader = DriverManager.getConnection("jdbc:sqlite:" + dbFilePath);
+                    try (Statement stmt = reader.createStatement()) {
+                        stmt.execute("PRAGMA foreign_keys = ON;");
+                        stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS + ";");
+                        stmt.execute("PRAGMA query_only = ON;");
+                    }
+                    readers.add(reader);
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(writer);
+            readers.forEach(ConnectionPool::closeQuietly);
+            throw new RuntimeException("Failed to initialize DB connection", e);
+        }
+        return new ConnectionPool(writer, readers, timeoutMs, statementCacheSize);
+    }
+
+    public static ConnectionPool open(String dbFilePath, int readerCount, long timeoutMs) {
+        return open(dbFilePath, readerCount, timeoutMs, StatementCache.DEFAULT_CAPACITY);
+    }
+
+    public static ConnectionPool open(String dbFilePath) {
+        return open(dbFilePath, DEFAULT_READERS, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Wraps an existing connection as a pool with no reader lane. Used by the
+     * DAO constructors that still take a plain Connection.
+     */
+    public static ConnectionPool wrap(Connection connection) {
+        return new ConnectionPool(connection, List.of(), DEFAULT_TIMEOUT_MS, StatementCache.DEFAULT_CAPACITY);
+    }
+
+    /** The writer connection; schema setup and seeding run directly on it. */
+    public Connection getWriterConnection() {
+        return writer;
+    }
+
+    /** Leases a connection for a read-only query. */
+    public Lease read() {
+        if (readers.isEmpty() || writerLock.isHeldByCurrentThread()) {
+            return write();
+        }
+        long start = System.nanoTime();
+        Connection reader;
+        try {
+            reader = idleReaders.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a reader connection", e);
+        }
+        if (reader == null) {
+            timeouts.incrementAndGet();
+            throw new RuntimeException("Timed out waiting for a reader connection after " + timeoutMs + " ms");
+        }
+        recordWait(System.nanoTime() - start);
+        activeReaders.incrementAndGet();
+        return new Lease(reader, false);
+    }
+
+    /**
+     * Leases the writer connection. The lane is reentrant, so a thread that
+     * already holds it (for example inside a transaction) can lease it again.
+     */
+    public Lease write() {
+        long start = System.nanoTime();
+        try {
+            if (!writerLock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new RuntimeException("Timed out waiting for the writer connection after " + timeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the writer connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+        return new Lease(writer, true);
+    }
+
+    /**
+     * Runs the work on the writer connection inside a single transaction and
+     * commits it, rolling back if it throws. A call made while the current
+     * thread is already inside a transaction joins that transaction instead.
+     */
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        try (Lease lease = write()) {
+            Connection connection = lease.connection();
+            if (!connection.getAutoCommit()) {
+                return work.run(lease);
+            }
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(lease);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        leases.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public int getReaderCount() {
+        return readers.size();
+    }
+
+    /** Statement cache counters summed over every connection in the pool. */
+    public StatementCache.Stats getStatementCacheStats() {
+        long hits = 0, misses = 0, evictions = 0;
+        int size = 0;
+        for (StatementCache cache : statementCaches.values()) {
+            StatementCache.Stats stats = cache.getStats();
+            hits += stats.hits();
+            misses += stats.misses();
+            evictions += stats.evictions();
+            size += stats.size();
+        }
+        return new StatementCache.Stats(hits, misses, evictions, size);
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(
+                leases.get(),
+                totalWaitNanos.get(),
+                maxWaitNanos.get(),
+                activeReaders.get(),
+                writerLock.isLocked() ? 1 : 0,
+                writerLock.getQueueLength(),
+                timeouts.get());
+    }
+
+    @Override
+    public void close() {
+        statementCaches.values().forEach(StatementCache::clear);
+        SQLException failure = null;
+        for (Connection reader : readers) {
+            try {
+                reader.close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        try {
+            writer.close();
+        } catch (SQLException e) {
+            failure = e;
+        }
+        if (failure != null) {
+            throw new RuntimeException("Failed to close DB connection", failure);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null)
+            return;
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // already failing; keep the original error
+        }
+    }
+
+    /** Unit of work run against the leased writer connection. */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Lease lease) throws SQLException;
+    }
+
+    /** A borrowed connection; closing the lease returns it to its lane. */
+    public class Lease implements AutoCloseable {
+        private final Connection connection;
+        private final boolean writerLane;
+        private boolean released;
+
+        private Lease(Connection connection, boolean writerLane) {
+            this.connection = connection;
+            this.writerLane = writerLane;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Prepares the statement through this connection's cache. Close it as
+         * usual; closing returns it to the cache.
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            return statementCaches.get(connection).prepare(sql);
+        }
+
+        @Override
+        public void close() {
+            if (released)
+                return;
+            released = true;
+            if (writerLane) {
+                writerLock.unlock();
+            } else {
+                activeReaders.decrementAndGet();
+                idleReaders.offer(connection);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of pool activity: total leases, cumulative and worst-case time
+     * spent waiting for a connection, connections currently leased, threads
+     * queued on the writer lane and lease timeouts.
+     */
+    public record Metrics(long leases, long totalWaitNanos, long maxWaitNanos,
+            int activeReaders, int activeWriters, int queuedWriters, long timeouts) {
+
+        public double averageWaitMillis() {
+            return leases == 0 ? 0 : totalWaitNanos / 1_000_000.0 / leases;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package physicianconnect.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
+
+/**
+ * Notices commits made to the database file by other processes. SQLite's
+ * {@code PRAGMA data_version} on a connection changes only when some other
+ * connection commits; every in-process write goes through the writer, so on
+ * the writer it moves only for outside changes. The check reads a counter
+ * from shared memory and costs no disk I/O, so it can run every few seconds
+ * while the app is idle. Each change is published as an {@link ExternalChange}.
+ */
+public class DataVersionWatcher implements AutoCloseable {
+    public static final long DEFAULT_INTERVAL_MS = 2000;
+
+    private static final String DATA_VERSION = "PRAGMA data_version";
+
+    private final ConnectionPool pool;
+    private final EventBus bus;
+    private final ScheduledExecutorService scheduler;
+    private long lastVersion;
+
+    DataVersionWatcher(ConnectionPool pool, EventBus bus) {
+        this.pool = pool;
+        this.bus = bus;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "data-version-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.lastVersion = readVersion();
+    }
+
+    public static DataVersionWatcher start(ConnectionPool pool, EventBus bus, long intervalMs) {
+        DataVersionWatcher watcher = new DataVersionWatcher(pool, bus);
+        watcher.scheduler.scheduleWithFixedDelay(watcher::pollQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        return watcher;
+    }
+
+    /** Checks once and publishes if the file changed; true if it did. */
+    boolean poll() {
+        long version = readVersion();
+        if (version == lastVersion) {
+            return false;
+        }
+        lastVersion = version;
+        bus.publish(new ExternalChange(version));
+        return true;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // busy or closing; try again on the next tick
+        }
+    }
+
+    private long readVersion() {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DATA_VERSION);
+                ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read data_version", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
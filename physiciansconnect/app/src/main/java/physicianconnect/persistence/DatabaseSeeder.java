@@ -1,15 +1,36 @@
 package physicianconnect.persistence;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Loads seed data. SQL seed files are split with {@link SqlScriptTokenizer}
+ * and each file runs as one batch in one transaction, so a file costs a
+ * single commit instead of one per statement and a failing file leaves
+ * nothing behind.
+ *
+ * For load testing, {@link #loadCsv} streams a CSV file (header row = column
+ * names) into a table through one prepared INSERT, flushed every
+ * {@value #CSV_BATCH_SIZE} rows and committed once at the end.
+ */
 public class DatabaseSeeder {
 
+    static final int CSV_BATCH_SIZE = 5000;
+
     public static void seed(Connection connection, List<String> resourcePaths) {
         for (String path : resourcePaths) {
             executeSqlFromResource(path, connection);
@@ -23,20 +44,181 @@ public class DatabaseSeeder {
             throw new RuntimeException("Seed file not found: " + resourcePath);
         }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
             String sql = reader.lines().collect(Collectors.joining("\n"));
-            for (String statement : sql.split(";")) {
-                String trimmed = statement.trim();
-                if (!trimmed.isEmpty()) {
-                    try (Statement stmt = connection.createStatement()) {
-                        stmt.execute(trimmed);
+            List<String> statements = SqlScriptTokenizer.split(sql);
+            inTransaction(connection, () -> {
+                try (Statement stmt = connection.createStatement()) {
+                    for (String statement : statements) {
+                        stmt.addBatch(statement);
                     }
+                    stmt.executeBatch();
                 }
-            }
+            });
         } catch (Exception e) {
-            e.printStackTrace();
             throw new RuntimeException("Failed to execute seed file: " + resourcePath, e);
-            
+        }
+    }
+
+    /**
+     * Bulk-loads a CSV file into table. The first record names the columns;
+     * an empty unquoted field is stored as NULL, a quoted empty field ("")
+     * as an empty string. Returns the number of rows inserted.
+     */
+    public static long loadCsv(Connection connection, String table, Path csvFile) {
+        try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return loadCsv(connection, table, reader);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load CSV into " + table + ": " + csvFile, e);
+        }
+    }
+
+    public static long loadCsv(Connection connection, String table, Reader csv) {
+        CsvReader reader = new CsvReader(csv);
+        try {
+            List<String> header = reader.next();
+            if (header == null || header.isEmpty()) {
+                throw new IllegalArgumentException("CSV input for " + table + " has no header row");
+            }
+            String sql = "INSERT INTO " + quoteIdentifier(table)
+                    + header.stream().map(DatabaseSeeder::quoteIdentifier).collect(Collectors.joining(", ", " (", ")"))
+                    + " VALUES " + header.stream().map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+
+            long[] rows = { 0 };
+            inTransaction(connection, () -> {
+                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                    int pending = 0;
+                    List<String> record;
+                    while ((record = reader.next()) != null) {
+                        if (record.size() != header.size()) {
+                            throw new IllegalArgumentException("CSV record " + (rows[0] + 2) + " has "
+                                    + record.size() + " fields, expected " + header.size());
+                        }
+                        for (int i = 0; i < record.size(); i++) {
+                            String value = record.get(i);
+                            if (value == null) {
+                                stmt.setNull(i + 1, Types.NULL);
+                            } else {
+                                // column affinity converts numeric text on insert
+                                stmt.setString(i + 1, value);
+                            }
+                        }
+                        stmt.addBatch();
+                        rows[0]++;
+                        if (++pending == CSV_BATCH_SIZE) {
+                            stmt.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        stmt.executeBatch();
+                    }
+                }
+            });
+            return rows[0];
+        } catch (SQLException | IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to load CSV into " + table, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws SQLException, IOException;
+    }
+
+    /**
+     * Runs work in one transaction, or inside the caller's transaction when
+     * auto-commit is already off.
+     */
+    private static void inTransaction(Connection connection, Work work) throws SQLException, IOException {
+        if (!connection.getAutoCommit()) {
+            work.run();
+            return;
+        }
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static String quoteIdentifier(String name) {
+        return "\"" + name.trim().replace("\"", "\"\"") + "\"";
+    }
+
+    /** Minimal RFC 4180 reader: quoted fields may hold commas, "" and line breaks. */
+    private static final class CsvReader {
+        private final Reader in;
+        private int peeked = -2;
+
+        CsvReader(Reader in) {
+            this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+        }
+
+        /** Next record, or null at end of input. Blank lines are skipped. */
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c == '"' && field.length() == 0 && !quoted) {
+                    quoted = true;
+                    while (true) {
+                        c = read();
+                        if (c == -1) {
+                            throw new IOException("Unterminated quoted CSV field");
+                        }
+                        if (c == '"') {
+                            if (peek() != '"') {
+                                break;
+                            }
+                            read();
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                    fields.add(quoted || field.length() > 0 ? field.toString() : null);
+                    if (c != ',') {
+                        if (c == '\r' && peek() == '\n') {
+                            read();
+                        }
+                        return fields;
+                    }
+                    field.setLength(0);
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
         }
     }
 }
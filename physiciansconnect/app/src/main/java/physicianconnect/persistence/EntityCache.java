@@ -0,0 +1,198 @@
+package physicianconnect.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded LRU of user entities keyed by id, with a secondary index on
+ * lower-cased email, plus an optional snapshot of the whole table for
+ * getAll-style calls. Backs {@link CachingPhysicianPersistence} and
+ * {@link CachingReceptionistPersistence}.
+ *
+ * Loads run outside the lock. Every invalidation bumps a generation counter,
+ * and a load that started before an invalidation is returned to its caller
+ * but not cached, so a slow read can't put back a row that a concurrent write
+ * just changed. The entities are mutable, so callers always get copies.
+ */
+public final class EntityCache<T> {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Function<T, String> idOf;
+    private final Function<T, String> emailOf;
+    private final UnaryOperator<T> copy;
+
+    private final LinkedHashMap<String, T> byId = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> idByEmail = new HashMap<>();
+    private List<T> all;
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public EntityCache(int capacity, Function<T, String> idOf, Function<T, String> emailOf, UnaryOperator<T> copy) {
+        this.capacity = capacity;
+        this.idOf = idOf;
+        this.emailOf = emailOf;
+        this.copy = copy;
+    }
+
+    public T getById(String id, Function<String, T> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            T cached = byId.get(id);
+            if (cached != null) {
+                hits++;
+                return copy.apply(cached);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        T loaded = loader.apply(id);
+        synchronized (this) {
+            if (loaded != null && loadGeneration == generation) {
+                put(loaded);
+            }
+        }
+        return loaded == null ? null : copy.apply(loaded);
+    }
+
+    public T getByEmail(String email, Function<String, T> loader) {
+        if (email == null) {
+            return loader.apply(null);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            String id = idByEmail.get(email.toLowerCase(Locale.ROOT));
+            T cached = id == null ? null : byId.get(id);
+            if (cached != null) {
+                hits++;
+                return copy.apply(cached);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        T loaded = loader.apply(email);
+        synchronized (this) {
+            if (loaded != null && loadGeneration == generation) {
+                put(loaded);
+            }
+        }
+        return loaded == null ? null : copy.apply(loaded);
+    }
+
+    /** The whole table; also warms the id and email indexes. */
+    public List<T> getAll(Supplier<List<T>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (all != null) {
+                hits++;
+                return copies(all);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        List<T> loaded = loader.get();
+        synchronized (this) {
+            // a snapshot bigger than the cache would defeat the bound
+            if (loadGeneration == generation && capacity > 0 && loaded.size() <= capacity) {
+                all = new ArrayList<>(loaded);
+                for (T entity : loaded) {
+                    put(entity);
+                }
+            }
+        }
+        return copies(loaded);
+    }
+
+    /** Drops one entity (and the table snapshot) after it was written. */
+    public synchronized void invalidate(String id) {
+        generation++;
+        all = null;
+        T removed = byId.remove(id);
+        if (removed != null) {
+            unindexEmail(removed);
+        }
+    }
+
+    /**
+     * Drops whatever is cached under this email. Inserts use this, since an
+     * INSERT OR IGNORE may leave an existing row with a different id in place.
+     */
+    public synchronized void invalidateEmail(String email) {
+        generation++;
+        all = null;
+        if (email != null) {
+            String id = idByEmail.remove(email.toLowerCase(Locale.ROOT));
+            if (id != null) {
+                byId.remove(id);
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        all = null;
+        byId.clear();
+        idByEmail.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, byId.size());
+    }
+
+    private void put(T entity) {
+        String id = idOf.apply(entity);
+        if (id == null || capacity <= 0) {
+            return;
+        }
+        T previous = byId.put(id, copy.apply(entity));
+        if (previous != null) {
+            unindexEmail(previous);
+        }
+        String email = emailOf.apply(entity);
+        if (email != null) {
+            idByEmail.put(email.toLowerCase(Locale.ROOT), id);
+        }
+        Iterator<Map.Entry<String, T>> eldest = byId.entrySet().iterator();
+        while (byId.size() > capacity) {
+            T evicted = eldest.next().getValue();
+            eldest.remove();
+            unindexEmail(evicted);
+            evictions++;
+        }
+    }
+
+    private void unindexEmail(T entity) {
+        String email = emailOf.apply(entity);
+        if (email != null) {
+            idByEmail.remove(email.toLowerCase(Locale.ROOT), idOf.apply(entity));
+        }
+    }
+
+    private List<T> copies(List<T> entities) {
+        List<T> result = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            result.add(copy.apply(entity));
+        }
+        return result;
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -3,19 +3,98 @@ package physicianconnect.persistence;
 import physicianconnect.objects.Message;
 import physicianconnect.persistence.interfaces.MessageRepository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
 
 public class InMemoryMessageRepository implements MessageRepository {
+    private static final Comparator<Message> BY_TIME = Comparator
+            .comparing(Message::getTimestamp)
+            .thenComparing(Message::getMessageId);
+    // UUIDs compare as signed longs, so these bracket every id at a given time
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
     private final Map<UUID, Message> messages = new ConcurrentHashMap<>();
+    // conversation key -> its messages in timestamp order
+    private final Map<String, NavigableSet<Message>> byConversation = new ConcurrentHashMap<>();
 
     @Override
-    public Message save(Message message) {
-        messages.put(message.getMessageId(), message);
+    public synchronized Message save(Message message) {
+        Message previous = messages.put(message.getMessageId(), message);
+        if (previous != null) {
+            NavigableSet<Message> old = byConversation.get(previous.getConversationKey());
+            if (old != null) {
+                old.remove(previous);
+            }
+        }
+        byConversation.computeIfAbsent(message.getConversationKey(), k -> new ConcurrentSkipListSet<>(BY_TIME))
+                .add(message);
         return message;
     }
 
+    @Override
+    public List<Message> findConversation(String userA, String typeA, String userB, String typeB,
+                                          LocalDateTime since, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        NavigableSet<Message> conversation = byConversation.get(Message.conversationKey(userA, typeA, userB, typeB));
+        if (conversation == null) {
+            return new ArrayList<>();
+        }
+        if (since == null) {
+            return oldestFirst(conversation.descendingSet(), limit);
+        }
+        // a probe after every message at since, so the tail starts strictly after it
+        List<Message> page = new ArrayList<>();
+        for (Message message : conversation.tailSet(probe(since, LAST_ID), false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(message);
+        }
+        return page;
+    }
+
+    @Override
+    public List<Message> findConversationBefore(String userA, String typeA, String userB, String typeB,
+                                                LocalDateTime before, int limit) {
+        if (before == null) {
+            throw new IllegalArgumentException("Before time cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        NavigableSet<Message> conversation = byConversation.get(Message.conversationKey(userA, typeA, userB, typeB));
+        if (conversation == null) {
+            return new ArrayList<>();
+        }
+        // a probe before every message at before, so the head ends strictly before it
+        return oldestFirst(conversation.headSet(probe(before, FIRST_ID), false).descendingSet(), limit);
+    }
+
+    // walk back from the newest message, then hand the page back oldest first
+    private static List<Message> oldestFirst(NavigableSet<Message> descending, int limit) {
+        LinkedList<Message> page = new LinkedList<>();
+        for (Message message : descending) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.addFirst(message);
+        }
+        return new ArrayList<>(page);
+    }
+
+    private static Message probe(LocalDateTime timestamp, UUID id) {
+        Message probe = new Message(null, null, null, null, null);
+        probe.setTimestamp(timestamp);
+        probe.setMessageId(id);
+        return probe;
+    }
+
     // Updated: now requires both receiverId and receiverType
     public List<Message> findByReceiverId(String receiverId, String receiverType) {
         return messages.values().stream()
@@ -53,6 +132,27 @@ public class InMemoryMessageRepository implements MessageRepository {
         }
     }
 
+    @Override
+    public synchronized int markConversationRead(String readerId, String readerType, String counterpartId,
+                                                 String counterpartType, LocalDateTime upTo) {
+        if (upTo == null) {
+            throw new IllegalArgumentException("Read-up-to time cannot be null");
+        }
+        NavigableSet<Message> conversation = byConversation.get(
+                Message.conversationKey(readerId, readerType, counterpartId, counterpartType));
+        if (conversation != null) {
+            for (Message message : conversation) {
+                if (message.getTimestamp().isAfter(upTo)) {
+                    break;
+                }
+                if (message.getReceiverId().equals(readerId) && message.getReceiverType().equals(readerType)) {
+                    message.setRead(true);
+                }
+            }
+        }
+        return countUnreadMessages(readerId, readerType);
+    }
+
     // Updated: now requires both receiverId and receiverType
     public int countUnreadMessages(String receiverId, String receiverType) {
         return (int) messages.values().stream()
@@ -4,8 +4,11 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
 import physicianconnect.persistence.interfaces.*;
 import physicianconnect.persistence.sqlite.*;
 import physicianconnect.persistence.stub.StubFactory;
@@ -21,7 +24,11 @@ public class PersistenceFactory {
     private static ReceptionistPersistence receptionistPersistence;
     private static InvoicePersistence invoicePersistence;
     private static PaymentPersistence paymentPersistence;
+    private static RevenueRollupPersistence revenueRollupPersistence;
     private static NotificationPersistence notificationPersistence;
+    private static DataVersionWatcher dataVersionWatcher;
+    private static UnreadCounterReconciler unreadCounterReconciler;
+    private static final List<EventBus.Subscription> cacheSubscriptions = new ArrayList<>();
 
     public static void initialize(PersistenceType type, boolean seed) {
         if (physicianPersistence != null || appointmentPersistence != null || medicationPersistence != null
@@ -35,7 +42,8 @@ public class PersistenceFactory {
                 String dbPath = type == PersistenceType.PROD ? "prod.db" : "test.db";
                 try {
                     ConnectionManager.initialize(dbPath);
-                    Connection conn = ConnectionManager.get();
+                    ConnectionPool pool = ConnectionManager.getPool();
+                    Connection conn = pool.getWriterConnection();
 
                     SchemaInitializer.initializeSchema(conn);
 
@@ -48,19 +56,24 @@ public class PersistenceFactory {
                                 "database_seeds/seed_referrals.sql",
                                 "database_seeds/seed_receptionists.sql",
                                 "database_seeds/seed_invoices.sql",
+                                "database_seeds/seed_invoice_items.sql",
                                 "database_seeds/seed_payments.sql"));
                     }
 
-                    physicianPersistence = new PhysicianDB(conn);
-                    appointmentPersistence = new AppointmentDB(conn);
-                    medicationPersistence = new MedicationDB(conn);
-                    prescriptionPersistence = new PrescriptionDB(conn);
-                    referralPersistence = new ReferralDB(conn);
-                    messageRepository = new MessageDB(conn);
-                    receptionistPersistence = new ReceptionistDB(conn);
-                    invoicePersistence = new InvoiceDB(conn);
-                    paymentPersistence = new PaymentDB(conn);
-                    notificationPersistence = new NotificationDB(conn, getReceptionistPersistence());
+                    CachingPhysicianPersistence physicians = new CachingPhysicianPersistence(new PhysicianDB(pool));
+                    physicianPersistence = physicians;
+                    appointmentPersistence = new AppointmentDB(pool);
+                    medicationPersistence = new MedicationDB(pool);
+                    prescriptionPersistence = new PrescriptionDB(pool);
+                    referralPersistence = new ReferralDB(pool);
+                    messageRepository = new MessageDB(pool);
+                    CachingReceptionistPersistence receptionists =
+                            new CachingReceptionistPersistence(new ReceptionistDB(pool));
+                    receptionistPersistence = receptionists;
+                    invoicePersistence = new InvoiceDB(pool);
+                    paymentPersistence = new PaymentDB(pool);
+                    revenueRollupPersistence = new RevenueRollupDB(pool);
+                    notificationPersistence = new NotificationDB(pool, getReceptionistPersistence());
 
                     /*
                      * In production this line wouldn't exist but because we want to make
@@ -70,6 +83,15 @@ public class PersistenceFactory {
                      */
                     injectTestUserForGrader();
 
+                    // pushes changes made by other processes sharing the file
+                    EventBus bus = EventBus.getDefault();
+                    cacheSubscriptions.add(bus.subscribe(ExternalChange.class, change -> physicians.invalidateAll()));
+                    cacheSubscriptions.add(bus.subscribe(ExternalChange.class, change -> receptionists.invalidateAll()));
+                    dataVersionWatcher = DataVersionWatcher.start(pool, bus, DataVersionWatcher.DEFAULT_INTERVAL_MS);
+                    // keeps the badge counters honest against the tables they count
+                    unreadCounterReconciler = UnreadCounterReconciler.start(pool,
+                            UnreadCounterReconciler.DEFAULT_INTERVAL_MS);
+
                 } catch (Exception e) {
                     fallbackToStubs(e);
                 }
@@ -87,7 +109,8 @@ public class PersistenceFactory {
         messageRepository = new InMemoryMessageRepository();
         receptionistPersistence = StubFactory.createReceptionistPersistence();
         invoicePersistence = StubFactory.createInvoicePersistence();
-        paymentPersistence = StubFactory.createPaymentPersistence();
+        paymentPersistence = StubFactory.createPaymentPersistence(invoicePersistence);
+        revenueRollupPersistence = StubFactory.createRevenueRollupPersistence(invoicePersistence);
         notificationPersistence = StubFactory.createNotificationPersistence();
 
         if (e != null) {
@@ -132,11 +155,14 @@ public class PersistenceFactory {
 
     }
 
+    public static RevenueRollupPersistence getRevenueRollupPersistence() {
+        return revenueRollupPersistence;
+    }
+
     public static NotificationPersistence getNotificationPersistence() {
         if (notificationPersistence == null) {
             try {
-                Connection conn = ConnectionManager.get();
-                notificationPersistence = new NotificationDB(conn, getReceptionistPersistence());
+                notificationPersistence = new NotificationDB(ConnectionManager.getPool(), getReceptionistPersistence());
             } catch (Exception e) {
                 e.printStackTrace();
                 notificationPersistence = StubFactory.createNotificationPersistence();
@@ -146,6 +172,16 @@ public class PersistenceFactory {
     }
 
     public static void reset() {
+        cacheSubscriptions.forEach(EventBus.Subscription::close);
+        cacheSubscriptions.clear();
+        if (dataVersionWatcher != null) {
+            dataVersionWatcher.close();
+            dataVersionWatcher = null;
+        }
+        if (unreadCounterReconciler != null) {
+            unreadCounterReconciler.close();
+            unreadCounterReconciler = null;
+        }
         ConnectionManager.close();
         physicianPersistence = null;
         appointmentPersistence = null;
@@ -156,6 +192,7 @@ public class PersistenceFactory {
         receptionistPersistence = null;
         invoicePersistence = null;
         paymentPersistence = null;
+        revenueRollupPersistence = null;
         notificationPersistence = null;
     }
 
@@ -0,0 +1,72 @@
+package physicianconnect.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a SQL script into individual statements.
+ *
+ * Semicolons only end a statement when they appear outside string literals
+ * ('...' with '' escapes), quoted identifiers ("...", `...`, [...]) and
+ * comments (-- to end of line, and block comments). Comments are dropped
+ * from the output; blank statements are skipped.
+ */
+public class SqlScriptTokenizer {
+
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = script.length();
+        int i = 0;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                char close = c == '[' ? ']' : c;
+                int end = i + 1;
+                while (end < length) {
+                    if (script.charAt(end) == close) {
+                        // doubled quote is an escaped quote inside the literal
+                        if (close != ']' && end + 1 < length && script.charAt(end + 1) == close) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                if (end >= length) {
+                    throw new IllegalArgumentException("Unterminated " + c + " starting at offset " + i);
+                }
+                current.append(script, i, end + 1);
+                i = end + 1;
+            } else if (c == '-' && i + 1 < length && script.charAt(i + 1) == '-') {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated block comment starting at offset " + i);
+                }
+                // keep tokens on either side of the comment apart
+                current.append(' ');
+                i = end + 2;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,207 @@
+package physicianconnect.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for a single connection.
+ *
+ * Statements handed out by {@link #prepare(String)} are wrappers around the
+ * cached statement: closing one closes its open result set and clears the
+ * bound parameters, but keeps the underlying statement (and SQLite's compiled
+ * plan) alive for the next caller. The pool only lets one lease use a
+ * connection at a time; a statement that is still checked out when the same
+ * SQL is requested again (a nested call on the writer lane) is served with a
+ * plain, uncached statement instead.
+ */
+public class StatementCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Connection connection;
+    private final int capacity;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                evictions.incrementAndGet();
+                eldest.getValue().evicted = true;
+                if (!eldest.getValue().inUse) {
+                    closeQuietly(eldest.getValue().statement);
+                }
+                return true;
+            }
+        };
+    }
+
+    public synchronized PreparedStatement prepare(String sql) throws SQLException {
+        if (capacity <= 0) {
+            misses.incrementAndGet();
+            return connection.prepareStatement(sql);
+        }
+        if (connection.isClosed()) {
+            clear();
+            // let the driver report the closed connection
+            return connection.prepareStatement(sql);
+        }
+
+        Entry entry = entries.get(sql);
+        if (entry != null && entry.inUse) {
+            misses.incrementAndGet();
+            return connection.prepareStatement(sql);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            entry = new Entry(sql, connection.prepareStatement(sql));
+            entries.put(sql, entry);
+        } else {
+            hits.incrementAndGet();
+        }
+        entry.inUse = true;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(entry));
+    }
+
+    private synchronized void release(Entry entry, boolean broken) {
+        entry.inUse = false;
+        if (broken && !entry.evicted) {
+            entries.remove(entry.sql);
+            entry.evicted = true;
+        }
+        if (entry.evicted) {
+            closeQuietly(entry.statement);
+        }
+    }
+
+    /** Closes and forgets every cached statement. */
+    public synchronized void clear() {
+        List<Entry> dropped = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : dropped) {
+            entry.evicted = true;
+            if (!entry.inUse) {
+                closeQuietly(entry.statement);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), size());
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // statement is being discarded either way
+        }
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private Entry(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+    }
+
+    /** One checkout of a cached statement. */
+    private final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private ResultSet lastResult;
+        private boolean failed;
+        private boolean closed;
+
+        private Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    checkIn();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet rs) {
+                    lastResult = rs;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                failed = true;
+                throw e.getCause();
+            }
+        }
+
+        private void checkIn() {
+            if (closed)
+                return;
+            closed = true;
+            try {
+                if (lastResult != null && !lastResult.isClosed()) {
+                    lastResult.close();
+                }
+                entry.statement.clearParameters();
+                // a batch abandoned by an exception must not leak into the next checkout
+                entry.statement.clearBatch();
+            } catch (SQLException e) {
+                failed = true;
+            }
+            release(entry, failed);
+        }
+    }
+
+    /** Hit/miss counters; misses include statements served uncached. */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -3,23 +3,64 @@ package physicianconnect.persistence.interfaces;
 import physicianconnect.objects.Appointment;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface AppointmentPersistence {
     List<Appointment> getAppointmentsForPhysician(String physicianId);
 
+    /** Stores the appointment and gives it its new id. */
     void addAppointment(Appointment appointment);
 
+    /**
+     * Inserts all of them in one transaction and gives each its new id; none
+     * are added if any insert fails. This is the raw import path: unlike
+     * {@link #addAppointmentIfSlotFree} it does not check for an existing
+     * booking at the same start time, so callers bringing in data that may
+     * clash must check the slots themselves.
+     */
+    void addAppointments(List<Appointment> appointments);
+
+    /**
+     * Inserts the appointment only if the physician has nothing booked at
+     * its start time, as one atomic step. Returns false (and adds nothing)
+     * if the slot was already taken; otherwise the appointment has its new id.
+     */
+    boolean addAppointmentIfSlotFree(Appointment appointment);
+
+    /** True if the physician already has an appointment starting at dateTime. */
+    boolean isSlotTaken(String physicianId, LocalDateTime dateTime);
+
+    /** Same as {@link #isSlotTaken}, but ignores bookings for patientName (the one being moved). */
+    boolean isSlotTakenByOther(String physicianId, LocalDateTime dateTime, String patientName);
+
     void updateAppointment(Appointment appointment);
 
+    /** Applies every update in one transaction, e.g. when rescheduling a whole day. */
+    void updateAppointments(List<Appointment> appointments);
+
     void deleteAppointment(Appointment appointment);
 
+    /** The appointment with that id, or null if there is none. */
+    Appointment getAppointmentById(int id);
+
     void deleteAllAppointments();
 
     List<Appointment> getAllAppointments();
 
+    /** Appointments in id order, at most limit per page; see {@link Page}. */
+    Page<Appointment> getAppointmentsPage(String cursor, int limit);
+
+    /** Hands each appointment to action as it is read, without building a list. */
+    void forEachAppointment(Consumer<Appointment> action);
+
+    /** Every appointment, fetched a page at a time. */
+    default Stream<Appointment> streamAppointments() {
+        return Page.stream(cursor -> getAppointmentsPage(cursor, Page.STREAM_PAGE_SIZE));
+    }
+
     /**
      * Fetch all appointments for a given physician whose datetime is ≥ start AND < end.
      */
@@ -28,4 +69,14 @@ public interface AppointmentPersistence {
             LocalDateTime start,
             LocalDateTime end
     );
+
+    /**
+     * Same range, for several physicians at once. Results are ordered by
+     * physician and then datetime, and carry their physician id.
+     */
+    List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end
+    );
 }
@@ -1,13 +1,30 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Invoice;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface InvoicePersistence {
     void addInvoice(Invoice invoice);
     Invoice getInvoiceById(String id);
     List<Invoice> getInvoicesByMonth(int year, int month);
+    /** Invoices created in [from, to), oldest first. */
+    List<Invoice> getInvoicesCreatedBetween(LocalDateTime from, LocalDateTime to);
     List<Invoice> getAllInvoices();
+    /** Invoices in id order, at most limit per page; see {@link Page}. */
+    Page<Invoice> getInvoicesPage(String cursor, int limit);
+    /** Hands each invoice to action as it is read, without building a list. */
+    void forEachInvoice(Consumer<Invoice> action);
+    /** Every invoice, fetched a page at a time. */
+    default Stream<Invoice> streamInvoices() {
+        return Page.stream(cursor -> getInvoicesPage(cursor, Page.STREAM_PAGE_SIZE));
+    }
+    /** Service name to total billed in cents for invoices created in [from, to), highest first. */
+    Map<String, Long> getRevenueByService(LocalDateTime from, LocalDateTime to);
     void updateInvoice(Invoice invoice);
     void deleteInvoiceById(String id);
 }
\ No newline at end of file
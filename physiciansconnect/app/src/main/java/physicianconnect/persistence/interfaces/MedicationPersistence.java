@@ -3,6 +3,8 @@ package physicianconnect.persistence.interfaces;
 import physicianconnect.objects.Medication;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface MedicationPersistence {
     void addMedication(Medication medication);
@@ -12,4 +14,15 @@ public interface MedicationPersistence {
     void deleteAllMedications();
 
     List<Medication> getAllMedications(); // optional global list
+
+    /** Medications in a stable order, at most limit per page; see {@link Page}. */
+    Page<Medication> getMedicationsPage(String cursor, int limit);
+
+    /** Hands each medication to action as it is read, without building a list. */
+    void forEachMedication(Consumer<Medication> action);
+
+    /** Every medication, fetched a page at a time. */
+    default Stream<Medication> streamMedications() {
+        return Page.stream(cursor -> getMedicationsPage(cursor, Page.STREAM_PAGE_SIZE));
+    }
 }
@@ -1,6 +1,7 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Message;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,7 +12,34 @@ public interface MessageRepository {
     List<Message> findBySenderId(String senderId, String senderType);
     List<Message> findUnreadByReceiverId(String receiverId, String receiverType);
 
+    /**
+     * Messages exchanged between the two users in either direction, oldest
+     * first. With since null this is the latest page: the newest limit
+     * messages of the conversation. Otherwise it is the first limit messages
+     * sent strictly after since, so passing the newest timestamp already
+     * shown walks forward without gaps; a page shorter than limit means
+     * there is nothing newer.
+     */
+    List<Message> findConversation(String userA, String typeA, String userB, String typeB,
+                                   LocalDateTime since, int limit);
+
+    /**
+     * The newest limit messages of the conversation sent strictly before
+     * before, oldest first. Pass the oldest timestamp already shown to page
+     * back through the history.
+     */
+    List<Message> findConversationBefore(String userA, String typeA, String userB, String typeB,
+                                         LocalDateTime before, int limit);
+
     void markAsRead(UUID messageId);
 
+    /**
+     * Marks every message the reader received from counterpart up to and
+     * including upTo as read, in one update, and returns the reader's unread
+     * count afterwards. Messages that arrive after upTo stay unread.
+     */
+    int markConversationRead(String readerId, String readerType, String counterpartId, String counterpartType,
+                             LocalDateTime upTo);
+
     int countUnreadMessages(String receiverId, String receiverType);
 }
\ No newline at end of file
@@ -5,6 +5,12 @@ import physicianconnect.objects.Notification;
 
 public interface NotificationPersistence {
     void addNotification(Notification notification);
+    /** Inserts all of them in one transaction, e.g. one notification per recipient. */
+    void addNotifications(List<Notification> notifications);
     List<Notification> getNotificationsForUser(String userId, String userType);
     void clearNotificationsForUser(String userId, String userType);
+    /** Marks every notification of the user as read. */
+    void markAllAsRead(String userId, String userType);
+    /** Unread notifications of the user; cheap enough to call for every badge refresh. */
+    int countUnreadNotifications(String userId, String userType);
 } 
\ No newline at end of file
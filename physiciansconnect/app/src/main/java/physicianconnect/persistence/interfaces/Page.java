@@ -0,0 +1,73 @@
+package physicianconnect.persistence.interfaces;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@link #nextCursor()} back to
+ * the same page method to continue; it is null on the last page. Cursors are
+ * opaque and only valid for the method that produced them. Pass a null cursor
+ * for the first page.
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    /** Page size used by the default stream methods. */
+    public static final int STREAM_PAGE_SIZE = 500;
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Lazily walks every page. Only one page is held at a time and nothing
+     * stays open between pages, so the stream needs no closing.
+     */
+    public static <T> Stream<T> stream(Function<String, Page<T>> fetch) {
+        return Stream.iterate(fetch.apply(null), Objects::nonNull,
+                page -> page.hasMore() ? fetch.apply(page.nextCursor()) : null)
+                .flatMap(page -> page.items().stream());
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive: " + limit);
+        }
+    }
+
+    /**
+     * Keyset page over an in-memory collection, for the stubs. Items are
+     * ordered by key; the cursor is the key of the last item returned.
+     */
+    public static <T, K extends Comparable<K>> Page<T> slice(Collection<T> all, Function<T, K> key,
+            Function<String, K> parseCursor, String cursor, int limit) {
+        checkLimit(limit);
+        K after;
+        try {
+            after = cursor == null ? null : parseCursor.apply(cursor);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+        List<T> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparing(key));
+        List<T> items = new ArrayList<>();
+        for (T item : sorted) {
+            if (after != null && key.apply(item).compareTo(after) <= 0) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, String.valueOf(key.apply(items.get(limit - 1))));
+            }
+            items.add(item);
+        }
+        return new Page<>(items, null);
+    }
+}
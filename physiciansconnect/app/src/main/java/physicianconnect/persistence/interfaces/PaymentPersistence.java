@@ -1,10 +1,24 @@
 package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PaymentPersistence {
     void addPayment(Payment payment);
     List<Payment> getPaymentsByInvoice(String invoiceId);
     List<Payment> getPaymentsByMonth(int year, int month);
+    /** Payments made in [from, to), oldest first. */
+    List<Payment> getPaymentsBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Records each payment and takes it off its invoice's balance, all in one
+     * commit. A line whose amount is not positive, whose invoice is missing or
+     * whose amount is more than the balance left at that point is rejected and
+     * changes nothing; the other lines still post. Lines apply in order, so two
+     * lines on one invoice see each other. Results are in the same order.
+     */
+    List<PaymentPosting> postPayments(List<Payment> payments);
 }
\ No newline at end of file
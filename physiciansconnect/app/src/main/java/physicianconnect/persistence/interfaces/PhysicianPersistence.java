@@ -15,5 +15,8 @@ public interface PhysicianPersistence {
 
     Physician getPhysicianById(String id);
 
+    /** Case-insensitive; null when no physician uses the email. */
+    Physician getPhysicianByEmail(String email);
+
     void updatePhysician(Physician physician);
 }
@@ -2,11 +2,23 @@ package physicianconnect.persistence.interfaces;
 
 import physicianconnect.objects.Prescription;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface PrescriptionPersistence {
     void addPrescription(Prescription prescription);
+    /** Inserts all of them in one transaction; none are added if any insert fails. */
+    void addPrescriptions(List<Prescription> prescriptions);
     List<Prescription> getPrescriptionsForPatient(String patientName);
     List<Prescription> getAllPrescriptions();
+    /** Prescriptions in id order, at most limit per page; see {@link Page}. */
+    Page<Prescription> getPrescriptionsPage(String cursor, int limit);
+    /** Hands each prescription to action as it is read, without building a list. */
+    void forEachPrescription(Consumer<Prescription> action);
+    /** Every prescription, fetched a page at a time. */
+    default Stream<Prescription> streamPrescriptions() {
+        return Page.stream(cursor -> getPrescriptionsPage(cursor, Page.STREAM_PAGE_SIZE));
+    }
     void deletePrescriptionById(int id);
     void deleteAllPrescriptions();
 }
\ No newline at end of file
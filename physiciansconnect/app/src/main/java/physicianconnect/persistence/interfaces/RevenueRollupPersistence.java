@@ -0,0 +1,23 @@
+package physicianconnect.persistence.interfaces;
+
+import physicianconnect.objects.RevenueRollup;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Per-month, per-status invoice totals, kept up to date as invoices are
+ * created, paid and deleted so the revenue dashboard never reads invoices.
+ * The invoice and payment stores keep them current as part of their own
+ * writes; there is nothing to call here when an invoice changes.
+ */
+public interface RevenueRollupPersistence {
+    /**
+     * Totals for months in [from, to), by month and then status. A null bound
+     * is open, so (null, null) is every month.
+     */
+    List<RevenueRollup> getRollups(YearMonth from, YearMonth to);
+
+    /** Recomputes every total from the invoices themselves. */
+    void rebuild();
+}
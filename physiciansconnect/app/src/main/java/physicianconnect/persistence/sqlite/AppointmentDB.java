@@ -1,30 +1,71 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Appointment;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 public class AppointmentDB implements AppointmentPersistence {
 
-    private final Connection connection;
+    // stays well under SQLite's default limit on bound parameters
+    private static final int IN_CHUNK_SIZE = 500;
+
+    private static final String INSERT = "INSERT INTO appointments (physician_id, patient_name, datetime, notes) "
+            + "VALUES (?, ?, ?, ?)";
+    static final String INSERT_IF_SLOT_FREE = "INSERT INTO appointments (physician_id, patient_name, datetime, notes) "
+            + "SELECT ?, ?, ?, ? "
+            + " WHERE NOT EXISTS (SELECT 1 FROM appointments WHERE physician_id = ? AND datetime = ?)";
+    private static final String LAST_ID = "SELECT last_insert_rowid()";
+    static final String FIND_BY_ID = "SELECT id, physician_id, patient_name, datetime, notes "
+            + "FROM appointments WHERE id = ?";
+    static final String UPDATE = "UPDATE appointments "
+            + "   SET notes = ?, "
+            + "       datetime = ? "
+            + " WHERE id = ?";
+    static final String FIND_FOR_PHYSICIAN = "SELECT id, patient_name, datetime, notes "
+            + "FROM appointments "
+            + "WHERE physician_id = ?";
+    static final String FIND_FOR_PHYSICIAN_IN_RANGE = "SELECT patient_name, datetime, notes "
+            + "FROM appointments "
+            + "WHERE physician_id = ? "
+            + "  AND datetime >= ? "
+            + "  AND datetime < ? "
+            + "ORDER BY datetime";
+    static final String SLOT_TAKEN = "SELECT 1 FROM appointments WHERE physician_id = ? AND datetime = ? LIMIT 1";
+    static final String SLOT_TAKEN_BY_OTHER =
+            "SELECT 1 FROM appointments WHERE physician_id = ? AND datetime = ? AND patient_name <> ? LIMIT 1";
+    static final String DELETE = "DELETE FROM appointments "
+            + " WHERE physician_id = ? "
+            + "   AND patient_name = ? "
+            + "   AND datetime = ?";
+    static final String PAGE = "SELECT id, physician_id, patient_name, datetime, notes FROM appointments "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final ConnectionPool pool;
 
     public AppointmentDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public AppointmentDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     // ─── Existing method ────────────────────────────────────────────────────────
     @Override
     public List<Appointment> getAppointmentsForPhysician(String physicianId) {
         List<Appointment> list = new ArrayList<>();
-        String sql = "SELECT id, patient_name, datetime, notes " +
-                "FROM appointments " +
-                "WHERE physician_id = ?";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_FOR_PHYSICIAN)) {
             stmt.setString(1, physicianId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -57,14 +98,8 @@ public class AppointmentDB implements AppointmentPersistence {
             LocalDateTime start,
             LocalDateTime end) {
         List<Appointment> list = new ArrayList<>();
-        String sql = "SELECT patient_name, datetime, notes " +
-                "FROM appointments " +
-                "WHERE physician_id = ? " +
-                "  AND datetime >= ? " +
-                "  AND datetime < ? " +
-                "ORDER BY datetime";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_FOR_PHYSICIAN_IN_RANGE)) {
             stmt.setString(1, physicianId);
             // We assume your 'datetime' column is stored as a TEXT in ISO-8601 format (e.g.
             // "2025-06-01T09:00")
@@ -89,45 +124,198 @@ public class AppointmentDB implements AppointmentPersistence {
         return list;
     }
 
+    @Override
+    public List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end) {
+        List<String> ids = new ArrayList<>(new TreeSet<>(physicianIds));
+        List<Appointment> list = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + IN_CHUNK_SIZE, ids.size()));
+            try (ConnectionPool.Lease lease = pool.read();
+                    PreparedStatement stmt = lease.prepareStatement(findForPhysiciansInRange(chunk.size()))) {
+                int i = 1;
+                for (String id : chunk) {
+                    stmt.setString(i++, id);
+                }
+                stmt.setString(i++, start.toString());
+                stmt.setString(i, end.toString());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        list.add(mapAppointment(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load appointments in range", e);
+            }
+        }
+        return list;
+    }
+
+    /** The range query for a chunk of physicianCount ids, one placeholder each. */
+    static String findForPhysiciansInRange(int physicianCount) {
+        return "SELECT id, physician_id, patient_name, datetime, notes " +
+                "FROM appointments " +
+                "WHERE physician_id IN (" + String.join(", ", Collections.nCopies(physicianCount, "?")) + ") " +
+                "  AND datetime >= ? " +
+                "  AND datetime < ? " +
+                "ORDER BY physician_id, datetime";
+    }
+
     // ─── Other existing methods ─────────────────────────────────────────────────
     @Override
     public void addAppointment(Appointment appointment) {
-        String sql = "INSERT INTO appointments (physician_id, patient_name, datetime, notes) " +
-                "VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, appointment.getPhysicianId());
-            stmt.setString(2, appointment.getPatientName());
-            stmt.setString(3, appointment.getDateTime().toString()); // ISO format
-            stmt.setString(4, appointment.getNotes());
+        requireNew(appointment);
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(INSERT)) {
+            bindInsert(stmt, appointment);
             stmt.executeUpdate();
+            appointment.setId(lastInsertId(lease));
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add appointment", e);
         }
     }
 
+    /**
+     * The existence check and the insert are a single statement, so they run
+     * under one SQLite write lock and two writers cannot both claim the slot.
+     */
+    @Override
+    public boolean addAppointmentIfSlotFree(Appointment appointment) {
+        requireNew(appointment);
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(INSERT_IF_SLOT_FREE)) {
+            bindInsert(stmt, appointment);
+            stmt.setString(5, appointment.getPhysicianId());
+            stmt.setString(6, appointment.getDateTime().toString());
+            if (stmt.executeUpdate() != 1) {
+                return false;
+            }
+            appointment.setId(lastInsertId(lease));
+            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add appointment", e);
+        }
+    }
+
+    @Override
+    public boolean isSlotTaken(String physicianId, LocalDateTime dateTime) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(SLOT_TAKEN)) {
+            stmt.setString(1, physicianId);
+            stmt.setString(2, dateTime.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check appointment slot", e);
+        }
+    }
+
+    @Override
+    public boolean isSlotTakenByOther(String physicianId, LocalDateTime dateTime, String patientName) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(SLOT_TAKEN_BY_OTHER)) {
+            stmt.setString(1, physicianId);
+            stmt.setString(2, dateTime.toString());
+            stmt.setString(3, patientName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check appointment slot", e);
+        }
+    }
+
+    /**
+     * Plain batched INSERTs with no slot guard; only the unique
+     * (physician, patient, start) constraint can stop a row.
+     */
+    @Override
+    public void addAppointments(List<Appointment> appointments) {
+        appointments.forEach(AppointmentDB::requireNew);
+        if (appointments.isEmpty()) {
+            return;
+        }
+        int lastId;
+        try {
+            lastId = pool.inTransaction(lease -> {
+                try (PreparedStatement stmt = lease.prepareStatement(INSERT)) {
+                    Batches.run(stmt, appointments, AppointmentDB::bindInsert);
+                }
+                return lastInsertId(lease);
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add appointments", e);
+        }
+        // AUTOINCREMENT ids are handed out one after another, and the write
+        // lease kept every other insert out of the transaction, so the batch
+        // holds the contiguous run of ids ending at the last generated key
+        int id = lastId - appointments.size() + 1;
+        for (Appointment appointment : appointments) {
+            appointment.setId(id++);
+        }
+    }
+
     @Override
     public void updateAppointment(Appointment appointment) {
-        String sql = "UPDATE appointments " +
-                "   SET notes = ?, " +
-                "       datetime = ? " +
-                " WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, appointment.getNotes());
-            stmt.setString(2, appointment.getDateTime().toString());
-            stmt.setInt(3, appointment.getId());
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(UPDATE)) {
+            bindUpdate(stmt, appointment);
             stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update appointment", e);
         }
     }
 
+    @Override
+    public void updateAppointments(List<Appointment> appointments) {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement stmt = lease.prepareStatement(UPDATE)) {
+                    Batches.run(stmt, appointments, AppointmentDB::bindUpdate);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update appointments", e);
+        }
+    }
+
+    /** Rowid of this connection's latest insert; the write lease keeps it ours. */
+    private static int lastInsertId(ConnectionPool.Lease lease) throws SQLException {
+        try (PreparedStatement stmt = lease.prepareStatement(LAST_ID);
+                ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /** Checked before the insert runs, so a stored appointment can never be refused its new id. */
+    private static void requireNew(Appointment appointment) {
+        if (appointment.getId() >= 0) {
+            throw new IllegalArgumentException("Appointment already has id " + appointment.getId());
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setString(1, appointment.getPhysicianId());
+        stmt.setString(2, appointment.getPatientName());
+        stmt.setString(3, appointment.getDateTime().toString()); // ISO format
+        stmt.setString(4, appointment.getNotes());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Appointment appointment) throws SQLException {
+        stmt.setString(1, appointment.getNotes());
+        stmt.setString(2, appointment.getDateTime().toString());
+        stmt.setInt(3, appointment.getId());
+    }
+
     @Override
     public void deleteAppointment(Appointment appointment) {
-        String sql = "DELETE FROM appointments " +
-                " WHERE physician_id = ? " +
-                "   AND patient_name = ? " +
-                "   AND datetime = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE)) {
             stmt.setString(1, appointment.getPhysicianId());
             stmt.setString(2, appointment.getPatientName());
             stmt.setString(3, appointment.getDateTime().toString());
@@ -137,9 +325,23 @@ public class AppointmentDB implements AppointmentPersistence {
         }
     }
 
+    @Override
+    public Appointment getAppointmentById(int id) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_ID)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapAppointment(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointment " + id, e);
+        }
+    }
+
     @Override
     public void deleteAllAppointments() {
-        try (Statement stmt = connection.createStatement()) {
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
             stmt.execute("DELETE FROM appointments");
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all appointments", e);
@@ -149,20 +351,65 @@ public class AppointmentDB implements AppointmentPersistence {
     @Override
     public List<Appointment> getAllAppointments() {
         List<Appointment> list = new ArrayList<>();
+        forEachAppointment(list::add);
+        return list;
+    }
+
+    @Override
+    public void forEachAppointment(Consumer<Appointment> action) {
         String sql = "SELECT id, physician_id, patient_name, datetime, notes FROM appointments";
-        try (Statement stmt = connection.createStatement();
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                int id = rs.getInt("id");
-                String physicianId = rs.getString("physician_id");
-                String patient = rs.getString("patient_name");
-                String dateTime = rs.getString("datetime");
-                String notes = rs.getString("notes");
-                list.add(new Appointment(id, physicianId, patient, LocalDateTime.parse(dateTime), notes));
+                action.accept(mapAppointment(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load appointments", e);
         }
-        return list;
+    }
+
+    @Override
+    public Page<Appointment> getAppointmentsPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        long afterId = parseIdCursor(cursor);
+        List<Appointment> list = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(PAGE)) {
+            stmt.setLong(1, afterId);
+            // one extra row tells us whether there is another page
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                list.add(mapAppointment(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load appointments page", e);
+        }
+        if (list.size() <= limit) {
+            return new Page<>(list, null);
+        }
+        list.remove(limit);
+        return new Page<>(list, String.valueOf(list.get(limit - 1).getId()));
+    }
+
+    private static Appointment mapAppointment(ResultSet rs) throws SQLException {
+        return new Appointment(
+                rs.getInt("id"),
+                rs.getString("physician_id"),
+                rs.getString("patient_name"),
+                LocalDateTime.parse(rs.getString("datetime")),
+                rs.getString("notes"));
+    }
+
+    static long parseIdCursor(String cursor) {
+        if (cursor == null) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
     }
 }
@@ -0,0 +1,39 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Batched writes shared by the DAOs. The caller runs them inside
+ * {@link physicianconnect.persistence.ConnectionPool#inTransaction}, so a
+ * batch lands in one commit or not at all.
+ */
+final class Batches {
+    static final int BATCH_SIZE = 1000;
+
+    private Batches() {
+    }
+
+    /** Binder for one row of a batched statement. */
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /** Adds every row to the batch, flushing every BATCH_SIZE rows to keep the driver's buffer bounded. */
+    static <T> void run(PreparedStatement stmt, List<T> rows, Binder<T> binder) throws SQLException {
+        int pending = 0;
+        for (T row : rows) {
+            binder.bind(stmt, row);
+            stmt.addBatch();
+            if (++pending == BATCH_SIZE) {
+                stmt.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            stmt.executeBatch();
+        }
+    }
+}
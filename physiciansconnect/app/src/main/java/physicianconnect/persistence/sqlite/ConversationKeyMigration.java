@@ -0,0 +1,54 @@
+package physicianconnect.persistence.sqlite;
+
+import physicianconnect.objects.Message;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds messages.conversation_key and fills it for existing rows. The key is
+ * computed by {@link Message#conversationKey} so old and new rows agree
+ * exactly. Runs as a schema migration, inside the migration runner's
+ * transaction; only rows without a key are touched.
+ */
+public class ConversationKeyMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void migrate(Connection connection) throws SQLException {
+        MigrationRunner.addColumnIfMissing(connection, "messages", "conversation_key", "conversation_key TEXT");
+
+        String select = "SELECT message_id, sender_id, sender_type, receiver_id, receiver_type "
+                + "FROM messages WHERE conversation_key IS NULL";
+        String update = "UPDATE messages SET conversation_key = ? WHERE message_id = ?";
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(select);
+                PreparedStatement updateStmt = connection.prepareStatement(update)) {
+            int pending = 0;
+            while (rs.next()) {
+                updateStmt.setString(1, Message.conversationKey(
+                        rs.getString("sender_id"), rs.getString("sender_type"),
+                        rs.getString("receiver_id"), rs.getString("receiver_type")));
+                updateStmt.setString(2, rs.getString("message_id"));
+                updateStmt.addBatch();
+                // keep batches bounded on large tables
+                if (++pending == BATCH_SIZE) {
+                    updateStmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                updateStmt.executeBatch();
+            }
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            // MessageDB.findConversation
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_messages_conversation "
+                    + "ON messages (conversation_key, timestamp)");
+        }
+    }
+}
@@ -2,70 +2,127 @@ package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class InvoiceDB implements InvoicePersistence {
-    private final Connection connection;
+    private final ConnectionPool pool;
 
     public InvoiceDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public InvoiceDB(ConnectionPool pool) {
+        this.pool = pool;
         createTable();
     }
 
     private void createTable() {
-        // Table is created in SchemaInitializer
-    }
-
-
-@Override
-public void addInvoice(Invoice invoice) {
-    String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-        stmt.setString(1, invoice.getId());
-        stmt.setInt(2, Integer.parseInt(invoice.getAppointmentId())); // <-- FIXED
-        stmt.setString(3, invoice.getPatientName());
-        stmt.setString(4, serializeServices(invoice.getServices()));
-        stmt.setDouble(5, invoice.getInsuranceAdjustment());
-        stmt.setDouble(6, invoice.getTotalAmount());
-        stmt.setDouble(7, invoice.getBalance());
-        stmt.setString(8, invoice.getStatus());
-        stmt.setString(9, invoice.getCreatedAt().toString());
-        stmt.executeUpdate();
-    } catch (SQLException e) {
-        throw new RuntimeException("Failed to add invoice", e);
+        // Tables are created in SchemaInitializer
+    }
+
+    private static final String INVOICE_AND_ITEM_COLUMNS = "SELECT i.id, i.appointment_id, i.patient_name, "
+            + "i.insurance_adjustment_cents, i.balance_cents, i.status, i.created_at, "
+            + "it.name AS item_name, it.cost_cents AS item_cost_cents ";
+
+    private static final String SELECT_WITH_ITEMS = INVOICE_AND_ITEM_COLUMNS
+            + "FROM invoices i LEFT JOIN invoice_items it ON it.invoice_id = i.id ";
+
+    static final String FIND_BY_ID = SELECT_WITH_ITEMS + "WHERE i.id = ? ORDER BY it.position";
+    static final String FIND_BETWEEN = SELECT_WITH_ITEMS + "WHERE i.created_at_epoch >= ? AND i.created_at_epoch < ? "
+            + "ORDER BY i.created_at_epoch, i.id, it.position";
+    // LIMIT applies to invoices, not to invoice/item rows
+    static final String PAGE = INVOICE_AND_ITEM_COLUMNS
+            + "FROM (SELECT * FROM invoices WHERE id > ? ORDER BY id LIMIT ?) i "
+            + "LEFT JOIN invoice_items it ON it.invoice_id = i.id ORDER BY i.id, it.position";
+    static final String REVENUE_BY_SERVICE = "SELECT it.name, SUM(it.cost_cents) AS revenue "
+            + "FROM invoices i JOIN invoice_items it ON it.invoice_id = i.id "
+            + "WHERE i.created_at_epoch >= ? AND i.created_at_epoch < ? "
+            + "GROUP BY it.name ORDER BY revenue DESC, it.name";
+    static final String UPDATE = "UPDATE invoices SET balance_cents = ?, status = ? WHERE id = ?";
+    static final String DELETE_ITEMS = "DELETE FROM invoice_items WHERE invoice_id = ?";
+    static final String DELETE_BY_ID = "DELETE FROM invoices WHERE id = ?";
+
+
+    @Override
+    public void addInvoice(Invoice invoice) {
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment_cents, total_cents, balance_cents, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO invoice_items (invoice_id, position, name, cost_cents) VALUES (?, ?, ?, ?)";
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement stmt = lease.prepareStatement(sql)) {
+                    stmt.setString(1, invoice.getId());
+                    stmt.setInt(2, Integer.parseInt(invoice.getAppointmentId())); // <-- FIXED
+                    stmt.setString(3, invoice.getPatientName());
+                    stmt.setLong(4, invoice.getInsuranceAdjustmentCents());
+                    stmt.setLong(5, invoice.getTotalCents());
+                    stmt.setLong(6, invoice.getBalanceCents());
+                    stmt.setString(7, invoice.getStatus());
+                    stmt.setString(8, invoice.getCreatedAt().toString());
+                    stmt.executeUpdate();
+                }
+                if (!invoice.getServices().isEmpty()) {
+                    try (PreparedStatement stmt = lease.prepareStatement(itemSql)) {
+                        int position = 0;
+                        for (ServiceItem item : invoice.getServices()) {
+                            stmt.setString(1, invoice.getId());
+                            stmt.setInt(2, position++);
+                            stmt.setString(3, item.getName());
+                            stmt.setLong(4, item.getCostCents());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add invoice", e);
+        }
     }
-}
 
     @Override
     public Invoice getInvoiceById(String id) {
-        String sql = "SELECT * FROM invoices WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        List<Invoice> result = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_ID)) {
             stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) return fromResultSet(rs);
+            mapInvoices(stmt.executeQuery(), result::add);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch invoice", e);
         }
-        return null;
+        return result.isEmpty() ? null : result.get(0);
     }
 
     @Override
     public List<Invoice> getInvoicesByMonth(int year, int month) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return queryBetween(from, from.plusMonths(1), "Failed to fetch invoices by month");
+    }
+
+    @Override
+    public List<Invoice> getInvoicesCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return queryBetween(from, to, "Failed to fetch invoices by date range");
+    }
+
+    // Range scan over idx_invoices_created_at_epoch; the epoch column is generated from the ISO text
+    private List<Invoice> queryBetween(LocalDateTime from, LocalDateTime to, String errorMessage) {
         List<Invoice> result = new ArrayList<>();
-        String sql = "SELECT * FROM invoices";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                Invoice inv = fromResultSet(rs);
-                if (inv.getCreatedAt().getYear() == year && inv.getCreatedAt().getMonthValue() == month)
-                    result.add(inv);
-            }
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BETWEEN)) {
+            stmt.setLong(1, from.toEpochSecond(ZoneOffset.UTC));
+            stmt.setLong(2, to.toEpochSecond(ZoneOffset.UTC));
+            mapInvoices(stmt.executeQuery(), result::add);
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch invoices by month", e);
+            throw new RuntimeException(errorMessage, e);
         }
         return result;
     }
@@ -73,72 +130,165 @@ public void addInvoice(Invoice invoice) {
     @Override
     public List<Invoice> getAllInvoices() {
         List<Invoice> result = new ArrayList<>();
-        String sql = "SELECT * FROM invoices";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) result.add(fromResultSet(rs));
+        forEachInvoice(result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachInvoice(Consumer<Invoice> action) {
+        String sql = SELECT_WITH_ITEMS + "ORDER BY i.id, it.position";
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
+            mapInvoices(stmt.executeQuery(), action);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to fetch all invoices", e);
         }
+    }
+
+    @Override
+    public Page<Invoice> getInvoicesPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        List<Invoice> result = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(PAGE)) {
+            // every id sorts after the empty string
+            stmt.setString(1, cursor == null ? "" : cursor);
+            stmt.setInt(2, limit + 1);
+            mapInvoices(stmt.executeQuery(), result::add);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to fetch invoices page", e);
+        }
+        if (result.size() <= limit) {
+            return new Page<>(result, null);
+        }
+        result.remove(limit);
+        return new Page<>(result, result.get(limit - 1).getId());
+    }
+
+    /**
+     * Revenue in cents per service name over invoices created in [from, to),
+     * highest first. Summed in SQL from invoice_items; no invoices are loaded.
+     */
+    @Override
+    public Map<String, Long> getRevenueByService(LocalDateTime from, LocalDateTime to) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(REVENUE_BY_SERVICE)) {
+            stmt.setLong(1, from.toEpochSecond(ZoneOffset.UTC));
+            stmt.setLong(2, to.toEpochSecond(ZoneOffset.UTC));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) result.put(rs.getString("name"), rs.getLong("revenue"));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to aggregate revenue by service", e);
+        }
         return result;
     }
 
     @Override
     public void updateInvoice(Invoice invoice) {
-        String sql = "UPDATE invoices SET balance = ?, status = ? WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setDouble(1, invoice.getBalance());
-            stmt.setString(2, invoice.getStatus());
-            stmt.setString(3, invoice.getId());
-            stmt.executeUpdate();
+        try {
+            pool.inTransaction(lease -> {
+                InvoiceState old = readState(lease, invoice.getId());
+                try (PreparedStatement stmt = lease.prepareStatement(UPDATE)) {
+                    stmt.setLong(1, invoice.getBalanceCents());
+                    stmt.setString(2, invoice.getStatus());
+                    stmt.setString(3, invoice.getId());
+                    stmt.executeUpdate();
+                }
+                if (old != null) {
+                    RevenueRollupDB.invoiceChanged(lease, old.createdAt(), old.totalCents(), old.status(),
+                            old.balanceCents(), invoice.getStatus(), invoice.getBalanceCents());
+                }
+                return null;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update invoice", e);
         }
     }
 
-private Invoice fromResultSet(ResultSet rs) throws SQLException {
-    String id = rs.getString("id");
-    String appointmentId = Integer.toString(rs.getInt("appointment_id")); // <-- FIXED
-    String patientName = rs.getString("patient_name");
-    List<ServiceItem> services = deserializeServices(rs.getString("services"));
-    double insuranceAdjustment = rs.getDouble("insurance_adjustment");
-    double totalAmount = rs.getDouble("total_amount");
-    double balance = rs.getDouble("balance");
-    String status = rs.getString("status");
-    LocalDateTime createdAt = LocalDateTime.parse(rs.getString("created_at"));
-    Invoice inv = new Invoice(id, appointmentId, patientName, services, insuranceAdjustment);
-    inv.setBalance(balance);
-    inv.setStatus(status);
-    return inv;
-}
+    // What the rollups know about an invoice row; null when there is no such invoice
+    private record InvoiceState(long totalCents, long balanceCents, String status, LocalDateTime createdAt) {
+    }
+
+    private static InvoiceState readState(ConnectionPool.Lease lease, String id) throws SQLException {
+        try (PreparedStatement stmt = lease.prepareStatement(RevenueRollupDB.INVOICE_STATE)) {
+            stmt.setString(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                String createdAt = rs.getString("created_at");
+                return new InvoiceState(rs.getLong("total_cents"), rs.getLong("balance_cents"),
+                        rs.getString("status"), createdAt == null ? null : LocalDateTime.parse(createdAt));
+            }
+        }
+    }
 
-    private String serializeServices(List<ServiceItem> services) {
-        StringBuilder sb = new StringBuilder();
-        for (ServiceItem s : services) {
-            if (sb.length() > 0) sb.append(";");
-            sb.append(s.getName()).append(":").append(s.getCost());
+    /**
+     * Streams a SELECT_WITH_ITEMS result into invoices. Rows must be ordered
+     * so each invoice's items are adjacent; every invoice is handed to the
+     * sink as soon as its last item row has been read.
+     */
+    private static void mapInvoices(ResultSet rs, Consumer<Invoice> sink) throws SQLException {
+        InvoiceRow current = null;
+        while (rs.next()) {
+            String id = rs.getString("id");
+            if (current == null || !current.id.equals(id)) {
+                if (current != null) sink.accept(current.toInvoice());
+                current = new InvoiceRow(rs);
+            }
+            String itemName = rs.getString("item_name");
+            if (itemName != null) current.services.add(new ServiceItem(itemName, rs.getLong("item_cost_cents")));
         }
-        return sb.toString();
+        if (current != null) sink.accept(current.toInvoice());
     }
 
-    private List<ServiceItem> deserializeServices(String str) {
-        List<ServiceItem> list = new ArrayList<>();
-        if (str == null || str.isEmpty()) return list;
-        for (String part : str.split(";")) {
-            String[] arr = part.split(":");
-            if (arr.length == 2) list.add(new ServiceItem(arr[0], Double.parseDouble(arr[1])));
+    // Invoice columns buffered until all of its items have been read
+    private static final class InvoiceRow {
+        private final String id;
+        private final String appointmentId;
+        private final String patientName;
+        private final long insuranceAdjustmentCents;
+        private final long balanceCents;
+        private final String status;
+        private final LocalDateTime createdAt;
+        private final List<ServiceItem> services = new ArrayList<>();
+
+        private InvoiceRow(ResultSet rs) throws SQLException {
+            id = rs.getString("id");
+            appointmentId = Integer.toString(rs.getInt("appointment_id")); // <-- FIXED
+            patientName = rs.getString("patient_name");
+            insuranceAdjustmentCents = rs.getLong("insurance_adjustment_cents");
+            balanceCents = rs.getLong("balance_cents");
+            status = rs.getString("status");
+            createdAt = LocalDateTime.parse(rs.getString("created_at"));
+        }
+
+        private Invoice toInvoice() {
+            Invoice inv = new Invoice(id, appointmentId, patientName, services, insuranceAdjustmentCents, createdAt);
+            inv.setBalanceCents(balanceCents);
+            inv.setStatus(status);
+            return inv;
         }
-        return list;
     }
 
     @Override
-public void deleteInvoiceById(String id) {
-    String sql = "DELETE FROM invoices WHERE id = ?";
-    try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-        stmt.setString(1, id);
-        stmt.executeUpdate();
-    } catch (SQLException e) {
-        throw new RuntimeException("Failed to delete invoice", e);
+    public void deleteInvoiceById(String id) {
+        try {
+            pool.inTransaction(lease -> {
+                // invoice_items also cascades, but don't depend on foreign_keys being on
+                try (PreparedStatement stmt = lease.prepareStatement(DELETE_ITEMS)) {
+                    stmt.setString(1, id);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = lease.prepareStatement(DELETE_BY_ID)) {
+                    stmt.setString(1, id);
+                    stmt.executeUpdate();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete invoice", e);
+        }
     }
 }
-}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-time move of the legacy invoices.services string ("name:cost;name:cost")
+ * into invoice_items rows. Runs as a schema migration, inside the
+ * migration runner's transaction.
+ *
+ * Every migrated invoice has its services column cleared, so running the
+ * step again only touches rows that still need moving.
+ *
+ * invoice_items.cost was still REAL dollars when this step shipped, so it
+ * keeps its own (name, dollars) pairs rather than ServiceItem, which is in
+ * cents now; version 12 rounds cost into cost_cents.
+ */
+public class InvoiceItemsMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void migrate(Connection connection) throws SQLException {
+        String select = "SELECT id, services FROM invoices WHERE services IS NOT NULL AND services <> ''";
+        String insert = "INSERT OR IGNORE INTO invoice_items (invoice_id, position, name, cost) VALUES (?, ?, ?, ?)";
+        String clear = "UPDATE invoices SET services = NULL WHERE id = ?";
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(select);
+                PreparedStatement insertStmt = connection.prepareStatement(insert);
+                PreparedStatement clearStmt = connection.prepareStatement(clear)) {
+            int pending = 0;
+            while (rs.next()) {
+                String invoiceId = rs.getString("id");
+                int position = 0;
+                for (LegacyService item : parseLegacyServices(rs.getString("services"))) {
+                    insertStmt.setString(1, invoiceId);
+                    insertStmt.setInt(2, position++);
+                    insertStmt.setString(3, item.name());
+                    insertStmt.setDouble(4, item.cost());
+                    insertStmt.addBatch();
+                }
+                clearStmt.setString(1, invoiceId);
+                clearStmt.addBatch();
+                // keep batches bounded on large tables
+                if (++pending == BATCH_SIZE) {
+                    insertStmt.executeBatch();
+                    clearStmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                insertStmt.executeBatch();
+                clearStmt.executeBatch();
+            }
+        }
+    }
+
+    record LegacyService(String name, double cost) {
+    }
+
+    static List<LegacyService> parseLegacyServices(String str) {
+        List<LegacyService> list = new ArrayList<>();
+        if (str == null || str.isEmpty()) return list;
+        for (String part : str.split(";")) {
+            String[] arr = part.split(":");
+            if (arr.length == 2) list.add(new LegacyService(arr[0], Double.parseDouble(arr[1])));
+        }
+        return list;
+    }
+}
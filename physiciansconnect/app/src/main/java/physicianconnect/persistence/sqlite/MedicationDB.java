@@ -1,24 +1,36 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Medication;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.MedicationPersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class MedicationDB implements MedicationPersistence {
 
-    private final Connection connection;
+    static final String PAGE = "SELECT id, name, dosage, default_frequency, default_notes FROM medications "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    static final String DELETE = "DELETE FROM medications WHERE name = ? AND dosage = ?";
+
+    private final ConnectionPool pool;
 
     public MedicationDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public MedicationDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void addMedication(Medication medication) {
         String sql = "INSERT INTO medications (name, dosage, default_frequency, default_notes) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
             stmt.setString(1, medication.getName());
             stmt.setString(2, medication.getDosage());
             stmt.setString(3, medication.getDefaultFrequency());
@@ -32,26 +44,63 @@ public class MedicationDB implements MedicationPersistence {
     @Override
     public List<Medication> getAllMedications() {
         List<Medication> meds = new ArrayList<>();
+        forEachMedication(meds::add);
+        return meds;
+    }
+
+    @Override
+    public void forEachMedication(Consumer<Medication> action) {
         String sql = "SELECT name, dosage, default_frequency, default_notes FROM medications";
-        try (Statement stmt = connection.createStatement();
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                meds.add(new Medication(
-                        rs.getString("name"),
-                        rs.getString("dosage"),
-                        rs.getString("default_frequency"),
-                        rs.getString("default_notes")));
+                action.accept(mapMedication(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to load medications", e);
         }
-        return meds;
+    }
+
+    /** Medication has no id field, so the cursor is the row id of the last medication returned. */
+    @Override
+    public Page<Medication> getMedicationsPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        long afterId = AppointmentDB.parseIdCursor(cursor);
+        List<Medication> meds = new ArrayList<>();
+        long lastId = afterId;
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(PAGE)) {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+            int rows = 0;
+            while (rs.next()) {
+                // one extra row tells us whether there is another page
+                if (++rows > limit) {
+                    break;
+                }
+                meds.add(mapMedication(rs));
+                lastId = rs.getLong("id");
+            }
+            return new Page<>(meds, rows > limit ? String.valueOf(lastId) : null);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load medications page", e);
+        }
+    }
+
+    private static Medication mapMedication(ResultSet rs) throws SQLException {
+        return new Medication(
+                rs.getString("name"),
+                rs.getString("dosage"),
+                rs.getString("default_frequency"),
+                rs.getString("default_notes"));
     }
 
     @Override
     public void deleteMedication(Medication medication) {
-        String sql = "DELETE FROM medications WHERE name = ? AND dosage = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE)) {
             stmt.setString(1, medication.getName());
             stmt.setString(2, medication.getDosage());
             stmt.executeUpdate();
@@ -62,7 +111,8 @@ public class MedicationDB implements MedicationPersistence {
 
     @Override
     public void deleteAllMedications() {
-        try (Statement stmt = connection.createStatement()) {
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
             stmt.execute("DELETE FROM medications");
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all medications", e);
@@ -1,36 +1,40 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Message;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.MessageRepository;
 import java.sql.*;
 import java.util.*;
 import java.time.LocalDateTime;
 
 public class MessageDB implements MessageRepository {
-    private final Connection connection;
+    static final String FIND_BY_RECEIVER =
+            "SELECT * FROM messages WHERE receiver_id = ? AND receiver_type = ? ORDER BY timestamp";
+    static final String FIND_BY_SENDER =
+            "SELECT * FROM messages WHERE sender_id = ? AND sender_type = ? ORDER BY timestamp";
+    static final String FIND_UNREAD_BY_RECEIVER =
+            "SELECT * FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0 ORDER BY timestamp";
+    static final String MARK_READ = "UPDATE messages SET is_read = 1 WHERE message_id = ?";
+    // first limit rows after since, read forwards along the index
+    static final String FIND_CONVERSATION_AFTER =
+            "SELECT * FROM messages WHERE conversation_key = ? AND timestamp > ? ORDER BY timestamp LIMIT ?";
+    // newest limit rows before a time, read backwards along the index; "~" sorts after every timestamp
+    static final String FIND_CONVERSATION_BEFORE =
+            "SELECT * FROM messages WHERE conversation_key = ? AND timestamp < ? ORDER BY timestamp DESC LIMIT ?";
+    private static final String AFTER_EVERY_TIMESTAMP = "~";
+    static final String MARK_CONVERSATION_READ = "UPDATE messages SET is_read = 1 "
+            + "WHERE conversation_key = ? AND timestamp <= ? AND receiver_id = ? AND receiver_type = ? AND is_read = 0";
+    static final String FIND_READ_STATE =
+            "SELECT receiver_id, receiver_type, is_read FROM messages WHERE message_id = ?";
+
+    private final ConnectionPool pool;
 
     public MessageDB(Connection connection) {
-        this.connection = connection;
-        createTable();
-    }
-
-    private void createTable() {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS messages (
-                    message_id TEXT PRIMARY KEY,
-                    sender_id TEXT NOT NULL,
-                    sender_type TEXT NOT NULL,
-                    receiver_id TEXT NOT NULL,
-                    receiver_type TEXT NOT NULL,
-                    content TEXT NOT NULL,
-                    timestamp TEXT NOT NULL,
-                    is_read BOOLEAN NOT NULL
-                )
-            """);
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to create messages table: " + e.getMessage(), e);
-        }
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public MessageDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
@@ -60,18 +64,33 @@ public class MessageDB implements MessageRepository {
             throw new IllegalArgumentException("Timestamp cannot be null");
         }
 
-        String sql = "INSERT OR REPLACE INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, content, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, message.getMessageId().toString());
-            pstmt.setString(2, message.getSenderId());
-            pstmt.setString(3, message.getSenderType());
-            pstmt.setString(4, message.getReceiverId());
-            pstmt.setString(5, message.getReceiverType());
-            pstmt.setString(6, message.getContent());
-            pstmt.setString(7, message.getTimestamp().toString());
-            pstmt.setBoolean(8, message.isRead());
-            pstmt.executeUpdate();
-            return message;
+        String sql = "INSERT OR REPLACE INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, content, timestamp, is_read, conversation_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try {
+            return pool.inTransaction(lease -> {
+                // a replaced row takes its unread count with it
+                ReadState previous = readState(lease, message.getMessageId());
+                if (previous != null && !previous.read()) {
+                    UnreadCounters.adjust(lease, previous.receiverId(), previous.receiverType(),
+                            UnreadCounters.MESSAGES, -1);
+                }
+                try (PreparedStatement pstmt = lease.prepareStatement(sql)) {
+                    pstmt.setString(1, message.getMessageId().toString());
+                    pstmt.setString(2, message.getSenderId());
+                    pstmt.setString(3, message.getSenderType());
+                    pstmt.setString(4, message.getReceiverId());
+                    pstmt.setString(5, message.getReceiverType());
+                    pstmt.setString(6, message.getContent());
+                    pstmt.setString(7, message.getTimestamp().toString());
+                    pstmt.setBoolean(8, message.isRead());
+                    pstmt.setString(9, message.getConversationKey());
+                    pstmt.executeUpdate();
+                }
+                if (!message.isRead()) {
+                    UnreadCounters.adjust(lease, message.getReceiverId(), message.getReceiverType(),
+                            UnreadCounters.MESSAGES, 1);
+                }
+                return message;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to save message: " + e.getMessage() +
                     " (Message ID: " + message.getMessageId() + ")", e);
@@ -86,8 +105,7 @@ public class MessageDB implements MessageRepository {
         if (receiverType == null || receiverType.trim().isEmpty()) {
             throw new IllegalArgumentException("Receiver type cannot be null or empty");
         }
-        String sql = "SELECT * FROM messages WHERE receiver_id = ? AND receiver_type = ? ORDER BY timestamp";
-        return queryMessages(sql, receiverId, receiverType, "Failed to find messages by receiver");
+        return queryMessages(FIND_BY_RECEIVER, receiverId, receiverType, "Failed to find messages by receiver");
     }
 
     @Override
@@ -98,8 +116,7 @@ public class MessageDB implements MessageRepository {
         if (senderType == null || senderType.trim().isEmpty()) {
             throw new IllegalArgumentException("Sender type cannot be null or empty");
         }
-        String sql = "SELECT * FROM messages WHERE sender_id = ? AND sender_type = ? ORDER BY timestamp";
-        return queryMessages(sql, senderId, senderType, "Failed to find messages by sender");
+        return queryMessages(FIND_BY_SENDER, senderId, senderType, "Failed to find messages by sender");
     }
 
     @Override
@@ -110,8 +127,58 @@ public class MessageDB implements MessageRepository {
         if (receiverType == null || receiverType.trim().isEmpty()) {
             throw new IllegalArgumentException("Receiver type cannot be null or empty");
         }
-        String sql = "SELECT * FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0 ORDER BY timestamp";
-        return queryMessages(sql, receiverId, receiverType, "Failed to find unread messages by receiver");
+        return queryMessages(FIND_UNREAD_BY_RECEIVER, receiverId, receiverType, "Failed to find unread messages by receiver");
+    }
+
+    @Override
+    public List<Message> findConversation(String userA, String typeA, String userB, String typeB,
+                                          LocalDateTime since, int limit) {
+        if (since == null) {
+            return findConversationPage(userA, typeA, userB, typeB, FIND_CONVERSATION_BEFORE,
+                    AFTER_EVERY_TIMESTAMP, limit, true);
+        }
+        return findConversationPage(userA, typeA, userB, typeB, FIND_CONVERSATION_AFTER,
+                since.toString(), limit, false);
+    }
+
+    @Override
+    public List<Message> findConversationBefore(String userA, String typeA, String userB, String typeB,
+                                                LocalDateTime before, int limit) {
+        if (before == null) {
+            throw new IllegalArgumentException("Before time cannot be null");
+        }
+        return findConversationPage(userA, typeA, userB, typeB, FIND_CONVERSATION_BEFORE,
+                before.toString(), limit, true);
+    }
+
+    private List<Message> findConversationPage(String userA, String typeA, String userB, String typeB,
+                                               String sql, String bound, int limit, boolean newestFirst) {
+        if (userA == null || userA.trim().isEmpty() || userB == null || userB.trim().isEmpty()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        if (typeA == null || typeA.trim().isEmpty() || typeB == null || typeB.trim().isEmpty()) {
+            throw new IllegalArgumentException("User types cannot be null or empty");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<Message> messages = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement pstmt = lease.prepareStatement(sql)) {
+            pstmt.setString(1, Message.conversationKey(userA, typeA, userB, typeB));
+            pstmt.setString(2, bound);
+            pstmt.setInt(3, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                messages.add(mapMessage(rs));
+            }
+            if (newestFirst) {
+                Collections.reverse(messages);
+            }
+            return messages;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find conversation: " + e.getMessage(), e);
+        }
     }
 
     @Override
@@ -119,13 +186,22 @@ public class MessageDB implements MessageRepository {
         if (messageId == null) {
             throw new IllegalArgumentException("Message ID cannot be null");
         }
-        String sql = "UPDATE messages SET is_read = 1 WHERE message_id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, messageId.toString());
-            int updated = pstmt.executeUpdate();
-            if (updated == 0) {
-                throw new RuntimeException("No message found with ID: " + messageId);
-            }
+        try {
+            pool.inTransaction(lease -> {
+                ReadState state = readState(lease, messageId);
+                if (state == null) {
+                    throw new RuntimeException("No message found with ID: " + messageId);
+                }
+                if (state.read()) {
+                    return null;
+                }
+                try (PreparedStatement pstmt = lease.prepareStatement(MARK_READ)) {
+                    pstmt.setString(1, messageId.toString());
+                    pstmt.executeUpdate();
+                }
+                UnreadCounters.adjust(lease, state.receiverId(), state.receiverType(), UnreadCounters.MESSAGES, -1);
+                return null;
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Failed to mark message as read: " + e.getMessage() +
                     " (Message ID: " + messageId + ")", e);
@@ -140,42 +216,84 @@ public class MessageDB implements MessageRepository {
         if (receiverType == null || receiverType.trim().isEmpty()) {
             throw new IllegalArgumentException("Receiver type cannot be null or empty");
         }
-        String sql = "SELECT COUNT(*) FROM messages WHERE receiver_id = ? AND receiver_type = ? AND is_read = 0";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, receiverId);
-            pstmt.setString(2, receiverType);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-            return 0;
+        try (ConnectionPool.Lease lease = pool.read()) {
+            return UnreadCounters.get(lease, receiverId, receiverType, UnreadCounters.MESSAGES);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to count unread messages: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public int markConversationRead(String readerId, String readerType, String counterpartId, String counterpartType,
+                                    LocalDateTime upTo) {
+        if (readerId == null || readerId.trim().isEmpty() || counterpartId == null || counterpartId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User IDs cannot be null or empty");
+        }
+        if (readerType == null || readerType.trim().isEmpty()
+                || counterpartType == null || counterpartType.trim().isEmpty()) {
+            throw new IllegalArgumentException("User types cannot be null or empty");
+        }
+        if (upTo == null) {
+            throw new IllegalArgumentException("Read-up-to time cannot be null");
+        }
+        try {
+            return pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(MARK_CONVERSATION_READ)) {
+                    pstmt.setString(1, Message.conversationKey(readerId, readerType, counterpartId, counterpartType));
+                    pstmt.setString(2, upTo.toString());
+                    pstmt.setString(3, readerId);
+                    pstmt.setString(4, readerType);
+                    UnreadCounters.adjust(lease, readerId, readerType, UnreadCounters.MESSAGES, -pstmt.executeUpdate());
+                }
+                return UnreadCounters.get(lease, readerId, readerType, UnreadCounters.MESSAGES);
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to mark conversation as read: " + e.getMessage(), e);
+        }
+    }
+
+    private record ReadState(String receiverId, String receiverType, boolean read) {
+    }
+
+    private static ReadState readState(ConnectionPool.Lease lease, UUID messageId) throws SQLException {
+        try (PreparedStatement pstmt = lease.prepareStatement(FIND_READ_STATE)) {
+            pstmt.setString(1, messageId.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new ReadState(rs.getString("receiver_id"), rs.getString("receiver_type"), rs.getBoolean("is_read"));
+            }
+        }
+    }
+
     // Helper for queries with two parameters (id, type)
     private List<Message> queryMessages(String sql, String id, String type, String errorMessage) {
         List<Message> messages = new ArrayList<>();
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement pstmt = lease.prepareStatement(sql)) {
             pstmt.setString(1, id);
             pstmt.setString(2, type);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                Message message = new Message(
-                        rs.getString("sender_id"),
-                        rs.getString("sender_type"),
-                        rs.getString("receiver_id"),
-                        rs.getString("receiver_type"),
-                        rs.getString("content"));
-                message.setMessageId(UUID.fromString(rs.getString("message_id")));
-                message.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
-                message.setRead(rs.getBoolean("is_read"));
-                messages.add(message);
+                messages.add(mapMessage(rs));
             }
             return messages;
         } catch (SQLException e) {
             throw new RuntimeException(errorMessage + ": " + e.getMessage(), e);
         }
     }
+
+    private static Message mapMessage(ResultSet rs) throws SQLException {
+        Message message = new Message(
+                rs.getString("sender_id"),
+                rs.getString("sender_type"),
+                rs.getString("receiver_id"),
+                rs.getString("receiver_type"),
+                rs.getString("content"));
+        message.setMessageId(UUID.fromString(rs.getString("message_id")));
+        message.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
+        message.setRead(rs.getBoolean("is_read"));
+        return message;
+    }
 }
\ No newline at end of file
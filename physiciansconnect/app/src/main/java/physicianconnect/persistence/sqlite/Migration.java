@@ -0,0 +1,84 @@
+package physicianconnect.persistence.sqlite;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * One versioned schema change, applied by {@link MigrationRunner}.
+ *
+ * The checksum covers the description and the migration's SQL (or, for a
+ * code migration, its declared source string). Once a migration has shipped
+ * it must never be edited; add a new version instead, otherwise the runner
+ * refuses to start on databases that already applied the old text.
+ */
+public final class Migration {
+
+    /** Body of a migration; runs inside the runner's transaction. */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final String checksum;
+    private final Step step;
+
+    private Migration(int version, String description, String checksumSource, Step step) {
+        this.version = version;
+        this.description = description;
+        this.checksum = sha256(description + "\n" + checksumSource);
+        this.step = step;
+    }
+
+    /** A migration made of plain SQL statements, run in order. */
+    public static Migration sql(int version, String description, String... statements) {
+        List<String> sql = List.of(statements);
+        return new Migration(version, description, String.join(";\n", sql), connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                for (String statement : sql) {
+                    stmt.execute(statement);
+                }
+            }
+        });
+    }
+
+    /**
+     * A migration implemented in Java. checksumSource stands in for the SQL
+     * when computing the checksum; change it whenever the step's effect changes.
+     */
+    public static Migration code(int version, String description, String checksumSource, Step step) {
+        return new Migration(version, description, checksumSource, step);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    void apply(Connection connection) throws SQLException {
+        step.apply(connection);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies {@link Migration}s in version order, keyed on PRAGMA user_version.
+ *
+ * All pending migrations run in a single transaction together with the
+ * user_version bump, so a failure leaves the database exactly as it was.
+ * Each applied migration is recorded in schema_migrations with its checksum
+ * and how long it took; on later starts the recorded checksums are compared
+ * with the code and a mismatch stops startup. When the database is already
+ * current the runner only reads user_version and schema_migrations.
+ */
+public class MigrationRunner {
+
+    /** Outcome of one migration applied during this run. */
+    public record Applied(int version, String description, long durationMillis) {
+    }
+
+    private static final String CREATE_HISTORY_TABLE = "CREATE TABLE IF NOT EXISTS schema_migrations ("
+            + "version INTEGER PRIMARY KEY, "
+            + "description TEXT NOT NULL, "
+            + "checksum TEXT NOT NULL, "
+            + "applied_at TEXT NOT NULL, "
+            + "duration_ms INTEGER NOT NULL"
+            + ")";
+
+    public static List<Applied> migrate(Connection connection, List<Migration> migrations) {
+        checkOrdering(migrations);
+        try (Statement stmt = connection.createStatement()) {
+            // foreign_keys can't be toggled inside a transaction
+            stmt.execute("PRAGMA foreign_keys = ON");
+
+            Map<Integer, String> recorded = readHistory(stmt);
+            // A user_version without a history table was written before the
+            // runner existed; every migration is idempotent, so start over.
+            int current = recorded.isEmpty() ? 0 : getUserVersion(stmt);
+
+            List<Migration> pending = new ArrayList<>();
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= current) {
+                    verifyChecksum(migration, recorded.get(migration.getVersion()));
+                } else {
+                    pending.add(migration);
+                }
+            }
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            List<Applied> applied = applyAll(connection, stmt, pending);
+            // refresh planner statistics for any new indexes
+            stmt.execute("PRAGMA optimize");
+            return applied;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to migrate PhysicianConnect schema", e);
+        }
+    }
+
+    private static List<Applied> applyAll(Connection connection, Statement stmt, List<Migration> pending)
+            throws SQLException {
+        String record = "INSERT OR REPLACE INTO schema_migrations "
+                + "(version, description, checksum, applied_at, duration_ms) VALUES (?, ?, ?, ?, ?)";
+        List<Applied> applied = new ArrayList<>();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            stmt.execute(CREATE_HISTORY_TABLE);
+            try (PreparedStatement history = connection.prepareStatement(record)) {
+                for (Migration migration : pending) {
+                    long start = System.nanoTime();
+                    migration.apply(connection);
+                    long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+                    history.setInt(1, migration.getVersion());
+                    history.setString(2, migration.getDescription());
+                    history.setString(3, migration.getChecksum());
+                    history.setString(4, LocalDateTime.now().toString());
+                    history.setLong(5, durationMillis);
+                    history.executeUpdate();
+                    applied.add(new Applied(migration.getVersion(), migration.getDescription(), durationMillis));
+                }
+            }
+            stmt.execute("PRAGMA user_version = " + pending.get(pending.size() - 1).getVersion());
+            connection.commit();
+            return applied;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void checkOrdering(List<Migration> migrations) {
+        for (int i = 0; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() != i + 1) {
+                throw new IllegalStateException("Migrations must be numbered 1.." + migrations.size()
+                        + " in order; found version " + migrations.get(i).getVersion() + " at position " + (i + 1));
+            }
+        }
+    }
+
+    private static void verifyChecksum(Migration migration, String recorded) {
+        if (recorded != null && !recorded.equals(migration.getChecksum())) {
+            throw new IllegalStateException("Migration " + migration.getVersion() + " (" + migration.getDescription()
+                    + ") was changed after it was applied; add a new migration instead");
+        }
+    }
+
+    private static Map<Integer, String> readHistory(Statement stmt) throws SQLException {
+        Map<Integer, String> recorded = new HashMap<>();
+        try (ResultSet tables = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_migrations'")) {
+            if (!tables.next()) {
+                return recorded;
+            }
+        }
+        try (ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                recorded.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return recorded;
+    }
+
+    static int getUserVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /** ALTER TABLE ... ADD COLUMN unless the column is already there. */
+    static void addColumnIfMissing(Connection connection, String table, String column, String definition)
+            throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_xinfo(" + table + ")")) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("name"))) {
+                        return;
+                    }
+                }
+            }
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + definition);
+        }
+    }
+}
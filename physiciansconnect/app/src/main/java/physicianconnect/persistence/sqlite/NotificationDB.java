@@ -5,72 +5,102 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import physicianconnect.events.EventBus;
+import physicianconnect.events.NotificationAdded;
 import physicianconnect.objects.Notification;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
 import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 public class NotificationDB implements NotificationPersistence {
-    private final Connection conn;
+    private static final String INSERT = "INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String FIND_FOR_USER =
+            "SELECT * FROM notifications WHERE user_id = ? AND user_type = ? ORDER BY timestamp DESC LIMIT 10";
+    static final String CLEAR_FOR_USER = "DELETE FROM notifications WHERE user_id = ? AND user_type = ?";
+    static final String MARK_ALL_READ =
+            "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND user_type = ? AND is_read = 0";
+    static final String MARK_READ = "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND user_type = ? "
+            + "AND message = ? AND type = ? AND timestamp = ? AND is_read = 0";
+
+    private final ConnectionPool pool;
     private final ReceptionistPersistence receptionistPersistence;
+    private final EventBus eventBus;
 
     public NotificationDB(Connection conn, ReceptionistPersistence receptionistPersistence) {
-        this.conn = conn;
+        this(ConnectionPool.wrap(conn), receptionistPersistence);
+    }
+
+    public NotificationDB(ConnectionPool pool, ReceptionistPersistence receptionistPersistence) {
+        this(pool, receptionistPersistence, EventBus.getDefault());
+    }
+
+    /** Stored notifications are announced on eventBus as {@link NotificationAdded}. */
+    public NotificationDB(ConnectionPool pool, ReceptionistPersistence receptionistPersistence, EventBus eventBus) {
+        this.pool = pool;
         this.receptionistPersistence = receptionistPersistence;
-        createTable();
+        this.eventBus = eventBus;
     }
 
-    private void createTable() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS notifications (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                user_id TEXT NOT NULL,
-                user_type TEXT NOT NULL,
-                message TEXT NOT NULL,
-                type TEXT NOT NULL,
-                timestamp TEXT NOT NULL,
-                is_read INTEGER DEFAULT 0
-            )
-        """;
-
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
-            
-            // Check if is_read column exists
-            try {
-                stmt.executeQuery("SELECT is_read FROM notifications LIMIT 1");
-            } catch (SQLException e) {
-                // Column doesn't exist, add it
-                stmt.execute("ALTER TABLE notifications ADD COLUMN is_read INTEGER DEFAULT 0");
-            }
+    @Override
+    public void addNotification(Notification notification) {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(INSERT)) {
+                    bindInsert(pstmt, notification);
+                    pstmt.executeUpdate();
+                }
+                countIfUnread(lease, notification);
+                return null;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return;
         }
+        eventBus.publish(new NotificationAdded(notification));
     }
 
     @Override
-    public void addNotification(Notification notification) {
-        String sql = "INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) VALUES (?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, notification.getUserId());
-            pstmt.setString(2, notification.getUserType());
-            pstmt.setString(3, notification.getMessage());
-            pstmt.setString(4, notification.getType());
-            pstmt.setString(5, notification.getTimestamp().toString());
-            pstmt.setInt(6, notification.isRead() ? 1 : 0);
-            
-            pstmt.executeUpdate();
+    public void addNotifications(List<Notification> notifications) {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(INSERT)) {
+                    Batches.run(pstmt, notifications, NotificationDB::bindInsert);
+                }
+                for (Notification notification : notifications) {
+                    countIfUnread(lease, notification);
+                }
+                return null;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return;
+        }
+        for (Notification notification : notifications) {
+            eventBus.publish(new NotificationAdded(notification));
         }
     }
 
+    private static void countIfUnread(ConnectionPool.Lease lease, Notification notification) throws SQLException {
+        if (!notification.isRead()) {
+            UnreadCounters.adjust(lease, notification.getUserId(), notification.getUserType(),
+                    UnreadCounters.NOTIFICATIONS, 1);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, Notification notification) throws SQLException {
+        pstmt.setString(1, notification.getUserId());
+        pstmt.setString(2, notification.getUserType());
+        pstmt.setString(3, notification.getMessage());
+        pstmt.setString(4, notification.getType());
+        pstmt.setString(5, notification.getTimestamp().toString());
+        pstmt.setInt(6, notification.isRead() ? 1 : 0);
+    }
+
     @Override
     public List<Notification> getNotificationsForUser(String userId, String userType) {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM notifications WHERE user_id = ? AND user_type = ? ORDER BY timestamp DESC LIMIT 10";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement pstmt = lease.prepareStatement(FIND_FOR_USER)) {
             pstmt.setString(1, userId);
             pstmt.setString(2, userType);
             
@@ -98,29 +128,62 @@ public class NotificationDB implements NotificationPersistence {
 
     @Override
     public void clearNotificationsForUser(String userId, String userType) {
-        String sql = "DELETE FROM notifications WHERE user_id = ? AND user_type = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, userType);
-            
-            pstmt.executeUpdate();
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(CLEAR_FOR_USER)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+                    pstmt.executeUpdate();
+                }
+                UnreadCounters.clear(lease, userId, userType, UnreadCounters.NOTIFICATIONS);
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void markAllAsRead(String userId, String userType) {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(MARK_ALL_READ)) {
+                    pstmt.setString(1, userId);
+                    pstmt.setString(2, userType);
+                    pstmt.executeUpdate();
+                }
+                UnreadCounters.clear(lease, userId, userType, UnreadCounters.NOTIFICATIONS);
+                return null;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public int countUnreadNotifications(String userId, String userType) {
+        try (ConnectionPool.Lease lease = pool.read()) {
+            return UnreadCounters.get(lease, userId, userType, UnreadCounters.NOTIFICATIONS);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
     public void markNotificationAsRead(Notification notification) {
-        String sql = "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND user_type = ? AND message = ? AND type = ? AND timestamp = ?";
-        
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, notification.getUserId());
-            pstmt.setString(2, notification.getUserType());
-            pstmt.setString(3, notification.getMessage());
-            pstmt.setString(4, notification.getType());
-            pstmt.setString(5, notification.getTimestamp().toString());
-            
-            pstmt.executeUpdate();
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement pstmt = lease.prepareStatement(MARK_READ)) {
+                    pstmt.setString(1, notification.getUserId());
+                    pstmt.setString(2, notification.getUserType());
+                    pstmt.setString(3, notification.getMessage());
+                    pstmt.setString(4, notification.getType());
+                    pstmt.setString(5, notification.getTimestamp().toString());
+                    UnreadCounters.adjust(lease, notification.getUserId(), notification.getUserType(),
+                            UnreadCounters.NOTIFICATIONS, -pstmt.executeUpdate());
+                }
+                return null;
+            });
             notification.markAsRead();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -130,18 +193,19 @@ public class NotificationDB implements NotificationPersistence {
     public void broadcastToReceptionists(String message, String type) {
         // Get all receptionists
         List<String> receptionistIds = receptionistPersistence.getAllReceptionistIds();
-        
-        // Create a notification for each receptionist
+        LocalDateTime now = LocalDateTime.now();
+
+        // One notification per receptionist, written in a single transaction
+        List<Notification> notifications = new ArrayList<>(receptionistIds.size());
         for (String receptionistId : receptionistIds) {
-            // Create notification with the recipient's ID as userId
-            Notification notification = new Notification(
+            notifications.add(new Notification(
                 message,
                 type,
-                LocalDateTime.now(),
+                now,
                 receptionistId,  // This is now the recipient's ID
                 "receptionist"
-            );
-            addNotification(notification);
+            ));
         }
+        addNotifications(notifications);
     }
 } 
\ No newline at end of file
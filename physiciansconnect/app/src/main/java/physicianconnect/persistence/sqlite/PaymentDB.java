@@ -1,17 +1,36 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.PaymentPosting.Outcome;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.*;
 
 public class PaymentDB implements PaymentPersistence {
-    private final Connection connection;
+    private static final String INSERT = "INSERT INTO payments (id, invoice_id, amount_cents, method, paid_at) VALUES (?, ?, ?, ?, ?)";
+    // CASE sees the balance from before the SET; the guard keeps a debit from
+    // overdrawing even if another process paid the invoice in the meantime
+    static final String DEBIT = "UPDATE invoices SET balance_cents = balance_cents - ?, "
+            + "status = CASE WHEN balance_cents = ? THEN 'Paid' ELSE 'Partial' END "
+            + "WHERE id = ? AND balance_cents >= ?";
+    static final String FIND_BY_INVOICE = "SELECT * FROM payments WHERE invoice_id = ?";
+    static final String FIND_BETWEEN =
+            "SELECT * FROM payments WHERE paid_at_epoch >= ? AND paid_at_epoch < ? ORDER BY paid_at_epoch";
+
+    private final ConnectionPool pool;
 
     public PaymentDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public PaymentDB(ConnectionPool pool) {
+        this.pool = pool;
         createTable();
     }
 
@@ -21,24 +40,94 @@ public class PaymentDB implements PaymentPersistence {
 
     @Override
     public void addPayment(Payment payment) {
-        String sql = "INSERT INTO payments (id, invoice_id, amount, method, paid_at) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, payment.getId());
-            stmt.setString(2, payment.getInvoiceId());
-            stmt.setDouble(3, payment.getAmount());
-            stmt.setString(4, payment.getMethod());
-            stmt.setString(5, payment.getPaidAt().toString());
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(INSERT)) {
+            bindPayment(stmt, payment);
             stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to add payment", e);
         }
     }
 
+    /**
+     * One transaction on the writer connection for the whole batch, so a
+     * remittance file of any length is a single commit. Per line: read the
+     * invoice, debit it with a conditional UPDATE, insert the payment and
+     * move the invoice's revenue rollup.
+     */
+    @Override
+    public List<PaymentPosting> postPayments(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return pool.inTransaction(lease -> {
+                List<PaymentPosting> results = new ArrayList<>(payments.size());
+                try (PreparedStatement state = lease.prepareStatement(RevenueRollupDB.INVOICE_STATE);
+                        PreparedStatement debit = lease.prepareStatement(DEBIT);
+                        PreparedStatement insert = lease.prepareStatement(INSERT)) {
+                    for (Payment payment : payments) {
+                        PaymentPosting posting = post(payment, state, debit, insert);
+                        RevenueRollupDB.paymentPosted(lease, posting);
+                        results.add(posting);
+                    }
+                }
+                return results;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to post payments", e);
+        }
+    }
+
+    private static PaymentPosting post(Payment payment, PreparedStatement state, PreparedStatement debit,
+                                       PreparedStatement insert) throws SQLException {
+        if (payment.getAmountCents() <= 0) {
+            return PaymentPosting.rejected(payment, Outcome.INVALID_AMOUNT);
+        }
+        long total;
+        long oldBalance;
+        String oldStatus;
+        String createdAt;
+        state.setString(1, payment.getInvoiceId());
+        try (ResultSet rs = state.executeQuery()) {
+            if (!rs.next()) {
+                return PaymentPosting.rejected(payment, Outcome.INVOICE_NOT_FOUND);
+            }
+            total = rs.getLong("total_cents");
+            oldBalance = rs.getLong("balance_cents");
+            oldStatus = rs.getString("status");
+            createdAt = rs.getString("created_at");
+        }
+
+        debit.setLong(1, payment.getAmountCents());
+        debit.setLong(2, payment.getAmountCents());
+        debit.setString(3, payment.getInvoiceId());
+        debit.setLong(4, payment.getAmountCents());
+        if (debit.executeUpdate() == 0) {
+            return PaymentPosting.rejected(payment, Outcome.EXCEEDS_BALANCE);
+        }
+
+        bindPayment(insert, payment);
+        insert.executeUpdate();
+
+        long newBalance = oldBalance - payment.getAmountCents();
+        return PaymentPosting.posted(payment, createdAt == null ? null : LocalDateTime.parse(createdAt), total,
+                oldStatus, oldBalance, PaymentPosting.statusFor(newBalance), newBalance);
+    }
+
+    private static void bindPayment(PreparedStatement stmt, Payment payment) throws SQLException {
+        stmt.setString(1, payment.getId());
+        stmt.setString(2, payment.getInvoiceId());
+        stmt.setLong(3, payment.getAmountCents());
+        stmt.setString(4, payment.getMethod());
+        stmt.setString(5, payment.getPaidAt().toString());
+    }
+
     @Override
     public List<Payment> getPaymentsByInvoice(String invoiceId) {
         List<Payment> result = new ArrayList<>();
-        String sql = "SELECT * FROM payments WHERE invoice_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_INVOICE)) {
             stmt.setString(1, invoiceId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) result.add(fromResultSet(rs));
@@ -50,17 +139,26 @@ public class PaymentDB implements PaymentPersistence {
 
     @Override
     public List<Payment> getPaymentsByMonth(int year, int month) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return queryBetween(from, from.plusMonths(1), "Failed to fetch payments by month");
+    }
+
+    @Override
+    public List<Payment> getPaymentsBetween(LocalDateTime from, LocalDateTime to) {
+        return queryBetween(from, to, "Failed to fetch payments by date range");
+    }
+
+    // Range scan over idx_payments_paid_at_epoch; the epoch column is generated from the ISO text
+    private List<Payment> queryBetween(LocalDateTime from, LocalDateTime to, String errorMessage) {
         List<Payment> result = new ArrayList<>();
-        String sql = "SELECT * FROM payments";
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-            while (rs.next()) {
-                Payment p = fromResultSet(rs);
-                if (p.getPaidAt().getYear() == year && p.getPaidAt().getMonthValue() == month)
-                    result.add(p);
-            }
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BETWEEN)) {
+            stmt.setLong(1, from.toEpochSecond(ZoneOffset.UTC));
+            stmt.setLong(2, to.toEpochSecond(ZoneOffset.UTC));
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) result.add(fromResultSet(rs));
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to fetch payments by month", e);
+            throw new RuntimeException(errorMessage, e);
         }
         return result;
     }
@@ -68,9 +166,9 @@ public class PaymentDB implements PaymentPersistence {
     private Payment fromResultSet(ResultSet rs) throws SQLException {
         String id = rs.getString("id");
         String invoiceId = rs.getString("invoice_id");
-        double amount = rs.getDouble("amount");
+        long amountCents = rs.getLong("amount_cents");
         String method = rs.getString("method");
         LocalDateTime paidAt = LocalDateTime.parse(rs.getString("paid_at"));
-        return new Payment(id, invoiceId, amount, method);
+        return new Payment(id, invoiceId, amountCents, method, paidAt);
     }
 }
\ No newline at end of file
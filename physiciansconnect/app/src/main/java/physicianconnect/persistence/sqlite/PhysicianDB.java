@@ -1,6 +1,7 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Physician;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.PhysicianPersistence;
 
 import java.sql.*;
@@ -9,10 +10,18 @@ import java.util.List;
 
 public class PhysicianDB implements PhysicianPersistence {
 
-    private final Connection connection;
+    static final String FIND_BY_ID = "SELECT * FROM physicians WHERE id = ?";
+    static final String FIND_BY_EMAIL = "SELECT * FROM physicians WHERE email = ? COLLATE NOCASE";
+    static final String DELETE_BY_ID = "DELETE FROM physicians WHERE id = ?";
+
+    private final ConnectionPool pool;
 
     public PhysicianDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public PhysicianDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
@@ -25,7 +34,8 @@ public class PhysicianDB implements PhysicianPersistence {
                 "(id, name, email, password, specialty, officeHours, notifyAppointment, notifyBilling, notifyMessages, phone, officeAddress) "
                 +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
             stmt.setString(1, physician.getId());
             stmt.setString(2, physician.getName());
             stmt.setString(3, physician.getEmail());
@@ -48,7 +58,8 @@ public class PhysicianDB implements PhysicianPersistence {
         List<Physician> list = new ArrayList<>();
         String sql = "SELECT * FROM physicians";
 
-        try (Statement stmt = connection.createStatement();
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 list.add(new Physician(
@@ -73,8 +84,8 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public Physician getPhysicianById(String id) {
-        String sql = "SELECT * FROM physicians WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_ID)) {
             stmt.setString(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -97,10 +108,36 @@ public class PhysicianDB implements PhysicianPersistence {
         return null;
     }
 
+    @Override
+    public Physician getPhysicianByEmail(String email) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_EMAIL)) {
+            stmt.setString(1, email);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return new Physician(
+                        rs.getString("id"),
+                        rs.getString("name"),
+                        rs.getString("email"),
+                        rs.getString("password"),
+                        rs.getString("specialty"),
+                        rs.getString("officeHours"),
+                        rs.getBoolean("notifyAppointment"),
+                        rs.getBoolean("notifyBilling"),
+                        rs.getBoolean("notifyMessages"),
+                        rs.getString("phone"),
+                        rs.getString("officeAddress"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find physician by email", e);
+        }
+        return null;
+    }
+
     @Override
     public void deletePhysicianById(String id) {
-        String sql = "DELETE FROM physicians WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE_BY_ID)) {
             stmt.setString(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -110,7 +147,8 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public void deleteAllPhysicians() {
-        try (Statement stmt = connection.createStatement()) {
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
             stmt.execute("DELETE FROM physicians");
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all physicians", e);
@@ -119,7 +157,8 @@ public class PhysicianDB implements PhysicianPersistence {
 
     @Override
     public void updatePhysician(Physician physician) {
-        try (PreparedStatement stmt = connection.prepareStatement(
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(
                 "UPDATE physicians SET name = ?, specialty = ?, officeHours = ?, " +
                         "notifyAppointment = ?, notifyBilling = ?, notifyMessages = ?, phone = ?, officeAddress = ? WHERE id = ?")) {
             stmt.setString(1, physician.getName());
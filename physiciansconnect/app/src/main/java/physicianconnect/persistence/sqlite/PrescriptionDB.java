@@ -1,42 +1,74 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Prescription;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.interfaces.Page;
 import physicianconnect.persistence.interfaces.PrescriptionPersistence;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class PrescriptionDB implements PrescriptionPersistence {
-    private final Connection connection;
+    private static final String INSERT = "INSERT INTO prescriptions (physician_id, patient_name, medication_name, "
+            + "default_dosage, dosage, frequency, notes, date_prescribed) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String FIND_FOR_PATIENT =
+            "SELECT * FROM prescriptions WHERE patient_name = ? ORDER BY date_prescribed DESC";
+    static final String PAGE = "SELECT * FROM prescriptions WHERE id > ? ORDER BY id LIMIT ?";
+    static final String DELETE_BY_ID = "DELETE FROM prescriptions WHERE id = ?";
+
+    private final ConnectionPool pool;
 
     public PrescriptionDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public PrescriptionDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void addPrescription(Prescription p) {
-        try (PreparedStatement stmt = connection.prepareStatement(
-                "INSERT INTO prescriptions (physician_id, patient_name, medication_name, default_dosage, dosage, frequency, notes, date_prescribed) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
-            stmt.setString(1, p.getPhysicianId());
-            stmt.setString(2, p.getPatientName());
-            stmt.setString(3, p.getMedicationName());
-            stmt.setString(4, p.getDefaultDosage());
-            stmt.setString(5, p.getDosage());
-            stmt.setString(6, p.getFrequency());
-            stmt.setString(7, p.getNotes());
-            stmt.setString(8, p.getDatePrescribed());
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(INSERT)) {
+            bindInsert(stmt, p);
             stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Override
+    public void addPrescriptions(List<Prescription> prescriptions) {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement stmt = lease.prepareStatement(INSERT)) {
+                    Batches.run(stmt, prescriptions, PrescriptionDB::bindInsert);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to add prescriptions", e);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Prescription p) throws SQLException {
+        stmt.setString(1, p.getPhysicianId());
+        stmt.setString(2, p.getPatientName());
+        stmt.setString(3, p.getMedicationName());
+        stmt.setString(4, p.getDefaultDosage());
+        stmt.setString(5, p.getDosage());
+        stmt.setString(6, p.getFrequency());
+        stmt.setString(7, p.getNotes());
+        stmt.setString(8, p.getDatePrescribed());
+    }
+
     @Override
     public List<Prescription> getPrescriptionsForPatient(String patientName) {
         List<Prescription> list = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(
-                "SELECT * FROM prescriptions WHERE patient_name = ? ORDER BY date_prescribed DESC")) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_FOR_PATIENT)) {
             stmt.setString(1, patientName);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -60,30 +92,63 @@ public class PrescriptionDB implements PrescriptionPersistence {
     @Override
     public List<Prescription> getAllPrescriptions() {
         List<Prescription> list = new ArrayList<>();
-        try (Statement stmt = connection.createStatement()) {
+        forEachPrescription(list::add);
+        return list;
+    }
+
+    @Override
+    public void forEachPrescription(Consumer<Prescription> action) {
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement()) {
             ResultSet rs = stmt.executeQuery("SELECT * FROM prescriptions");
             while (rs.next()) {
-                list.add(new Prescription(
-                        rs.getInt("id"),
-                        rs.getString("physician_id"),
-                        rs.getString("patient_name"),
-                        rs.getString("medication_name"),
-                        rs.getString("default_dosage"),
-                        rs.getString("dosage"),
-                        rs.getString("frequency"),
-                        rs.getString("notes"),
-                        rs.getString("date_prescribed")));
+                action.accept(mapPrescription(rs));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to get all prescriptions", e);
         }
-        return list;
+    }
+
+    @Override
+    public Page<Prescription> getPrescriptionsPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        long afterId = AppointmentDB.parseIdCursor(cursor);
+        List<Prescription> list = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(PAGE)) {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit + 1);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                list.add(mapPrescription(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get prescriptions page", e);
+        }
+        if (list.size() <= limit) {
+            return new Page<>(list, null);
+        }
+        list.remove(limit);
+        return new Page<>(list, String.valueOf(list.get(limit - 1).getId()));
+    }
+
+    private static Prescription mapPrescription(ResultSet rs) throws SQLException {
+        return new Prescription(
+                rs.getInt("id"),
+                rs.getString("physician_id"),
+                rs.getString("patient_name"),
+                rs.getString("medication_name"),
+                rs.getString("default_dosage"),
+                rs.getString("dosage"),
+                rs.getString("frequency"),
+                rs.getString("notes"),
+                rs.getString("date_prescribed"));
     }
 
     @Override
     public void deletePrescriptionById(int id) {
-        try (PreparedStatement stmt = connection.prepareStatement(
-                "DELETE FROM prescriptions WHERE id = ?")) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE_BY_ID)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -93,7 +158,8 @@ public class PrescriptionDB implements PrescriptionPersistence {
 
     @Override
     public void deleteAllPrescriptions() {
-        try (Statement stmt = connection.createStatement()) {
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
             stmt.execute("DELETE FROM prescriptions");
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all prescriptions", e);
@@ -1,6 +1,7 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 import java.sql.*;
@@ -8,16 +9,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ReceptionistDB implements ReceptionistPersistence {
-    private final Connection connection;
+    static final String FIND_BY_ID = "SELECT * FROM receptionists WHERE id = ?";
+    static final String FIND_BY_EMAIL = "SELECT * FROM receptionists WHERE email = ? COLLATE NOCASE";
+    static final String DELETE_BY_ID = "DELETE FROM receptionists WHERE id = ?";
+
+    private final ConnectionPool pool;
 
     public ReceptionistDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public ReceptionistDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public Receptionist getReceptionistById(String id) {
-        String sql = "SELECT * FROM receptionists WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_ID)) {
             stmt.setString(1, id);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -36,8 +45,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
 
     @Override
     public Receptionist getReceptionistByEmail(String email) {
-        String sql = "SELECT * FROM receptionists WHERE email = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_BY_EMAIL)) {
             stmt.setString(1, email);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -60,7 +69,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
     @Override
     public void addReceptionist(Receptionist receptionist) {
         String sql = "INSERT OR IGNORE INTO receptionists (id, name, email, password, notifyAppointment, notifyBilling, notifyMessages) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
             stmt.setString(1, receptionist.getId());
             stmt.setString(2, receptionist.getName());
             stmt.setString(3, receptionist.getEmail());
@@ -78,7 +88,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
     public List<Receptionist> getAllReceptionists() {
         List<Receptionist> list = new ArrayList<>();
         String sql = "SELECT * FROM receptionists";
-        try (Statement stmt = connection.createStatement();
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 list.add(new Receptionist(
@@ -104,7 +115,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
                         notifyAppointment = ?, notifyBilling = ?, notifyMessages = ?
                     WHERE id = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
             stmt.setString(1, receptionist.getName());
             stmt.setString(2, receptionist.getEmail());
             stmt.setString(3, receptionist.getPassword());
@@ -123,7 +135,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
         List<String> ids = new ArrayList<>();
         String sql = "SELECT id FROM receptionists";
         
-        try (Statement stmt = connection.createStatement();
+        try (ConnectionPool.Lease lease = pool.read();
+                Statement stmt = lease.connection().createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 ids.add(rs.getString("id"));
@@ -137,8 +150,8 @@ public class ReceptionistDB implements ReceptionistPersistence {
 
     @Override
     public void deleteReceptionist(String id) {
-        String sql = "DELETE FROM receptionists WHERE id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE_BY_ID)) {
             stmt.setString(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -1,22 +1,32 @@
 package physicianconnect.persistence.sqlite;
 
 import physicianconnect.objects.Referral;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.ReferralPersistence;
 
 import java.sql.*;
 import java.util.*;
 
 public class ReferralDB implements ReferralPersistence {
-    private final Connection connection;
+    static final String FIND_FOR_PHYSICIAN = "SELECT * FROM referrals WHERE physician_id = ?";
+    static final String FIND_FOR_PATIENT = "SELECT * FROM referrals WHERE patient_name = ?";
+    static final String DELETE_BY_ID = "DELETE FROM referrals WHERE id = ?";
+
+    private final ConnectionPool pool;
 
     public ReferralDB(Connection connection) {
-        this.connection = connection;
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public ReferralDB(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     public void addReferral(Referral referral) {
         String sql = "INSERT INTO referrals (physician_id, patient_name, referral_type, details, date_created) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(sql)) {
             stmt.setString(1, referral.getPhysicianId());
             stmt.setString(2, referral.getPatientName());
             stmt.setString(3, referral.getReferralType());
@@ -31,8 +41,8 @@ public class ReferralDB implements ReferralPersistence {
     @Override
     public List<Referral> getReferralsForPhysician(String physicianId) {
         List<Referral> list = new ArrayList<>();
-        String sql = "SELECT * FROM referrals WHERE physician_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_FOR_PHYSICIAN)) {
             stmt.setString(1, physicianId);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -54,8 +64,8 @@ public class ReferralDB implements ReferralPersistence {
     @Override
     public List<Referral> getReferralsForPatient(String patientName) {
         List<Referral> list = new ArrayList<>();
-        String sql = "SELECT * FROM referrals WHERE patient_name = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(FIND_FOR_PATIENT)) {
             stmt.setString(1, patientName);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -76,7 +86,8 @@ public class ReferralDB implements ReferralPersistence {
 
     @Override
     public void deleteReferralById(int id) {
-        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM referrals WHERE id = ?")) {
+        try (ConnectionPool.Lease lease = pool.write();
+                PreparedStatement stmt = lease.prepareStatement(DELETE_BY_ID)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
@@ -86,7 +97,8 @@ public class ReferralDB implements ReferralPersistence {
 
     @Override
     public void deleteAllReferrals() {
-        try (Statement stmt = connection.createStatement()) {
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
             stmt.execute("DELETE FROM referrals");
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete all referrals", e);
@@ -0,0 +1,164 @@
+package physicianconnect.persistence.sqlite;
+
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.interfaces.RevenueRollupPersistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invoice totals in {@code revenue_rollups}, one row per month (created_at's
+ * "yyyy-MM" prefix) and status. A missing row means nothing was billed.
+ * Amounts are INTEGER cents, so the sums are exact.
+ *
+ * Invoices arriving or leaving are counted by triggers on {@code invoices},
+ * so seed scripts and deletes that cascade from an appointment keep the
+ * totals exact too. In-place changes only come from InvoiceDB and
+ * PaymentDB, which move the totals in the same transaction as the update.
+ */
+public class RevenueRollupDB implements RevenueRollupPersistence {
+
+    /** What the table should hold, straight from invoices; SUM over integers stays an integer. */
+    static final String FROM_INVOICES = "SELECT substr(created_at, 1, 7) AS month, "
+            + "COALESCE(status, 'Sent') AS status, COUNT(*), SUM(total_cents), SUM(balance_cents) "
+            + "FROM invoices WHERE created_at IS NOT NULL GROUP BY 1, 2";
+
+    static final String INSERT_FROM_INVOICES = "INSERT INTO revenue_rollups "
+            + "(month, status, invoice_count, billed_cents, outstanding_cents) " + FROM_INVOICES;
+
+    /** The invoice columns its totals depend on, read before changing or deleting it. */
+    static final String INVOICE_STATE =
+            "SELECT total_cents, balance_cents, status, created_at FROM invoices WHERE id = ?";
+
+    private static final String ADD_TO = "INSERT INTO revenue_rollups "
+            + "(month, status, invoice_count, billed_cents, outstanding_cents) ";
+    private static final String ON_CONFLICT_ADD = " ON CONFLICT (month, status) DO UPDATE SET "
+            + "invoice_count = invoice_count + excluded.invoice_count, "
+            + "billed_cents = billed_cents + excluded.billed_cents, "
+            + "outstanding_cents = outstanding_cents + excluded.outstanding_cents";
+
+    static final String ADJUST = ADD_TO + "VALUES (?, ?, ?, ?, ?)" + ON_CONFLICT_ADD;
+
+    /** The same adjustment for every inserted invoice, whoever inserts it (migration 13). */
+    static final String COUNT_INSERTED = "CREATE TRIGGER IF NOT EXISTS invoices_rollup_insert "
+            + "AFTER INSERT ON invoices WHEN NEW.created_at IS NOT NULL BEGIN " + ADD_TO
+            + "VALUES (substr(NEW.created_at, 1, 7), COALESCE(NEW.status, 'Sent'), 1, "
+            + "NEW.total_cents, NEW.balance_cents)" + ON_CONFLICT_ADD + "; END";
+
+    /** And its inverse for every deleted one, cascades included (migration 13). */
+    static final String COUNT_DELETED = "CREATE TRIGGER IF NOT EXISTS invoices_rollup_delete "
+            + "AFTER DELETE ON invoices WHEN OLD.created_at IS NOT NULL BEGIN " + ADD_TO
+            + "VALUES (substr(OLD.created_at, 1, 7), COALESCE(OLD.status, 'Sent'), -1, "
+            + "-OLD.total_cents, -OLD.balance_cents)" + ON_CONFLICT_ADD + "; END";
+
+    static final String RANGE = "SELECT month, status, invoice_count, billed_cents, outstanding_cents "
+            + "FROM revenue_rollups WHERE month >= ? AND month < ? ORDER BY month, status";
+
+    // every "yyyy-MM" sorts between these
+    private static final String FIRST_MONTH = "";
+    private static final String AFTER_LAST_MONTH = "~";
+
+    private final ConnectionPool pool;
+
+    public RevenueRollupDB(Connection connection) {
+        this(ConnectionPool.wrap(connection));
+    }
+
+    public RevenueRollupDB(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public List<RevenueRollup> getRollups(YearMonth from, YearMonth to) {
+        List<RevenueRollup> result = new ArrayList<>();
+        try (ConnectionPool.Lease lease = pool.read();
+                PreparedStatement stmt = lease.prepareStatement(RANGE)) {
+            stmt.setString(1, from == null ? FIRST_MONTH : from.toString());
+            stmt.setString(2, to == null ? AFTER_LAST_MONTH : to.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(new RevenueRollup(
+                            YearMonth.parse(rs.getString("month")),
+                            rs.getString("status"),
+                            rs.getInt("invoice_count"),
+                            rs.getLong("billed_cents"),
+                            rs.getLong("outstanding_cents")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load revenue rollups", e);
+        }
+        return result;
+    }
+
+    /**
+     * Moves an invoice from its old status and balance to its new ones,
+     * inside the transaction that updated it. A status change is two
+     * adjustments, but they commit or roll back together with the invoice.
+     */
+    static void invoiceChanged(ConnectionPool.Lease lease, LocalDateTime createdAt, long totalCents,
+                               String oldStatus, long oldBalanceCents, String newStatus, long newBalanceCents)
+            throws SQLException {
+        if (createdAt == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(createdAt);
+        if (statusOf(oldStatus).equals(statusOf(newStatus))) {
+            adjust(lease, month, statusOf(oldStatus), 0, 0, newBalanceCents - oldBalanceCents);
+            return;
+        }
+        adjust(lease, month, statusOf(oldStatus), -1, -totalCents, -oldBalanceCents);
+        adjust(lease, month, statusOf(newStatus), 1, totalCents, newBalanceCents);
+    }
+
+    /** Same, from the before and after a posted payment carries; rejected ones changed nothing. */
+    static void paymentPosted(ConnectionPool.Lease lease, PaymentPosting posting) throws SQLException {
+        if (posting.isPosted()) {
+            invoiceChanged(lease, posting.invoiceCreatedAt(), posting.invoiceTotalCents(), posting.oldStatus(),
+                    posting.oldBalanceCents(), posting.newStatus(), posting.newBalanceCents());
+        }
+    }
+
+    /** Adds the deltas (amounts in cents) to the (month, status) totals, creating them if needed. */
+    static void adjust(ConnectionPool.Lease lease, YearMonth month, String status, int invoiceDelta,
+                       long billedCentsDelta, long outstandingCentsDelta) throws SQLException {
+        try (PreparedStatement stmt = lease.prepareStatement(ADJUST)) {
+            stmt.setString(1, month.toString());
+            stmt.setString(2, status);
+            stmt.setInt(3, invoiceDelta);
+            stmt.setLong(4, billedCentsDelta);
+            stmt.setLong(5, outstandingCentsDelta);
+            stmt.executeUpdate();
+        }
+    }
+
+    // same default as FROM_INVOICES
+    private static String statusOf(String status) {
+        return status == null ? "Sent" : status;
+    }
+
+    /** One grouped pass over invoices, swapped in atomically. */
+    @Override
+    public void rebuild() {
+        try {
+            pool.inTransaction(lease -> {
+                try (PreparedStatement clear = lease.prepareStatement("DELETE FROM revenue_rollups");
+                        PreparedStatement fill = lease.prepareStatement(INSERT_FROM_INVOICES)) {
+                    clear.executeUpdate();
+                    fill.executeUpdate();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to rebuild revenue rollups", e);
+        }
+    }
+}
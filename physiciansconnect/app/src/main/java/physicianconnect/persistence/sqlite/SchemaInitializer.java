@@ -1,136 +1,321 @@
 package physicianconnect.persistence.sqlite;
 
 import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
 
+/**
+ * Schema for the sqlite backend, expressed as an ordered list of migrations.
+ *
+ * A fresh database and an upgraded one go through the same steps. Never edit
+ * a migration that has shipped; append a new one with the next version.
+ */
 public class SchemaInitializer {
 
+        /*
+         * Sortable copies of the ISO-8601 billing timestamps, in seconds since the
+         * epoch (the local date-time read as UTC). They are virtual generated
+         * columns, so every writer - including rows inserted before the column
+         * existed - gets them for free, and the indexes on them let the month
+         * reports range-scan instead of parsing every row.
+         */
+        static final String INVOICE_CREATED_AT_EPOCH = "created_at_epoch INTEGER GENERATED ALWAYS AS "
+                        + "(CAST(strftime('%s', created_at) AS INTEGER)) VIRTUAL";
+        static final String PAYMENT_PAID_AT_EPOCH = "paid_at_epoch INTEGER GENERATED ALWAYS AS "
+                        + "(CAST(strftime('%s', paid_at) AS INTEGER)) VIRTUAL";
+
+        /*
+         * revenue_rollups as version 11 shipped it, in REAL dollars. Kept
+         * verbatim so that migration's checksum never changes; version 12
+         * rebuilds the table in cents from RevenueRollupDB.
+         */
+        private static final String CREATE_REVENUE_ROLLUPS_IN_DOLLARS = "CREATE TABLE IF NOT EXISTS revenue_rollups ("
+                        + "month TEXT NOT NULL, "
+                        + "status TEXT NOT NULL, "
+                        + "invoice_count INTEGER NOT NULL, "
+                        + "billed REAL NOT NULL, "
+                        + "outstanding REAL NOT NULL, "
+                        + "PRIMARY KEY (month, status)"
+                        + ") WITHOUT ROWID";
+        private static final String FILL_REVENUE_ROLLUPS_IN_DOLLARS = "INSERT INTO revenue_rollups "
+                        + "(month, status, invoice_count, billed, outstanding) "
+                        + "SELECT substr(created_at, 1, 7) AS month, "
+                        + "COALESCE(status, 'Sent') AS status, COUNT(*), TOTAL(total_amount), TOTAL(balance) "
+                        + "FROM invoices WHERE created_at IS NOT NULL GROUP BY 1, 2";
+
+        /*
+         * revenue_rollups as version 12 rebuilds it, in cents. Frozen for the
+         * same reason; RevenueRollupDB.rebuild keeps its own copy of the fill.
+         */
+        private static final String CREATE_REVENUE_ROLLUPS_IN_CENTS = "CREATE TABLE IF NOT EXISTS revenue_rollups ("
+                        + "month TEXT NOT NULL, "
+                        + "status TEXT NOT NULL, "
+                        + "invoice_count INTEGER NOT NULL, "
+                        + "billed_cents INTEGER NOT NULL, "
+                        + "outstanding_cents INTEGER NOT NULL, "
+                        + "PRIMARY KEY (month, status)"
+                        + ") WITHOUT ROWID";
+        private static final String FILL_REVENUE_ROLLUPS_IN_CENTS = "INSERT INTO revenue_rollups "
+                        + "(month, status, invoice_count, billed_cents, outstanding_cents) "
+                        + "SELECT substr(created_at, 1, 7) AS month, "
+                        + "COALESCE(status, 'Sent') AS status, COUNT(*), SUM(total_cents), SUM(balance_cents) "
+                        + "FROM invoices WHERE created_at IS NOT NULL GROUP BY 1, 2";
+
+        private static final String CREATE_PHYSICIANS = "CREATE TABLE IF NOT EXISTS physicians (" +
+                        "id TEXT PRIMARY KEY, " +
+                        "name TEXT NOT NULL, " +
+                        "email TEXT NOT NULL, " +
+                        "password TEXT NOT NULL, " +
+                        "specialty TEXT, " +
+                        "officeHours TEXT, " +
+                        "notifyAppointment BOOLEAN DEFAULT 1, " +
+                        "notifyBilling BOOLEAN DEFAULT 0, " +
+                        "notifyMessages BOOLEAN DEFAULT 1, " +
+                        "phone TEXT, " +
+                        "officeAddress TEXT" +
+                        ")";
+
+        private static final String CREATE_APPOINTMENTS = "CREATE TABLE IF NOT EXISTS appointments ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "physician_id TEXT NOT NULL, "
+                        + "patient_name TEXT NOT NULL, "
+                        + "datetime TEXT NOT NULL, "
+                        + "notes TEXT, "
+                        + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
+                        + "UNIQUE (physician_id, patient_name, datetime)"
+                        + ")";
+
+        private static final String CREATE_MEDICATIONS = "CREATE TABLE IF NOT EXISTS medications ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "name TEXT NOT NULL, "
+                        + "dosage TEXT NOT NULL, "
+                        + "default_frequency TEXT, "
+                        + "default_notes TEXT, "
+                        + "UNIQUE (name, dosage)"
+                        + ")";
+
+        private static final String CREATE_PRESCRIPTIONS = "CREATE TABLE IF NOT EXISTS prescriptions ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "physician_id TEXT NOT NULL, "
+                        + "patient_name TEXT NOT NULL, "
+                        + "medication_name TEXT NOT NULL, "
+                        + "default_dosage TEXT NOT NULL, "
+                        + "dosage TEXT, "
+                        + "frequency TEXT, "
+                        + "notes TEXT, "
+                        + "date_prescribed TEXT NOT NULL, "
+                        + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
+                        + "UNIQUE (physician_id, patient_name, medication_name, date_prescribed)"
+                        + ")";
+
+        private static final String CREATE_REFERRALS = "CREATE TABLE IF NOT EXISTS referrals ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "physician_id TEXT NOT NULL, "
+                        + "patient_name TEXT NOT NULL, "
+                        + "referral_type TEXT NOT NULL, "
+                        + "details TEXT, "
+                        + "date_created TEXT NOT NULL, "
+                        + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
+                        + "UNIQUE (physician_id, patient_name, referral_type, date_created)"
+                        + ")";
+
+        private static final String CREATE_RECEPTIONISTS = "CREATE TABLE IF NOT EXISTS receptionists ("
+                        + "id TEXT PRIMARY KEY, "
+                        + "name TEXT NOT NULL, "
+                        + "email TEXT NOT NULL, "
+                        + "password TEXT NOT NULL,"
+                        + "notifyAppointment BOOLEAN DEFAULT TRUE,"
+                        + "notifyBilling BOOLEAN DEFAULT TRUE,"
+                        + "notifyMessages BOOLEAN DEFAULT TRUE"
+                        + ")";
+
+        private static final String CREATE_INVOICES = "CREATE TABLE IF NOT EXISTS invoices ("
+                        + "id TEXT PRIMARY KEY, "
+                        + "appointment_id INTEGER, "
+                        + "patient_name TEXT, "
+                        + "services TEXT, "
+                        + "insurance_adjustment REAL, "
+                        + "total_amount REAL, "
+                        + "balance REAL, "
+                        + "status TEXT, "
+                        + "created_at TEXT, "
+                        + "FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE"
+                        + ")";
+
+        private static final String CREATE_INVOICE_ITEMS = "CREATE TABLE IF NOT EXISTS invoice_items ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "invoice_id TEXT NOT NULL, "
+                        + "position INTEGER NOT NULL, "
+                        + "name TEXT NOT NULL, "
+                        + "cost REAL NOT NULL, "
+                        + "FOREIGN KEY (invoice_id) REFERENCES invoices(id) ON DELETE CASCADE, "
+                        + "UNIQUE (invoice_id, position)"
+                        + ")";
+
+        private static final String CREATE_PAYMENTS = "CREATE TABLE IF NOT EXISTS payments ("
+                        + "id TEXT PRIMARY KEY, "
+                        + "invoice_id TEXT, "
+                        + "amount REAL, "
+                        + "method TEXT, "
+                        + "paid_at TEXT"
+                        + ")";
+
+        private static final String CREATE_MESSAGES = "CREATE TABLE IF NOT EXISTS messages (" +
+                        "message_id TEXT PRIMARY KEY, " +
+                        "sender_id TEXT NOT NULL, " +
+                        "sender_type TEXT NOT NULL, " +
+                        "receiver_id TEXT NOT NULL, " +
+                        "receiver_type TEXT NOT NULL, " +
+                        "content TEXT NOT NULL, " +
+                        "timestamp TEXT NOT NULL, " +
+                        "is_read BOOLEAN NOT NULL" +
+                        ")";
+
+        private static final String CREATE_NOTIFICATIONS = "CREATE TABLE IF NOT EXISTS notifications (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "user_id TEXT NOT NULL, "
+                        + "user_type TEXT NOT NULL, "
+                        + "message TEXT NOT NULL, "
+                        + "type TEXT NOT NULL, "
+                        + "timestamp TEXT NOT NULL, "
+                        + "FOREIGN KEY (user_id) REFERENCES physicians(id) ON DELETE CASCADE"
+                        + ")";
+
+        static final List<Migration> MIGRATIONS = List.of(
+                        Migration.sql(1, "Baseline tables",
+                                        CREATE_PHYSICIANS,
+                                        CREATE_APPOINTMENTS,
+                                        CREATE_MEDICATIONS,
+                                        CREATE_PRESCRIPTIONS,
+                                        CREATE_REFERRALS,
+                                        CREATE_RECEPTIONISTS,
+                                        CREATE_INVOICES,
+                                        CREATE_PAYMENTS,
+                                        CREATE_MESSAGES,
+                                        CREATE_NOTIFICATIONS),
+
+                        // NotificationDB used to add this on construction
+                        Migration.code(2, "notifications.is_read",
+                                        "is_read INTEGER DEFAULT 0",
+                                        conn -> MigrationRunner.addColumnIfMissing(conn, "notifications", "is_read",
+                                                        "is_read INTEGER DEFAULT 0")),
+
+                        Migration.sql(3, "Secondary indexes for DAO lookups",
+                                        // AppointmentDB.getAppointmentsForPhysician / getAppointmentsForPhysicianInRange
+                                        "CREATE INDEX IF NOT EXISTS idx_appointments_physician_datetime "
+                                                        + "ON appointments (physician_id, datetime)",
+                                        // MessageDB.findByReceiverId / findUnreadByReceiverId / countUnreadMessages
+                                        "CREATE INDEX IF NOT EXISTS idx_messages_receiver_read "
+                                                        + "ON messages (receiver_id, receiver_type, is_read, timestamp)",
+                                        // MessageDB.findBySenderId
+                                        "CREATE INDEX IF NOT EXISTS idx_messages_sender "
+                                                        + "ON messages (sender_id, sender_type, timestamp)",
+                                        // NotificationDB.getNotificationsForUser / clearNotificationsForUser
+                                        "CREATE INDEX IF NOT EXISTS idx_notifications_user_timestamp "
+                                                        + "ON notifications (user_id, user_type, timestamp)",
+                                        // ReferralDB.getReferralsForPatient
+                                        "CREATE INDEX IF NOT EXISTS idx_referrals_patient "
+                                                        + "ON referrals (patient_name)",
+                                        // PrescriptionDB.getPrescriptionsForPatient
+                                        "CREATE INDEX IF NOT EXISTS idx_prescriptions_patient_date "
+                                                        + "ON prescriptions (patient_name, date_prescribed)",
+                                        // PaymentDB.getPaymentsByInvoice
+                                        "CREATE INDEX IF NOT EXISTS idx_payments_invoice "
+                                                        + "ON payments (invoice_id)",
+                                        // ON DELETE CASCADE from appointments
+                                        "CREATE INDEX IF NOT EXISTS idx_invoices_appointment "
+                                                        + "ON invoices (appointment_id)",
+                                        // ReceptionistDB.getReceptionistByEmail
+                                        "CREATE INDEX IF NOT EXISTS idx_receptionists_email "
+                                                        + "ON receptionists (email)"),
+
+                        // ADD COLUMN of a virtual column only rewrites the schema, not the rows
+                        Migration.code(4, "Sortable billing timestamps",
+                                        INVOICE_CREATED_AT_EPOCH + "\n" + PAYMENT_PAID_AT_EPOCH,
+                                        conn -> {
+                                                MigrationRunner.addColumnIfMissing(conn, "invoices", "created_at_epoch",
+                                                                INVOICE_CREATED_AT_EPOCH);
+                                                MigrationRunner.addColumnIfMissing(conn, "payments", "paid_at_epoch",
+                                                                PAYMENT_PAID_AT_EPOCH);
+                                        }),
+                        Migration.sql(5, "Indexes on billing timestamps",
+                                        // InvoiceDB.getInvoicesByMonth / getInvoicesCreatedBetween
+                                        "CREATE INDEX IF NOT EXISTS idx_invoices_created_at_epoch "
+                                                        + "ON invoices (created_at_epoch)",
+                                        // PaymentDB.getPaymentsByMonth / getPaymentsBetween
+                                        "CREATE INDEX IF NOT EXISTS idx_payments_paid_at_epoch "
+                                                        + "ON payments (paid_at_epoch)"),
+
+                        Migration.sql(6, "invoice_items table", CREATE_INVOICE_ITEMS),
+                        Migration.code(7, "Move invoices.services into invoice_items",
+                                        "InvoiceItemsMigration: name:cost;name:cost -> (invoice_id, position, name, cost)",
+                                        InvoiceItemsMigration::migrate),
+
+                        // email lookups are case-insensitive everywhere, so the index has to be too
+                        Migration.sql(8, "Case-insensitive email indexes",
+                                        "DROP INDEX IF EXISTS idx_receptionists_email",
+                                        // ReceptionistDB.getReceptionistByEmail
+                                        "CREATE INDEX IF NOT EXISTS idx_receptionists_email_nocase "
+                                                        + "ON receptionists (email COLLATE NOCASE)",
+                                        // PhysicianDB.getPhysicianByEmail
+                                        "CREATE INDEX IF NOT EXISTS idx_physicians_email_nocase "
+                                                        + "ON physicians (email COLLATE NOCASE)"),
+
+                        Migration.code(9, "messages.conversation_key",
+                                        "conversation_key TEXT = Message.conversationKey(sender, receiver); "
+                                                        + "idx_messages_conversation (conversation_key, timestamp)",
+                                        ConversationKeyMigration::migrate),
+
+                        // badges read these instead of counting unread rows
+                        Migration.sql(10, "unread_counters table",
+                                        UnreadCounters.CREATE_TABLE,
+                                        "INSERT INTO unread_counters (user_id, user_type, kind, unread) "
+                                                        + UnreadCounters.EXPECTED),
+
+                        // the revenue dashboard reads these instead of every invoice
+                        Migration.sql(11, "revenue_rollups table",
+                                        CREATE_REVENUE_ROLLUPS_IN_DOLLARS,
+                                        FILL_REVENUE_ROLLUPS_IN_DOLLARS),
+
+                        // REAL dollars drift (0.1 + 0.2 != 0.3), so a paid-off balance could be
+                        // left a hair above zero; every amount becomes whole cents in an INTEGER
+                        Migration.sql(12, "Money in cents",
+                                        "ALTER TABLE invoices ADD COLUMN insurance_adjustment_cents INTEGER NOT NULL DEFAULT 0",
+                                        "ALTER TABLE invoices ADD COLUMN total_cents INTEGER NOT NULL DEFAULT 0",
+                                        "ALTER TABLE invoices ADD COLUMN balance_cents INTEGER NOT NULL DEFAULT 0",
+                                        "UPDATE invoices SET insurance_adjustment_cents = " + toCents("insurance_adjustment")
+                                                        + ", total_cents = " + toCents("total_amount")
+                                                        + ", balance_cents = " + toCents("balance"),
+                                        "ALTER TABLE invoices DROP COLUMN insurance_adjustment",
+                                        "ALTER TABLE invoices DROP COLUMN total_amount",
+                                        "ALTER TABLE invoices DROP COLUMN balance",
+                                        // a balance that drifted to a fraction of a cent is paid off
+                                        "UPDATE invoices SET status = 'Paid' WHERE balance_cents = 0 AND status = 'Partial'",
+                                        "ALTER TABLE invoice_items ADD COLUMN cost_cents INTEGER NOT NULL DEFAULT 0",
+                                        "UPDATE invoice_items SET cost_cents = " + toCents("cost"),
+                                        "ALTER TABLE invoice_items DROP COLUMN cost",
+                                        "ALTER TABLE payments ADD COLUMN amount_cents INTEGER NOT NULL DEFAULT 0",
+                                        "UPDATE payments SET amount_cents = " + toCents("amount"),
+                                        "ALTER TABLE payments DROP COLUMN amount",
+                                        // only derived data, so rebuild it from the converted invoices
+                                        "DROP TABLE revenue_rollups",
+                                        CREATE_REVENUE_ROLLUPS_IN_CENTS,
+                                        FILL_REVENUE_ROLLUPS_IN_CENTS),
+
+                        // invoices also come from seed scripts and leave through ON DELETE CASCADE
+                        // from appointments; resync once, then the triggers count every row
+                        Migration.sql(13, "Revenue rollups follow invoice inserts and deletes",
+                                        RevenueRollupDB.COUNT_INSERTED,
+                                        RevenueRollupDB.COUNT_DELETED,
+                                        "DELETE FROM revenue_rollups",
+                                        FILL_REVENUE_ROLLUPS_IN_CENTS));
+
+        // nearest cent of a REAL dollar column; a missing amount becomes 0.
+        // Part of migration 12's text, so it must not change either
+        private static String toCents(String dollarsColumn) {
+                return "CAST(ROUND(COALESCE(" + dollarsColumn + ", 0) * 100) AS INTEGER)";
+        }
+
         public static void initializeSchema(Connection connection) {
-                String createPhysiciansTable = "CREATE TABLE IF NOT EXISTS physicians (" +
-                                "id TEXT PRIMARY KEY, " +
-                                "name TEXT NOT NULL, " +
-                                "email TEXT NOT NULL, " +
-                                "password TEXT NOT NULL, " +
-                                "specialty TEXT, " +
-                                "officeHours TEXT, " +
-                                "notifyAppointment BOOLEAN DEFAULT 1, " +
-                                "notifyBilling BOOLEAN DEFAULT 0, " +
-                                "notifyMessages BOOLEAN DEFAULT 1, " +
-                                "phone TEXT, " +
-                                "officeAddress TEXT" +
-                                ");";
-
-                String createAppointmentsTable = "CREATE TABLE IF NOT EXISTS appointments ("
-                                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
-                                + "physician_id TEXT NOT NULL, "
-                                + "patient_name TEXT NOT NULL, "
-                                + "datetime TEXT NOT NULL, "
-                                + "notes TEXT, "
-                                + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
-                                + "UNIQUE (physician_id, patient_name, datetime)"
-                                + ");";
-
-                String createMedicationsTable = "CREATE TABLE IF NOT EXISTS medications ("
-                                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
-                                + "name TEXT NOT NULL, "
-                                + "dosage TEXT NOT NULL, "
-                                + "default_frequency TEXT, "
-                                + "default_notes TEXT, "
-                                + "UNIQUE (name, dosage)"
-                                + ");";
-
-                String createPrescriptionsTable = "CREATE TABLE IF NOT EXISTS prescriptions ("
-                                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
-                                + "physician_id TEXT NOT NULL, "
-                                + "patient_name TEXT NOT NULL, "
-                                + "medication_name TEXT NOT NULL, "
-                                + "default_dosage TEXT NOT NULL, "
-                                + "dosage TEXT, "
-                                + "frequency TEXT, "
-                                + "notes TEXT, "
-                                + "date_prescribed TEXT NOT NULL, "
-                                + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
-                                + "UNIQUE (physician_id, patient_name, medication_name, date_prescribed)"
-                                + ");";
-
-                String createReferralsTable = "CREATE TABLE IF NOT EXISTS referrals ("
-                                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
-                                + "physician_id TEXT NOT NULL, "
-                                + "patient_name TEXT NOT NULL, "
-                                + "referral_type TEXT NOT NULL, "
-                                + "details TEXT, "
-                                + "date_created TEXT NOT NULL, "
-                                + "FOREIGN KEY (physician_id) REFERENCES physicians(id) ON DELETE CASCADE, "
-                                + "UNIQUE (physician_id, patient_name, referral_type, date_created)"
-                                + ");";
-
-                String createReceptionistTable = "CREATE TABLE IF NOT EXISTS receptionists ("
-                                + "id TEXT PRIMARY KEY, "
-                                + "name TEXT NOT NULL, "
-                                + "email TEXT NOT NULL, "
-                                + "password TEXT NOT NULL,"
-                                + "notifyAppointment BOOLEAN DEFAULT TRUE,"
-                                + "notifyBilling BOOLEAN DEFAULT TRUE,"
-                                + "notifyMessages BOOLEAN DEFAULT TRUE"
-                                + ");";
-
-                String createInvoicesTable = "CREATE TABLE IF NOT EXISTS invoices ("
-                                + "id TEXT PRIMARY KEY, "
-                                + "appointment_id INTEGER, "
-                                + "patient_name TEXT, "
-                                + "services TEXT, "
-                                + "insurance_adjustment REAL, "
-                                + "total_amount REAL, "
-                                + "balance REAL, "
-                                + "status TEXT, "
-                                + "created_at TEXT, "
-                                + "FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE"
-                                + ");";
-
-                String createPaymentsTable = "CREATE TABLE IF NOT EXISTS payments ("
-                                + "id TEXT PRIMARY KEY, "
-                                + "invoice_id TEXT, "
-                                + "amount REAL, "
-                                + "method TEXT, "
-                                + "paid_at TEXT"
-                                + ");";
-
-                String createMessagesTable = "CREATE TABLE IF NOT EXISTS messages (" +
-                                "message_id TEXT PRIMARY KEY, " +
-                                "sender_id TEXT NOT NULL, " +
-                                "sender_type TEXT NOT NULL, " +
-                                "receiver_id TEXT NOT NULL, " +
-                                "receiver_type TEXT NOT NULL, " +
-                                "content TEXT NOT NULL, " +
-                                "timestamp TEXT NOT NULL, " +
-                                "is_read BOOLEAN NOT NULL" +
-                                ");";
-
-                String createNotificationsTable = "CREATE TABLE IF NOT EXISTS notifications (" +
-                                "id INTEGER PRIMARY KEY AUTOINCREMENT, "
-                                + "user_id TEXT NOT NULL, "
-                                + "user_type TEXT NOT NULL, "
-                                + "message TEXT NOT NULL, "
-                                + "type TEXT NOT NULL, "
-                                + "timestamp TEXT NOT NULL, "
-                                + "FOREIGN KEY (user_id) REFERENCES physicians(id) ON DELETE CASCADE"
-                                + ");";
-
-                try (Statement stmt = connection.createStatement()) {
-                        stmt.execute("PRAGMA foreign_keys = ON;");
-                        stmt.execute(createPhysiciansTable);
-                        stmt.execute(createAppointmentsTable);
-                        stmt.execute(createMedicationsTable);
-                        stmt.execute(createPrescriptionsTable);
-                        stmt.execute(createReferralsTable);
-                        stmt.execute(createReceptionistTable);
-                        stmt.execute(createInvoicesTable);
-                        stmt.execute(createPaymentsTable);
-                        stmt.execute(createMessagesTable);
-                        stmt.execute(createNotificationsTable);
-                } catch (SQLException e) {
-                        throw new RuntimeException("Failed to initialize PhysicianConnect schema", e);
-                }
+                MigrationRunner.migrate(connection, MIGRATIONS);
         }
-}
\ No newline at end of file
+}
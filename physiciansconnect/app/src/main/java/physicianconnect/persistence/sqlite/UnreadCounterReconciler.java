@@ -0,0 +1,108 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import physicianconnect.persistence.ConnectionPool;
+
+/**
+ * Checks {@code unread_counters} against the messages and notifications they
+ * count and repairs any that drifted, e.g. after another process wrote the
+ * base tables directly. The recount and the repair run in one write
+ * transaction, so no DAO write can land in between. Every repair is logged;
+ * a healthy database reports none.
+ */
+public class UnreadCounterReconciler implements AutoCloseable {
+    public static final long DEFAULT_INTERVAL_MS = 15 * 60 * 1000;
+
+    private static final String ALL_COUNTERS = "SELECT user_id, user_type, kind, unread FROM unread_counters";
+
+    /** A counter that did not match its base table, and the count it was reset to. */
+    public record Drift(String userId, String userType, String kind, int stored, int actual) {
+    }
+
+    private record Key(String userId, String userType, String kind) {
+    }
+
+    private final ConnectionPool pool;
+    private final ScheduledExecutorService scheduler;
+
+    public UnreadCounterReconciler(ConnectionPool pool) {
+        this.pool = pool;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unread-counter-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Reconciles once in the background right away, then every intervalMs. */
+    public static UnreadCounterReconciler start(ConnectionPool pool, long intervalMs) {
+        UnreadCounterReconciler reconciler = new UnreadCounterReconciler(pool);
+        reconciler.scheduler.scheduleWithFixedDelay(reconciler::reconcileQuietly, 0, intervalMs,
+                TimeUnit.MILLISECONDS);
+        return reconciler;
+    }
+
+    /** Recounts every user's unread rows and fixes the counters that differ; returns what was fixed. */
+    public List<Drift> reconcile() {
+        try {
+            return pool.inTransaction(lease -> {
+                Map<Key, Integer> actual = read(lease, UnreadCounters.EXPECTED);
+                Map<Key, Integer> stored = read(lease, ALL_COUNTERS);
+                Set<Key> keys = new HashSet<>(actual.keySet());
+                keys.addAll(stored.keySet());
+
+                List<Drift> drifts = new ArrayList<>();
+                for (Key key : keys) {
+                    int want = actual.getOrDefault(key, 0);
+                    int have = stored.getOrDefault(key, 0);
+                    if (want != have) {
+                        UnreadCounters.adjust(lease, key.userId(), key.userType(), key.kind(), want - have);
+                        drifts.add(new Drift(key.userId(), key.userType(), key.kind(), have, want));
+                    }
+                }
+                return drifts;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to reconcile unread counters: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<Key, Integer> read(ConnectionPool.Lease lease, String sql) throws SQLException {
+        Map<Key, Integer> counts = new HashMap<>();
+        try (PreparedStatement pstmt = lease.prepareStatement(sql);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(new Key(rs.getString("user_id"), rs.getString("user_type"), rs.getString("kind")),
+                        rs.getInt("unread"));
+            }
+        }
+        return counts;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            for (Drift drift : reconcile()) {
+                System.err.println("Repaired unread counter: " + drift);
+            }
+        } catch (RuntimeException e) {
+            // busy or closing; try again on the next tick
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package physicianconnect.persistence.sqlite;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import physicianconnect.persistence.ConnectionPool;
+
+/**
+ * Per-user unread counts kept in {@code unread_counters}, one row per user
+ * and kind. The DAOs change a count in the same transaction as the rows it
+ * counts, so a badge is a primary-key lookup instead of a COUNT(*). A missing
+ * row means zero. {@link UnreadCounterReconciler} checks the counts against
+ * the base tables.
+ */
+final class UnreadCounters {
+    static final String MESSAGES = "message";
+    static final String NOTIFICATIONS = "notification";
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS unread_counters ("
+            + "user_id TEXT NOT NULL, "
+            + "user_type TEXT NOT NULL, "
+            + "kind TEXT NOT NULL, "
+            + "unread INTEGER NOT NULL, "
+            + "PRIMARY KEY (user_id, user_type, kind)"
+            + ") WITHOUT ROWID";
+
+    /** What the counters should hold, straight from the base tables. */
+    static final String EXPECTED = "SELECT receiver_id AS user_id, receiver_type AS user_type, '" + MESSAGES
+            + "' AS kind, COUNT(*) AS unread FROM messages WHERE is_read = 0 GROUP BY receiver_id, receiver_type "
+            + "UNION ALL "
+            + "SELECT user_id, user_type, '" + NOTIFICATIONS
+            + "', COUNT(*) FROM notifications WHERE is_read = 0 GROUP BY user_id, user_type";
+
+    static final String GET =
+            "SELECT unread FROM unread_counters WHERE user_id = ? AND user_type = ? AND kind = ?";
+    static final String ADJUST = "INSERT INTO unread_counters (user_id, user_type, kind, unread) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (user_id, user_type, kind) DO UPDATE SET unread = unread + excluded.unread";
+    static final String CLEAR =
+            "DELETE FROM unread_counters WHERE user_id = ? AND user_type = ? AND kind = ?";
+
+    private UnreadCounters() {
+    }
+
+    static int get(ConnectionPool.Lease lease, String userId, String userType, String kind) throws SQLException {
+        try (PreparedStatement pstmt = lease.prepareStatement(GET)) {
+            pstmt.setString(1, userId);
+            pstmt.setString(2, userType);
+            pstmt.setString(3, kind);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /** Adds delta (negative to subtract); call inside the transaction that changed the rows. */
+    static void adjust(ConnectionPool.Lease lease, String userId, String userType, String kind, int delta)
+            throws SQLException {
+        if (delta == 0) {
+            return;
+        }
+        try (PreparedStatement pstmt = lease.prepareStatement(ADJUST)) {
+            pstmt.setString(1, userId);
+            pstmt.setString(2, userType);
+            pstmt.setString(3, kind);
+            pstmt.setInt(4, delta);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /** Back to zero, e.g. once every row of that kind for the user is read or gone. */
+    static void clear(ConnectionPool.Lease lease, String userId, String userType, String kind) throws SQLException {
+        try (PreparedStatement pstmt = lease.prepareStatement(CLEAR)) {
+            pstmt.setString(1, userId);
+            pstmt.setString(2, userType);
+            pstmt.setString(3, kind);
+            pstmt.executeUpdate();
+        }
+    }
+}
@@ -2,23 +2,30 @@ package physicianconnect.persistence.stub;
 
 import physicianconnect.objects.Appointment;
 import physicianconnect.persistence.interfaces.AppointmentPersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class AppointmentPersistenceStub implements AppointmentPersistence {
     private final List<Appointment> appointments;
 
+    // physician id -> start time -> bookings at that time, kept in step with the list
+    private final Map<String, NavigableMap<LocalDateTime, List<Appointment>>> byPhysician = new HashMap<>();
+    private final Map<Integer, Appointment> byId = new HashMap<>();
+    private int nextId = 1;
+
     public AppointmentPersistenceStub(boolean seed) {
         appointments = new ArrayList<>();
         if (seed) {
-            appointments.add(new Appointment("1", "Alice Johnson", java.time.LocalDateTime.of(2025, 5, 30, 10, 0)));
-            appointments.add(new Appointment("2", "Bob Brown", java.time.LocalDateTime.of(2025, 6, 1, 14, 30)));
+            insert(new Appointment("1", "Alice Johnson", java.time.LocalDateTime.of(2025, 5, 30, 10, 0)));
+            insert(new Appointment("2", "Bob Brown", java.time.LocalDateTime.of(2025, 6, 1, 14, 30)));
         }
     }
 
     @Override
-    public List<Appointment> getAppointmentsForPhysician(String physicianId) {
+    public synchronized List<Appointment> getAppointmentsForPhysician(String physicianId) {
         List<Appointment> result = new ArrayList<>();
         for (Appointment appt : appointments) {
             if (appt.getPhysicianId().equals(physicianId)) {
@@ -29,59 +36,195 @@ public class AppointmentPersistenceStub implements AppointmentPersistence {
     }
 
     @Override
-    public void addAppointment(Appointment appointment) {
-        appointments.add(appointment);
+    public synchronized void addAppointment(Appointment appointment) {
+        // same contract as AppointmentDB: the store assigns the id
+        if (appointment.getId() >= 0) {
+            throw new IllegalArgumentException("Appointment already has id " + appointment.getId());
+        }
+        insert(appointment);
+    }
+
+    @Override
+    public synchronized void addAppointments(List<Appointment> batch) {
+        for (Appointment appointment : batch) {
+            addAppointment(appointment);
+        }
+    }
+
+    @Override
+    public synchronized boolean addAppointmentIfSlotFree(Appointment appointment) {
+        if (isSlotTaken(appointment.getPhysicianId(), appointment.getDateTime())) {
+            return false;
+        }
+        addAppointment(appointment);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isSlotTaken(String physicianId, LocalDateTime dateTime) {
+        return !bookingsAt(physicianId, dateTime).isEmpty();
     }
 
     @Override
-    public void updateAppointment(Appointment appointment) {
+    public synchronized boolean isSlotTakenByOther(String physicianId, LocalDateTime dateTime, String patientName) {
+        for (Appointment booked : bookingsAt(physicianId, dateTime)) {
+            if (!booked.getPatientName().equals(patientName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void updateAppointment(Appointment appointment) {
+        if (appointment.getId() >= 0) {
+            // by id, like AppointmentDB, so a new time moves the booking
+            Appointment existing = byId.get(appointment.getId());
+            if (existing != null) {
+                appointments.set(appointments.indexOf(existing), appointment);
+                unindex(existing);
+                index(appointment);
+            }
+            return;
+        }
         for (int i = 0; i < appointments.size(); i++) {
             Appointment existing = appointments.get(i);
             if (existing.getPhysicianId().equals(appointment.getPhysicianId()) &&
                     existing.getPatientName().equals(appointment.getPatientName()) &&
                     existing.getDateTime().equals(appointment.getDateTime())) {
                 appointments.set(i, appointment);
+                unindex(existing);
+                index(appointment);
                 break;
             }
         }
     }
 
     @Override
-    public void deleteAppointment(Appointment appointment) {
-        appointments.removeIf(a -> a.getPhysicianId().equals(appointment.getPhysicianId()) &&
-                a.getPatientName().equals(appointment.getPatientName()) &&
-                a.getDateTime().equals(appointment.getDateTime()));
+    public synchronized void updateAppointments(List<Appointment> batch) {
+        for (Appointment appointment : batch) {
+            updateAppointment(appointment);
+        }
     }
 
     @Override
-    public void deleteAllAppointments() {
+    public synchronized void deleteAppointment(Appointment appointment) {
+        if (appointment.getId() >= 0) {
+            Appointment existing = byId.get(appointment.getId());
+            if (existing != null) {
+                appointments.remove(existing);
+                unindex(existing);
+            }
+            return;
+        }
+        appointments.removeIf(a -> {
+            boolean match = a.getPhysicianId().equals(appointment.getPhysicianId()) &&
+                    a.getPatientName().equals(appointment.getPatientName()) &&
+                    a.getDateTime().equals(appointment.getDateTime());
+            if (match) {
+                unindex(a);
+            }
+            return match;
+        });
+    }
+
+    @Override
+    public synchronized void deleteAllAppointments() {
         appointments.clear();
+        byPhysician.clear();
+        byId.clear();
+    }
+
+    @Override
+    public synchronized Appointment getAppointmentById(int id) {
+        return byId.get(id);
     }
 
     @Override
-    public List<Appointment> getAppointmentsForPhysicianInRange(
+    public synchronized List<Appointment> getAppointmentsForPhysicianInRange(
             String physicianId,
             LocalDateTime start,
             LocalDateTime end) {
         List<Appointment> result = new ArrayList<>();
-        for (Appointment appt : appointments) {
-            if (appt.getPhysicianId().equals(physicianId)) {
-                LocalDateTime dt = appt.getDateTime();
-                // include appts where start <= dt < end
-                if (!dt.isBefore(start) && dt.isBefore(end)) {
-                    result.add(appt);
-                }
+        NavigableMap<LocalDateTime, List<Appointment>> slots = byPhysician.get(physicianId);
+        if (slots != null && start.isBefore(end)) {
+            // include appts where start <= dt < end
+            for (List<Appointment> booked : slots.subMap(start, true, end, false).values()) {
+                result.addAll(booked);
             }
         }
         return result;
     }
 
     @Override
-    public List<Appointment> getAllAppointments() {
+    public synchronized List<Appointment> getAllAppointments() {
         return new ArrayList<>(appointments);
     }
 
-    public void close() {
+    @Override
+    public synchronized Page<Appointment> getAppointmentsPage(String cursor, int limit) {
+        return Page.slice(appointments, Appointment::getId, Integer::valueOf, cursor, limit);
+    }
+
+    @Override
+    public void forEachAppointment(Consumer<Appointment> action) {
+        getAllAppointments().forEach(action);
+    }
+
+    @Override
+    public synchronized List<Appointment> getAppointmentsForPhysiciansInRange(
+            Collection<String> physicianIds,
+            LocalDateTime start,
+            LocalDateTime end) {
+        List<Appointment> result = new ArrayList<>();
+        for (String physicianId : new TreeSet<>(physicianIds)) {
+            result.addAll(getAppointmentsForPhysicianInRange(physicianId, start, end));
+        }
+        return result;
+    }
+
+    private void insert(Appointment appointment) {
+        appointment.setId(nextId++);
+        appointments.add(appointment);
+        index(appointment);
+    }
+
+    private List<Appointment> bookingsAt(String physicianId, LocalDateTime dateTime) {
+        NavigableMap<LocalDateTime, List<Appointment>> slots = byPhysician.get(physicianId);
+        List<Appointment> booked = slots == null ? null : slots.get(dateTime);
+        return booked == null ? List.of() : booked;
+    }
+
+    private void index(Appointment appointment) {
+        byPhysician.computeIfAbsent(appointment.getPhysicianId(), id -> new TreeMap<>())
+                .computeIfAbsent(appointment.getDateTime(), dt -> new ArrayList<>(1))
+                .add(appointment);
+        if (appointment.getId() >= 0) {
+            byId.put(appointment.getId(), appointment);
+        }
+    }
+
+    private void unindex(Appointment appointment) {
+        byId.remove(appointment.getId(), appointment);
+        NavigableMap<LocalDateTime, List<Appointment>> slots = byPhysician.get(appointment.getPhysicianId());
+        if (slots == null) {
+            return;
+        }
+        List<Appointment> booked = slots.get(appointment.getDateTime());
+        if (booked != null) {
+            booked.remove(appointment);
+            if (booked.isEmpty()) {
+                slots.remove(appointment.getDateTime());
+            }
+        }
+        if (slots.isEmpty()) {
+            byPhysician.remove(appointment.getPhysicianId());
+        }
+    }
+
+    public synchronized void close() {
         appointments.clear();
+        byPhysician.clear();
+        byId.clear();
     }
 }
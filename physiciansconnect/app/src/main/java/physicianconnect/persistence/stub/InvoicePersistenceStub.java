@@ -3,9 +3,13 @@ package physicianconnect.persistence.stub;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.ServiceItem;
 import physicianconnect.persistence.interfaces.InvoicePersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class InvoicePersistenceStub implements InvoicePersistence {
     private final Map<String, Invoice> invoices;
@@ -20,21 +24,21 @@ public class InvoicePersistenceStub implements InvoicePersistence {
         if (seed) {
             // Example seeded invoices
             invoices.put("inv-1", new Invoice("inv-1", "1", "Alice Johnson",
-                    Arrays.asList(new ServiceItem("Consult", 100), new ServiceItem("Lab", 50)),
+                    Arrays.asList(new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00)),
                     0));
             invoices.put("inv-2", new Invoice("inv-2", "2", "Bob Brown",
-                    Collections.singletonList(new ServiceItem("Consult", 100)),
-                    20));
+                    Collections.singletonList(new ServiceItem("Consult", 100_00)),
+                    20_00));
             invoices.put("inv-3", new Invoice("inv-3", "3", "Charlie Davis",
-                    Arrays.asList(new ServiceItem("Consult", 100), new ServiceItem("XRay", 75)),
+                    Arrays.asList(new ServiceItem("Consult", 100_00), new ServiceItem("XRay", 75_00)),
                     0));
             invoices.put("inv-4", new Invoice("inv-4", "4", "Diana Evans",
-                    Collections.singletonList(new ServiceItem("Consult", 100)),
+                    Collections.singletonList(new ServiceItem("Consult", 100_00)),
                     0));
             // Set balances and statuses for variety
-            invoices.get("inv-3").setBalance(100);
+            invoices.get("inv-3").setBalanceCents(100_00);
             invoices.get("inv-3").setStatus("Partial");
-            invoices.get("inv-4").setBalance(0);
+            invoices.get("inv-4").setBalanceCents(0);
             invoices.get("inv-4").setStatus("Paid");
         }
     }
@@ -53,13 +57,20 @@ public class InvoicePersistenceStub implements InvoicePersistence {
 
     @Override
     public List<Invoice> getInvoicesByMonth(int year, int month) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return getInvoicesCreatedBetween(from, from.plusMonths(1));
+    }
+
+    @Override
+    public List<Invoice> getInvoicesCreatedBetween(LocalDateTime from, LocalDateTime to) {
         List<Invoice> result = new ArrayList<>();
         for (Invoice inv : invoices.values()) {
             LocalDateTime created = inv.getCreatedAt();
-            if (created.getYear() == year && created.getMonthValue() == month) {
+            if (!created.isBefore(from) && created.isBefore(to)) {
                 result.add(inv);
             }
         }
+        result.sort(Comparator.comparing(Invoice::getCreatedAt));
         return result;
     }
 
@@ -68,6 +79,32 @@ public class InvoicePersistenceStub implements InvoicePersistence {
         return new ArrayList<>(invoices.values());
     }
 
+    @Override
+    public Page<Invoice> getInvoicesPage(String cursor, int limit) {
+        return Page.slice(invoices.values(), Invoice::getId, Function.identity(), cursor, limit);
+    }
+
+    @Override
+    public void forEachInvoice(Consumer<Invoice> action) {
+        getAllInvoices().forEach(action);
+    }
+
+    @Override
+    public Map<String, Long> getRevenueByService(LocalDateTime from, LocalDateTime to) {
+        Map<String, Long> totals = new HashMap<>();
+        for (Invoice inv : getInvoicesCreatedBetween(from, to)) {
+            for (ServiceItem item : inv.getServices()) {
+                totals.merge(item.getName(), item.getCostCents(), Long::sum);
+            }
+        }
+        Map<String, Long> result = new LinkedHashMap<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
     @Override
     public void updateInvoice(Invoice invoice) {
         if (invoice != null && invoice.getId() != null) {
@@ -2,9 +2,12 @@ package physicianconnect.persistence.stub;
 
 import physicianconnect.objects.Medication;
 import physicianconnect.persistence.interfaces.MedicationPersistence;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class MedicationPersistenceStub implements MedicationPersistence {
     private final List<Medication> medications;
@@ -39,6 +42,18 @@ public class MedicationPersistenceStub implements MedicationPersistence {
         return new ArrayList<>(medications);
     }
 
+    /** Keyed on (name, dosage), which the schema keeps unique. */
+    @Override
+    public Page<Medication> getMedicationsPage(String cursor, int limit) {
+        return Page.slice(medications, m -> m.getName() + "\u0000" + m.getDosage(), Function.identity(), cursor,
+                limit);
+    }
+
+    @Override
+    public void forEachMedication(Consumer<Medication> action) {
+        getAllMedications().forEach(action);
+    }
+
     public void close() {
         medications.clear();
     }
@@ -1,24 +1,36 @@
 package physicianconnect.persistence.stub;
 
+import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.PaymentPosting.Outcome;
+import physicianconnect.persistence.interfaces.InvoicePersistence;
 import physicianconnect.persistence.interfaces.PaymentPersistence;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 public class PaymentPersistenceStub implements PaymentPersistence {
     private final List<Payment> payments;
+    // balances that postPayments debits; without them every posting finds no invoice
+    private final InvoicePersistence invoices;
 
     public PaymentPersistenceStub() {
         this(true);
     }
 
     public PaymentPersistenceStub(boolean seed) {
+        this(seed, null);
+    }
+
+    public PaymentPersistenceStub(boolean seed, InvoicePersistence invoices) {
+        this.invoices = invoices;
         payments = new ArrayList<>();
         if (seed) {
             // Example seeded payments
-            payments.add(new Payment("pay-1", "inv-3", 75, "Card"));
-            payments.add(new Payment("pay-2", "inv-4", 100, "Cash"));
+            payments.add(new Payment("pay-1", "inv-3", 75_00, "Card"));
+            payments.add(new Payment("pay-2", "inv-4", 100_00, "Cash"));
         }
     }
 
@@ -40,15 +52,53 @@ public class PaymentPersistenceStub implements PaymentPersistence {
 
     @Override
     public List<Payment> getPaymentsByMonth(int year, int month) {
+        LocalDateTime from = YearMonth.of(year, month).atDay(1).atStartOfDay();
+        return getPaymentsBetween(from, from.plusMonths(1));
+    }
+
+    @Override
+    public List<Payment> getPaymentsBetween(LocalDateTime from, LocalDateTime to) {
         List<Payment> result = new ArrayList<>();
         for (Payment p : payments) {
             LocalDateTime paidAt = p.getPaidAt();
-            if (paidAt.getYear() == year && paidAt.getMonthValue() == month)
+            if (!paidAt.isBefore(from) && paidAt.isBefore(to))
                 result.add(p);
         }
+        result.sort(Comparator.comparing(Payment::getPaidAt));
         return result;
     }
 
+    @Override
+    public synchronized List<PaymentPosting> postPayments(List<Payment> batch) {
+        List<PaymentPosting> results = new ArrayList<>(batch.size());
+        for (Payment payment : batch) {
+            results.add(post(payment));
+        }
+        return results;
+    }
+
+    private PaymentPosting post(Payment payment) {
+        if (payment.getAmountCents() <= 0) {
+            return PaymentPosting.rejected(payment, Outcome.INVALID_AMOUNT);
+        }
+        Invoice invoice = invoices == null ? null : invoices.getInvoiceById(payment.getInvoiceId());
+        if (invoice == null) {
+            return PaymentPosting.rejected(payment, Outcome.INVOICE_NOT_FOUND);
+        }
+        long oldBalance = invoice.getBalanceCents();
+        if (oldBalance < payment.getAmountCents()) {
+            return PaymentPosting.rejected(payment, Outcome.EXCEEDS_BALANCE);
+        }
+        String oldStatus = invoice.getStatus();
+        long newBalance = oldBalance - payment.getAmountCents();
+        invoice.setBalanceCents(newBalance);
+        invoice.setStatus(PaymentPosting.statusFor(newBalance));
+        invoices.updateInvoice(invoice);
+        payments.add(payment);
+        return PaymentPosting.posted(payment, invoice.getCreatedAt(), invoice.getTotalCents(),
+                oldStatus, oldBalance, invoice.getStatus(), newBalance);
+    }
+
     public void deletePaymentById(String id) {
         payments.removeIf(p -> p.getId().equals(id));
     }
@@ -45,6 +45,16 @@ public class PhysicianPersistenceStub implements PhysicianPersistence {
         return physicians.get(id);
     }
 
+    @Override
+    public Physician getPhysicianByEmail(String email) {
+        for (Physician p : physicians.values()) {
+            if (p.getEmail().equalsIgnoreCase(email)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
     public void deletePhysicianById(String id) {
         physicians.remove(id);
     }
@@ -1,11 +1,13 @@
 package physicianconnect.persistence.stub;
 
 import physicianconnect.objects.Prescription;
+import physicianconnect.persistence.interfaces.Page;
 import physicianconnect.persistence.interfaces.PrescriptionPersistence;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class PrescriptionPersistenceStub implements PrescriptionPersistence {
     private final Map<Integer, Prescription> prescriptions = new HashMap<>();
@@ -55,6 +57,13 @@ public PrescriptionPersistenceStub(boolean seed) {
         prescriptions.put(withId.getId(), withId);
     }
 
+    @Override
+    public void addPrescriptions(List<Prescription> batch) {
+        for (Prescription prescription : batch) {
+            addPrescription(prescription);
+        }
+    }
+
     @Override
     public List<Prescription> getPrescriptionsForPatient(String patientName) {
         List<Prescription> result = new ArrayList<>();
@@ -80,4 +89,14 @@ public PrescriptionPersistenceStub(boolean seed) {
     public List<Prescription> getAllPrescriptions() {
         return new ArrayList<>(prescriptions.values());
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<Prescription> getPrescriptionsPage(String cursor, int limit) {
+        return Page.slice(prescriptions.values(), Prescription::getId, Integer::valueOf, cursor, limit);
+    }
+
+    @Override
+    public void forEachPrescription(Consumer<Prescription> action) {
+        getAllPrescriptions().forEach(action);
+    }
+}
@@ -0,0 +1,69 @@
+package physicianconnect.persistence.stub;
+
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.persistence.interfaces.InvoicePersistence;
+import physicianconnect.persistence.interfaces.RevenueRollupPersistence;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Rolls the invoice stub up on every read. Its invoices are few and shared by
+ * reference, so stored totals would only add state that could drift.
+ */
+public class RevenueRollupPersistenceStub implements RevenueRollupPersistence {
+    private final InvoicePersistence invoices;
+
+    public RevenueRollupPersistenceStub(InvoicePersistence invoices) {
+        this.invoices = invoices;
+    }
+
+    @Override
+    public List<RevenueRollup> getRollups(YearMonth from, YearMonth to) {
+        // month -> status -> running totals
+        NavigableMap<YearMonth, NavigableMap<String, Totals>> rollups = new TreeMap<>();
+        if (invoices != null) {
+            invoices.forEachInvoice(invoice -> {
+                if (invoice.getCreatedAt() == null) {
+                    return;
+                }
+                Totals totals = rollups.computeIfAbsent(YearMonth.from(invoice.getCreatedAt()), m -> new TreeMap<>())
+                        .computeIfAbsent(invoice.getStatus() == null ? "Sent" : invoice.getStatus(), s -> new Totals());
+                totals.invoiceCount++;
+                totals.billedCents += invoice.getTotalCents();
+                totals.outstandingCents += invoice.getBalanceCents();
+            });
+        }
+        NavigableMap<YearMonth, NavigableMap<String, Totals>> range = rollups;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, false);
+        }
+        List<RevenueRollup> result = new ArrayList<>();
+        for (Map.Entry<YearMonth, NavigableMap<String, Totals>> month : range.entrySet()) {
+            for (Map.Entry<String, Totals> status : month.getValue().entrySet()) {
+                Totals t = status.getValue();
+                result.add(new RevenueRollup(month.getKey(), status.getKey(), t.invoiceCount,
+                        t.billedCents, t.outstandingCents));
+            }
+        }
+        return result;
+    }
+
+    /** Nothing stored, so nothing to recompute. */
+    @Override
+    public void rebuild() {
+    }
+
+    private static final class Totals {
+        int invoiceCount;
+        long billedCents;
+        long outstandingCents;
+    }
+}
@@ -4,6 +4,8 @@ import physicianconnect.persistence.interfaces.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.NotificationAdded;
 import physicianconnect.objects.Notification;
 
 public class StubFactory {
@@ -36,32 +38,63 @@ public class StubFactory {
         return new InvoicePersistenceStub(true); // seeded
     }
 
-    public static PaymentPersistence createPaymentPersistence() {
-        return new PaymentPersistenceStub(true); // seeded
+    public static PaymentPersistence createPaymentPersistence(InvoicePersistence invoices) {
+        return new PaymentPersistenceStub(true, invoices); // seeded, posts against the invoices
+    }
+
+    public static RevenueRollupPersistence createRevenueRollupPersistence(InvoicePersistence invoices) {
+        return new RevenueRollupPersistenceStub(invoices); // rolled up from the invoices
     }
 
     public static NotificationPersistence createNotificationPersistence() {
         return new StubNotificationPersistence();
     }
 
+    // written from UiTasks threads as well as the EDT
     private static class StubNotificationPersistence implements NotificationPersistence {
         private final List<Notification> notifications = new ArrayList<>();
 
+        // listeners run on the publishing thread, so publish outside the lock
         @Override
         public void addNotification(Notification notification) {
-            notifications.add(notification);
+            synchronized (this) {
+                notifications.add(notification);
+            }
+            EventBus.getDefault().publish(new NotificationAdded(notification));
+        }
+
+        @Override
+        public void addNotifications(List<Notification> batch) {
+            synchronized (this) {
+                notifications.addAll(batch);
+            }
+            for (Notification notification : batch) {
+                EventBus.getDefault().publish(new NotificationAdded(notification));
+            }
         }
 
         @Override
-        public List<Notification> getNotificationsForUser(String userId, String userType) {
+        public synchronized List<Notification> getNotificationsForUser(String userId, String userType) {
             return notifications.stream()
                 .filter(n -> n.getUserId().equals(userId) && n.getUserType().equals(userType))
                 .collect(Collectors.toList());
         }
 
         @Override
-        public void clearNotificationsForUser(String userId, String userType) {
+        public synchronized void clearNotificationsForUser(String userId, String userType) {
             notifications.removeIf(n -> n.getUserId().equals(userId) && n.getUserType().equals(userType));
         }
+
+        @Override
+        public synchronized void markAllAsRead(String userId, String userType) {
+            getNotificationsForUser(userId, userType).forEach(Notification::markAsRead);
+        }
+
+        @Override
+        public synchronized int countUnreadNotifications(String userId, String userType) {
+            return (int) notifications.stream()
+                .filter(n -> n.getUserId().equals(userId) && n.getUserType().equals(userType) && !n.isRead())
+                .count();
+        }
     }
 }
\ No newline at end of file
@@ -4,12 +4,16 @@ import physicianconnect.logic.controller.AppointmentController;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
+import physicianconnect.presentation.config.UIConfig;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class AllPhysiciansDailyPanel extends JPanel {
@@ -21,6 +25,13 @@ public class AllPhysiciansDailyPanel extends JPanel {
     private final LocalDate date;
     private List<Physician> allPhysicians;
 
+    // Built once per physician and reused by the search filter, so typing never re-queries.
+    private final Map<String, JPanel> physicianPanels = new HashMap<>();
+    // Every physician's grid for the date, loaded off the EDT; null until it arrives.
+    private Map<String, List<TimeSlot>> grids;
+    // Set when the last batch load failed, so the panels offer a retry instead of loading.
+    private boolean loadFailed;
+
     public AllPhysiciansDailyPanel(
             PhysicianManager physicianManager,
             AppointmentController appointmentController,
@@ -73,9 +84,10 @@ public class AllPhysiciansDailyPanel extends JPanel {
                 JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         add(scrollPane, BorderLayout.CENTER);
 
-        // Load all physicians and display panels
+        // Load all physicians and display panels; their grids follow from one background query
         allPhysicians = physicianManager.getAllPhysicians();
         updatePhysicianPanels(allPhysicians);
+        loadGrids();
 
         // Search filter
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
@@ -104,24 +116,103 @@ public class AllPhysiciansDailyPanel extends JPanel {
     private void updatePhysicianPanels(List<Physician> physicians) {
         panelsContainer.removeAll();
         for (Physician p : physicians) {
-            JPanel panelWithLabel = new JPanel(new BorderLayout());
-            panelWithLabel.setBackground(new Color(245, 247, 250));
-            JLabel nameLabel = new JLabel(p.getName(), SwingConstants.CENTER);
-            nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            nameLabel.setOpaque(true);
-            nameLabel.setBackground(new Color(220, 230, 250));
-            panelWithLabel.add(nameLabel, BorderLayout.NORTH);
-
-            DailyAvailabilityPanel dailyPanel = new DailyAvailabilityPanel(
-                    p.getId(),
+            panelsContainer.add(physicianPanels.computeIfAbsent(p.getId(), id -> createPhysicianPanel(p)));
+        }
+        panelsContainer.revalidate();
+        panelsContainer.repaint();
+    }
+
+    private JPanel createPhysicianPanel(Physician p) {
+        JPanel panelWithLabel = new JPanel(new BorderLayout());
+        panelWithLabel.setBackground(new Color(245, 247, 250));
+        JLabel nameLabel = new JLabel(p.getName(), SwingConstants.CENTER);
+        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        nameLabel.setOpaque(true);
+        nameLabel.setBackground(new Color(220, 230, 250));
+        panelWithLabel.add(nameLabel, BorderLayout.NORTH);
+
+        panelWithLabel.add(createGridArea(p.getId()), BorderLayout.CENTER);
+        return panelWithLabel;
+    }
+
+    /**
+     * The physician's grid once the batch is in, otherwise a loading or
+     * retry placeholder. The grid never falls back to its own query, which
+     * would run on the EDT.
+     */
+    private Component createGridArea(String physicianId) {
+        List<TimeSlot> slots = grids == null ? null : grids.get(physicianId);
+        if (slots != null) {
+            return new DailyAvailabilityPanel(
+                    physicianId,
                     availabilityService,
                     appointmentController,
                     date,
+                    slots,
                     () -> date.with(DayOfWeek.MONDAY));
-            panelWithLabel.add(dailyPanel, BorderLayout.CENTER);
-            panelsContainer.add(panelWithLabel);
+        }
+        if (grids == null && !loadFailed) {
+            JLabel loading = new JLabel(UIConfig.LOADING_MESSAGE, SwingConstants.CENTER);
+            loading.setPreferredSize(new Dimension(280, 540));
+            return loading;
+        }
+        JPanel failed = new JPanel(new GridBagLayout());
+        failed.setPreferredSize(new Dimension(280, 540));
+        failed.setBackground(new Color(245, 247, 250));
+        JPanel content = new JPanel(new BorderLayout(0, 8));
+        content.setOpaque(false);
+        content.add(new JLabel(UIConfig.AVAILABILITY_LOAD_FAILED_MESSAGE, SwingConstants.CENTER), BorderLayout.CENTER);
+        JButton retry = new JButton(UIConfig.RETRY_BUTTON_TEXT);
+        retry.addActionListener(e -> retryGrids());
+        content.add(retry, BorderLayout.SOUTH);
+        failed.add(content);
+        return failed;
+    }
+
+    private void retryGrids() {
+        grids = null;
+        loadFailed = false;
+        refreshGridAreas();
+        loadGrids();
+    }
+
+    /**
+     * Fetches every physician's grid for the date with one grouped query on a
+     * worker thread, then swaps the placeholders for the real panels, or for
+     * a retry button if the query failed.
+     */
+    private void loadGrids() {
+        List<String> ids = allPhysicians.stream().map(Physician::getId).collect(Collectors.toList());
+        new SwingWorker<Map<String, List<TimeSlot>>, Void>() {
+            @Override
+            protected Map<String, List<TimeSlot>> doInBackground() throws Exception {
+                return availabilityService.getDailyAvailability(ids, date);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    grids = get();
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+                loadFailed = grids == null;
+                refreshGridAreas();
+            }
+        }.execute();
+    }
+
+    private void refreshGridAreas() {
+        for (Map.Entry<String, JPanel> entry : physicianPanels.entrySet()) {
+            JPanel panelWithLabel = entry.getValue();
+            BorderLayout layout = (BorderLayout) panelWithLabel.getLayout();
+            Component current = layout.getLayoutComponent(BorderLayout.CENTER);
+            if (current != null) {
+                panelWithLabel.remove(current);
+            }
+            panelWithLabel.add(createGridArea(entry.getKey()), BorderLayout.CENTER);
         }
         panelsContainer.revalidate();
         panelsContainer.repaint();
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package physicianconnect.presentation;
 
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.objects.DaySchedule;
 import physicianconnect.objects.TimeSlot;
 import physicianconnect.objects.Appointment;
 import physicianconnect.presentation.config.UIConfig;
@@ -52,6 +53,20 @@ public class DailyAvailabilityPanel extends JPanel {
                                   AppointmentController apptController,
                                   LocalDate date,
                                   Runnable onDayChanged) {
+        this(physicianId, svc, apptController, date, null, onDayChanged);
+    }
+
+    /**
+     * Same, but starts from slots the caller already loaded (for example one
+     * of the grids from a multi-physician query) instead of querying again.
+     * A null initialSlots loads them as usual.
+     */
+    public DailyAvailabilityPanel(String physicianId,
+                                  AvailabilityService svc,
+                                  AppointmentController apptController,
+                                  LocalDate date,
+                                  List<TimeSlot> initialSlots,
+                                  Runnable onDayChanged) {
         this.physicianId          = physicianId;
         this.availabilityService  = svc;
         this.appointmentController = apptController;
@@ -63,7 +78,11 @@ public class DailyAvailabilityPanel extends JPanel {
         setPreferredSize(new Dimension(totalWidth + 1, totalHeight + 1));
         setBackground(UITheme.BACKGROUND_COLOR);
 
-        loadSlotsForDate(date);
+        if (initialSlots != null) {
+            this.currentSlots = initialSlots;
+        } else {
+            loadSlotsForDate(date);
+        }
 
         // When user clicks on a slot, either book a new appointment or view/edit an existing one:
         addMouseListener(new MouseAdapter() {
@@ -162,7 +181,7 @@ public class DailyAvailabilityPanel extends JPanel {
 
     /**
      * Loads 16 half-hour slots for the given date.
-     * On SQLException, falls back to “all free” using TimeSlot.generateDailySlots().
+     * On SQLException, falls back to an “all free” DaySchedule.
      */
     public void loadSlotsForDate(LocalDate date) {
         this.currentDate = date;
@@ -173,7 +192,7 @@ public class DailyAvailabilityPanel extends JPanel {
             );
         } catch (Exception ex) {
             ex.printStackTrace();
-            this.currentSlots = TimeSlot.generateDailySlots(date);
+            this.currentSlots = new DaySchedule(date).asTimeSlots();
         }
         repaint();
     }
@@ -7,6 +7,7 @@ import physicianconnect.logic.exceptions.InvalidMessageException;
 import physicianconnect.objects.Message;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
+import physicianconnect.presentation.util.UiTasks;
 import physicianconnect.presentation.util.UserUtil;
 
 import javax.swing.*;
@@ -14,8 +15,15 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class MessagePanel extends JPanel {
@@ -32,7 +40,25 @@ public class MessagePanel extends JPanel {
     private final List<Object> allUsers; // Physician or Receptionist
     private Object selectedRecipient;
     private final JLabel selectedRecipientLabel;
+    private final JButton olderMessagesButton;
+    private final UiTasks.Lane conversationLoads = new UiTasks.Lane();
+    private final UiTasks.Lane olderLoads = new UiTasks.Lane();
+    private final UiTasks.Lane unreadLoads = new UiTasks.Lane();
+    private Map<String, Long> unreadBySender = Map.of(); // senderKey -> unread count, read by the renderer
+    private String shownConversation;      // conversation key of what messageListModel holds
+    private LocalDateTime shownFrom;       // oldest timestamp fetched for it
+    private LocalDateTime shownUntil;      // newest timestamp fetched for it
+    private final Set<UUID> shownMessageIds = new HashSet<>();
+
+    /** What the unread label and the per-user badges show. */
+    private record Unread(int count, Map<String, Long> bySender) {
+    }
+
+    /** latestPage is set when messages is the newest page rather than what followed shownUntil. */
+    private record Conversation(List<Message> messages, boolean latestPage, Unread unread) {
+    }
 
+    private static final int CONVERSATION_PAGE = 200;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT_PATTERN);
 
     public MessagePanel(MessageController messageController, String currentUserId, String currentUserType,
@@ -109,15 +135,11 @@ public class MessagePanel extends JPanel {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 String name = UserUtil.getUserName(value);
                 String email = UserUtil.getUserEmail(value);
-                // Show unread count for this user
-                List<Message> unreadMessages = messageController
-                        .getUnreadMessagesForUser(currentUserId, currentUserType)
-                        .stream()
-                        .filter(m -> m.getSenderId().equals(UserUtil.getUserId(value))
-                                && m.getSenderType().equals(UserUtil.getUserType(value)))
-                        .collect(Collectors.toList());
-                String unreadText = !unreadMessages.isEmpty() ? 
-                    String.format(" (<span style='color: red;'>%d unread</span>)", unreadMessages.size()) : "";
+                // Show unread count for this user, as last loaded by updateUnreadCount
+                long unread = unreadBySender.getOrDefault(
+                        senderKey(UserUtil.getUserId(value), UserUtil.getUserType(value)), 0L);
+                String unreadText = unread > 0 ?
+                    String.format(" (<span style='color: red;'>%d unread</span>)", unread) : "";
                 setText("<html>" + name + " (" + email + ")" + unreadText + "</html>");
                 return this;
             }
@@ -165,6 +187,12 @@ public class MessagePanel extends JPanel {
         messageScrollPane.setPreferredSize(new Dimension(400, 300));
         messageScrollPane.setBorder(BorderFactory.createTitledBorder(UIConfig.MESSAGES_BORDER));
 
+        olderMessagesButton = new JButton(UIConfig.LOAD_OLDER_MESSAGES_TEXT);
+        olderMessagesButton.setFont(UITheme.BUTTON_FONT);
+        olderMessagesButton.setFocusPainted(false);
+        olderMessagesButton.setVisible(false);
+        olderMessagesButton.addActionListener(e -> loadOlderMessages());
+
         // ─────────── Input Panel ───────────
         JPanel inputPanel = new JPanel(new BorderLayout(10, 10));
         inputPanel.setBackground(UITheme.BACKGROUND_COLOR);
@@ -202,6 +230,7 @@ public class MessagePanel extends JPanel {
 
         JPanel messageContainer = new JPanel(new BorderLayout(5, 5));
         messageContainer.setBackground(UITheme.BACKGROUND_COLOR);
+        messageContainer.add(olderMessagesButton, BorderLayout.NORTH);
         messageContainer.add(messageScrollPane, BorderLayout.CENTER);
         messageContainer.add(inputPanel, BorderLayout.SOUTH);
 
@@ -212,6 +241,7 @@ public class MessagePanel extends JPanel {
 
         // Show all users by default
         showAllUsers();
+        updateUnreadCount();
     }
 
     private void showAllUsers() {
@@ -231,68 +261,184 @@ public class MessagePanel extends JPanel {
         }
     }
 
+    /**
+     * Shows the conversation with the selected recipient. Picking the one
+     * already shown only fetches what arrived after the newest message in the
+     * list; any other recipient starts over from the latest page, with older
+     * history a button press away.
+     */
     private void refreshMessages() {
+        Object recipient = selectedRecipient;
+        String key = recipient == null ? null
+                : Message.conversationKey(currentUserId, currentUserType,
+                        UserUtil.getUserId(recipient), UserUtil.getUserType(recipient));
+        boolean sameConversation = key != null && key.equals(shownConversation);
+        LocalDateTime since = sameConversation ? shownUntil : null;
+        if (!sameConversation) {
+            clearConversation();
+        }
+        conversationLoads.submit("load conversation", () -> loadConversation(recipient, since), conversation -> {
+            if (!Objects.equals(key, shownConversation)) {
+                clearConversation();
+                shownConversation = key;
+            }
+            for (Message m : conversation.messages()) {
+                if (shownMessageIds.add(m.getMessageId())) {
+                    messageListModel.addElement(m);
+                }
+                if (shownFrom == null || m.getTimestamp().isBefore(shownFrom)) {
+                    shownFrom = m.getTimestamp();
+                }
+                if (shownUntil == null || m.getTimestamp().isAfter(shownUntil)) {
+                    shownUntil = m.getTimestamp();
+                }
+            }
+            if (conversation.latestPage()) {
+                olderMessagesButton.setVisible(conversation.messages().size() == CONVERSATION_PAGE);
+            }
+            if (recipient != null) {
+                scrollToBottom();
+            }
+            showUnread(conversation.unread());
+        });
+    }
+
+    private void clearConversation() {
+        olderLoads.cancel();
+        olderMessagesButton.setVisible(false);
         messageListModel.clear();
-        if (selectedRecipient != null) {
-            List<Message> messages = messageController.getAllMessagesForUser(currentUserId, currentUserType);
-            String recipientId = UserUtil.getUserId(selectedRecipient);
-            List<Message> conversationMessages = messages.stream()
-                    .filter(m -> ((m.getSenderId().equals(currentUserId) && m.getSenderType().equals(currentUserType) &&
-                            m.getReceiverId().equals(UserUtil.getUserId(selectedRecipient))
-                            && m.getReceiverType().equals(UserUtil.getUserType(selectedRecipient)))
-                            ||
-                            (m.getReceiverId().equals(currentUserId) && m.getReceiverType().equals(currentUserType) &&
-                                    m.getSenderId().equals(UserUtil.getUserId(selectedRecipient))
-                                    && m.getSenderType().equals(UserUtil.getUserType(selectedRecipient)))))
-                    .sorted((m1, m2) -> m1.getTimestamp().compareTo(m2.getTimestamp()))
-                    .collect(Collectors.toList());
-
-            conversationMessages.forEach(messageListModel::addElement);
-
-            // Mark messages as read only if they were sent by the selected recipient
-            conversationMessages.stream()
-                    .filter(m -> m.getReceiverId().equals(currentUserId) &&
-                            m.getSenderId().equals(recipientId) &&
-                            !m.isRead())
-                    .forEach(m -> {
-                        messageController.markMessageAsRead(m.getMessageId());
-                        m.setRead(true);
-                    });
+        shownMessageIds.clear();
+        shownConversation = null;
+        shownFrom = null;
+        shownUntil = null;
+    }
 
-            scrollToBottom();
+    /**
+     * Prepends the page of history just before the oldest message shown. The
+     * button stays up while a full page comes back, so there may be more.
+     */
+    private void loadOlderMessages() {
+        Object recipient = selectedRecipient;
+        String key = shownConversation;
+        LocalDateTime before = shownFrom;
+        if (recipient == null || key == null || before == null) {
+            return;
         }
-        updateUnreadCount();
+        olderLoads.submit("load older messages",
+                () -> messageController.getConversationBefore(currentUserId, currentUserType,
+                        UserUtil.getUserId(recipient), UserUtil.getUserType(recipient), before, CONVERSATION_PAGE),
+                older -> {
+                    if (!key.equals(shownConversation)) {
+                        return;
+                    }
+                    int at = 0;
+                    for (Message m : older) {
+                        if (shownMessageIds.add(m.getMessageId())) {
+                            messageListModel.add(at++, m);
+                        }
+                        if (m.getTimestamp().isBefore(shownFrom)) {
+                            shownFrom = m.getTimestamp();
+                        }
+                    }
+                    olderMessagesButton.setVisible(older.size() == CONVERSATION_PAGE);
+                });
+    }
+
+    /**
+     * Runs in the background: the latest page of the conversation with
+     * recipient when since is null, otherwise every message after since a
+     * page at a time, marking its incoming messages read.
+     */
+    private Conversation loadConversation(Object recipient, LocalDateTime since) {
+        if (recipient == null) {
+            return new Conversation(List.of(), since == null, loadUnread());
+        }
+        String recipientId = UserUtil.getUserId(recipient);
+        String recipientType = UserUtil.getUserType(recipient);
+        List<Message> conversationMessages = new ArrayList<>(messageController.getConversation(
+                currentUserId, currentUserType, recipientId, recipientType, since, CONVERSATION_PAGE));
+        if (since != null) {
+            // a full page may have more behind it; keep walking forward until a short one
+            List<Message> page = conversationMessages;
+            while (page.size() == CONVERSATION_PAGE) {
+                page = messageController.getConversation(currentUserId, currentUserType, recipientId, recipientType,
+                        page.get(page.size() - 1).getTimestamp(), CONVERSATION_PAGE);
+                conversationMessages.addAll(page);
+            }
+        }
+
+        // Mark what the recipient sent us as read, in one update up to the newest one loaded
+        List<Message> incomingUnread = conversationMessages.stream()
+                .filter(m -> m.getReceiverId().equals(currentUserId) &&
+                        m.getSenderId().equals(recipientId) &&
+                        !m.isRead())
+                .collect(Collectors.toList());
+        if (!incomingUnread.isEmpty()) {
+            messageController.markConversationRead(currentUserId, currentUserType, recipientId, recipientType,
+                    incomingUnread.get(incomingUnread.size() - 1).getTimestamp());
+            incomingUnread.forEach(m -> m.setRead(true));
+        }
+
+        return new Conversation(conversationMessages, since == null, loadUnread());
     }
 
     private void updateUnreadCount() {
+        unreadLoads.submit("count unread messages", this::loadUnread, this::showUnread);
+    }
+
+    private Unread loadUnread() {
         int unreadCount = messageController.getUnreadMessageCount(currentUserId, currentUserType);
-        unreadCountLabel.setText(unreadCount > 0
-                ? unreadCount + " " + UIConfig.UNREAD_SUFFIX
+        Map<String, Long> bySender = messageController.getUnreadMessagesForUser(currentUserId, currentUserType)
+                .stream()
+                .collect(Collectors.groupingBy(m -> senderKey(m.getSenderId(), m.getSenderType()),
+                        Collectors.counting()));
+        return new Unread(unreadCount, bySender);
+    }
+
+    private void showUnread(Unread unread) {
+        unreadBySender = unread.bySender();
+        unreadCountLabel.setText(unread.count() > 0
+                ? unread.count() + " " + UIConfig.UNREAD_SUFFIX
                 : "");
         showAllUsers();
     }
 
+    private static String senderKey(String userId, String userType) {
+        return userType + ":" + userId;
+    }
+
     private void sendMessage() {
         String content = messageInput.getText().trim();
         if (!content.isEmpty() && selectedRecipient != null) {
-            try {
-                Message sentMessage = messageController.sendMessage(
-                        currentUserId,
-                        currentUserType,
-                        UserUtil.getUserId(selectedRecipient),
-                        UserUtil.getUserType(selectedRecipient),
-                        content);
-                messageInput.setText("");
-                messageListModel.addElement(sentMessage);
-                scrollToBottom();
-                updateUnreadCount();
-            } catch (InvalidMessageException ex) {
-                JOptionPane.showMessageDialog(
-                        this,
-                        ex.getMessage(),
-                        UIConfig.ERROR_DIALOG_TITLE,
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            Object recipient = selectedRecipient;
+            messageInput.setText("");
+            UiTasks.submit("send message",
+                    () -> messageController.sendMessage(
+                            currentUserId,
+                            currentUserType,
+                            UserUtil.getUserId(recipient),
+                            UserUtil.getUserType(recipient),
+                            content),
+                    sentMessage -> {
+                        // a later incremental fetch still covers it, so shownUntil stays put
+                        if (shownMessageIds.add(sentMessage.getMessageId())) {
+                            messageListModel.addElement(sentMessage);
+                        }
+                        scrollToBottom();
+                        updateUnreadCount();
+                    },
+                    error -> {
+                        if (!(error instanceof InvalidMessageException)) {
+                            error.printStackTrace();
+                            return;
+                        }
+                        messageInput.setText(content);
+                        JOptionPane.showMessageDialog(
+                                this,
+                                error.getMessage(),
+                                UIConfig.ERROR_DIALOG_TITLE,
+                                JOptionPane.ERROR_MESSAGE);
+                    });
         } else if (selectedRecipient == null) {
             JOptionPane.showMessageDialog(
                     this,
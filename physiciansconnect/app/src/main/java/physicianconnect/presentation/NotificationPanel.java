@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntConsumer;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 
@@ -12,7 +13,7 @@ import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.objects.Notification;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
-import physicianconnect.persistence.sqlite.NotificationDB;
+import physicianconnect.presentation.util.UiTasks;
 
 public class NotificationPanel extends JPanel {
     private final DefaultListModel<Notification> notificationListModel;
@@ -24,6 +25,7 @@ public class NotificationPanel extends JPanel {
     private final String userType;
     private final List<Notification> unreadNotifications;
     private LocalDateTime lastViewedTime;
+    private final UiTasks.Lane loads = new UiTasks.Lane();
 
     public NotificationPanel(NotificationPersistence notificationPersistence, String userId, String userType) {
         this.notificationPersistence = notificationPersistence;
@@ -55,16 +57,28 @@ public class NotificationPanel extends JPanel {
         add(scrollPane, BorderLayout.CENTER);
 
         // Load existing notifications
-        loadNotifications();
+        refresh(null);
     }
 
     /**
-     * Load notifications from persistence
+     * Reloads from persistence in the background, then passes the unread
+     * count to onUnreadCount (if given) on the EDT.
      */
-    public void loadNotifications() {
+    public void refresh(IntConsumer onUnreadCount) {
+        loads.submit("load notifications",
+                () -> notificationPersistence.getNotificationsForUser(userId, userType),
+                stored -> {
+                    showNotifications(stored);
+                    if (onUnreadCount != null) {
+                        onUnreadCount.accept(unreadNotifications.size());
+                    }
+                });
+    }
+
+    private void showNotifications(List<Notification> stored) {
         notificationListModel.clear();
         unreadNotifications.clear();
-        List<Notification> storedNotifications = notificationPersistence.getNotificationsForUser(userId, userType);
+        List<Notification> storedNotifications = new ArrayList<>(stored);
         
         // Sort notifications by timestamp, newest first
         storedNotifications.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
@@ -101,7 +115,10 @@ public class NotificationPanel extends JPanel {
             Notification notification = new Notification(message, type, now, userId, userType);
             
             // Add to persistence
-            notificationPersistence.addNotification(notification);
+            UiTasks.submit("save notification", () -> {
+                notificationPersistence.addNotification(notification);
+                return notification;
+            }, saved -> { });
             
             // Add to the beginning of the list
             notificationListModel.add(0, notification);
@@ -120,29 +137,61 @@ public class NotificationPanel extends JPanel {
         }
     }
 
-    public int getUnreadNotificationCount() {
-        // Force a refresh of notifications to ensure accurate count
-        loadNotifications();
+    /**
+     * Shows a notification that was just stored elsewhere, without reading
+     * the list back from persistence. Ignores ones for other users and ones
+     * this panel already holds (e.g. added through {@link #addNotification}).
+     */
+    public void notificationStored(Notification notification) {
+        if (!notification.getUserId().equals(userId) || !notification.getUserType().equals(userType)) {
+            return;
+        }
+        if (holds(notification)) {
+            return;
+        }
+        notificationListModel.add(0, notification);
+        if (!notification.isRead()) {
+            unreadNotifications.add(notification);
+        }
+        while (notificationListModel.size() > MAX_NOTIFICATIONS) {
+            notificationListModel.remove(notificationListModel.size() - 1);
+        }
+        revalidate();
+        repaint();
+    }
+
+    /** Same notification (possibly a copy read back from persistence) already shown or counted. */
+    private boolean holds(Notification notification) {
+        for (int i = 0; i < notificationListModel.size(); i++) {
+            if (sameNotification(notificationListModel.get(i), notification)) {
+                return true;
+            }
+        }
+        return unreadNotifications.stream().anyMatch(n -> sameNotification(n, notification));
+    }
+
+    private static boolean sameNotification(Notification a, Notification b) {
+        return a == b || (a.getMessage().equals(b.getMessage())
+                && a.getType().equals(b.getType())
+                && a.getTimestamp().equals(b.getTimestamp()));
+    }
+
+    /** Unread count as currently held by the panel; does not query persistence. */
+    public int getKnownUnreadCount() {
         return unreadNotifications.size();
     }
 
     public void markAllAsRead() {
         lastViewedTime = LocalDateTime.now();
-        for (Notification notification : unreadNotifications) {
-            if (notificationPersistence instanceof NotificationDB) {
-                ((NotificationDB) notificationPersistence).markNotificationAsRead(notification);
-            } else {
-                notification.markAsRead();
-            }
-        }
+        List<Notification> toMark = new ArrayList<>(unreadNotifications);
         unreadNotifications.clear();
-        
-        // Force a refresh of notifications to ensure UI is up to date
-        loadNotifications();
-        
-        // Ensure the UI is updated
-        revalidate();
-        repaint();
+
+        // One update for all of them (never dropped as superseded), then reload so the UI is up to date
+        UiTasks.submit("mark notifications read", () -> {
+            notificationPersistence.markAllAsRead(userId, userType);
+            toMark.forEach(Notification::markAsRead);
+            return toMark.size();
+        }, marked -> refresh(null));
     }
 
     public void showNotificationPanel() {
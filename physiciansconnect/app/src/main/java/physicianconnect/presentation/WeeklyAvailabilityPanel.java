@@ -2,6 +2,7 @@ package physicianconnect.presentation;
 
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.controller.AppointmentController;
+import physicianconnect.objects.DaySchedule;
 import physicianconnect.objects.TimeSlot;
 import physicianconnect.objects.Appointment;
 import physicianconnect.presentation.config.UIConfig;
@@ -181,8 +182,7 @@ public class WeeklyAvailabilityPanel extends JPanel {
             Map<LocalDate, List<TimeSlot>> fallback = new LinkedHashMap<>();
             for (int i = 0; i < DAYS_IN_WEEK; i++) {
                 LocalDate day = monday.plusDays(i);
-                List<TimeSlot> slots = TimeSlot.generateDailySlots(day);
-                fallback.put(day, slots);
+                fallback.put(day, new DaySchedule(day).asTimeSlots());
             }
             this.weekData = fallback;
         }
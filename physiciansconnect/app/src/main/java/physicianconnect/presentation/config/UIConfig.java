@@ -147,6 +147,8 @@ public final class UIConfig {
     // ─────────── Miscellaneous ───────────
     public static final String APP_TITLE = "PhysicianConnect";
     public static final String LOADING_MESSAGE = "Loading...";
+    public static final String AVAILABILITY_LOAD_FAILED_MESSAGE = "Could not load availability.";
+    public static final String RETRY_BUTTON_TEXT = "Retry";
     public static final String NO_RECORDS_FOUND = "No records to display.";
     public static final String WELCOME_PREFIX = "Welcome, ";
     public static final String APPOINTMENTS_TITLE = "Your Appointments";
@@ -160,6 +162,7 @@ public final class UIConfig {
     public static final String SEARCH_PLACEHOLDER = "Type name or email to search...";
     public static final String ALL_PHYSICIANS_BORDER = "All Physicians";
     public static final String MESSAGES_BORDER = "Messages";
+    public static final String LOAD_OLDER_MESSAGES_TEXT = "Load older messages";
     public static final String TIME_FORMAT_PATTERN = "MMM d, h:mm a";
     public static final String NO_RECIPIENT_SELECTED = "No recipient selected";
     public static final String SELECTED_PREFIX = "Selected: ";
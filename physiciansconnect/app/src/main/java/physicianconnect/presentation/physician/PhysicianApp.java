@@ -15,6 +15,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListCellRenderer;
@@ -35,6 +36,10 @@ import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
+import physicianconnect.events.MessageSent;
+import physicianconnect.events.NotificationAdded;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.MessageService;
 import physicianconnect.logic.controller.AppointmentController;
@@ -46,8 +51,10 @@ import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
 import physicianconnect.logic.manager.ReferralManager;
 import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Message;
 import physicianconnect.objects.Physician;
 import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.ConnectionManager;
 import physicianconnect.persistence.PersistenceFactory;
 import physicianconnect.persistence.sqlite.AppointmentDB;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
@@ -63,6 +70,7 @@ import physicianconnect.presentation.WeeklyAvailabilityPanel;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.util.ProfileImageUtil;
+import physicianconnect.presentation.util.UiTasks;
 import physicianconnect.objects.Notification;
 
 /**
@@ -93,12 +101,14 @@ public class PhysicianApp {
     private LocalDate weekStart; // Monday of the currently shown week
 
     private MessageButton messageButton;
-    private Timer messageRefreshTimer;
     private NotificationPanel notificationPanel;
     private NotificationBanner notificationBanner;
     private JDialog notificationDialog;
     private NotificationButton notificationButton;
-    private Timer notificationRefreshTimer;
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+    private final UiTasks.Lane messageCountLoads = new UiTasks.Lane();
+    private final UiTasks.Lane notificationCountLoads = new UiTasks.Lane();
+    private final UiTasks.Lane appointmentLoads = new UiTasks.Lane();
 
     private JButton profilePicButton;
 
@@ -106,6 +116,10 @@ public class PhysicianApp {
 
     private int lastNotifiedUnreadMessageCount = 0;
 
+    /** Unread message count and, if it grew, the newest unread message. */
+    private record UnreadMessages(int count, Message latest) {
+    }
+
     /*------------------------------------------------------------------*/
     /* Constructor */
     /*------------------------------------------------------------------*/
@@ -163,9 +177,6 @@ public class PhysicianApp {
             );
         }
 
-        // Load any existing notifications
-        notificationPanel.loadNotifications();
-
         // Create notification banner
         notificationBanner = new NotificationBanner(frame);
 
@@ -215,12 +226,10 @@ public class PhysicianApp {
                 .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))));
         clock.start();
 
-        messageRefreshTimer = new Timer(5000, e -> refreshMessageCount());
-        messageRefreshTimer.start();
-
-        // Add notification refresh timer
-        notificationRefreshTimer = new Timer(5000, e -> refreshNotificationCount());
-        notificationRefreshTimer.start();
+        // Badges follow change events instead of polling the database
+        subscribeToChanges();
+        refreshMessageCount();
+        refreshNotificationCount();
 
         frame.add(topPanel, BorderLayout.NORTH);
 
@@ -310,18 +319,24 @@ public class PhysicianApp {
         buttonPanel.add(logoutBtn);
 
         /*---------------- Availability panels (daily/weekly) ----------*/
-        // DB + service
-        Connection conn;
-        try {
-            conn = DriverManager.getConnection("jdbc:sqlite:prod.db");
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(frame,
-                    UIConfig.ERROR_DATABASE_OPEN + "\n" + ex.getMessage(),
-                    UIConfig.ERROR_DIALOG_TITLE,
-                    JOptionPane.ERROR_MESSAGE);
-            return;
+        // DB + service (share the application pool when it is up)
+        AppointmentDB appointmentDb;
+        if (ConnectionManager.isInitialized()) {
+            appointmentDb = new AppointmentDB(ConnectionManager.getPool());
+        } else {
+            Connection conn;
+            try {
+                conn = DriverManager.getConnection("jdbc:sqlite:prod.db");
+            } catch (SQLException ex) {
+                JOptionPane.showMessageDialog(frame,
+                        UIConfig.ERROR_DATABASE_OPEN + "\n" + ex.getMessage(),
+                        UIConfig.ERROR_DIALOG_TITLE,
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            appointmentDb = new AppointmentDB(conn);
         }
-        AvailabilityService availabilityService = new AvailabilityService(new AppointmentDB(conn));
+        AvailabilityService availabilityService = new AvailabilityService(appointmentDb);
 
         selectedDate = LocalDate.now();
         weekStart = selectedDate.with(DayOfWeek.MONDAY);
@@ -448,16 +463,16 @@ public class PhysicianApp {
 
     /*------------------------------------------------------------------*/
     private void refreshAppointments() {
-        // Clear existing appointments
-        appointmentListModel.clear();
-        
-        // Get appointments for the current physician
-        List<Appointment> appointments = appointmentManager.getAppointmentsForPhysician(loggedIn.getId());
-        
-        // Add appointments to the table
-        for (Appointment apt : appointments) {
-            appointmentListModel.addElement(apt);
-        }
+        // Get appointments for the current physician in the background
+        appointmentLoads.submit("load appointments",
+                () -> appointmentManager.getAppointmentsForPhysician(loggedIn.getId()),
+                appointments -> {
+                    // Replace the existing appointments
+                    appointmentListModel.clear();
+                    for (Appointment apt : appointments) {
+                        appointmentListModel.addElement(apt);
+                    }
+                });
     }
 
     private void showNotificationPanel() {
@@ -476,7 +491,6 @@ public class PhysicianApp {
         // Mark all notifications as read when panel is opened
         notificationPanel.showNotificationPanel();
         notificationButton.updateNotificationCount(0);
-        lastNotifiedUnreadMessageCount = 0;
     }
 
     private void showNotificationBanner(String message, java.awt.event.ActionListener onClick) {
@@ -506,28 +520,94 @@ public class PhysicianApp {
     }
 
     private void refreshMessageCount() {
-        int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "physician");
-        messageButton.updateNotificationCount(unreadCount);
-        if (unreadCount > lastNotifiedUnreadMessageCount) {
-            // Find the latest unread message
-            List<physicianconnect.objects.Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "physician");
-            if (!unreadMessages.isEmpty()) {
-                physicianconnect.objects.Message latest = unreadMessages.get(unreadMessages.size() - 1);
-                String senderType = latest.getSenderType();
-                String senderName = "";
-                if (senderType.equals("physician")) {
-                    senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
-                } else if (senderType.equals("receptionist")) {
-                    senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
-                }
-                String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
-                showNotificationBanner(notificationMsg, e -> showMessageDialog());
-                if (notificationPanel != null) {
-                    notificationPanel.addNotification(notificationMsg, "Message");
+        int alreadyNotified = lastNotifiedUnreadMessageCount;
+        messageCountLoads.submit("count unread messages", () -> {
+            int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "physician");
+            // Only look up the latest message if there is something new to announce
+            Message latest = null;
+            if (unreadCount > alreadyNotified) {
+                List<Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "physician");
+                if (!unreadMessages.isEmpty()) {
+                    latest = unreadMessages.get(unreadMessages.size() - 1);
                 }
             }
+            return new UnreadMessages(unreadCount, latest);
+        }, unread -> {
+            messageButton.updateNotificationCount(unread.count());
+            if (unread.latest() != null) {
+                announceMessage(unread.latest());
+            }
+            lastNotifiedUnreadMessageCount = unread.count();
+        });
+    }
+
+    /** A message to this user was just sent in this process; counted without a query. */
+    private void messageReceived(Message message) {
+        lastNotifiedUnreadMessageCount++;
+        messageButton.updateNotificationCount(lastNotifiedUnreadMessageCount);
+        announceMessage(message);
+    }
+
+    private void announceMessage(Message latest) {
+        String senderType = latest.getSenderType();
+        UiTasks.submit("resolve message sender", () -> senderName(latest), senderName -> {
+            String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
+            showNotificationBanner(notificationMsg, e -> showMessageDialog());
+            if (notificationPanel != null) {
+                notificationPanel.addNotification(notificationMsg, "Message");
+            }
+        });
+    }
+
+    private String senderName(Message message) {
+        String senderType = message.getSenderType();
+        if (senderType.equals("physician")) {
+            return physicianManager.getPhysicianById(message.getSenderId()).getName();
+        } else if (senderType.equals("receptionist")) {
+            return receptionistManager.getReceptionistById(message.getSenderId()).getName();
+        }
+        return "";
+    }
+
+    /** A notification for this user was just stored in this process. */
+    private void notificationReceived(Notification notification) {
+        if (notificationPanel != null) {
+            notificationPanel.notificationStored(notification);
         }
-        lastNotifiedUnreadMessageCount = unreadCount;
+        refreshNotificationCount();
+    }
+
+    /**
+     * Subscribes the message and notification badges to change events. Writes
+     * made in this process arrive as they happen; writes by other processes
+     * arrive as an ExternalChange and trigger one reload. Nothing is queried
+     * while nothing changes. The subscriptions end when the window closes.
+     */
+    private void subscribeToChanges() {
+        EventBus bus = EventBus.getDefault();
+        subscriptions.add(bus.subscribe(MessageSent.class, event -> {
+            if (event.isFor(loggedIn.getId(), "physician")) {
+                SwingUtilities.invokeLater(() -> messageReceived(event.message()));
+            }
+        }));
+        subscriptions.add(bus.subscribe(NotificationAdded.class, event -> {
+            if (event.isFor(loggedIn.getId(), "physician")) {
+                SwingUtilities.invokeLater(() -> notificationReceived(event.notification()));
+            }
+        }));
+        subscriptions.add(bus.subscribe(ExternalChange.class, event -> SwingUtilities.invokeLater(() -> {
+            refreshMessageCount();
+            refreshNotificationCount();
+            if (notificationPanel != null) {
+                notificationPanel.refresh(null);
+            }
+        })));
+        frame.addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                subscriptions.forEach(EventBus.Subscription::close);
+                subscriptions.clear();
+            }
+        });
     }
 
     private void notifyAppointmentChange(String message, String type) {
@@ -541,7 +621,7 @@ public class PhysicianApp {
         }
         notificationPanel.addNotification(message, type);
         // Update notification count immediately
-        notificationButton.updateNotificationCount(notificationPanel.getUnreadNotificationCount());
+        notificationButton.updateNotificationCount(notificationPanel.getKnownUnreadCount());
 
         // Only show banner if user is logged in
         if (frame != null && frame.isVisible()) {
@@ -592,23 +672,8 @@ public class PhysicianApp {
             }
 
             // Notify all receptionists about the new appointment
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("New appointment scheduled for %s with %s.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "New Appointment!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
+            notifyReceptionists(String.format("New appointment scheduled for %s with %s.",
+                    appointment.getPatientName(), loggedIn.getName()), "New Appointment!");
         }
     }
 
@@ -619,23 +684,8 @@ public class PhysicianApp {
             notifyAppointmentChange(message, "Appointment Update!");
 
             // Notify all receptionists about the appointment update
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("Appointment for %s with %s has been updated.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "Appointment Update!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
+            notifyReceptionists(String.format("Appointment for %s with %s has been updated.",
+                    appointment.getPatientName(), loggedIn.getName()), "Appointment Update!");
         }
     }
 
@@ -646,34 +696,31 @@ public class PhysicianApp {
             notifyAppointmentChange(message, "Appointment Cancellation!");
 
             // Notify all receptionists about the appointment cancellation
-            List<Receptionist> receptionists = receptionistManager.getAllReceptionists();
-            NotificationPersistence notificationPersistence = PersistenceFactory.getNotificationPersistence();
-            for (Receptionist receptionist : receptionists) {
-                String receptionistMessage = String.format("Appointment for %s with %s has been cancelled.", 
-                    appointment.getPatientName(),
-                    loggedIn.getName());
-                
-                // Add notification directly to persistence
-                Notification notification = new Notification(
-                    receptionistMessage,
-                    "Appointment Cancellation!",
-                    LocalDateTime.now(),
-                    receptionist.getId(),
-                    "receptionist"
-                );
-                notificationPersistence.addNotification(notification);
-            }
+            notifyReceptionists(String.format("Appointment for %s with %s has been cancelled.",
+                    appointment.getPatientName(), loggedIn.getName()), "Appointment Cancellation!");
         }
     }
 
-    private void refreshNotificationCount() {
-        if (notificationPanel != null) {
-            int count = notificationPanel.getUnreadNotificationCount();
-            if (count != lastNotifiedUnreadMessageCount) {
-                notificationButton.updateNotificationCount(count);
-                lastNotifiedUnreadMessageCount = count;
+    /** One batched write for every receptionist, off the EDT. */
+    private void notifyReceptionists(String message, String type) {
+        NotificationPersistence notifications = PersistenceFactory.getNotificationPersistence();
+        LocalDateTime now = LocalDateTime.now();
+        UiTasks.submit("notify receptionists", () -> {
+            List<Notification> batch = new ArrayList<>();
+            for (Receptionist receptionist : receptionistManager.getAllReceptionists()) {
+                batch.add(new Notification(message, type, now, receptionist.getId(), "receptionist"));
             }
-        }
+            notifications.addNotifications(batch);
+            return null;
+        }, saved -> { });
+    }
+
+    /** Reads the maintained unread counter: one key lookup, no list reload. */
+    private void refreshNotificationCount() {
+        NotificationPersistence notifications = PersistenceFactory.getNotificationPersistence();
+        notificationCountLoads.submit("count unread notifications",
+                () -> notifications.countUnreadNotifications(loggedIn.getId(), "physician"),
+                notificationButton::updateNotificationCount);
     }
 
     public static void launchSingleUser(Physician loggedIn, PhysicianManager physicianManager,
@@ -0,0 +1,263 @@
+package physicianconnect.presentation.receptionist;
+
+import physicianconnect.objects.Appointment;
+import physicianconnect.presentation.config.UIConfig;
+
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The receptionist's appointment table. Rows are kept sorted by date and time
+ * and indexed by appointment id, so a created, updated or deleted appointment
+ * is one binary search and one row event; the rest of the table is left
+ * alone. Cells hold the raw values (the Date and Time columns are a LocalDate
+ * and a LocalTime) and are formatted only when painted, by the renderers
+ * {@link #installRenderers} puts on the table.
+ *
+ * Like every Swing model it must only be used on the EDT.
+ */
+public class AppointmentTableModel extends AbstractTableModel {
+    public static final int PATIENT_COLUMN = 0;
+    public static final int PHYSICIAN_COLUMN = 1;
+    public static final int DATE_COLUMN = 2;
+    public static final int TIME_COLUMN = 3;
+
+    private static final String[] COLUMNS = { UIConfig.PATIENT_LABEL, UIConfig.PHYSICIAN_LABEL,
+            UIConfig.DATE_LABEL, UIConfig.TIME_LABEL };
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT);
+
+    // a physician has one booking per start time, so the slot alone nearly
+    // always decides; id and patient keep the order total for legacy rows
+    private static final Comparator<Appointment> SLOT_ORDER = Comparator
+            .comparing(Appointment::getDateTime)
+            .thenComparing(Appointment::getPhysicianId, Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final Comparator<Appointment> ROW_ORDER = SLOT_ORDER
+            .thenComparingInt(Appointment::getId)
+            .thenComparing(Appointment::getPatientName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final List<Appointment> rows = new ArrayList<>();
+    private final Map<Integer, Appointment> byId = new HashMap<>();
+    private final Map<String, String> physicianNames = new HashMap<>();
+    private String physicianFilter;
+
+    /**
+     * Replaces every row. physicianId limits later deltas to that physician's
+     * appointments (null shows everyone); physicianNames resolves the
+     * Physician column without a lookup per cell.
+     */
+    public void load(String physicianId, Collection<Appointment> appointments, Map<String, String> physicianNames) {
+        this.physicianFilter = physicianId;
+        this.physicianNames.clear();
+        this.physicianNames.putAll(physicianNames);
+        rows.clear();
+        byId.clear();
+        for (Appointment a : appointments) {
+            if (accepts(a)) {
+                rows.add(a);
+                index(a);
+            }
+        }
+        rows.sort(ROW_ORDER);
+        fireTableDataChanged();
+    }
+
+    public void appointmentCreated(Appointment appointment) {
+        if (!accepts(appointment) || indexOf(appointment) >= 0) {
+            return;
+        }
+        int row = insertionPoint(appointment);
+        rows.add(row, appointment);
+        index(appointment);
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * The appointment's old row is found by id, so a move to another time
+     * relocates the row rather than adding a second one.
+     */
+    public void appointmentUpdated(Appointment appointment) {
+        int old = indexOf(appointment);
+        if (old < 0) {
+            appointmentCreated(appointment);
+            return;
+        }
+        if (!accepts(appointment)) {
+            removeRow(old);
+            return;
+        }
+        Appointment previous = rows.get(old);
+        rows.remove(old);
+        int row = insertionPoint(appointment);
+        rows.add(row, appointment);
+        unindex(previous);
+        index(appointment);
+        if (row == old) {
+            fireTableRowsUpdated(row, row);
+        } else {
+            fireTableRowsDeleted(old, old);
+            fireTableRowsInserted(row, row);
+        }
+    }
+
+    public void appointmentDeleted(Appointment appointment) {
+        int row = indexOf(appointment);
+        if (row >= 0) {
+            removeRow(row);
+        }
+    }
+
+    /** Formats the Date and Time columns when painted, with shared formatters. */
+    public static void installRenderers(JTable table) {
+        table.setDefaultRenderer(LocalDate.class, new TemporalRenderer(DATE_FORMATTER));
+        table.setDefaultRenderer(LocalTime.class, new TemporalRenderer(TIME_FORMATTER));
+    }
+
+    public Appointment getAppointmentAt(int row) {
+        return rows.get(row);
+    }
+
+    /** Row of the appointment with that id, or -1 if it is not shown. */
+    public int rowOfId(int id) {
+        Appointment a = byId.get(id);
+        return a == null ? -1 : indexOf(a);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (column) {
+            case DATE_COLUMN:
+                return LocalDate.class;
+            case TIME_COLUMN:
+                return LocalTime.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Appointment a = rows.get(row);
+        switch (column) {
+            case PATIENT_COLUMN:
+                return a.getPatientName();
+            case PHYSICIAN_COLUMN:
+                return physicianNames.getOrDefault(a.getPhysicianId(), UIConfig.UNKNOWN_PHYSICIAN_LABEL);
+            case DATE_COLUMN:
+                return a.getDateTime().toLocalDate();
+            case TIME_COLUMN:
+                return a.getDateTime().toLocalTime();
+            default:
+                throw new IndexOutOfBoundsException("No column " + column);
+        }
+    }
+
+    private boolean accepts(Appointment a) {
+        return physicianFilter == null || physicianFilter.equals(a.getPhysicianId());
+    }
+
+    private void index(Appointment a) {
+        if (a.getId() >= 0) {
+            byId.put(a.getId(), a);
+        }
+    }
+
+    private void unindex(Appointment a) {
+        if (a.getId() >= 0) {
+            byId.remove(a.getId());
+        }
+    }
+
+    private void removeRow(int row) {
+        unindex(rows.remove(row));
+        fireTableRowsDeleted(row, row);
+    }
+
+    private int insertionPoint(Appointment a) {
+        int found = Collections.binarySearch(rows, a, ROW_ORDER);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Current row of the given appointment. With an id the stored copy is
+     * found through the index (its time may since have changed); a copy
+     * without one (id -1, never stored) is matched by slot and patient, the
+     * same key the delete statement uses.
+     */
+    private int indexOf(Appointment a) {
+        Appointment stored = a.getId() >= 0 ? byId.get(a.getId()) : null;
+        if (stored != null) {
+            return Collections.binarySearch(rows, stored, ROW_ORDER);
+        }
+        return indexOfSlot(a);
+    }
+
+    private int indexOfSlot(Appointment a) {
+        int lo = 0;
+        int hi = rows.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (SLOT_ORDER.compare(rows.get(mid), a) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (int row = lo; row < rows.size() && SLOT_ORDER.compare(rows.get(row), a) == 0; row++) {
+            Appointment candidate = rows.get(row);
+            if ((a.getId() < 0 || candidate.getId() < 0 || candidate.getId() == a.getId())
+                    && Objects.equals(candidate.getPatientName(), a.getPatientName())) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private static final class TemporalRenderer extends DefaultTableCellRenderer {
+        private final DateTimeFormatter formatter;
+
+        TemporalRenderer(DateTimeFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            setText(value instanceof TemporalAccessor ? formatter.format((TemporalAccessor) value) : "");
+        }
+    }
+
+}
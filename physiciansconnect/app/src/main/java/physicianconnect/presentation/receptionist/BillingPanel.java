@@ -6,12 +6,14 @@ import physicianconnect.logic.controller.AppointmentController;
 import physicianconnect.logic.validation.BillingValidator;
 import physicianconnect.objects.Appointment;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Money;
 import physicianconnect.objects.ServiceItem;
 import physicianconnect.objects.Payment;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.util.InvoiceExportUtil;
 import physicianconnect.presentation.util.RevenueSummaryUtil;
+import physicianconnect.presentation.util.UiTasks;
 import physicianconnect.presentation.NotificationPanel;
 import physicianconnect.persistence.interfaces.NotificationPersistence;
 
@@ -26,7 +28,7 @@ import java.util.*;
 
 public class BillingPanel extends JPanel {
     private static final String[] SERVICE_TYPES = { "Consult", "Lab", "XRay", "ECG", "Ultrasound" };
-    private static final double[] SERVICE_DEFAULTS = { 100, 50, 75, 60, 120 };
+    private static final long[] SERVICE_DEFAULTS = { 100_00, 50_00, 75_00, 60_00, 120_00 };
     private static final String[] INSURANCE_TYPES = { "No Insurance", "Blue Cross", "Sun Life", "GMS Health" };
     private static final String[] PAYMENT_METHODS = { "Cash", "Card", "Cheque", "e-Transfer" };
 
@@ -37,6 +39,8 @@ public class BillingPanel extends JPanel {
     private final TableRowSorter<DefaultTableModel> sorter;
     private final JTextField searchField;
     private final InvoiceNotificationManager notificationManager;
+    private final UiTasks.Lane invoiceLoads = new UiTasks.Lane();
+    private final UiTasks.Lane detailLoads = new UiTasks.Lane();
 
     // For keeping the invoice dialog open and refreshing content
     private JDialog invoiceDialog;
@@ -127,18 +131,24 @@ public class BillingPanel extends JPanel {
         // Listeners
         newInvoiceBtn.addActionListener(e -> showNewInvoiceDialog());
         revenueSummaryBtn.addActionListener(
-                e -> RevenueSummaryUtil.showRevenueSummary(this, billingController.getAllInvoices()));
+                e -> UiTasks.submit("load revenue summary", billingController::getRevenueSummary,
+                        revenue -> RevenueSummaryUtil.showRevenueSummary(this, revenue)));
 
         invoiceTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting() && invoiceTable.getSelectedRow() != -1) {
                 int viewRow = invoiceTable.getSelectedRow();
                 int modelRow = invoiceTable.convertRowIndexToModel(viewRow);
                 String patientName = (String) model.getValueAt(modelRow, 0);
-                Invoice invoice = billingController.getAllInvoices().stream()
-                        .filter(inv -> inv.getPatientName().equals(patientName))
-                        .findFirst().orElse(null);
-                if (invoice != null)
-                    showInvoiceDetail(invoice, billingController.getPaymentsByInvoice(invoice.getId()));
+                detailLoads.submit("load invoice detail", () -> {
+                    Invoice invoice = billingController.streamInvoices()
+                            .filter(inv -> inv.getPatientName().equals(patientName))
+                            .findFirst().orElse(null);
+                    return invoice == null ? null
+                            : Map.entry(invoice, billingController.getPaymentsByInvoice(invoice.getId()));
+                }, detail -> {
+                    if (detail != null)
+                        showInvoiceDetail(detail.getKey(), detail.getValue());
+                });
             }
         });
 
@@ -177,17 +187,18 @@ public class BillingPanel extends JPanel {
     }
 
     private void refreshInvoices() {
-        model.setRowCount(0);
-        List<Invoice> invoices = billingController.getAllInvoices();
-        for (Invoice inv : invoices) {
-            model.addRow(new Object[] {
-                    inv.getPatientName(),
-                    inv.getTotalAmount(),
-                    inv.getBalance(),
-                    inv.getStatus()
-            });
-        }
-        invoiceTable.clearSelection();
+        invoiceLoads.submit("load invoices", billingController::getAllInvoices, invoices -> {
+            model.setRowCount(0);
+            for (Invoice inv : invoices) {
+                model.addRow(new Object[] {
+                        inv.getPatientName(),
+                        Money.format(inv.getTotalCents()),
+                        Money.format(inv.getBalanceCents()),
+                        inv.getStatus()
+                });
+            }
+            invoiceTable.clearSelection();
+        });
     }
 
     private void showNewInvoiceDialog() {
@@ -338,15 +349,15 @@ public class BillingPanel extends JPanel {
                 }
 
                 try {
-                    double insuranceAdj = Double.parseDouble(insuranceAdjField.getText().trim());
-                    if (insuranceAdj < 0) {
+                    long insuranceAdjCents = Money.parseCents(insuranceAdjField.getText());
+                    if (insuranceAdjCents < 0) {
                         throw new NumberFormatException();
                     }
 
                     String appointmentId = String.valueOf(selectedAppointment.getId());
                     String patientName = selectedAppointment.getPatientName();
                     
-                    billingController.createInvoice(appointmentId, patientName, selectedServices[0], insuranceAdj);
+                    billingController.createInvoice(appointmentId, patientName, selectedServices[0], insuranceAdjCents);
                     notificationManager.notifyInvoiceCreated(patientName);
                     refreshInvoices();
                     RevenueSummaryUtil.fireRevenueSummaryChanged();
@@ -365,7 +376,7 @@ public class BillingPanel extends JPanel {
         JTextField[] fields = new JTextField[SERVICE_TYPES.length];
         for (int i = 0; i < SERVICE_TYPES.length; i++) {
             boxes[i] = new JCheckBox(SERVICE_TYPES[i]);
-            fields[i] = new JTextField(String.valueOf(SERVICE_DEFAULTS[i]));
+            fields[i] = new JTextField(Money.format(SERVICE_DEFAULTS[i]));
             fields[i].setFont(UITheme.LABEL_FONT);
             panel.add(boxes[i]);
             panel.add(new JLabel("$"));
@@ -378,10 +389,10 @@ public class BillingPanel extends JPanel {
             for (int i = 0; i < SERVICE_TYPES.length; i++) {
                 if (boxes[i].isSelected()) {
                     try {
-                        double amt = Double.parseDouble(fields[i].getText().trim());
-                        if (amt <= 0)
+                        long cents = Money.parseCents(fields[i].getText());
+                        if (cents <= 0)
                             throw new NumberFormatException();
-                        items.add(new ServiceItem(SERVICE_TYPES[i], amt));
+                        items.add(new ServiceItem(SERVICE_TYPES[i], cents));
                     } catch (NumberFormatException ex) {
                         JOptionPane.showMessageDialog(this, UIConfig.ERROR_INVALID_AMOUNT + SERVICE_TYPES[i],
                                 UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
@@ -421,7 +432,7 @@ public class BillingPanel extends JPanel {
         // Appointment date/time
         String apptDateTime = "";
         try {
-            Appointment appt = appointmentController.getAllAppointments().stream()
+            Appointment appt = appointmentController.streamAppointments()
                     .filter(a -> String.valueOf(a.getId()).equals(invoice.getAppointmentId()))
                     .findFirst().orElse(null);
             if (appt != null) {
@@ -449,7 +460,7 @@ public class BillingPanel extends JPanel {
         servicesPanel.setBackground(UITheme.BACKGROUND_COLOR);
         
         for (ServiceItem s : invoice.getServices()) {
-            JLabel serviceLine = new JLabel("   • " + s.getName() + ": $" + String.format("%.2f", s.getCost()));
+            JLabel serviceLine = new JLabel("   • " + s.getName() + ": " + Money.formatDollars(s.getCostCents()));
             serviceLine.setFont(UITheme.LABEL_FONT);
             serviceLine.setAlignmentX(Component.LEFT_ALIGNMENT);
             servicesPanel.add(serviceLine);
@@ -472,9 +483,9 @@ public class BillingPanel extends JPanel {
 
             for (Payment p : payments) {
                 JLabel paymentLine = new JLabel(
-                        String.format("   • %s: $%.2f via %s",
+                        String.format("   • %s: %s via %s",
                                 p.getPaidAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                                p.getAmount(),
+                                Money.formatDollars(p.getAmountCents()),
                                 p.getMethod()));
                 paymentLine.setFont(UITheme.LABEL_FONT);
                 paymentLine.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -494,20 +505,20 @@ public class BillingPanel extends JPanel {
 
         JLabel insuranceLabel = new JLabel(UIConfig.INSURANCE_ADJUSTMENT_LABEL);
         insuranceLabel.setFont(detailFont);
-        JLabel insuranceValue = new JLabel("$" + String.format("%.2f", invoice.getInsuranceAdjustment()));
+        JLabel insuranceValue = new JLabel(Money.formatDollars(invoice.getInsuranceAdjustmentCents()));
         insuranceValue.setFont(detailFont);
 
         JLabel totalLabel = new JLabel(UIConfig.TOTAL_LABEL);
         totalLabel.setFont(detailFont);
-        JLabel totalValue = new JLabel("$" + String.format("%.2f", invoice.getTotalAmount()));
+        JLabel totalValue = new JLabel(Money.formatDollars(invoice.getTotalCents()));
         totalValue.setFont(detailFont);
 
         JLabel balanceLabel = new JLabel(UIConfig.BALANCE_LABEL);
         balanceLabel.setFont(detailFont);
-        JLabel balanceValue = new JLabel("$" + String.format("%.2f", invoice.getBalance()));
+        JLabel balanceValue = new JLabel(Money.formatDollars(invoice.getBalanceCents()));
         balanceValue.setFont(detailFont);
 
-        if (invoice.getBalance() > 0)
+        if (invoice.getBalanceCents() > 0)
             balanceValue.setForeground(Color.RED);
 
         JLabel statusLabel = new JLabel(UIConfig.STATUS_LABEL);
@@ -600,9 +611,7 @@ public class BillingPanel extends JPanel {
 
     private void showPaymentDialog(Invoice invoice) {
 
-        // Format the balance with exactly 2 decimal places
-        String formattedBalance = String.format("%.2f", Math.round(invoice.getBalance() * 100.0) / 100.0);
-        JTextField amountField = new JTextField(formattedBalance);
+        JTextField amountField = new JTextField(Money.format(invoice.getBalanceCents()));
         amountField.setFont(UITheme.LABEL_FONT);
         JComboBox<String> methodBox = new JComboBox<>(PAYMENT_METHODS);
         methodBox.setFont(UITheme.LABEL_FONT);
@@ -613,9 +622,8 @@ public class BillingPanel extends JPanel {
         panel.setBackground(UITheme.BACKGROUND_COLOR);
         panel.setBorder(BorderFactory.createEmptyBorder(16, 24, 16, 24));
 
-        // Add current balance information with exactly 2 decimal places
-        JLabel balanceLabel = new JLabel(String.format("Current Balance: $%.2f", 
-            Math.round(invoice.getBalance() * 100.0) / 100.0));
+        // Add current balance information
+        JLabel balanceLabel = new JLabel("Current Balance: " + Money.formatDollars(invoice.getBalanceCents()));
         balanceLabel.setFont(UITheme.LABEL_FONT.deriveFont(Font.BOLD));
         balanceLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
         panel.add(balanceLabel);
@@ -673,13 +681,12 @@ public class BillingPanel extends JPanel {
                     throw new NumberFormatException("Please enter a valid amount with up to 2 decimal places");
                 }
                 
-                // Round to 2 decimal places to handle sub-cent values
-                double amount = Math.round(Double.parseDouble(amountText) * 100.0) / 100.0;
+                long amountCents = Money.parseCents(amountText);
                 String method = (String) methodBox.getSelectedItem();
-                BillingValidator.validatePaymentAmount(amount, invoice.getBalance());
+                BillingValidator.validatePaymentAmount(amountCents, invoice.getBalanceCents());
                 
                 // Record the payment
-                billingController.recordPayment(invoice.getId(), amount, method);
+                billingController.recordPayment(invoice.getId(), amountCents, method);
                 
                 // Get the updated invoice to check its new status
                 Invoice updatedInvoice = billingController.getInvoiceById(invoice.getId());
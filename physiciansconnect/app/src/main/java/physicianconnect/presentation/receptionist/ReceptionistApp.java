@@ -1,5 +1,9 @@
 package physicianconnect.presentation.receptionist;
 
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
+import physicianconnect.events.MessageSent;
+import physicianconnect.events.NotificationAdded;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.logic.MessageService;
 import physicianconnect.logic.controller.AppointmentController;
@@ -11,12 +15,15 @@ import physicianconnect.logic.manager.InvoiceManager;
 import physicianconnect.logic.manager.PaymentManager;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.manager.ReceptionistManager;
+import physicianconnect.logic.manager.RevenueRollupManager;
 import physicianconnect.objects.Appointment;
-import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Message;
+import physicianconnect.objects.Notification;
 import physicianconnect.objects.Payment;
 import physicianconnect.objects.Physician;
 import physicianconnect.objects.Receptionist;
 import physicianconnect.persistence.PersistenceFactory;
+import physicianconnect.persistence.interfaces.NotificationPersistence;
 import physicianconnect.presentation.AddAppointmentPanel;
 import physicianconnect.presentation.AllPhysiciansDailyPanel;
 import physicianconnect.presentation.receptionist.BillingPanel;
@@ -32,18 +39,20 @@ import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 import physicianconnect.presentation.util.ProfileImageUtil;
 import physicianconnect.presentation.util.RevenueSummaryUtil;
+import physicianconnect.presentation.util.UiTasks;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 public class ReceptionistApp {
     private final Receptionist loggedIn;
@@ -62,9 +71,9 @@ public class ReceptionistApp {
 
     private JFrame frame;
     private JComboBox<Object> physicianCombo;
-    private DefaultTableModel appointmentTableModel;
+    private AppointmentTableModel appointmentTableModel;
     private JTable appointmentTable;
-    private TableRowSorter<DefaultTableModel> appointmentTableSorter;
+    private TableRowSorter<AppointmentTableModel> appointmentTableSorter;
     private JTextField appointmentSearchField;
     private DailyAvailabilityPanel dailyPanel;
     private WeeklyAvailabilityPanel weeklyPanel;
@@ -86,14 +95,21 @@ public class ReceptionistApp {
     private JPanel revenueSummaryContent;
     private boolean revenueSummaryCollapsed = false;
 
-    private Timer messageRefreshTimer;
     private NotificationPanel notificationPanel;
     private NotificationBanner notificationBanner;
     private JDialog notificationDialog;
     private NotificationButton notificationButton;
-    private Timer notificationRefreshTimer;
+    private final List<EventBus.Subscription> subscriptions = new ArrayList<>();
+    private final UiTasks.Lane appointmentLoads = new UiTasks.Lane();
+    private final UiTasks.Lane messageCountLoads = new UiTasks.Lane();
+    private final UiTasks.Lane notificationCountLoads = new UiTasks.Lane();
+    private final UiTasks.Lane revenueSummaryLoads = new UiTasks.Lane();
     private int lastNotifiedUnreadMessageCount = 0;
 
+    /** Unread message count and, if it grew, the newest unread message. */
+    private record UnreadMessages(int count, Message latest) {
+    }
+
     public ReceptionistApp(Receptionist loggedIn, PhysicianManager physicianManager,
                            AppointmentManager appointmentManager, ReceptionistManager receptionistManager, 
                            AppointmentController appointmentController, Runnable logoutCallback) {
@@ -113,9 +129,9 @@ public class ReceptionistApp {
         this.appointmentController = appointmentController;
         this.invoiceManager = new InvoiceManager(PersistenceFactory.getInvoicePersistence());
         this.paymentManager = new PaymentManager(PersistenceFactory.getPaymentPersistence());
-        this.billingController = new BillingController(invoiceManager, paymentManager);
-        this.availabilityService = new AvailabilityService(
-                (physicianconnect.persistence.sqlite.AppointmentDB) PersistenceFactory.getAppointmentPersistence());
+        this.billingController = new BillingController(invoiceManager, paymentManager,
+                new RevenueRollupManager(PersistenceFactory.getRevenueRollupPersistence()));
+        this.availabilityService = new AvailabilityService(PersistenceFactory.getAppointmentPersistence());
         
         // Initialize notification panel
         this.notificationPanel = new NotificationPanel(
@@ -199,13 +215,10 @@ public class ReceptionistApp {
         notificationButton = new NotificationButton();
         notificationButton.setOnAction(e -> showNotificationPanel());
 
-        // Initialize notification refresh timer
-        notificationRefreshTimer = new Timer(5000, e -> refreshNotificationCount());
-        notificationRefreshTimer.start();
-
-        // Initialize message refresh timer
-        messageRefreshTimer = new Timer(5000, e -> refreshMessageCount());
-        messageRefreshTimer.start();
+        // Badges follow change events instead of polling the database
+        subscribeToChanges();
+        refreshMessageCount();
+        refreshNotificationCount();
 
         // Right-aligned panel for physician dropdown, date/time, and message button
         JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
@@ -243,15 +256,9 @@ public class ReceptionistApp {
         appointmentsPanel.add(searchPanel, BorderLayout.BEFORE_FIRST_LINE);
 
         // Table for appointments
-        String[] columns = { UIConfig.PATIENT_LABEL, UIConfig.PHYSICIAN_LABEL, UIConfig.DATE_LABEL,
-                UIConfig.TIME_LABEL };
-        appointmentTableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        appointmentTableModel = new AppointmentTableModel();
         appointmentTable = new JTable(appointmentTableModel);
+        AppointmentTableModel.installRenderers(appointmentTable);
         appointmentTable.setFont(UITheme.LABEL_FONT);
         appointmentTable.setRowHeight(28);
         appointmentTable.getTableHeader().setFont(UITheme.HEADER_FONT);
@@ -426,7 +433,7 @@ public class ReceptionistApp {
                     frame,
                     appointmentController,
                     selectedPhysician.getId(),
-                    this::updateAppointments);
+                    null); // the new row arrives through onAppointmentCreated
             dlg.setVisible(true);
         });
 
@@ -438,38 +445,23 @@ public class ReceptionistApp {
                 return;
             }
             int modelRow = appointmentTable.convertRowIndexToModel(selectedRow);
-            String patientName = (String) appointmentTableModel.getValueAt(modelRow, 0);
-            String physicianName = (String) appointmentTableModel.getValueAt(modelRow, 1);
-            String dateStr = (String) appointmentTableModel.getValueAt(modelRow, 2);
-            String timeStr = (String) appointmentTableModel.getValueAt(modelRow, 3);
-
-            // Find the matching Appointment object
-            List<Appointment> allAppointments = physicianManager.getAllPhysicians().stream()
-                    .flatMap(p -> appointmentManager.getAppointmentsForPhysician(p.getId()).stream())
-                    .collect(Collectors.toList());
-            Appointment selectedAppt = null;
-            for (Appointment a : allAppointments) {
-                Physician p = physicianManager.getPhysicianById(a.getPhysicianId());
-                String pName = (p != null) ? p.getName() : UIConfig.UNKNOWN_PHYSICIAN_LABEL;
-                String date = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT));
-                String time = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT));
-                if (a.getPatientName().equals(patientName) && pName.equals(physicianName)
-                        && date.equals(dateStr) && time.equals(timeStr)) {
-                    selectedAppt = a;
-                    break;
-                }
-            }
-            if (selectedAppt == null) {
-                JOptionPane.showMessageDialog(frame, UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
-                        UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            ViewAppointmentPanel viewDlg = new ViewAppointmentPanel(
-                    frame,
-                    appointmentController,
-                    selectedAppt,
-                    this::updateAppointments);
-            viewDlg.setVisible(true);
+            int appointmentId = appointmentTableModel.getAppointmentAt(modelRow).getId();
+
+            // primary-key read, so the dialog shows the current notes
+            UiTasks.submit("load appointment", () -> appointmentController.getAppointmentById(appointmentId),
+                    selectedAppt -> {
+                        if (selectedAppt == null) {
+                            JOptionPane.showMessageDialog(frame, UIConfig.ERROR_APPOINTMENT_NOT_FOUND,
+                                    UIConfig.ERROR_DIALOG_TITLE, JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+                        ViewAppointmentPanel viewDlg = new ViewAppointmentPanel(
+                                frame,
+                                appointmentController,
+                                selectedAppt,
+                                null); // changes arrive through onAppointmentUpdated/Deleted
+                        viewDlg.setVisible(true);
+                    });
         });
 
         billingBtn.addActionListener(e -> {
@@ -505,37 +497,49 @@ public class ReceptionistApp {
         updateAppointments();
         updateCalendarPanels();
 
-        appointmentManager.addChangeListener(this::updateAppointments);
-
         frame.setVisible(true);
     }
 
+/** Everything the table shows for one physician selection, read off the EDT. */
+private record AppointmentSnapshot(String physicianId, List<Appointment> appointments,
+                                   Map<String, String> physicianNames) {
+}
+
+/**
+ * Full reload, for a new physician selection. Later changes made through
+ * the controller are applied row by row by the onAppointment* callbacks.
+ */
 private void updateAppointments() {
     Object selected = physicianCombo.getSelectedItem();
     Physician selectedPhysician = (selected instanceof Physician) ? (Physician) selected : null;
-    List<Appointment> allAppointments;
+    // a newer selection supersedes this load
+    appointmentLoads.submit("load appointments", () -> loadAppointments(selectedPhysician),
+            snapshot -> appointmentTableModel.load(snapshot.physicianId(), snapshot.appointments(),
+                    snapshot.physicianNames()));
+}
+
+private AppointmentSnapshot loadAppointments(Physician selectedPhysician) {
+    Map<String, String> names = new HashMap<>();
+    for (Physician p : physicianManager.getAllPhysicians()) {
+        names.put(p.getId(), p.getName());
+    }
     if (selectedPhysician == null) {
-        allAppointments = physicianManager.getAllPhysicians().stream()
-                .flatMap(p -> appointmentManager.getAppointmentsForPhysician(p.getId()).stream())
-                .collect(Collectors.toList());
-    } else {
-        allAppointments = appointmentManager.getAppointmentsForPhysician(selectedPhysician.getId());
+        // one query for every physician
+        return new AppointmentSnapshot(null, appointmentManager.getAllAppointments(), names);
     }
-    appointmentTableModel.setRowCount(0);
-    List<Appointment> filtered = allAppointments.stream()
-            .sorted((a, b) -> a.getDateTime().compareTo(b.getDateTime()))
-            .collect(Collectors.toList());
-    for (Appointment a : filtered) {
-        Physician p = physicianManager.getPhysicianById(a.getPhysicianId());
-        String physicianName = (p != null) ? p.getName() : UIConfig.UNKNOWN_PHYSICIAN_LABEL;
-        String date = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.DATE_FORMAT));
-        String time = a.getDateTime().format(DateTimeFormatter.ofPattern(UIConfig.TIME_FORMAT));
-        appointmentTableModel.addRow(new Object[] {
-                a.getPatientName(),
-                physicianName,
-                date,
-                time
-        });
+    return new AppointmentSnapshot(selectedPhysician.getId(),
+            appointmentManager.getAppointmentsForPhysician(selectedPhysician.getId()), names);
+}
+
+/** Applies a single-row change on the EDT, whichever thread the controller ran on. */
+private void applyAppointmentChange(Runnable change) {
+    if (appointmentTableModel == null) {
+        return;
+    }
+    if (SwingUtilities.isEventDispatchThread()) {
+        change.run();
+    } else {
+        SwingUtilities.invokeLater(change);
     }
 }
 
@@ -544,7 +548,7 @@ private void filterAppointments() {
     if (text.trim().length() == 0) {
         appointmentTableSorter.setRowFilter(null);
     } else {
-        appointmentTableSorter.setRowFilter(RowFilter.regexFilter("(?i)" + text, 0)); // 0 = Patient Name column
+        appointmentTableSorter.setRowFilter(RowFilter.regexFilter("(?i)" + text, AppointmentTableModel.PATIENT_COLUMN));
     }
 }
 
@@ -639,7 +643,6 @@ private void updateCalendarPanels() {
         // Mark all notifications as read when panel is opened
         notificationPanel.showNotificationPanel();
         notificationButton.updateNotificationCount(0);
-        lastNotifiedUnreadMessageCount = 0;
     }
 
     private void showNotificationBanner(String message, java.awt.event.ActionListener onClick) {
@@ -652,14 +655,16 @@ private void updateCalendarPanels() {
         }
     }
 
+    /** Reads the monthly rollups, a few rows however many invoices there are. */
     private void updateRevenueSummary() {
-        revenueSummaryContent.removeAll();
-        List<Invoice> invoices = billingController.getAllInvoices();
-        JPanel summary = RevenueSummaryUtil.createSummaryPanel(invoices);
-        revenueSummaryContent.add(summary, BorderLayout.CENTER);
-        revenueSummaryContent.setVisible(!revenueSummaryCollapsed);
-        revenueSummaryContent.revalidate();
-        revenueSummaryContent.repaint();
+        revenueSummaryLoads.submit("load revenue summary", billingController::getRevenueSummary, revenue -> {
+            revenueSummaryContent.removeAll();
+            JPanel summary = RevenueSummaryUtil.createSummaryPanel(revenue);
+            revenueSummaryContent.add(summary, BorderLayout.CENTER);
+            revenueSummaryContent.setVisible(!revenueSummaryCollapsed);
+            revenueSummaryContent.revalidate();
+            revenueSummaryContent.repaint();
+        });
     }
 
     private void showMessageDialog() {
@@ -679,42 +684,102 @@ private void updateCalendarPanels() {
     }
 
     private void refreshMessageCount() {
-        int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "receptionist");
-        messageButton.updateNotificationCount(unreadCount);
-        
-        // Only show banner for new unread messages
-        if (unreadCount > lastNotifiedUnreadMessageCount) {
-            // Find the latest unread message
-            List<physicianconnect.objects.Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "receptionist");
-            if (!unreadMessages.isEmpty()) {
-                physicianconnect.objects.Message latest = unreadMessages.get(unreadMessages.size() - 1);
-                String senderType = latest.getSenderType();
-                String senderName = "";
-                
-                if (senderType.equals("physician")) {
-                    senderName = physicianManager.getPhysicianById(latest.getSenderId()).getName();
-                } else if (senderType.equals("receptionist")) {
-                    senderName = receptionistManager.getReceptionistById(latest.getSenderId()).getName();
-                }
-                
-                String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
-                showNotificationBanner(notificationMsg, e -> showMessageDialog());
-                if (notificationPanel != null) {
-                    notificationPanel.addNotification(notificationMsg, "Message");
+        int alreadyNotified = lastNotifiedUnreadMessageCount;
+        messageCountLoads.submit("count unread messages", () -> {
+            int unreadCount = messageService.getUnreadMessageCount(loggedIn.getId(), "receptionist");
+            // Only look up the latest message if there is something new to announce
+            Message latest = null;
+            if (unreadCount > alreadyNotified) {
+                List<Message> unreadMessages = messageService.getUnreadMessagesForUser(loggedIn.getId(), "receptionist");
+                if (!unreadMessages.isEmpty()) {
+                    latest = unreadMessages.get(unreadMessages.size() - 1);
                 }
             }
+            return new UnreadMessages(unreadCount, latest);
+        }, unread -> {
+            messageButton.updateNotificationCount(unread.count());
+            if (unread.latest() != null) {
+                announceMessage(unread.latest());
+            }
+            lastNotifiedUnreadMessageCount = unread.count();
+        });
+    }
+
+    /** A message to this user was just sent in this process; counted without a query. */
+    private void messageReceived(Message message) {
+        lastNotifiedUnreadMessageCount++;
+        messageButton.updateNotificationCount(lastNotifiedUnreadMessageCount);
+        announceMessage(message);
+    }
+
+    private void announceMessage(Message latest) {
+        String senderType = latest.getSenderType();
+        UiTasks.submit("resolve message sender", () -> senderName(latest), senderName -> {
+            String notificationMsg = "New message received from " + senderName + " (" + senderType + ")";
+            showNotificationBanner(notificationMsg, e -> showMessageDialog());
+            if (notificationPanel != null) {
+                notificationPanel.addNotification(notificationMsg, "Message");
+            }
+        });
+    }
+
+    private String senderName(Message message) {
+        String senderType = message.getSenderType();
+        if (senderType.equals("physician")) {
+            return physicianManager.getPhysicianById(message.getSenderId()).getName();
+        } else if (senderType.equals("receptionist")) {
+            return receptionistManager.getReceptionistById(message.getSenderId()).getName();
         }
-        lastNotifiedUnreadMessageCount = unreadCount;
+        return "";
     }
 
-    private void refreshNotificationCount() {
+    /** A notification for this user was just stored in this process. */
+    private void notificationReceived(Notification notification) {
         if (notificationPanel != null) {
-            int count = notificationPanel.getUnreadNotificationCount();
-            if (count != lastNotifiedUnreadMessageCount) {
-                notificationButton.updateNotificationCount(count);
-                lastNotifiedUnreadMessageCount = count;
-            }
+            notificationPanel.notificationStored(notification);
         }
+        refreshNotificationCount();
+    }
+
+    /**
+     * Subscribes the message and notification badges to change events. Writes
+     * made in this process arrive as they happen; writes by other processes
+     * arrive as an ExternalChange and trigger one reload. Nothing is queried
+     * while nothing changes. The subscriptions end when the window closes.
+     */
+    private void subscribeToChanges() {
+        EventBus bus = EventBus.getDefault();
+        subscriptions.add(bus.subscribe(MessageSent.class, event -> {
+            if (event.isFor(loggedIn.getId(), "receptionist")) {
+                SwingUtilities.invokeLater(() -> messageReceived(event.message()));
+            }
+        }));
+        subscriptions.add(bus.subscribe(NotificationAdded.class, event -> {
+            if (event.isFor(loggedIn.getId(), "receptionist")) {
+                SwingUtilities.invokeLater(() -> notificationReceived(event.notification()));
+            }
+        }));
+        subscriptions.add(bus.subscribe(ExternalChange.class, event -> SwingUtilities.invokeLater(() -> {
+            refreshMessageCount();
+            refreshNotificationCount();
+            if (notificationPanel != null) {
+                notificationPanel.refresh(null);
+            }
+        })));
+        frame.addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                subscriptions.forEach(EventBus.Subscription::close);
+                subscriptions.clear();
+            }
+        });
+    }
+
+    /** Reads the maintained unread counter: one key lookup, no list reload. */
+    private void refreshNotificationCount() {
+        NotificationPersistence notifications = PersistenceFactory.getNotificationPersistence();
+        notificationCountLoads.submit("count unread notifications",
+                () -> notifications.countUnreadNotifications(loggedIn.getId(), "receptionist"),
+                notificationButton::updateNotificationCount);
     }
 
     private void notifyAppointmentChange(String message, String type) {
@@ -728,7 +793,7 @@ private void updateCalendarPanels() {
         }
         notificationPanel.addNotification(message, type);
         // Update notification count immediately
-        notificationButton.updateNotificationCount(notificationPanel.getUnreadNotificationCount());
+        notificationButton.updateNotificationCount(notificationPanel.getKnownUnreadCount());
 
         // Only show banner if user is logged in
         if (frame != null && frame.isVisible()) {
@@ -742,81 +807,63 @@ private void updateCalendarPanels() {
                     weeklyPanel.revalidate();
                     weeklyPanel.repaint();
                 }
-                updateAppointments();
             });
         }
     }
 
     // Add this method to handle appointment updates from the controller
     public void onAppointmentUpdated(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
+        applyAppointmentChange(() -> appointmentTableModel.appointmentUpdated(appointment));
+        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
         String message = String.format("Appointment notes for %s and %s has been updated.", 
-            physicianName,
+            physician.getName(),
             appointment.getPatientName());
         notifyAppointmentChange(message, "Appointment Update!");
         
         // Notify the physician about the update
-        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("Appointment with %s has been updated.", 
-                appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "Appointment Update!");
-        }
+        notifyPhysician(physician, String.format("Appointment with %s has been updated.", appointment.getPatientName()),
+                "Appointment Update!");
     }
 
     // Add this method to handle appointment deletions from the controller
     public void onAppointmentDeleted(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
+        applyAppointmentChange(() -> appointmentTableModel.appointmentDeleted(appointment));
+        // its invoices went with it (ON DELETE CASCADE) and the rollups with them
+        RevenueSummaryUtil.fireRevenueSummaryChanged();
+        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
         String message = String.format("Appointment for %s and %s has been deleted.", 
-            physicianName,
+            physician.getName(),
             appointment.getPatientName());
         notifyAppointmentChange(message, "Appointment Cancellation!");
         
         // Notify the physician about the deletion
-        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("Appointment with %s has been cancelled.", 
-                appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "Appointment Cancellation!");
-        }
+        notifyPhysician(physician, String.format("Appointment with %s has been cancelled.", appointment.getPatientName()),
+                "Appointment Cancellation!");
     }
 
     // Add this method to handle new appointments from the controller
     public void onAppointmentCreated(Appointment appointment) {
-        String physicianName = physicianManager.getPhysicianById(appointment.getPhysicianId()).getName();
+        applyAppointmentChange(() -> appointmentTableModel.appointmentCreated(appointment));
+        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
         String message = String.format("New appointment set for %s and %s.", 
-            physicianName,
+            physician.getName(),
             appointment.getPatientName());
         notifyAppointmentChange(message, "New Appointment!");
         
         // Notify the physician about the new appointment
-        Physician physician = physicianManager.getPhysicianById(appointment.getPhysicianId());
-        if (physician != null) {
-            String physicianMessage = String.format("New appointment scheduled with %s.", 
-                appointment.getPatientName());
-            
-            // Create a new notification panel for the physician to store the notification
-            NotificationPanel physicianNotificationPanel = new NotificationPanel(
-                PersistenceFactory.getNotificationPersistence(),
-                physician.getId(),
-                "physician"
-            );
-            physicianNotificationPanel.addNotification(physicianMessage, "New Appointment!");
-        }
+        notifyPhysician(physician, String.format("New appointment scheduled with %s.", appointment.getPatientName()),
+                "New Appointment!");
+    }
+
+    // stored for the physician's session; nothing to show on this side
+    private void notifyPhysician(Physician physician, String message, String type) {
+        NotificationPersistence notifications = PersistenceFactory.getNotificationPersistence();
+        Notification notification = new Notification(message, type, LocalDateTime.now(), physician.getId(),
+                "physician");
+        UiTasks.submit("notify physician", () -> {
+            notifications.addNotification(notification);
+            return null;
+        }, saved -> { });
     }
 
     private JButton createStyledButton(String txt) {
@@ -0,0 +1,96 @@
+package physicianconnect.presentation.util;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Reports EDT stalls. A daemon thread posts a heartbeat to the EDT and, if it
+ * has not run within the threshold, logs how long the EDT has been stuck and
+ * where: the outermost persistence frame on the EDT's stack (the DAO call
+ * that blocked it) and the UI code that made that call. Each stall is logged
+ * once.
+ */
+public final class EdtWatchdog implements AutoCloseable {
+    static final String PERSISTENCE_PACKAGE = "physicianconnect.persistence.";
+
+    private final long thresholdMs;
+    private final Thread thread;
+    private volatile Thread edt;
+    private volatile long pendingSinceNanos = -1;
+    private volatile boolean running = true;
+    private volatile int stallCount;
+
+    private EdtWatchdog(long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+        this.thread = new Thread(this::watch, "edt-watchdog");
+        this.thread.setDaemon(true);
+    }
+
+    public static EdtWatchdog start(long thresholdMs) {
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMs);
+        watchdog.thread.start();
+        return watchdog;
+    }
+
+    public int getStallCount() {
+        return stallCount;
+    }
+
+    private void watch() {
+        long checkEveryMs = Math.max(10, thresholdMs / 4);
+        boolean reported = false;
+        while (running) {
+            long pending = pendingSinceNanos;
+            if (pending < 0) {
+                pendingSinceNanos = System.nanoTime();
+                reported = false;
+                SwingUtilities.invokeLater(() -> {
+                    edt = Thread.currentThread();
+                    pendingSinceNanos = -1;
+                });
+            } else if (!reported) {
+                long stalledMs = (System.nanoTime() - pending) / 1_000_000;
+                if (stalledMs >= thresholdMs) {
+                    reported = true;
+                    stallCount++;
+                    report(stalledMs);
+                }
+            }
+            try {
+                Thread.sleep(checkEveryMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void report(long stalledMs) {
+        Thread target = edt;
+        StackTraceElement[] stack = target == null ? new StackTraceElement[0] : target.getStackTrace();
+        System.err.println("EDT stalled for " + stalledMs + " ms " + describe(stack));
+        for (StackTraceElement frame : stack) {
+            System.err.println("\tat " + frame);
+        }
+    }
+
+    /**
+     * "in DAO call X (called from Y)" for the outermost persistence frame on
+     * the stack, or "outside persistence" if there is none.
+     */
+    static String describe(StackTraceElement[] stack) {
+        // frames run innermost first; scan from the outermost end
+        for (int i = stack.length - 1; i >= 0; i--) {
+            if (stack[i].getClassName().startsWith(PERSISTENCE_PACKAGE)) {
+                String dao = stack[i].getClassName() + "." + stack[i].getMethodName();
+                String caller = i + 1 < stack.length ? stack[i + 1].toString() : "unknown";
+                return "in DAO call " + dao + " (called from " + caller + ")";
+            }
+        }
+        return "outside persistence";
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
@@ -1,6 +1,7 @@
 package physicianconnect.presentation.util;
 
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Money;
 import physicianconnect.objects.Payment;
 import physicianconnect.objects.ServiceItem;
 
@@ -136,15 +137,15 @@ public static void exportInvoice(Component parent, Invoice invoice, String apptD
         pw.print("--------------------------------------------------" + ln);
         pw.print("Services:" + ln);
         for (ServiceItem s : invoice.getServices()) {
-            pw.printf("  * %-18s $%8.2f%s", s.getName(), s.getCost(), ln);
+            pw.printf("  * %-18s $%8s%s", s.getName(), Money.format(s.getCostCents()), ln);
         }
         pw.print("--------------------------------------------------" + ln);
         pw.print("Payments:" + ln);
         if (payments != null && !payments.isEmpty()) {
             for (Payment p : payments) {
-                pw.printf("  * %s: $%8.2f via %s%s",
+                pw.printf("  * %s: $%8s via %s%s",
                     p.getPaidAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
-                    p.getAmount(),
+                    Money.format(p.getAmountCents()),
                     p.getMethod(),
                     ln);
             }
@@ -152,9 +153,9 @@ public static void exportInvoice(Component parent, Invoice invoice, String apptD
             pw.print("  (No payments recorded)" + ln);
         }
         pw.print("--------------------------------------------------" + ln);
-        pw.printf("%-22s $%8.2f%s", "Insurance Adjustment:", invoice.getInsuranceAdjustment(), ln);
-        pw.printf("%-22s $%8.2f%s", "Total:", invoice.getTotalAmount(), ln);
-        pw.printf("%-22s $%8.2f%s", "Balance:", invoice.getBalance(), ln);
+        pw.printf("%-22s $%8s%s", "Insurance Adjustment:", Money.format(invoice.getInsuranceAdjustmentCents()), ln);
+        pw.printf("%-22s $%8s%s", "Total:", Money.format(invoice.getTotalCents()), ln);
+        pw.printf("%-22s $%8s%s", "Balance:", Money.format(invoice.getBalanceCents()), ln);
         pw.printf("%-22s %s%s", "Status:", invoice.getStatus(), ln);
         pw.printf("%-22s %s%s", "Created:",
             invoice.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")), ln);
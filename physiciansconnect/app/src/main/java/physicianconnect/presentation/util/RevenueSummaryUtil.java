@@ -1,6 +1,7 @@
 package physicianconnect.presentation.util;
 
-import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Money;
+import physicianconnect.objects.RevenueSummary;
 import physicianconnect.presentation.config.UIConfig;
 import physicianconnect.presentation.config.UITheme;
 
@@ -30,10 +31,10 @@ public class RevenueSummaryUtil {
         }
     }
 
-    public static void showRevenueSummary(Component parent, List<Invoice> invoices) {
-        double totalBilled = invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
-        double totalPaid = invoices.stream().mapToDouble(inv -> inv.getTotalAmount() - inv.getBalance()).sum();
-        double outstanding = invoices.stream().mapToDouble(Invoice::getBalance).sum();
+    public static void showRevenueSummary(Component parent, RevenueSummary revenue) {
+        long totalBilled = revenue.getTotalBilledCents();
+        long totalPaid = revenue.getTotalPaidCents();
+        long outstanding = revenue.getOutstandingCents();
 
         // Main panel with border and title
         JPanel mainPanel = new JPanel(new BorderLayout(16, 16));
@@ -79,7 +80,7 @@ public class RevenueSummaryUtil {
                 int height = getHeight() - 80; // Increased space for labels
                 int x = 20, y = 20;
                 int barWidth = width / 3 - 20;
-                double max = Math.max(Math.abs(totalBilled), Math.max(Math.abs(totalPaid), Math.abs(outstanding)));
+                long max = Math.max(Math.abs(totalBilled), Math.max(Math.abs(totalPaid), Math.abs(outstanding)));
                 int zeroY = y + height / 2;
 
                 // Draw baseline with improved styling
@@ -88,14 +89,14 @@ public class RevenueSummaryUtil {
                 g2d.drawLine(x - 10, zeroY, x + width, zeroY);
 
                 // Drawing bars and labels
-                double[] values = {totalBilled, totalPaid, outstanding };
+                long[] values = {totalBilled, totalPaid, outstanding };
                 Color[] colors = {UITheme.PRIMARY_COLOR, new Color(0, 128, 0), Color.RED };
                 String[] labels = {UIConfig.TOTAL_BILLED_LABEL, UIConfig.TOTAL_PAID_LABEL,
                         UIConfig.OUTSTANDING_LABEL };
 
                 // Draw bars and labels
                 for (int i = 0; i < 3; i++) {
-                    int barHeight = (int) ((height / 2) * (Math.abs(values[i]) / (max == 0 ? 1 : max)));
+                    int barHeight = (int) ((height / 2) * ((double) Math.abs(values[i]) / (max == 0 ? 1 : max)));
                     int barX = x + i * (barWidth + 20);
 
                     // Drawing bar with rounded corners (for better visualization!!!!!)
@@ -115,7 +116,7 @@ public class RevenueSummaryUtil {
                     g2d.setFont(UITheme.LABEL_FONT);
 
                     // Draw value label (with exactly 2 decimal places)
-                    String valueText = String.format("$%.2f", Math.abs(values[i]));
+                    String valueText = Money.formatDollars(Math.abs(values[i]));
                     
                     // Getting font metrics to calculate string width
                     FontMetrics fm = g2d.getFontMetrics();
@@ -151,9 +152,8 @@ public class RevenueSummaryUtil {
         return label;
     }
 
-    private static JLabel makeSummaryValue(double value, Color color) {
-        JLabel label = new JLabel((value < 0 ? "-$" : "$") + 
-                        String.format("%.2f", Math.abs(value)));
+    private static JLabel makeSummaryValue(long cents, Color color) {
+        JLabel label = new JLabel(Money.formatDollars(cents));
 
         label.setFont(UITheme.HEADER_FONT);
         label.setForeground(color);
@@ -163,10 +163,10 @@ public class RevenueSummaryUtil {
     }
 
     // Add this method to RevenueSummaryUtil
-    public static JPanel createSummaryPanel(List<Invoice> invoices) {
-        double totalBilled = invoices.stream().mapToDouble(Invoice::getTotalAmount).sum();
-        double totalPaid = invoices.stream().mapToDouble(inv -> inv.getTotalAmount() - inv.getBalance()).sum();
-        double outstanding = invoices.stream().mapToDouble(Invoice::getBalance).sum();
+    public static JPanel createSummaryPanel(RevenueSummary revenue) {
+        long totalBilled = revenue.getTotalBilledCents();
+        long totalPaid = revenue.getTotalPaidCents();
+        long outstanding = revenue.getOutstandingCents();
 
         JPanel summaryPanel = new JPanel(new GridLayout(3, 2, 8, 4));
         summaryPanel.setBackground(UITheme.BACKGROUND_COLOR);
@@ -0,0 +1,121 @@
+package physicianconnect.presentation.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs persistence work off the Swing EDT. Work is submitted from the EDT,
+ * runs on a virtual thread, and its result (or failure) is handed back on
+ * the EDT, SwingWorker style. A {@link Lane} keeps one load per view: starting
+ * a new load cancels the one it supersedes, so a slow stale result can never
+ * overwrite a newer one.
+ *
+ * Callers that are not on the EDT have no UI to keep responsive, so their
+ * work and completion simply run inline on the calling thread.
+ */
+public final class UiTasks {
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ui-task-", 0).factory());
+
+    private UiTasks() {
+    }
+
+    /** Handle on submitted work. Cancelling drops the result; running queries are not interrupted. */
+    public static final class Task {
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Future<?> future;
+
+        public void cancel() {
+            cancelled = true;
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        public boolean isCancelled() { return cancelled; }
+
+        public boolean isDone() { return done; }
+    }
+
+    /** At most one live task at a time; each submit cancels the previous one. */
+    public static final class Lane {
+        private Task current;
+
+        public synchronized <T> Task submit(String label, Callable<T> work, Consumer<? super T> onDone) {
+            return submit(label, work, onDone, UiTasks::logFailure);
+        }
+
+        public synchronized <T> Task submit(String label, Callable<T> work, Consumer<? super T> onDone,
+                                            Consumer<? super Throwable> onError) {
+            if (current != null) {
+                current.cancel();
+            }
+            current = UiTasks.submit(label, work, onDone, onError);
+            return current;
+        }
+
+        public synchronized void cancel() {
+            if (current != null) {
+                current.cancel();
+                current = null;
+            }
+        }
+    }
+
+    public static <T> Task submit(String label, Callable<T> work, Consumer<? super T> onDone) {
+        return submit(label, work, onDone, UiTasks::logFailure);
+    }
+
+    /**
+     * Runs work in the background and passes its result to onDone on the
+     * EDT, or its exception to onError. Neither runs if the task was
+     * cancelled first.
+     */
+    public static <T> Task submit(String label, Callable<T> work, Consumer<? super T> onDone,
+                                  Consumer<? super Throwable> onError) {
+        Task task = new Task();
+        if (!SwingUtilities.isEventDispatchThread()) {
+            complete(task, work, onDone, onError, Runnable::run);
+            return task;
+        }
+        task.future = EXECUTOR.submit(() -> {
+            Thread.currentThread().setName("ui-task: " + label);
+            complete(task, work, onDone, onError, SwingUtilities::invokeLater);
+        });
+        return task;
+    }
+
+    private static <T> void complete(Task task, Callable<T> work, Consumer<? super T> onDone,
+                                     Consumer<? super Throwable> onError, Executor ui) {
+        T result;
+        try {
+            result = work.call();
+        } catch (Exception e) {
+            ui.execute(() -> {
+                task.done = true;
+                if (!task.cancelled) {
+                    onError.accept(e);
+                }
+            });
+            return;
+        }
+        ui.execute(() -> {
+            task.done = true;
+            if (!task.cancelled) {
+                onDone.accept(result);
+            }
+        });
+    }
+
+    private static void logFailure(Throwable e) {
+        e.printStackTrace();
+    }
+}
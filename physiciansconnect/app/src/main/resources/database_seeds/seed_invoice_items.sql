@@ -0,0 +1,4 @@
+INSERT OR IGNORE INTO invoice_items (invoice_id, position, name, cost_cents) VALUES
+('inv-1', 0, 'Lab', 10000),
+('inv-2', 0, 'Consult', 10000),
+('inv-3', 0, 'XRay', 7500);
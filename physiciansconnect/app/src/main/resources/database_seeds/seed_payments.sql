@@ -1,3 +1,3 @@
-INSERT OR IGNORE INTO payments (id, invoice_id, amount, method, paid_at) VALUES
-('pay-1', 'inv-1', 100, 'Cash', '2025-06-01T11:00:00'),     
-('pay-2', 'inv-2', 40, 'Card', '2025-06-02T17:00:00');       
\ No newline at end of file
+INSERT OR IGNORE INTO payments (id, invoice_id, amount_cents, method, paid_at) VALUES
+('pay-1', 'inv-1', 10000, 'Cash', '2025-06-01T11:00:00'),     
+('pay-2', 'inv-2', 4000, 'Card', '2025-06-02T17:00:00');       
\ No newline at end of file
@@ -0,0 +1,63 @@
+package physicianconnect.events;
+
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+
+    @Test
+    void testPublishReachesSubscribersOfThatType() {
+        EventBus bus = new EventBus();
+        List<Object> received = new ArrayList<>();
+        bus.subscribe(MessageSent.class, received::add);
+        bus.subscribe(ExternalChange.class, received::add);
+
+        MessageSent event = new MessageSent(new Message("s", "physician", "r", "receptionist", "hi"));
+        bus.publish(event);
+
+        assertEquals(List.of(event), received);
+    }
+
+    @Test
+    void testClosedSubscriptionStopsDelivery() {
+        EventBus bus = new EventBus();
+        List<Object> received = new ArrayList<>();
+        EventBus.Subscription subscription = bus.subscribe(ExternalChange.class, received::add);
+        assertEquals(1, bus.getSubscriberCount(ExternalChange.class));
+
+        subscription.close();
+        bus.publish(new ExternalChange(2));
+
+        assertTrue(received.isEmpty());
+        assertEquals(0, bus.getSubscriberCount(ExternalChange.class));
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopOthers() {
+        EventBus bus = new EventBus();
+        List<Object> received = new ArrayList<>();
+        bus.subscribe(ExternalChange.class, e -> { throw new IllegalStateException("boom"); });
+        bus.subscribe(ExternalChange.class, received::add);
+
+        assertDoesNotThrow(() -> bus.publish(new ExternalChange(3)));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testPublishWithoutSubscribersIsNoOp() {
+        assertDoesNotThrow(() -> new EventBus().publish(new ExternalChange(1)));
+    }
+
+    @Test
+    void testMessageSentMatchesReceiver() {
+        MessageSent event = new MessageSent(new Message("s", "physician", "r", "receptionist", "hi"));
+        assertTrue(event.isFor("r", "receptionist"));
+        assertFalse(event.isFor("r", "physician"));
+        assertFalse(event.isFor("s", "physician"));
+    }
+}
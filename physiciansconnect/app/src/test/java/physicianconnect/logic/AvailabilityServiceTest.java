@@ -58,4 +58,62 @@ class AvailabilityServiceTest {
             assertNotNull(week.get(weekStart.plusDays(i)));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetWeeklyAvailabilityRunsOneQuery() throws Exception {
+        LocalDate weekStart = LocalDate.of(2025, 6, 9);
+        when(appointmentDb.getAppointmentsForPhysicianInRange(
+                eq("doc1"),
+                eq(weekStart.atTime(8, 0)),
+                eq(weekStart.plusDays(6).atTime(17, 0))
+        )).thenReturn(List.of(
+                new Appointment("doc1", "Alice", weekStart.atTime(9, 30)),
+                new Appointment("doc1", "Bob", weekStart.plusDays(3).atTime(16, 30)),
+                new Appointment("doc1", "Late", weekStart.plusDays(1).atTime(18, 0)),
+                new Appointment("doc1", "Odd", weekStart.plusDays(2).atTime(10, 15))));
+
+        Map<LocalDate, List<TimeSlot>> week = service.getWeeklyAvailability("doc1", weekStart);
+
+        verify(appointmentDb, times(1)).getAppointmentsForPhysicianInRange(any(), any(), any());
+        TimeSlot alice = week.get(weekStart).get(3);
+        assertEquals(weekStart.atTime(9, 30), alice.getStart());
+        assertTrue(alice.isBooked());
+        assertEquals("Alice", alice.getPatientName());
+        assertTrue(week.get(weekStart.plusDays(3)).get(17).isBooked());
+        long booked = week.values().stream().flatMap(List::stream).filter(TimeSlot::isBooked).count();
+        assertEquals(2, booked);
+    }
+
+    @Test
+    void testGetDailyAvailabilityForManyPhysiciansGroupsOneQuery() throws Exception {
+        LocalDate date = LocalDate.of(2025, 6, 10);
+        when(appointmentDb.getAppointmentsForPhysiciansInRange(any(), eq(date.atTime(8, 0)), eq(date.atTime(17, 0))))
+                .thenReturn(List.of(
+                        new Appointment("doc2", "Bob", date.atTime(8, 0)),
+                        new Appointment("doc3", "Carol", date.atTime(12, 0))));
+
+        Map<String, List<TimeSlot>> grids = service.getDailyAvailability(List.of("doc1", "doc2", "doc3"), date);
+
+        assertEquals(List.of("doc1", "doc2", "doc3"), List.copyOf(grids.keySet()));
+        assertTrue(grids.get("doc1").stream().noneMatch(TimeSlot::isBooked));
+        assertEquals("Bob", grids.get("doc2").get(0).getPatientName());
+        assertTrue(grids.get("doc3").get(8).isBooked());
+        verify(appointmentDb, times(1)).getAppointmentsForPhysiciansInRange(any(), any(), any());
+        verify(appointmentDb, never()).getAppointmentsForPhysicianInRange(any(), any(), any());
+    }
+
+    @Test
+    void testGetOccupancyUsesOneGroupedQuery() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 7, 1);
+        when(appointmentDb.getAppointmentsForPhysiciansInRange(any(), eq(from.atStartOfDay()), eq(to.atStartOfDay())))
+                .thenReturn(List.of(new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 15, 8, 0))));
+
+        OccupancyIndex index = service.getOccupancy(List.of("doc1", "doc2"), from, to);
+
+        assertEquals(LocalDateTime.of(2025, 6, 15, 8, 30), index.firstFree("doc1", LocalDateTime.of(2025, 6, 15, 8, 0)));
+        assertTrue(index.isFree("doc2", LocalDateTime.of(2025, 6, 15, 8, 0)));
+        verify(appointmentDb, times(1)).getAppointmentsForPhysiciansInRange(any(), any(), any());
+        assertTrue(service.getOccupancy(List.of(), from, to).getPhysicianIds().isEmpty());
+    }
+}
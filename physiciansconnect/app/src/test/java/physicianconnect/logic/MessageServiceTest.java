@@ -2,9 +2,13 @@ package physicianconnect.logic;
 
 import org.junit.jupiter.api.*;
 import org.mockito.*;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.MessageSent;
 import physicianconnect.objects.Message;
 import physicianconnect.persistence.interfaces.MessageRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,6 +39,33 @@ class MessageServiceTest {
         verify(messageRepository).save(any());
     }
 
+    @Test
+    void testSendMessagePublishesSavedMessage() {
+        EventBus bus = new EventBus();
+        List<MessageSent> events = new ArrayList<>();
+        bus.subscribe(MessageSent.class, events::add);
+        Message saved = new Message("sid", "stype", "rid", "rtype", "hello");
+        when(messageRepository.save(any())).thenReturn(saved);
+
+        new MessageService(messageRepository, bus).sendMessage("sid", "stype", "rid", "rtype", "hello");
+
+        assertEquals(1, events.size());
+        assertSame(saved, events.get(0).message());
+    }
+
+    @Test
+    void testSendMessageDoesNotPublishWhenSaveFails() {
+        EventBus bus = new EventBus();
+        List<MessageSent> events = new ArrayList<>();
+        bus.subscribe(MessageSent.class, events::add);
+        when(messageRepository.save(any())).thenThrow(new RuntimeException("db down"));
+
+        MessageService publishing = new MessageService(messageRepository, bus);
+        assertThrows(RuntimeException.class,
+                () -> publishing.sendMessage("sid", "stype", "rid", "rtype", "hello"));
+        assertTrue(events.isEmpty());
+    }
+
     @Test
     void testGetMessagesForUserCombinesAndSorts() {
         Message m1 = mock(Message.class);
@@ -74,4 +105,31 @@ class MessageServiceTest {
         service.markMessageAsRead(id);
         verify(messageRepository).markAsRead(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetConversationDelegates() {
+        LocalDateTime since = LocalDateTime.of(2025, 6, 1, 9, 0);
+        when(messageRepository.findConversation("uid", "utype", "oid", "otype", since, 20)).thenReturn(List.of());
+        List<Message> result = service.getConversation("uid", "utype", "oid", "otype", since, 20);
+        assertNotNull(result);
+        verify(messageRepository).findConversation("uid", "utype", "oid", "otype", since, 20);
+    }
+
+    @Test
+    void testGetConversationBeforeDelegates() {
+        LocalDateTime before = LocalDateTime.of(2025, 6, 1, 9, 0);
+        when(messageRepository.findConversationBefore("uid", "utype", "oid", "otype", before, 20))
+                .thenReturn(List.of());
+        List<Message> result = service.getConversationBefore("uid", "utype", "oid", "otype", before, 20);
+        assertNotNull(result);
+        verify(messageRepository).findConversationBefore("uid", "utype", "oid", "otype", before, 20);
+    }
+
+    @Test
+    void testMarkConversationReadDelegates() {
+        LocalDateTime upTo = LocalDateTime.of(2025, 6, 1, 9, 0);
+        when(messageRepository.markConversationRead("uid", "utype", "oid", "otype", upTo)).thenReturn(2);
+        assertEquals(2, service.markConversationRead("uid", "utype", "oid", "otype", upTo));
+        verify(messageRepository).markConversationRead("uid", "utype", "oid", "otype", upTo);
+    }
+}
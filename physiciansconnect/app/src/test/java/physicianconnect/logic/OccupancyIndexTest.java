@@ -0,0 +1,73 @@
+package physicianconnect.logic;
+
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyIndexTest {
+
+    private final LocalDate from = LocalDate.of(2025, 6, 9);
+    private final LocalDate to = from.plusDays(30);
+
+    @Test
+    void testOnlyBookedDaysAreStored() {
+        OccupancyIndex index = new OccupancyIndex(List.of("doc1", "doc2"), from, to, List.of(
+                new Appointment("doc1", "Alice", from.atTime(9, 0)),
+                new Appointment("doc3", "Not indexed", from.atTime(9, 0)),
+                new Appointment("doc1", "Too late", to.atTime(9, 0))));
+
+        assertFalse(index.isFree("doc1", from.atTime(9, 0)));
+        assertTrue(index.isFree("doc2", from.atTime(9, 0)));
+        assertFalse(index.isFree("doc1", from.atTime(9, 10)));
+        assertEquals("Alice", index.getDay("doc1", from).getPatientName(2));
+        assertEquals(0L, index.bookedMask("doc1", from.plusDays(1)));
+        assertEquals(0L, index.bookedMask("doc3", from));
+    }
+
+    @Test
+    void testFirstFreeSkipsFullDays() {
+        List<Appointment> appts = new ArrayList<>();
+        for (int day = 0; day < 2; day++) {
+            for (int slot = 0; slot < TimeSlot.SLOTS_PER_DAY; slot++) {
+                appts.add(new Appointment("doc1", "P" + slot,
+                        from.plusDays(day).atTime(TimeSlot.DAY_START).plusMinutes(30L * slot)));
+            }
+        }
+        appts.add(new Appointment("doc1", "Q", from.plusDays(2).atTime(8, 0)));
+        OccupancyIndex index = new OccupancyIndex(List.of("doc1"), from, to, appts);
+
+        assertEquals(from.plusDays(2).atTime(8, 30), index.firstFree("doc1", from.atTime(8, 0)));
+        assertEquals(from.plusDays(2).atTime(11, 0), index.firstFree("doc1", from.plusDays(2).atTime(10, 40)));
+        assertEquals(from.plusDays(3).atTime(8, 0), index.firstFree("doc1", from.plusDays(2).atTime(16, 45)));
+        assertEquals(from.atTime(8, 0), index.firstFree("doc2", from.minusDays(3).atTime(12, 0)));
+        assertNull(index.firstFree("doc1", to.atTime(8, 0)));
+    }
+
+    @Test
+    void testFirstSlotNotBefore() {
+        LocalDate day = from;
+        assertEquals(0, OccupancyIndex.firstSlotNotBefore(day.atTime(6, 0)));
+        assertEquals(0, OccupancyIndex.firstSlotNotBefore(day.atTime(8, 0)));
+        assertEquals(1, OccupancyIndex.firstSlotNotBefore(day.atTime(8, 1)));
+        assertEquals(2, OccupancyIndex.firstSlotNotBefore(day.atTime(9, 0)));
+        assertEquals(TimeSlot.SLOTS_PER_DAY, OccupancyIndex.firstSlotNotBefore(day.atTime(17, 0)));
+        assertEquals(1, OccupancyIndex.firstSlotNotBefore(LocalDateTime.of(day, java.time.LocalTime.of(8, 0, 0, 1))));
+        assertEquals(0, OccupancyIndex.firstSlotNotBefore(LocalDateTime.of(day, java.time.LocalTime.of(7, 45, 0, 123))));
+        assertEquals(0, OccupancyIndex.firstSlotNotBefore(
+                LocalDateTime.of(day, java.time.LocalTime.of(7, 59, 59, 500_000_000))));
+    }
+
+    @Test
+    void testFirstFreeJustBeforeDayStartWithNanos() {
+        OccupancyIndex index = new OccupancyIndex(List.of("d"), from, to, List.of());
+        assertEquals(from.atTime(8, 0),
+                index.firstFree("d", LocalDateTime.of(from, java.time.LocalTime.of(7, 45, 0, 123))));
+    }
+}
@@ -0,0 +1,99 @@
+package physicianconnect.logic;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.logic.manager.PhysicianManager;
+import physicianconnect.objects.Appointment;
+import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
+import physicianconnect.persistence.stub.AppointmentPersistenceStub;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlotSearchServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 9);
+
+    private AppointmentPersistenceStub appointments;
+    private PhysicianManager physicianManager;
+    private SlotSearchService search;
+
+    @BeforeEach
+    void setUp() {
+        appointments = new AppointmentPersistenceStub(false);
+        physicianManager = mock(PhysicianManager.class);
+        when(physicianManager.getAllPhysicians()).thenReturn(List.of(
+                physician("doc1", "Dr. Adams", "Cardiology"),
+                physician("doc2", "Dr. Baker", "cardiology "),
+                physician("doc3", "Dr. Cruz", "Dermatology")));
+        // a real clock is rarely on a whole second, so this one isn't either
+        search = searchAt(MONDAY.minusDays(7).atStartOfDay().plusNanos(123));
+    }
+
+    private SlotSearchService searchAt(LocalDateTime now) {
+        Clock clock = Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        return new SlotSearchService(physicianManager, new AvailabilityService(appointments), clock);
+    }
+
+    private static Physician physician(String id, String name, String specialty) {
+        return new Physician(id, name, id + "@clinic.org", "pw", specialty, "", true, true, true, "", "");
+    }
+
+    @Test
+    void testFirstFreeSlotsAcrossMatchingPhysicians() {
+        // doc1 is booked all of Monday morning until 10:00; doc2 has 08:00 taken
+        for (int slot = 0; slot < 4; slot++) {
+            appointments.addAppointment(new Appointment("doc1", "P" + slot, MONDAY.atTime(8, 0).plusMinutes(30L * slot)));
+        }
+        appointments.addAppointment(new Appointment("doc2", "Q", MONDAY.atTime(8, 0)));
+
+        List<SlotSearchService.FreeSlot> found = search.findFreeSlots("CARDIOLOGY", MONDAY, MONDAY.plusDays(7), 3);
+
+        assertEquals(3, found.size());
+        assertEquals(new SlotSearchService.FreeSlot("doc2", "Dr. Baker", MONDAY.atTime(8, 30)), found.get(0));
+        assertEquals(new SlotSearchService.FreeSlot("doc2", "Dr. Baker", MONDAY.atTime(9, 0)), found.get(1));
+        assertEquals(MONDAY.atTime(9, 30), found.get(2).start());
+        assertTrue(found.stream().noneMatch(s -> s.physicianId().equals("doc3")));
+    }
+
+    @Test
+    void testNowJustBeforeDayStartStillFindsFirstSlot() {
+        SlotSearchService early = searchAt(MONDAY.atTime(7, 45).plusNanos(123));
+        List<SlotSearchService.FreeSlot> found = early.findFreeSlots("Dermatology", MONDAY, MONDAY.plusDays(1), 1);
+        assertEquals(MONDAY.atTime(8, 0), found.get(0).start());
+    }
+
+    @Test
+    void testTiesAreOrderedByPhysicianName() {
+        List<SlotSearchService.FreeSlot> found = search.findFreeSlots(null, MONDAY, MONDAY.plusDays(1), 3);
+        assertEquals(List.of("doc1", "doc2", "doc3"), found.stream().map(SlotSearchService.FreeSlot::physicianId).toList());
+        assertTrue(found.stream().allMatch(s -> s.start().equals(MONDAY.atTime(TimeSlot.DAY_START))));
+    }
+
+    @Test
+    void testFullyBookedRangeAndPastSlots() {
+        for (int slot = 0; slot < TimeSlot.SLOTS_PER_DAY; slot++) {
+            appointments.addAppointment(new Appointment("doc3", "P" + slot,
+                    MONDAY.atTime(TimeSlot.DAY_START).plusMinutes(30L * slot)));
+        }
+        assertTrue(search.findFreeSlots("Dermatology", MONDAY, MONDAY.plusDays(1), 5).isEmpty());
+        assertEquals(MONDAY.plusDays(1).atTime(8, 0),
+                search.findFreeSlots("Dermatology", MONDAY, MONDAY.plusDays(2), 1).get(0).start());
+
+        // the clock sits a week before MONDAY, so an earlier range yields nothing
+        assertTrue(search.findFreeSlots(null, MONDAY.minusDays(30), MONDAY.minusDays(7), 1).isEmpty());
+        assertTrue(search.findFreeSlots("Podiatry", MONDAY, MONDAY.plusDays(7), 1).isEmpty());
+    }
+
+    @Test
+    void testRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> search.findFreeSlots(null, MONDAY, MONDAY.plusDays(1), 0));
+        assertThrows(IllegalArgumentException.class, () -> search.findFreeSlots(null, MONDAY, MONDAY.minusDays(1), 1));
+    }
+}
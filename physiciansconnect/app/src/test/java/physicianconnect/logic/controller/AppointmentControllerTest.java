@@ -82,4 +82,11 @@ class AppointmentControllerTest {
         List<Appointment> result = controller.getAllAppointments();
         assertEquals(1, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAppointmentById() {
+        Appointment appt = new Appointment(9, "doc1", "Alice", LocalDateTime.now().plusDays(1), "");
+        when(mockManager.getAppointmentById(9)).thenReturn(appt);
+        assertSame(appt, controller.getAppointmentById(9));
+    }
+}
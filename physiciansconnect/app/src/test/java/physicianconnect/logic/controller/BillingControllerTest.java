@@ -4,12 +4,20 @@ import org.junit.jupiter.api.*;
 import org.mockito.*;
 import physicianconnect.logic.manager.InvoiceManager;
 import physicianconnect.logic.manager.PaymentManager;
+import physicianconnect.logic.manager.RevenueRollupManager;
+import physicianconnect.logic.exceptions.InvalidBillingException;
 import physicianconnect.logic.validation.BillingValidator;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.PaymentPosting.Outcome;
+import physicianconnect.objects.RevenueSummary;
 import physicianconnect.objects.ServiceItem;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,18 +30,20 @@ class BillingControllerTest {
     private InvoiceManager invoiceManager;
     @Mock
     private PaymentManager paymentManager;
+    @Mock
+    private RevenueRollupManager revenueRollups;
 
     private BillingController controller;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        controller = new BillingController(invoiceManager, paymentManager);
+        controller = new BillingController(invoiceManager, paymentManager, revenueRollups);
     }
 
     @Test
     void testCreateInvoiceDelegates() {
-        ServiceItem service = new ServiceItem("Consult", 100);
+        ServiceItem service = new ServiceItem("Consult", 100_00);
         Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(service), 0);
         doNothing().when(invoiceManager).addInvoice(any());
         
@@ -43,19 +53,63 @@ class BillingControllerTest {
         assertEquals("Alice", result.getPatientName());
     }
 
+    // answers postPayments as the store would for an invoice with balance left on it
+    private void postAgainst(long balanceCents) {
+        when(paymentManager.postPayments(any())).thenAnswer(call -> {
+            List<Payment> payments = call.getArgument(0);
+            long left = balanceCents;
+            List<PaymentPosting> postings = new ArrayList<>();
+            for (Payment p : payments) {
+                if (p.getAmountCents() > left) {
+                    postings.add(PaymentPosting.rejected(p, Outcome.EXCEEDS_BALANCE));
+                    continue;
+                }
+                postings.add(PaymentPosting.posted(p, LocalDateTime.of(2025, 6, 1, 9, 0), balanceCents,
+                        left == balanceCents ? "Sent" : "Partial", left, PaymentPosting.statusFor(left - p.getAmountCents()),
+                        left - p.getAmountCents()));
+                left -= p.getAmountCents();
+            }
+            return postings;
+        });
+    }
+
     @Test
-    void testRecordPaymentUpdatesInvoice() {
-        ServiceItem service = new ServiceItem("Consult", 100);
-        Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(service), 0);
-        invoice.setBalance(100);
-        when(invoiceManager.getInvoiceById("id")).thenReturn(invoice);
+    @SuppressWarnings("unchecked")
+    void testRecordPaymentPostsAndReturnsBalance() {
+        postAgainst(100_00);
+
+        assertEquals(0, controller.recordPayment("id", 100_00, "Cash"));
+
+        ArgumentCaptor<List<Payment>> posted = ArgumentCaptor.forClass(List.class);
+        verify(paymentManager).postPayments(posted.capture());
+        assertEquals("id", posted.getValue().get(0).getInvoiceId());
+        assertEquals(100_00, posted.getValue().get(0).getAmountCents());
+        verify(paymentManager, never()).addPayment(any());
+        verify(invoiceManager, never()).updateInvoice(any());
+    }
 
-        controller.recordPayment("id", 100, "Cash");
+    @Test
+    void testRejectedPaymentThrows() {
+        postAgainst(50_00);
 
-        verify(paymentManager).addPayment(any());
-        verify(invoiceManager).updateInvoice(invoice);
-        assertEquals(0, invoice.getBalance());
-        assertEquals("Paid", invoice.getStatus());
+        InvalidBillingException ex = assertThrows(InvalidBillingException.class,
+                () -> controller.recordPayment("id", 80_00, "Cash"));
+        assertEquals("Payment exceeds outstanding balance.", ex.getMessage());
+    }
+
+    @Test
+    void testRecordPaymentsReportsEachLine() {
+        postAgainst(100_00);
+
+        List<PaymentPosting> postings = controller.recordPayments(List.of(
+                new BillingController.PaymentLine("id", 60_00, "Insurance"),
+                new BillingController.PaymentLine("id", 60_00, "Insurance"),
+                new BillingController.PaymentLine("id", 40_00, "Insurance")));
+
+        assertEquals(List.of(Outcome.POSTED, Outcome.EXCEEDS_BALANCE, Outcome.POSTED),
+                postings.stream().map(PaymentPosting::outcome).toList());
+        assertEquals("Paid", postings.get(2).newStatus());
+        verify(paymentManager, times(1)).postPayments(any());
     }
 
     @Test
@@ -84,7 +138,7 @@ class BillingControllerTest {
 
     @Test
     void testGetInvoiceByIdDelegates() {
-        Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice invoice = new Invoice("id", "appt1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         when(invoiceManager.getInvoiceById("id")).thenReturn(invoice);
         Invoice result = controller.getInvoiceById("id");
         assertEquals(invoice, result);
@@ -96,4 +150,23 @@ class BillingControllerTest {
         controller.deleteInvoice("id");
         verify(invoiceManager).deleteInvoice("id");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetRevenueByServiceUsesMonthBounds() {
+        when(invoiceManager.getRevenueByService(any(), any())).thenReturn(Map.of("Consult", 200_00L));
+
+        Map<String, Long> result = controller.getRevenueByService(2024, 12);
+
+        verify(invoiceManager).getRevenueByService(LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertEquals(200_00L, result.get("Consult"));
+    }
+
+    @Test
+    void testRevenueSummaryComesFromRollups() {
+        RevenueSummary summary = new RevenueSummary(3, 300, 100);
+        when(revenueRollups.getSummary(null, null)).thenReturn(summary);
+
+        assertSame(summary, controller.getRevenueSummary());
+        verify(invoiceManager, never()).getAllInvoices();
+    }
+}
@@ -6,6 +6,7 @@ import physicianconnect.logic.MessageService;
 import physicianconnect.logic.exceptions.InvalidMessageException;
 import physicianconnect.objects.Message;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -126,4 +127,29 @@ class MessageControllerTest {
         assertEquals(3, count);
         verify(messageService).getUnreadMessageCount("uid", "utype");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetConversationDelegates() {
+        when(messageService.getConversation("uid", "utype", "oid", "otype", null, 20)).thenReturn(List.of());
+        List<Message> result = controller.getConversation("uid", "utype", "oid", "otype", null, 20);
+        assertNotNull(result);
+        verify(messageService).getConversation("uid", "utype", "oid", "otype", null, 20);
+    }
+
+    @Test
+    void testGetConversationBeforeDelegates() {
+        LocalDateTime before = LocalDateTime.of(2025, 6, 1, 9, 0);
+        when(messageService.getConversationBefore("uid", "utype", "oid", "otype", before, 20)).thenReturn(List.of());
+        List<Message> result = controller.getConversationBefore("uid", "utype", "oid", "otype", before, 20);
+        assertNotNull(result);
+        verify(messageService).getConversationBefore("uid", "utype", "oid", "otype", before, 20);
+    }
+
+    @Test
+    void testMarkConversationReadDelegates() {
+        LocalDateTime upTo = LocalDateTime.of(2025, 6, 1, 9, 0);
+        when(messageService.markConversationRead("uid", "utype", "oid", "otype", upTo)).thenReturn(4);
+        assertEquals(4, controller.markConversationRead("uid", "utype", "oid", "otype", upTo));
+        verify(messageService).markConversationRead("uid", "utype", "oid", "otype", upTo);
+    }
+}
@@ -29,16 +29,17 @@ class AppointmentManagerTest {
     @Test
     void testAddAppointmentDelegates() {
         Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(1));
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of());
+        when(mockPersistence.addAppointmentIfSlotFree(appt)).thenReturn(true);
         manager.addAppointment(appt);
-        verify(mockPersistence).addAppointment(appt);
+        verify(mockPersistence).addAppointmentIfSlotFree(appt);
+        verify(mockPersistence, never()).getAppointmentsForPhysician(any());
     }
 
     @Test
     void testAddAppointmentThrowsIfSlotTaken() {
         LocalDateTime slot = LocalDateTime.now().plusDays(1);
         Appointment appt = new Appointment("doc1", "Alice", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.addAppointmentIfSlotFree(appt)).thenReturn(false);
         assertThrows(InvalidAppointmentException.class, () -> manager.addAppointment(appt));
     }
 
@@ -46,7 +47,7 @@ class AppointmentManagerTest {
     void testUpdateAppointmentDelegates() {
         LocalDateTime slot = LocalDateTime.now().plusDays(2);
         Appointment appt = new Appointment("doc1", "Bob", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.isSlotTakenByOther("doc1", slot, "Bob")).thenReturn(false);
         manager.updateAppointment(appt);
         verify(mockPersistence).updateAppointment(appt);
     }
@@ -55,8 +56,7 @@ class AppointmentManagerTest {
     void testUpdateAppointmentThrowsIfSlotTaken() {
         LocalDateTime slot = LocalDateTime.now().plusDays(2);
         Appointment appt = new Appointment("doc1", "Bob", slot);
-        Appointment other = new Appointment("doc1", "Other", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(other));
+        when(mockPersistence.isSlotTakenByOther("doc1", slot, "Bob")).thenReturn(true);
         assertThrows(InvalidAppointmentException.class, () -> manager.updateAppointment(appt));
     }
 
@@ -85,8 +85,7 @@ class AppointmentManagerTest {
     @Test
     void testIsSlotAvailable() {
         LocalDateTime slot = LocalDateTime.now().plusDays(1);
-        Appointment appt = new Appointment("doc1", "Alice", slot);
-        when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+        when(mockPersistence.isSlotTaken("doc1", slot)).thenReturn(true);
         assertFalse(manager.isSlotAvailable("doc1", slot));
         assertTrue(manager.isSlotAvailable("doc1", slot.plusHours(1)));
     }
@@ -95,8 +94,9 @@ class AppointmentManagerTest {
 void testIsSlotAvailableForUpdateSameRecordSkips() {
     LocalDateTime slot = LocalDateTime.now().plusDays(1);
     Appointment appt = new Appointment("doc1", "Alice", slot);
-    // List contains the same appointment (should skip and return true)
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(appt));
+    // The slot is only held by the appointment itself (should skip and return true)
+    when(mockPersistence.isSlotTaken("doc1", slot)).thenReturn(true);
+    when(mockPersistence.isSlotTakenByOther("doc1", slot, "Alice")).thenReturn(false);
     assertTrue(manager.isSlotAvailableForUpdate("doc1", slot, appt));
 }
 
@@ -104,8 +104,7 @@ void testIsSlotAvailableForUpdateSameRecordSkips() {
 void testIsSlotAvailableForUpdateSlotTaken() {
     LocalDateTime slot = LocalDateTime.now().plusDays(1);
     Appointment appt = new Appointment("doc1", "Alice", slot.plusHours(1));
-    Appointment other = new Appointment("doc1", "Other", slot);
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of(other));
+    when(mockPersistence.isSlotTaken("doc1", slot)).thenReturn(true);
     // Should return false because slot is taken by "other"
     assertFalse(manager.isSlotAvailableForUpdate("doc1", slot, appt));
 }
@@ -126,7 +125,7 @@ void testObserverPatternAddRemoveNotify() {
     manager.addChangeListener(listener);
     // Trigger notifyListeners via addAppointment
     Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.now().plusDays(2));
-    when(mockPersistence.getAppointmentsForPhysician("doc1")).thenReturn(List.of());
+    when(mockPersistence.addAppointmentIfSlotFree(appt)).thenReturn(true);
     manager.addAppointment(appt);
     verify(listener, atLeastOnce()).run();
 
@@ -136,4 +135,12 @@ void testObserverPatternAddRemoveNotify() {
     manager.deleteAll();
     verify(listener, never()).run();
 }
-}
\ No newline at end of file
+
+@Test
+void testGetAppointmentByIdDelegates() {
+    Appointment appt = new Appointment(4, "doc1", "Alice", LocalDateTime.now().plusDays(1), "");
+    when(mockPersistence.getAppointmentById(4)).thenReturn(appt);
+    assertSame(appt, manager.getAppointmentById(4));
+    assertNull(manager.getAppointmentById(5));
+}
+}
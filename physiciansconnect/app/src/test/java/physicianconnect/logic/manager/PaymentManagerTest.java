@@ -41,4 +41,12 @@ class PaymentManagerTest {
         when(mockPersistence.getPaymentsByMonth(2025, 6)).thenReturn(List.of());
         assertNotNull(manager.getPaymentsByMonth(2025, 6));
     }
+
+    @Test
+    void testPostPaymentsDelegates() {
+        List<Payment> payments = List.of(mock(Payment.class));
+        when(mockPersistence.postPayments(payments)).thenReturn(List.of());
+        assertNotNull(manager.postPayments(payments));
+        verify(mockPersistence).postPayments(payments);
+    }
 }
\ No newline at end of file
@@ -99,7 +99,7 @@ public class ReceptionistManagerTest {
         ReceptionistPersistence mockDB = mock(ReceptionistPersistence.class);
         Receptionist r1 = new Receptionist("id1", "Name1", "test1@email.com", "pw1");
         Receptionist r2 = new Receptionist("id2", "Name2", "test2@email.com", "pw2");
-        when(mockDB.getAllReceptionists()).thenReturn(List.of(r1, r2));
+        when(mockDB.getReceptionistByEmail("test2@email.com")).thenReturn(r2);
         ReceptionistManager mgr = new ReceptionistManager(mockDB);
 
         Receptionist found = mgr.getReceptionistByEmail("test2@email.com");
@@ -110,7 +110,6 @@ public class ReceptionistManagerTest {
     @Test
     public void testGetReceptionistByEmailReturnsNullIfNotFound() {
         ReceptionistPersistence mockDB = mock(ReceptionistPersistence.class);
-        when(mockDB.getAllReceptionists()).thenReturn(List.of());
         ReceptionistManager mgr = new ReceptionistManager(mockDB);
 
         Receptionist found = mgr.getReceptionistByEmail("notfound@email.com");
@@ -122,7 +121,7 @@ public class ReceptionistManagerTest {
     public void testLoginSuccess() {
         ReceptionistPersistence mockDB = mock(ReceptionistPersistence.class);
         Receptionist r = new Receptionist("id", "Name", "login@email.com", "pw123");
-        when(mockDB.getAllReceptionists()).thenReturn(List.of(r));
+        when(mockDB.getReceptionistByEmail("login@email.com")).thenReturn(r);
         ReceptionistManager mgr = new ReceptionistManager(mockDB);
 
         Receptionist loggedIn = mgr.login("login@email.com", "pw123");
@@ -134,7 +133,7 @@ public class ReceptionistManagerTest {
     public void testLoginWrongPasswordReturnsNull() {
         ReceptionistPersistence mockDB = mock(ReceptionistPersistence.class);
         Receptionist r = new Receptionist("id", "Name", "login@email.com", "pw123");
-        when(mockDB.getAllReceptionists()).thenReturn(List.of(r));
+        when(mockDB.getReceptionistByEmail("login@email.com")).thenReturn(r);
         ReceptionistManager mgr = new ReceptionistManager(mockDB);
 
         Receptionist loggedIn = mgr.login("login@email.com", "wrongpw");
@@ -144,7 +143,6 @@ public class ReceptionistManagerTest {
     @Test
     public void testLoginNotFoundReturnsNull() {
         ReceptionistPersistence mockDB = mock(ReceptionistPersistence.class);
-        when(mockDB.getAllReceptionists()).thenReturn(List.of());
         ReceptionistManager mgr = new ReceptionistManager(mockDB);
 
         Receptionist loggedIn = mgr.login("notfound@email.com", "pw");
@@ -0,0 +1,97 @@
+package physicianconnect.logic.manager;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.Payment;
+import physicianconnect.objects.RevenueSummary;
+import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.stub.InvoicePersistenceStub;
+import physicianconnect.persistence.stub.PaymentPersistenceStub;
+import physicianconnect.persistence.stub.RevenueRollupPersistenceStub;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueRollupManagerTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+
+    private InvoicePersistenceStub invoices;
+    private PaymentPersistenceStub payments;
+    private RevenueRollupManager manager;
+
+    @BeforeEach
+    void setUp() {
+        invoices = new InvoicePersistenceStub(false);
+        payments = new PaymentPersistenceStub(false, invoices);
+        manager = new RevenueRollupManager(new RevenueRollupPersistenceStub(invoices));
+    }
+
+    private Invoice invoice(String id, long costCents, LocalDateTime createdAt) {
+        Invoice inv = new Invoice(id, "1", "Alice", List.of(new ServiceItem("Consult", costCents)), 0, createdAt);
+        invoices.addInvoice(inv);
+        return inv;
+    }
+
+    @Test
+    void testInvoiceAddedCountsAsSent() {
+        invoice("i1", 100_00, JUNE.atDay(3).atStartOfDay());
+
+        RevenueSummary summary = manager.getSummary(null, null);
+        assertEquals(1, summary.getInvoiceCount());
+        assertEquals(100_00, summary.getTotalBilledCents());
+        assertEquals(0, summary.getTotalPaidCents());
+        assertEquals(100_00, summary.getOutstandingCents());
+    }
+
+    @Test
+    void testPostedPaymentMovesInvoice() {
+        invoice("i1", 100_00, JUNE.atDay(3).atStartOfDay());
+
+        payments.postPayments(List.of(new Payment("p1", "i1", 100_00, "Insurance"),
+                new Payment("p2", "i1", 100_00, "Insurance")));
+
+        RevenueSummary summary = manager.getSummary(JUNE, JUNE.plusMonths(1));
+        assertEquals(1, summary.getInvoiceCount());
+        assertEquals(100_00, summary.getTotalPaidCents());
+        assertEquals(0, summary.getOutstandingCents());
+    }
+
+    @Test
+    void testInvoiceRemovedTakesItOut() {
+        invoice("i1", 100_00, JUNE.atDay(3).atStartOfDay());
+        invoice("i2", 50_00, JUNE.atDay(4).atStartOfDay());
+
+        invoices.deleteInvoiceById("i1");
+
+        RevenueSummary summary = manager.getSummary(null, null);
+        assertEquals(1, summary.getInvoiceCount());
+        assertEquals(50_00, summary.getTotalBilledCents());
+    }
+
+    @Test
+    void testRangeSelectsMonths() {
+        invoice("i1", 100_00, JUNE.atDay(30).atTime(23, 59));
+        invoice("i2", 50_00, JUNE.plusMonths(1).atDay(1).atStartOfDay());
+
+        assertEquals(100_00, manager.getSummary(JUNE, JUNE.plusMonths(1)).getTotalBilledCents());
+        assertEquals(50_00, manager.getSummary(JUNE.plusMonths(1), null).getTotalBilledCents());
+        assertEquals(150_00, manager.getSummary(null, null).getTotalBilledCents());
+    }
+
+    @Test
+    void testRebuildAgreesWithLiveTotals() {
+        invoice("i1", 100_00, JUNE.atDay(3).atStartOfDay());
+        payments.postPayments(List.of(new Payment("p1", "i1", 100_00, "Cash")));
+        RevenueSummary before = manager.getSummary(null, null);
+
+        manager.rebuild();
+
+        RevenueSummary after = manager.getSummary(null, null);
+        assertEquals(before.getTotalBilledCents(), after.getTotalBilledCents());
+        assertEquals(before.getOutstandingCents(), after.getOutstandingCents());
+    }
+}
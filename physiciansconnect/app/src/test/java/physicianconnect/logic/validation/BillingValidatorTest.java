@@ -12,27 +12,33 @@ public class BillingValidatorTest {
 
     @Test
     void testValidatePaymentAmountValid() {
-        assertDoesNotThrow(() -> BillingValidator.validatePaymentAmount(50, 100));
+        assertDoesNotThrow(() -> BillingValidator.validatePaymentAmount(50_00, 100_00));
+    }
+
+    @Test
+    void testValidatePaymentAmountWholeBalanceIsValid() {
+        // cents compare exactly; 0.1 + 0.2 dollars would have come out above 0.3
+        assertDoesNotThrow(() -> BillingValidator.validatePaymentAmount(10 + 20, 30));
     }
 
     @Test
     void testValidatePaymentAmountZeroThrows() {
-        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(0, 100));
+        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(0, 100_00));
     }
 
     @Test
     void testValidatePaymentAmountNegativeThrows() {
-        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(-10, 100));
+        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(-10_00, 100_00));
     }
 
     @Test
     void testValidatePaymentAmountExceedsBalanceThrows() {
-        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(200, 100));
+        assertThrows(InvalidBillingException.class, () -> BillingValidator.validatePaymentAmount(200_00, 100_00));
     }
 
     @Test
     void testValidateInvoiceServicesValid() {
-        assertDoesNotThrow(() -> BillingValidator.validateInvoiceServices(List.of(new ServiceItem("Consult", 100))));
+        assertDoesNotThrow(() -> BillingValidator.validateInvoiceServices(List.of(new ServiceItem("Consult", 100_00))));
     }
 
     @Test
@@ -37,4 +37,14 @@ class AppointmentTest {
         a.setNotes("updated");
         assertEquals("updated", a.getNotes());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSetIdOnlyOnce() {
+        Appointment a = new Appointment("doc1", "Alice", LocalDateTime.now());
+        assertEquals(-1, a.getId());
+        a.setId(7);
+        assertEquals(7, a.getId());
+        a.setId(7);
+        assertThrows(IllegalStateException.class, () -> a.setId(8));
+    }
+}
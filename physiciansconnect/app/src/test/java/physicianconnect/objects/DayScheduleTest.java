@@ -0,0 +1,63 @@
+package physicianconnect.objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayScheduleTest {
+
+    private final LocalDate day = LocalDate.of(2025, 6, 10);
+
+    @Test
+    void testBookAndQuery() {
+        DaySchedule schedule = new DaySchedule(day);
+        assertEquals(0, schedule.bookedCount());
+        assertNull(schedule.getPatientName(0));
+
+        assertTrue(schedule.book(day.atTime(9, 30), "Alice"));
+        assertFalse(schedule.book(day.atTime(9, 45), "Off grid"));
+        assertFalse(schedule.book(day.plusDays(1).atTime(9, 0), "Wrong day"));
+
+        assertTrue(schedule.isBooked(3));
+        assertFalse(schedule.isBooked(2));
+        assertEquals("Alice", schedule.getPatientName(3));
+        assertEquals(1, schedule.bookedCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> schedule.book(TimeSlot.SLOTS_PER_DAY, "x"));
+    }
+
+    @Test
+    void testNextFree() {
+        DaySchedule schedule = new DaySchedule(day);
+        assertEquals(0, schedule.nextFree(0));
+        schedule.book(0, "A");
+        schedule.book(1, "B");
+        assertEquals(2, schedule.nextFree(0));
+        assertEquals(5, schedule.nextFree(5));
+        assertEquals(-1, schedule.nextFree(TimeSlot.SLOTS_PER_DAY));
+
+        for (int i = 0; i < TimeSlot.SLOTS_PER_DAY; i++) {
+            schedule.book(i, "P" + i);
+        }
+        assertTrue(schedule.isFullyBooked());
+        assertEquals(-1, schedule.nextFree(0));
+    }
+
+    @Test
+    void testTimeSlotViewMatchesGeneratedSlots() {
+        DaySchedule schedule = new DaySchedule(day);
+        schedule.book(2, "Bob");
+        List<TimeSlot> view = schedule.asTimeSlots();
+        List<TimeSlot> generated = TimeSlot.generateDailySlots(day);
+
+        assertEquals(generated.size(), view.size());
+        for (int i = 0; i < view.size(); i++) {
+            assertEquals(generated.get(i).getStart(), view.get(i).getStart());
+            assertEquals(generated.get(i).getEnd(), view.get(i).getEnd());
+            assertEquals(i == 2, view.get(i).isBooked());
+        }
+        assertEquals("Bob", view.get(2).getPatientName());
+    }
+}
@@ -31,4 +31,13 @@ class MessageTest {
         m.setMessageId(uuid);
         assertEquals(uuid, m.getMessageId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConversationKeyIsTheSameBothWays() {
+        Message out = new Message("doc1", "physician", "rec1", "receptionist", "hello");
+        Message back = new Message("rec1", "receptionist", "doc1", "physician", "hi");
+        assertEquals(out.getConversationKey(), back.getConversationKey());
+        assertNotEquals(out.getConversationKey(),
+                Message.conversationKey("doc1", "physician", "rec1", "physician"));
+    }
+}
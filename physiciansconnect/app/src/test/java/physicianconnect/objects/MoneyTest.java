@@ -0,0 +1,38 @@
+package physicianconnect.objects;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testParseCents() {
+        assertEquals(1234, Money.parseCents("12.34"));
+        assertEquals(1230, Money.parseCents("12.3"));
+        assertEquals(1200, Money.parseCents(" 12 "));
+        assertEquals(0, Money.parseCents("0"));
+    }
+
+    @Test
+    void testParseCentsRejectsFractionsOfACent() {
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("1.005"));
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parseCents(null));
+    }
+
+    @Test
+    void testToCentsRoundsDrift() {
+        assertEquals(30, Money.toCents(0.1 + 0.2));
+        assertEquals(4999, Money.toCents(49.99));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("12.34", Money.format(1234));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-0.50", Money.format(-50));
+        assertEquals("$12.34", Money.formatDollars(1234));
+        assertEquals("-$0.50", Money.formatDollars(-50));
+    }
+}
@@ -8,10 +8,10 @@ class PaymentTest {
 
     @Test
     void testConstructorAndGetters() {
-        Payment p = new Payment("pid", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid", "inv1", 50_00, "Cash");
         assertEquals("pid", p.getId());
         assertEquals("inv1", p.getInvoiceId());
-        assertEquals(50.0, p.getAmount());
+        assertEquals(50_00, p.getAmountCents());
         assertEquals("Cash", p.getMethod());
         assertNotNull(p.getPaidAt());
     }
@@ -0,0 +1,45 @@
+package physicianconnect.objects;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueSummaryTest {
+
+    @Test
+    void testOfSumsRollups() {
+        RevenueSummary summary = RevenueSummary.of(List.of(
+                new RevenueRollup(YearMonth.of(2025, 6), "Paid", 2, 200_00, 0),
+                new RevenueRollup(YearMonth.of(2025, 6), "Partial", 1, 80_00, 40_00),
+                new RevenueRollup(YearMonth.of(2025, 7), "Sent", 1, 75_00, 75_00)));
+
+        assertEquals(4, summary.getInvoiceCount());
+        assertEquals(355_00, summary.getTotalBilledCents());
+        assertEquals(115_00, summary.getOutstandingCents());
+        assertEquals(240_00, summary.getTotalPaidCents());
+    }
+
+    @Test
+    void testOfNothingIsZero() {
+        RevenueSummary summary = RevenueSummary.of(List.of());
+        assertEquals(0, summary.getInvoiceCount());
+        assertEquals(0, summary.getTotalBilledCents());
+    }
+
+    @Test
+    void testOfIsExactOverManyRollups() {
+        // 0.10 added a million times as a double is 100000.00000133288
+        List<RevenueRollup> rollups = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            rollups.add(new RevenueRollup(YearMonth.of(2025, 1 + i % 12), "Sent", 1, 10, 10));
+        }
+        RevenueSummary summary = RevenueSummary.of(rollups);
+        assertEquals(1_000_000, summary.getInvoiceCount());
+        assertEquals(100_000_00, summary.getTotalBilledCents());
+        assertEquals(0, summary.getTotalPaidCents());
+    }
+}
@@ -10,21 +10,21 @@ class ServiceItemTest {
 
     @Test
     void testConstructorAndGettersSetters() {
-        ServiceItem s = new ServiceItem("Consult", 100);
+        ServiceItem s = new ServiceItem("Consult", 100_00);
         assertEquals("Consult", s.getName());
-        assertEquals(100, s.getCost());
-        s.setCost(120);
-        assertEquals(120, s.getCost());
+        assertEquals(100_00, s.getCostCents());
+        s.setCostCents(120_00);
+        assertEquals(120_00, s.getCostCents());
     }
 
     @Test
     void testParseList() {
-        List<ServiceItem> list = ServiceItem.parseList("Consult:100,Lab:50");
+        List<ServiceItem> list = ServiceItem.parseList("Consult:100,Lab:49.99");
         assertEquals(2, list.size());
         assertEquals("Consult", list.get(0).getName());
-        assertEquals(100, list.get(0).getCost());
+        assertEquals(100_00, list.get(0).getCostCents());
         assertEquals("Lab", list.get(1).getName());
-        assertEquals(50, list.get(1).getCost());
+        assertEquals(49_99, list.get(1).getCostCents());
     }
 
     @Test
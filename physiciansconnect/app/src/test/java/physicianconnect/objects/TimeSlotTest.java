@@ -34,4 +34,16 @@ class TimeSlotTest {
         assertEquals(date.atTime(8, 0), slots.get(0).getStart());
         assertEquals(date.atTime(16, 30), slots.get(17).getStart());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSlotIndex() {
+        LocalDate day = LocalDate.of(2025, 6, 10);
+        assertEquals(0, TimeSlot.slotIndex(day.atTime(8, 0)));
+        assertEquals(3, TimeSlot.slotIndex(day.atTime(9, 30)));
+        assertEquals(TimeSlot.SLOTS_PER_DAY - 1, TimeSlot.slotIndex(day.atTime(16, 30)));
+        assertEquals(-1, TimeSlot.slotIndex(day.atTime(17, 0)));
+        assertEquals(-1, TimeSlot.slotIndex(day.atTime(7, 30)));
+        assertEquals(-1, TimeSlot.slotIndex(day.atTime(9, 15)));
+        assertEquals(-1, TimeSlot.slotIndex(day.atTime(9, 0, 30)));
+    }
+}
@@ -0,0 +1,146 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Physician;
+import physicianconnect.persistence.interfaces.PhysicianPersistence;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingPhysicianPersistenceTest {
+
+    private PhysicianPersistence delegate;
+    private CachingPhysicianPersistence cache;
+
+    private final Physician alice = new Physician("1", "Dr. Alice", "Alice@Clinic.org", "pw");
+    private final Physician bob = new Physician("2", "Dr. Bob", "bob@clinic.org", "pw");
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PhysicianPersistence.class);
+        when(delegate.getPhysicianById("1")).thenReturn(alice);
+        when(delegate.getPhysicianById("2")).thenReturn(bob);
+        when(delegate.getPhysicianByEmail("bob@clinic.org")).thenReturn(bob);
+        when(delegate.getAllPhysicians()).thenReturn(List.of(alice, bob));
+        cache = new CachingPhysicianPersistence(delegate);
+    }
+
+    @Test
+    void testRepeatedIdLookupHitsDelegateOnce() {
+        assertEquals("Dr. Alice", cache.getPhysicianById("1").getName());
+        assertEquals("Dr. Alice", cache.getPhysicianById("1").getName());
+
+        verify(delegate, times(1)).getPhysicianById("1");
+        EntityCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void testGetAllWarmsIdAndEmailIndexes() {
+        assertEquals(2, cache.getAllPhysicians().size());
+        assertEquals(2, cache.getAllPhysicians().size());
+
+        assertEquals("2", cache.getPhysicianById("2").getId());
+        assertEquals("1", cache.getPhysicianByEmail("alice@clinic.ORG").getId());
+
+        verify(delegate, times(1)).getAllPhysicians();
+        verify(delegate, never()).getPhysicianById(anyString());
+        verify(delegate, never()).getPhysicianByEmail(anyString());
+    }
+
+    @Test
+    void testMissingEmailIsNotCached() {
+        assertNull(cache.getPhysicianByEmail("new@clinic.org"));
+        assertNull(cache.getPhysicianByEmail("new@clinic.org"));
+        verify(delegate, times(2)).getPhysicianByEmail("new@clinic.org");
+    }
+
+    @Test
+    void testCallersGetCopies() {
+        cache.getPhysicianById("1").setName("Changed");
+        assertEquals("Dr. Alice", cache.getPhysicianById("1").getName());
+    }
+
+    @Test
+    void testInvalidateAllRefetches() {
+        cache.getPhysicianById("1");
+        cache.getAllPhysicians();
+
+        cache.invalidateAll();
+        cache.getPhysicianById("1");
+        cache.getAllPhysicians();
+
+        verify(delegate, times(2)).getPhysicianById("1");
+        verify(delegate, times(2)).getAllPhysicians();
+    }
+
+    @Test
+    void testUpdateInvalidates() {
+        cache.getPhysicianById("1");
+        cache.getAllPhysicians();
+
+        cache.updatePhysician(alice);
+        cache.getPhysicianById("1");
+        cache.getAllPhysicians();
+
+        verify(delegate).updatePhysician(alice);
+        verify(delegate, times(2)).getAllPhysicians();
+    }
+
+    @Test
+    void testFailedUpdateStillInvalidates() {
+        cache.getPhysicianById("1");
+        doThrow(new IllegalArgumentException("Physician not found.")).when(delegate).updatePhysician(alice);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.updatePhysician(alice));
+        cache.getPhysicianById("1");
+
+        verify(delegate, times(2)).getPhysicianById("1");
+    }
+
+    @Test
+    void testDeleteAndAddInvalidate() {
+        cache.getPhysicianById("1");
+        cache.deletePhysicianById("1");
+        when(delegate.getPhysicianById("1")).thenReturn(null);
+        assertNull(cache.getPhysicianById("1"));
+
+        cache.getPhysicianByEmail("bob@clinic.org");
+        cache.addPhysician(new Physician("3", "Dr. Bob Again", "BOB@clinic.org", "pw"));
+        cache.getPhysicianByEmail("bob@clinic.org");
+        verify(delegate, times(2)).getPhysicianByEmail("bob@clinic.org");
+
+        cache.getPhysicianById("2");
+        cache.deleteAllPhysicians();
+        cache.getPhysicianById("2");
+        verify(delegate, times(2)).getPhysicianById("2");
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        CachingPhysicianPersistence small = new CachingPhysicianPersistence(delegate, 1);
+
+        small.getPhysicianById("1");
+        small.getPhysicianById("2");
+        small.getPhysicianById("1");
+
+        verify(delegate, times(2)).getPhysicianById("1");
+        assertEquals(2, small.getStats().evictions());
+        assertEquals(1, small.getStats().size());
+    }
+
+    @Test
+    void testOversizedTableIsNotSnapshotted() {
+        CachingPhysicianPersistence small = new CachingPhysicianPersistence(delegate, 1);
+
+        small.getAllPhysicians();
+        small.getAllPhysicians();
+
+        verify(delegate, times(2)).getAllPhysicians();
+    }
+}
@@ -0,0 +1,65 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Receptionist;
+import physicianconnect.persistence.interfaces.ReceptionistPersistence;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingReceptionistPersistenceTest {
+
+    private ReceptionistPersistence delegate;
+    private CachingReceptionistPersistence cache;
+
+    private final Receptionist carol = new Receptionist("r1", "Carol", "carol@clinic.org", "pw");
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ReceptionistPersistence.class);
+        when(delegate.getReceptionistByEmail("Carol@Clinic.org")).thenReturn(carol);
+        when(delegate.getAllReceptionists()).thenReturn(List.of(carol));
+        cache = new CachingReceptionistPersistence(delegate);
+    }
+
+    @Test
+    void testEmailLookupIsCaseInsensitiveAndCached() {
+        assertEquals("r1", cache.getReceptionistByEmail("Carol@Clinic.org").getId());
+        assertEquals("r1", cache.getReceptionistByEmail("carol@clinic.org").getId());
+        assertEquals("r1", cache.getReceptionistById("r1").getId());
+
+        verify(delegate, times(1)).getReceptionistByEmail(anyString());
+        verify(delegate, never()).getReceptionistById(anyString());
+        assertEquals(2, cache.getStats().hits());
+    }
+
+    @Test
+    void testIdsComeFromTheCachedTable() {
+        assertEquals(List.of("r1"), cache.getAllReceptionistIds());
+        assertEquals(List.of("r1"), cache.getAllReceptionistIds());
+        verify(delegate, times(1)).getAllReceptionists();
+        verify(delegate, never()).getAllReceptionistIds();
+    }
+
+    @Test
+    void testEmailChangeDropsOldIndexEntry() {
+        cache.getReceptionistByEmail("Carol@Clinic.org");
+
+        Receptionist renamed = new Receptionist("r1", "Carol", "carol@new.org", "pw");
+        cache.updateReceptionist(renamed);
+        cache.getReceptionistByEmail("Carol@Clinic.org");
+        verify(delegate, times(2)).getReceptionistByEmail("Carol@Clinic.org");
+        verify(delegate).updateReceptionist(renamed);
+    }
+
+    @Test
+    void testDeleteInvalidates() {
+        cache.getAllReceptionists();
+        cache.deleteReceptionist("r1");
+        cache.getAllReceptionists();
+        verify(delegate, times(2)).getAllReceptionists();
+    }
+}
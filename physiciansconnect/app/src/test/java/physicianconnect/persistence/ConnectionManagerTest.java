@@ -51,15 +51,31 @@ class ConnectionManagerTest {
 
     @Test
     void testCloseThrowsRuntimeExceptionOnSQLException() throws Exception {
-        var field = ConnectionManager.class.getDeclaredField("connection");
+        var field = ConnectionManager.class.getDeclaredField("pool");
         field.setAccessible(true);
         Connection mockConn = mock(Connection.class);
         doThrow(new SQLException("fail")).when(mockConn).close();
-        field.set(null, mockConn);
+        field.set(null, ConnectionPool.wrap(mockConn));
 
         RuntimeException ex = assertThrows(RuntimeException.class, ConnectionManager::close);
         assertTrue(ex.getMessage().contains("Failed to close DB connection"));
-        field.set(null, null);
+        assertFalse(ConnectionManager.isInitialized());
+    }
+
+    @Test
+    void testGetBeforeInitializeThrows() {
+        assertThrows(IllegalStateException.class, ConnectionManager::get);
+        assertThrows(IllegalStateException.class, ConnectionManager::getPool);
+    }
+
+    @Test
+    void testInMemoryPoolHasNoReaders() {
+        ConnectionManager.initialize(":memory:");
+        assertEquals(0, ConnectionManager.getPool().getReaderCount());
+        try (ConnectionPool.Lease lease = ConnectionManager.getPool().read()) {
+            assertSame(ConnectionManager.get(), lease.connection());
+        }
+        assertEquals(1, ConnectionManager.getMetrics().leases());
     }
 
 }
\ No newline at end of file
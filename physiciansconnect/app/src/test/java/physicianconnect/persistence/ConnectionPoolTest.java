@@ -0,0 +1,162 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = ConnectionPool.open(tempDir.resolve("pool.db").toString(), 2, 200);
+        try (ConnectionPool.Lease lease = pool.write();
+                Statement stmt = lease.connection().createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testFileDatabaseRunsInWalMode() throws Exception {
+        try (Statement stmt = pool.getWriterConnection().createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1).toLowerCase());
+        }
+        assertEquals(2, pool.getReaderCount());
+    }
+
+    @Test
+    void testReadLeaseUsesReadOnlyReaderConnection() throws Exception {
+        try (ConnectionPool.Lease lease = pool.read()) {
+            assertNotSame(pool.getWriterConnection(), lease.connection());
+            assertEquals(1, pool.getMetrics().activeReaders());
+            try (Statement stmt = lease.connection().createStatement()) {
+                assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO items (name) VALUES ('x')"));
+            }
+        }
+        assertEquals(0, pool.getMetrics().activeReaders());
+    }
+
+    @Test
+    void testReadInsideWriteSeesUncommittedChanges() throws Exception {
+        try (ConnectionPool.Lease write = pool.write()) {
+            write.connection().setAutoCommit(false);
+            try (Statement stmt = write.connection().createStatement()) {
+                stmt.execute("INSERT INTO items (name) VALUES ('pending')");
+            }
+            try (ConnectionPool.Lease read = pool.read();
+                    Statement stmt = read.connection().createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+                assertSame(write.connection(), read.connection());
+                assertEquals(1, rs.getInt(1));
+            }
+            write.connection().rollback();
+            write.connection().setAutoCommit(true);
+        }
+    }
+
+    @Test
+    void testReadersDoNotBlockBehindOpenWriteTransaction() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                try (ConnectionPool.Lease lease = pool.write()) {
+                    lease.connection().setAutoCommit(false);
+                    try (Statement stmt = lease.connection().createStatement()) {
+                        stmt.execute("INSERT INTO items (name) VALUES ('pending')");
+                    }
+                    writing.countDown();
+                    done.await(5, TimeUnit.SECONDS);
+                    lease.connection().commit();
+                    lease.connection().setAutoCommit(true);
+                }
+                return null;
+            });
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            try (ConnectionPool.Lease lease = pool.read();
+                    Statement stmt = lease.connection().createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+                assertEquals(0, rs.getInt(1));
+            }
+            assertEquals(1, pool.getMetrics().activeWriters());
+
+            done.countDown();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWriterLaneTimesOut() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ConnectionPool.Lease ignored = pool.write()) {
+            Future<?> blocked = executor.submit(() -> pool.write());
+            Exception ex = assertThrows(Exception.class, () -> blocked.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause().getMessage().contains("Timed out waiting for the writer connection"));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, pool.getMetrics().timeouts());
+    }
+
+    @Test
+    void testReaderLaneTimesOutWhenExhausted() {
+        try (ConnectionPool.Lease first = pool.read(); ConnectionPool.Lease second = pool.read()) {
+            RuntimeException ex = assertThrows(RuntimeException.class, pool::read);
+            assertTrue(ex.getMessage().contains("Timed out waiting for a reader connection"));
+        }
+        assertEquals(1, pool.getMetrics().timeouts());
+        assertDoesNotThrow(() -> pool.read().close());
+    }
+
+    @Test
+    void testMetricsCountLeases() {
+        pool.read().close();
+        pool.write().close();
+        ConnectionPool.Metrics metrics = pool.getMetrics();
+        // one more from setUp
+        assertEquals(3, metrics.leases());
+        assertTrue(metrics.maxWaitNanos() >= 0);
+        assertTrue(metrics.averageWaitMillis() >= 0);
+    }
+
+    @Test
+    void testLeaseCloseIsIdempotent() {
+        ConnectionPool.Lease lease = pool.write();
+        lease.close();
+        assertDoesNotThrow(lease::close);
+        assertEquals(0, pool.getMetrics().activeWriters());
+    }
+
+    @Test
+    void testOpenInvalidPathThrows() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> ConnectionPool.open(tempDir.resolve("missing/dir/x.db").toString()));
+        assertTrue(ex.getMessage().contains("Failed to initialize DB connection"));
+    }
+}
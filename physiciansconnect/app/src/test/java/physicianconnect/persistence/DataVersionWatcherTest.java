@@ -0,0 +1,69 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataVersionWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String dbPath;
+    private ConnectionPool pool;
+    private EventBus bus;
+    private List<ExternalChange> changes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbPath = tempDir.resolve("watch.db").toString();
+        pool = ConnectionPool.open(dbPath, 1, 200);
+        try (Statement stmt = pool.getWriterConnection().createStatement()) {
+            stmt.executeUpdate("CREATE TABLE t (x INTEGER)");
+        }
+        bus = new EventBus();
+        changes = new ArrayList<>();
+        bus.subscribe(ExternalChange.class, changes::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testOwnWritesAreNotReported() throws Exception {
+        try (DataVersionWatcher watcher = new DataVersionWatcher(pool, bus)) {
+            try (Statement stmt = pool.getWriterConnection().createStatement()) {
+                stmt.executeUpdate("INSERT INTO t VALUES (1)");
+            }
+            assertFalse(watcher.poll());
+            assertTrue(changes.isEmpty());
+        }
+    }
+
+    @Test
+    void testWriteFromAnotherConnectionIsPublishedOnce() throws Exception {
+        try (DataVersionWatcher watcher = new DataVersionWatcher(pool, bus);
+                Connection other = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+                Statement stmt = other.createStatement()) {
+            stmt.executeUpdate("INSERT INTO t VALUES (1)");
+
+            assertTrue(watcher.poll());
+            assertFalse(watcher.poll());
+            assertEquals(1, changes.size());
+        }
+    }
+}
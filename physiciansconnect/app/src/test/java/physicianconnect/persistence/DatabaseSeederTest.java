@@ -1,8 +1,16 @@
 package physicianconnect.persistence;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
 
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.List;
 
@@ -24,12 +32,102 @@ class DatabaseSeederTest {
         Connection mockConn = mock(Connection.class);
         Statement mockStmt = mock(Statement.class);
         when(mockConn.createStatement()).thenReturn(mockStmt);
-        // Make execute throw an exception
-        doThrow(new RuntimeException("SQL fail")).when(mockStmt).execute(anyString());
+        // Make the batch fail
+        when(mockStmt.executeBatch()).thenThrow(new BatchUpdateException("SQL fail", new int[0]));
 
         // Use the real file you placed in resources/database_seeds/seed_badfile.sql
         RuntimeException ex = assertThrows(RuntimeException.class, () ->
                 DatabaseSeeder.seed(mockConn, List.of("database_seeds/seed_badfile.sql")));
         assertTrue(ex.getMessage().contains("Failed to execute seed file"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSeedFileRunsInOneTransaction() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            SchemaInitializer.initializeSchema(conn);
+
+            DatabaseSeeder.seed(conn, List.of("database_seeds/seed_physicians.sql"));
+
+            assertTrue(conn.getAutoCommit());
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM physicians")) {
+                assertTrue(rs.getInt(1) > 0);
+            }
+        }
+    }
+
+    @Test
+    void testFailingSeedFileLeavesNothingBehind() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            SchemaInitializer.initializeSchema(conn);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('keep', 'Dr Keep', 'k@x', 'pw')");
+            }
+
+            assertThrows(RuntimeException.class, () ->
+                    DatabaseSeeder.seed(conn, List.of("database_seeds/seed_badfile.sql")));
+
+            assertTrue(conn.getAutoCommit());
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM physicians")) {
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void testLoadCsvHandlesQuotesNullsAndBatches() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE messages (id INTEGER PRIMARY KEY, content TEXT, is_read INTEGER)");
+            }
+            StringBuilder csv = new StringBuilder("id,content,is_read\r\n");
+            csv.append("1,\"hello, \"\"doc\"\"; see you\nlater\",0\r\n");
+            csv.append("2,,1\n");
+            csv.append("3,\"\",1\n");
+            int total = DatabaseSeeder.CSV_BATCH_SIZE + 10;
+            for (int i = 4; i <= total; i++) {
+                csv.append(i).append(",msg ").append(i).append(",0\n");
+            }
+
+            long rows = DatabaseSeeder.loadCsv(conn, "messages", new StringReader(csv.toString()));
+
+            assertEquals(total, rows);
+            try (Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT content FROM messages WHERE id = 1")) {
+                    assertEquals("hello, \"doc\"; see you\nlater", rs.getString(1));
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT content IS NULL, typeof(is_read) FROM messages WHERE id = 2")) {
+                    assertEquals(1, rs.getInt(1));
+                    assertEquals("integer", rs.getString(2));
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT content FROM messages WHERE id = 3")) {
+                    assertEquals("", rs.getString(1));
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM messages")) {
+                    assertEquals(total, rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLoadCsvRollsBackOnBadRecord(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("appointments.csv");
+        Files.writeString(file, "id,notes\n1,ok\n2,too,many\n");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE appointments (id INTEGER PRIMARY KEY, notes TEXT)");
+            }
+
+            RuntimeException ex = assertThrows(RuntimeException.class,
+                    () -> DatabaseSeeder.loadCsv(conn, "appointments", file));
+            assertTrue(ex.getMessage().contains("Failed to load CSV into appointments"));
+
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM appointments")) {
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import physicianconnect.objects.Message;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -114,4 +115,78 @@ class InMemoryMessageRepositoryTest {
         assertEquals(0, repo.countUnreadMessages("other", "rtype"));
         assertEquals(0, repo.countUnreadMessages("rid", "othertype"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindConversationSinceAndLimit() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            Message m = i % 2 == 0
+                    ? new Message("doc1", "physician", "rec1", "receptionist", "m" + i)
+                    : new Message("rec1", "receptionist", "doc1", "physician", "m" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            repo.save(m);
+        }
+        repo.save(new Message("doc1", "physician", "rec2", "receptionist", "elsewhere"));
+
+        List<Message> all = repo.findConversation("rec1", "receptionist", "doc1", "physician", null, 50);
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), all.stream().map(Message::getContent).toList());
+
+        List<Message> latest = repo.findConversation("doc1", "physician", "rec1", "receptionist", null, 2);
+        assertEquals(List.of("m3", "m4"), latest.stream().map(Message::getContent).toList());
+
+        List<Message> after = repo.findConversation("doc1", "physician", "rec1", "receptionist", base.plusMinutes(3), 50);
+        assertEquals(List.of("m4"), after.stream().map(Message::getContent).toList());
+
+        // a short limit after since gives the next messages, not the newest ones
+        List<Message> next = repo.findConversation("doc1", "physician", "rec1", "receptionist", base, 2);
+        assertEquals(List.of("m1", "m2"), next.stream().map(Message::getContent).toList());
+
+        List<Message> older = repo.findConversationBefore("doc1", "physician", "rec1", "receptionist",
+                base.plusMinutes(3), 2);
+        assertEquals(List.of("m1", "m2"), older.stream().map(Message::getContent).toList());
+        assertTrue(repo.findConversationBefore("doc1", "physician", "rec1", "receptionist", base, 2).isEmpty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.findConversation("doc1", "physician", "rec1", "receptionist", null, 0));
+    }
+
+    @Test
+    void testResaveMovesMessageInConversation() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        Message m1 = new Message("doc1", "physician", "rec1", "receptionist", "first");
+        Message m2 = new Message("doc1", "physician", "rec1", "receptionist", "second");
+        m1.setTimestamp(base);
+        m2.setTimestamp(base.plusMinutes(1));
+        repo.save(m1);
+        repo.save(m2);
+
+        Message edited = new Message("doc1", "physician", "rec1", "receptionist", "first, edited");
+        edited.setMessageId(m1.getMessageId());
+        edited.setTimestamp(base.plusMinutes(2));
+        repo.save(edited);
+
+        List<Message> conversation = repo.findConversation("doc1", "physician", "rec1", "receptionist", null, 50);
+        assertEquals(List.of("second", "first, edited"), conversation.stream().map(Message::getContent).toList());
+    }
+
+    @Test
+    void testMarkConversationReadUpToTime() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            Message m = new Message("rec1", "receptionist", "doc1", "physician", "in" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            repo.save(m);
+        }
+        Message mine = new Message("doc1", "physician", "rec1", "receptionist", "out");
+        mine.setTimestamp(base);
+        repo.save(mine);
+
+        int unread = repo.markConversationRead("doc1", "physician", "rec1", "receptionist", base.plusMinutes(1));
+
+        assertEquals(1, unread);
+        assertEquals("in2", repo.findUnreadByReceiverId("doc1", "physician").get(0).getContent());
+        assertFalse(mine.isRead());
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.markConversationRead("doc1", "physician", "rec1", "receptionist", null));
+    }
+}
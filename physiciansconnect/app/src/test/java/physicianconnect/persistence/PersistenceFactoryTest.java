@@ -1,6 +1,9 @@
 package physicianconnect.persistence;
 
 import org.junit.jupiter.api.*;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.ExternalChange;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -35,6 +38,25 @@ public class PersistenceFactoryTest {
         assertAllPersistenceNotNull();
     }
 
+    @Test
+    public void testExternalChangeEmptiesEntityCaches() {
+        int before = EventBus.getDefault().getSubscriberCount(ExternalChange.class);
+        PersistenceFactory.initialize(PersistenceType.TEST, false);
+        CachingPhysicianPersistence physicians =
+                (CachingPhysicianPersistence) PersistenceFactory.getPhysicianPersistence();
+        physicians.getPhysicianById("0");
+        long warm = physicians.getStats().misses();
+        physicians.getPhysicianById("0");
+        assertEquals(warm, physicians.getStats().misses());
+
+        EventBus.getDefault().publish(new ExternalChange(42));
+        physicians.getPhysicianById("0");
+        assertEquals(warm + 1, physicians.getStats().misses());
+
+        PersistenceFactory.reset();
+        assertEquals(before, EventBus.getDefault().getSubscriberCount(ExternalChange.class));
+    }
+
     @Test
     public void testResetClearsAll() {
         PersistenceFactory.initialize(PersistenceType.STUB, false);
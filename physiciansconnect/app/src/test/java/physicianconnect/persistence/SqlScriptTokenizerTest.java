@@ -0,0 +1,37 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlScriptTokenizerTest {
+
+    @Test
+    void testSplitsOnStatementSemicolons() {
+        List<String> statements = SqlScriptTokenizer.split("CREATE TABLE a (id INTEGER);\n\nINSERT INTO a VALUES (1);  ;");
+        assertEquals(List.of("CREATE TABLE a (id INTEGER)", "INSERT INTO a VALUES (1)"), statements);
+    }
+
+    @Test
+    void testSemicolonsInsideLiteralsAreKept() {
+        List<String> statements = SqlScriptTokenizer.split(
+                "INSERT INTO m VALUES ('see you; bye', 'it''s; fine');INSERT INTO \"odd;name\" VALUES (2)");
+        assertEquals(2, statements.size());
+        assertEquals("INSERT INTO m VALUES ('see you; bye', 'it''s; fine')", statements.get(0));
+        assertEquals("INSERT INTO \"odd;name\" VALUES (2)", statements.get(1));
+    }
+
+    @Test
+    void testCommentsAreDropped() {
+        List<String> statements = SqlScriptTokenizer.split(
+                "-- seed data; do not edit\nINSERT INTO a VALUES (1); /* block; comment */ INSERT INTO a VALUES ('--not a comment')");
+        assertEquals(List.of("INSERT INTO a VALUES (1)", "INSERT INTO a VALUES ('--not a comment')"), statements);
+    }
+
+    @Test
+    void testUnterminatedLiteralThrows() {
+        assertThrows(IllegalArgumentException.class, () -> SqlScriptTokenizer.split("INSERT INTO a VALUES ('oops);"));
+    }
+}
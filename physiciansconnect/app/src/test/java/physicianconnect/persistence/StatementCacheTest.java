@@ -0,0 +1,143 @@
+package physicianconnect.persistence;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Message;
+import physicianconnect.persistence.sqlite.MessageDB;
+import physicianconnect.persistence.sqlite.SchemaInitializer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCacheTest {
+    private Connection conn;
+    private StatementCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)");
+            stmt.execute("INSERT INTO items (name) VALUES ('a'), ('b')");
+        }
+        cache = new StatementCache(conn, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cache.clear();
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private int count(String sql, String name) throws Exception {
+        try (PreparedStatement stmt = cache.prepare(sql)) {
+            stmt.setString(1, name);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+
+    @Test
+    void testRepeatedSqlHitsCache() throws Exception {
+        String sql = "SELECT COUNT(*) FROM items WHERE name = ?";
+        assertEquals(1, count(sql, "a"));
+        assertEquals(0, count(sql, "z"));
+        assertEquals(1, count(sql, "b"));
+
+        StatementCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testClosedHandleRejectsUseButStatementStaysCached() throws Exception {
+        PreparedStatement stmt = cache.prepare("SELECT name FROM items WHERE id = ?");
+        stmt.close();
+        assertTrue(stmt.isClosed());
+        assertThrows(Exception.class, () -> stmt.setInt(1, 1));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedStatementIsEvicted() throws Exception {
+        cache.prepare("SELECT 1 FROM items WHERE id = ?").close();
+        cache.prepare("SELECT 2 FROM items WHERE id = ?").close();
+        cache.prepare("SELECT 1 FROM items WHERE id = ?").close();
+        cache.prepare("SELECT 3 FROM items WHERE id = ?").close();
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().evictions());
+        // "SELECT 2" was the least recently used and had to be prepared again
+        cache.prepare("SELECT 2 FROM items WHERE id = ?").close();
+        assertEquals(4, cache.getStats().misses());
+    }
+
+    @Test
+    void testNestedCheckoutOfSameSqlGetsSeparateStatement() throws Exception {
+        String sql = "SELECT name FROM items WHERE id = ?";
+        try (PreparedStatement outer = cache.prepare(sql)) {
+            outer.setInt(1, 1);
+            ResultSet outerRs = outer.executeQuery();
+            assertTrue(outerRs.next());
+            try (PreparedStatement inner = cache.prepare(sql)) {
+                inner.setInt(1, 2);
+                ResultSet innerRs = inner.executeQuery();
+                assertTrue(innerRs.next());
+                assertEquals("b", innerRs.getString(1));
+            }
+            assertEquals("a", outerRs.getString(1));
+        }
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testFailedStatementIsDropped() throws Exception {
+        String sql = "INSERT INTO items (id, name) VALUES (?, ?)";
+        try (PreparedStatement stmt = cache.prepare(sql)) {
+            stmt.setInt(1, 1);
+            stmt.setString(2, "dup");
+            assertThrows(Exception.class, stmt::executeUpdate);
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testClosedConnectionStillFails() throws Exception {
+        cache.prepare("SELECT name FROM items WHERE id = ?").close();
+        conn.close();
+        assertThrows(Exception.class, () -> cache.prepare("SELECT name FROM items WHERE id = ?"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testZeroCapacityDisablesCaching() throws Exception {
+        StatementCache disabled = new StatementCache(conn, 0);
+        disabled.prepare("SELECT 1").close();
+        disabled.prepare("SELECT 1").close();
+        assertEquals(0, disabled.getStats().hits());
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    void testDaoPollingReusesStatements() throws Exception {
+        SchemaInitializer.initializeSchema(conn);
+        ConnectionPool pool = ConnectionPool.wrap(conn);
+        MessageDB messageDB = new MessageDB(pool);
+        messageDB.save(new Message("doc1", "physician", "rec1", "receptionist", "hello"));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, messageDB.countUnreadMessages("rec1", "receptionist"));
+        }
+        StatementCache.Stats stats = pool.getStatementCacheStats();
+        assertEquals(4, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+}
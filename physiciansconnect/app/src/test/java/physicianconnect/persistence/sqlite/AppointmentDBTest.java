@@ -11,6 +11,7 @@ import org.junit.jupiter.api.*;
 
 import physicianconnect.objects.Appointment;
 import physicianconnect.objects.Physician;
+import physicianconnect.persistence.interfaces.Page;
 
 public class AppointmentDBTest {
 
@@ -105,4 +106,219 @@ public class AppointmentDBTest {
         Appointment a = new Appointment("doc1", "Bruce Banner", LocalDateTime.now().plusMinutes(5));
         assertThrows(RuntimeException.class, () -> db.deleteAppointment(a));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAppointmentsPageWalksEveryRowOnce() {
+        for (int i = 0; i < 5; i++) {
+            db.addAppointment(new Appointment("doc1", "Patient " + i, LocalDateTime.of(2025, 7, 1, 9, 0).plusHours(i)));
+        }
+
+        Page<Appointment> first = db.getAppointmentsPage(null, 2);
+        Page<Appointment> second = db.getAppointmentsPage(first.nextCursor(), 2);
+        Page<Appointment> last = db.getAppointmentsPage(second.nextCursor(), 2);
+
+        assertEquals(List.of("Patient 0", "Patient 1"), first.items().stream().map(Appointment::getPatientName).toList());
+        assertEquals(List.of("Patient 2", "Patient 3"), second.items().stream().map(Appointment::getPatientName).toList());
+        assertEquals(1, last.items().size());
+        assertFalse(last.hasMore());
+        assertTrue(last.items().get(0).getId() > 0);
+    }
+
+    @Test
+    public void testAppointmentsPageRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> db.getAppointmentsPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> db.getAppointmentsPage("not-a-cursor", 10));
+    }
+
+    @Test
+    public void testStreamAndForEachSeeAllAppointments() {
+        for (int i = 0; i < Page.STREAM_PAGE_SIZE + 3; i++) {
+            db.addAppointment(new Appointment("doc2", "Patient " + i, LocalDateTime.of(2025, 7, 1, 9, 0).plusMinutes(i)));
+        }
+
+        assertEquals(Page.STREAM_PAGE_SIZE + 3, db.streamAppointments().count());
+        List<Appointment> seen = new java.util.ArrayList<>();
+        db.forEachAppointment(seen::add);
+        assertEquals(Page.STREAM_PAGE_SIZE + 3, seen.size());
+    }
+
+    @Test
+    public void testAddAppointmentsWritesWholeBatch() {
+        List<Appointment> batch = new java.util.ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            batch.add(new Appointment("doc1", "Patient " + i, LocalDateTime.of(2025, 8, 1, 9, 0).plusMinutes(i)));
+        }
+        db.addAppointments(batch);
+
+        assertEquals(1200, db.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    public void testAddAppointmentsAssignsStoredIds() {
+        db.addAppointment(new Appointment("doc2", "Earlier", LocalDateTime.of(2025, 8, 1, 8, 0)));
+        List<Appointment> batch = new java.util.ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            batch.add(new Appointment("doc1", "Patient " + i, LocalDateTime.of(2025, 8, 1, 9, 0).plusMinutes(i)));
+        }
+        db.addAppointments(batch);
+
+        for (Appointment a : batch) {
+            Appointment stored = db.getAppointmentById(a.getId());
+            assertNotNull(stored);
+            assertEquals(a.getPatientName(), stored.getPatientName());
+        }
+    }
+
+    @Test
+    public void testAddRejectsAppointmentWithIdBeforeWriting() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 1, 9, 0);
+        Appointment stored = new Appointment(7, "doc1", "Patient A", slot, null);
+
+        assertThrows(IllegalArgumentException.class, () -> db.addAppointment(stored));
+        assertThrows(IllegalArgumentException.class, () -> db.addAppointmentIfSlotFree(stored));
+        assertThrows(IllegalArgumentException.class, () -> db.addAppointments(List.of(
+                new Appointment("doc1", "Patient B", slot.plusMinutes(30)), stored)));
+        assertTrue(db.getAppointmentsForPhysician("doc1").isEmpty());
+    }
+
+    @Test
+    public void testAddAppointmentsIsTheUnguardedImportPath() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 1, 9, 0);
+        db.addAppointments(List.of(
+                new Appointment("doc1", "Patient A", slot),
+                new Appointment("doc1", "Patient B", slot)));
+
+        assertEquals(2, db.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    public void testAddAppointmentsRollsBackOnFailure() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 1, 9, 0);
+        List<Appointment> batch = List.of(
+                new Appointment("doc1", "Patient A", slot),
+                new Appointment("doc1", "Patient B", slot.plusMinutes(30)),
+                new Appointment("doc1", "Patient A", slot));
+
+        assertThrows(RuntimeException.class, () -> db.addAppointments(batch));
+        assertTrue(db.getAppointmentsForPhysician("doc1").isEmpty());
+
+        // the cached statement must not carry the failed batch into the next write
+        db.addAppointment(new Appointment("doc1", "Patient C", slot));
+        assertEquals(1, db.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    public void testUpdateAppointmentsRewritesEveryRow() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 1, 9, 0);
+        db.addAppointments(List.of(
+                new Appointment("doc1", "Patient A", slot),
+                new Appointment("doc1", "Patient B", slot.plusMinutes(30))));
+
+        List<Appointment> moved = new java.util.ArrayList<>();
+        for (Appointment a : db.getAppointmentsForPhysician("doc1")) {
+            moved.add(new Appointment(a.getId(), a.getPhysicianId(), a.getPatientName(),
+                    a.getDateTime().plusDays(1), "moved"));
+        }
+        db.updateAppointments(moved);
+
+        for (Appointment a : db.getAppointmentsForPhysician("doc1")) {
+            assertEquals(2, a.getDateTime().getDayOfMonth());
+            assertEquals("moved", a.getNotes());
+        }
+    }
+
+    @Test
+    public void testAddAppointmentIfSlotFree() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 4, 10, 0);
+        assertTrue(db.addAppointmentIfSlotFree(new Appointment("doc1", "Patient A", slot)));
+        assertFalse(db.addAppointmentIfSlotFree(new Appointment("doc1", "Patient B", slot)));
+        assertTrue(db.addAppointmentIfSlotFree(new Appointment("doc2", "Patient B", slot)));
+
+        List<Appointment> doc1 = db.getAppointmentsForPhysician("doc1");
+        assertEquals(1, doc1.size());
+        assertEquals("Patient A", doc1.get(0).getPatientName());
+    }
+
+    @Test
+    public void testConcurrentBookingsOfOneSlotAdmitOnlyOne() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 4, 10, 0);
+        int writers = 8;
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(writers);
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        List<java.util.concurrent.Future<Boolean>> results = new java.util.ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            Appointment a = new Appointment("doc1", "Patient " + i, slot);
+            results.add(pool.submit(() -> {
+                start.await();
+                return db.addAppointmentIfSlotFree(a);
+            }));
+        }
+        start.countDown();
+        int booked = 0;
+        for (java.util.concurrent.Future<Boolean> result : results) {
+            if (result.get()) {
+                booked++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, booked);
+        assertEquals(1, db.getAppointmentsForPhysician("doc1").size());
+    }
+
+    @Test
+    public void testSlotChecks() {
+        LocalDateTime slot = LocalDateTime.of(2025, 8, 4, 10, 0);
+        db.addAppointment(new Appointment("doc1", "Patient A", slot));
+
+        assertTrue(db.isSlotTaken("doc1", slot));
+        assertFalse(db.isSlotTaken("doc1", slot.plusMinutes(30)));
+        assertFalse(db.isSlotTaken("doc2", slot));
+        assertFalse(db.isSlotTakenByOther("doc1", slot, "Patient A"));
+        assertTrue(db.isSlotTakenByOther("doc1", slot, "Patient B"));
+    }
+
+    @Test
+    public void testAppointmentsForPhysiciansInRange() {
+        LocalDateTime day = LocalDateTime.of(2025, 8, 5, 8, 0);
+        db.addAppointment(new Appointment("doc2", "Patient B", day.plusHours(2)));
+        db.addAppointment(new Appointment("doc1", "Patient A", day.plusHours(1)));
+        db.addAppointment(new Appointment("doc1", "Patient C", day.plusDays(1)));
+
+        List<Appointment> found = db.getAppointmentsForPhysiciansInRange(
+                List.of("doc2", "doc1", "doc9"), day, day.plusHours(9));
+
+        assertEquals(List.of("Patient A", "Patient B"), found.stream().map(Appointment::getPatientName).toList());
+        assertEquals("doc1", found.get(0).getPhysicianId());
+        assertTrue(db.getAppointmentsForPhysiciansInRange(List.of(), day, day.plusHours(9)).isEmpty());
+    }
+
+    @Test
+    public void testAddAssignsIdForLookup() {
+        Appointment a = new Appointment("doc1", "Bruce Banner", LocalDateTime.of(2030, 1, 2, 9, 0));
+        db.addAppointment(a);
+        Appointment b = new Appointment("doc2", "Tony Stark", LocalDateTime.of(2030, 1, 2, 9, 0));
+        assertTrue(db.addAppointmentIfSlotFree(b));
+
+        assertTrue(a.getId() > 0);
+        assertNotEquals(a.getId(), b.getId());
+        Appointment found = db.getAppointmentById(b.getId());
+        assertEquals("doc2", found.getPhysicianId());
+        assertEquals("Tony Stark", found.getPatientName());
+        assertEquals(b.getDateTime(), found.getDateTime());
+    }
+
+    @Test
+    public void testTakenSlotAssignsNoId() {
+        LocalDateTime slot = LocalDateTime.of(2030, 1, 2, 9, 0);
+        db.addAppointment(new Appointment("doc1", "First", slot));
+        Appointment second = new Appointment("doc1", "Second", slot);
+        assertFalse(db.addAppointmentIfSlotFree(second));
+        assertEquals(-1, second.getId());
+    }
+
+    @Test
+    public void testGetAppointmentByUnknownIdIsNull() {
+        assertNull(db.getAppointmentById(12345));
+    }
+}
@@ -2,12 +2,15 @@ package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueSummary;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,13 +62,13 @@ class InvoiceDBTest {
     @Test
     void testAddAndFetchInvoice() throws Exception {
         insertAppointment("1");
-        ServiceItem s = new ServiceItem("Consult", 100);
+        ServiceItem s = new ServiceItem("Consult", 100_00);
         Invoice inv = new Invoice("inv1", "1", "Alice", List.of(s), 0);
         db.addInvoice(inv);
         Invoice fetched = db.getInvoiceById("inv1");
         assertNotNull(fetched);
         assertEquals("Alice", fetched.getPatientName());
-        assertEquals(100, fetched.getTotalAmount());
+        assertEquals(100_00, fetched.getTotalCents());
     }
 
     @Test
@@ -77,8 +80,8 @@ class InvoiceDBTest {
     void testGetAllInvoices() throws Exception {
         insertAppointment("1");
         insertAppointment("2");
-        db.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0));
-        db.addInvoice(new Invoice("inv2", "2", "Bob", List.of(new ServiceItem("Lab", 50)), 0));
+        db.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0));
+        db.addInvoice(new Invoice("inv2", "2", "Bob", List.of(new ServiceItem("Lab", 50_00)), 0));
         List<Invoice> all = db.getAllInvoices();
         assertEquals(2, all.size());
     }
@@ -86,7 +89,7 @@ class InvoiceDBTest {
     @Test
     void testGetInvoicesByMonth() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         db.addInvoice(inv);
         LocalDateTime created = inv.getCreatedAt();
         List<Invoice> result = db.getInvoicesByMonth(created.getYear(), created.getMonthValue());
@@ -96,7 +99,7 @@ class InvoiceDBTest {
     @Test
     void testGetInvoicesByMonthNotFound() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         db.addInvoice(inv);
         List<Invoice> result = db.getInvoicesByMonth(1999, 1);
         assertTrue(result.isEmpty());
@@ -105,30 +108,56 @@ class InvoiceDBTest {
     @Test
     void testUpdateInvoice() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         db.addInvoice(inv);
-        inv.setBalance(50.0);
+        inv.setBalanceCents(50_00);
         inv.setStatus("Paid");
         db.updateInvoice(inv);
         Invoice updated = db.getInvoiceById("inv1");
-        assertEquals(50.0, updated.getBalance());
+        assertEquals(50_00, updated.getBalanceCents());
         assertEquals("Paid", updated.getStatus());
     }
 
     @Test
     void testDeleteInvoice() throws Exception {
         insertAppointment("1");
-        db.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0));
+        db.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0));
         db.deleteInvoiceById("inv1");
         assertNull(db.getInvoiceById("inv1"));
     }
 
+    @Test
+    void testRollupsFollowAddUpdateAndDelete() throws Exception {
+        insertAppointment("1");
+        RevenueRollupDB rollups = new RevenueRollupDB(conn);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
+
+        db.addInvoice(inv);
+        RevenueSummary added = RevenueSummary.of(rollups.getRollups(null, null));
+        assertEquals(1, added.getInvoiceCount());
+        assertEquals(100_00, added.getOutstandingCents());
+
+        inv.setBalanceCents(40_00);
+        inv.setStatus("Partial");
+        db.updateInvoice(inv);
+        RevenueSummary updated = RevenueSummary.of(rollups.getRollups(null, null));
+        assertEquals(1, updated.getInvoiceCount());
+        assertEquals(60_00, updated.getTotalPaidCents());
+        assertTrue(rollups.getRollups(null, null).stream()
+                .anyMatch(r -> r.getStatus().equals("Partial") && r.getInvoiceCount() == 1));
+
+        db.deleteInvoiceById("inv1");
+        RevenueSummary deleted = RevenueSummary.of(rollups.getRollups(null, null));
+        assertEquals(0, deleted.getInvoiceCount());
+        assertEquals(0, deleted.getTotalBilledCents());
+    }
+
     // Exception/catch coverage
 
     @Test
     void testAddInvoiceCatchesSQLException() throws Exception {
         conn.close();
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         assertThrows(RuntimeException.class, () -> db.addInvoice(inv));
     }
 
@@ -153,7 +182,7 @@ class InvoiceDBTest {
     @Test
     void testUpdateInvoiceCatchesSQLException() throws Exception {
         conn.close();
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         assertThrows(RuntimeException.class, () -> db.updateInvoice(inv));
     }
 
@@ -166,7 +195,7 @@ class InvoiceDBTest {
     @Test
     void testDeleteInvoiceByIdActuallyDeletes() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("invDel", "1", "Del", List.of(new ServiceItem("X", 1)), 0);
+        Invoice inv = new Invoice("invDel", "1", "Del", List.of(new ServiceItem("X", 1_00)), 0);
         db.addInvoice(inv);
         assertNotNull(db.getInvoiceById("invDel"));
         db.deleteInvoiceById("invDel");
@@ -176,13 +205,13 @@ class InvoiceDBTest {
     @Test
     void testUpdateInvoiceActuallyUpdates() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("invU", "1", "U", List.of(new ServiceItem("Y", 2)), 0);
+        Invoice inv = new Invoice("invU", "1", "U", List.of(new ServiceItem("Y", 2_00)), 0);
         db.addInvoice(inv);
-        inv.setBalance(123.45);
+        inv.setBalanceCents(123_45);
         inv.setStatus("Paid");
         db.updateInvoice(inv);
         Invoice updated = db.getInvoiceById("invU");
-        assertEquals(123.45, updated.getBalance());
+        assertEquals(123_45, updated.getBalanceCents());
         assertEquals("Paid", updated.getStatus());
     }
 
@@ -190,8 +219,8 @@ class InvoiceDBTest {
     void testGetAllInvoicesCoversWhileLoop() throws Exception {
         insertAppointment("1");
         insertAppointment("2");
-        db.addInvoice(new Invoice("invA", "1", "A", List.of(new ServiceItem("A", 10)), 0));
-        db.addInvoice(new Invoice("invB", "2", "B", List.of(new ServiceItem("B", 20)), 0));
+        db.addInvoice(new Invoice("invA", "1", "A", List.of(new ServiceItem("A", 10_00)), 0));
+        db.addInvoice(new Invoice("invB", "2", "B", List.of(new ServiceItem("B", 20_00)), 0));
         List<Invoice> all = db.getAllInvoices();
         assertTrue(all.stream().anyMatch(i -> i.getId().equals("invA")));
         assertTrue(all.stream().anyMatch(i -> i.getId().equals("invB")));
@@ -200,7 +229,7 @@ class InvoiceDBTest {
     @Test
     void testGetInvoicesByMonthCoversWhileAndIf() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("invM", "1", "M", List.of(new ServiceItem("M", 30)), 0);
+        Invoice inv = new Invoice("invM", "1", "M", List.of(new ServiceItem("M", 30_00)), 0);
         db.addInvoice(inv);
         LocalDateTime created = inv.getCreatedAt();
         List<Invoice> result = db.getInvoicesByMonth(created.getYear(), created.getMonthValue());
@@ -212,7 +241,7 @@ class InvoiceDBTest {
     @Test
     void testGetInvoiceByIdCoversIfNext() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("invN", "1", "N", List.of(new ServiceItem("N", 40)), 0);
+        Invoice inv = new Invoice("invN", "1", "N", List.of(new ServiceItem("N", 40_00)), 0);
         db.addInvoice(inv);
         Invoice fetched = db.getInvoiceById("invN");
         assertNotNull(fetched);
@@ -220,47 +249,21 @@ class InvoiceDBTest {
     }
 
     @Test
-    void testSerializeServicesAndDeserializeServices() throws Exception {
-        List<ServiceItem> services = List.of(
-            new ServiceItem("A", 1.1),
-            new ServiceItem("B", 2.2)
-        );
-        // serialize with multiple items (covers sb.length() > 0)
-        var serializeMethod = db.getClass().getDeclaredMethod("serializeServices", List.class);
-        serializeMethod.setAccessible(true);
-        String serialized = serializeMethod.invoke(db, services).toString();
-        assertTrue(serialized.contains(";"));
-        // deserialize with multiple items (covers arr.length == 2)
-        var deserializeMethod = db.getClass().getDeclaredMethod("deserializeServices", String.class);
-        deserializeMethod.setAccessible(true);
-        List<ServiceItem> deserialized = (List<ServiceItem>) deserializeMethod.invoke(db, serialized);
-        assertEquals(2, deserialized.size());
-        assertEquals("A", deserialized.get(0).getName());
-        assertEquals(2.2, deserialized.get(1).getCost());
-        // deserialize null/empty (covers str == null || str.isEmpty())
-        List<ServiceItem> empty = (List<ServiceItem>) deserializeMethod.invoke(db, "");
-        assertTrue(empty.isEmpty());
+    void testParseLegacyServices() {
+        List<InvoiceItemsMigration.LegacyService> parsed = InvoiceItemsMigration.parseLegacyServices("A:1.1;B:2.2");
+        assertEquals(2, parsed.size());
+        assertEquals("A", parsed.get(0).name());
+        assertEquals(2.2, parsed.get(1).cost());
+        assertTrue(InvoiceItemsMigration.parseLegacyServices("").isEmpty());
+        assertTrue(InvoiceItemsMigration.parseLegacyServices(null).isEmpty());
     }
 
     @Test
-    void testSerializeServicesSingleItem() throws Exception {
-        List<ServiceItem> services = List.of(new ServiceItem("Single", 9.99));
-        var serializeMethod = db.getClass().getDeclaredMethod("serializeServices", List.class);
-        serializeMethod.setAccessible(true);
-        String serialized = serializeMethod.invoke(db, services).toString();
-        assertEquals("Single:9.99", serialized);
-    }
-
-    @Test
-    void testDeserializeServicesMalformedString() throws Exception {
-        var deserializeMethod = db.getClass().getDeclaredMethod("deserializeServices", String.class);
-        deserializeMethod.setAccessible(true);
+    void testParseLegacyServicesMalformedString() {
         // Malformed: missing cost
-        List<ServiceItem> result = (List<ServiceItem>) deserializeMethod.invoke(db, "BadData");
-        assertTrue(result.isEmpty());
+        assertTrue(InvoiceItemsMigration.parseLegacyServices("BadData").isEmpty());
         // Malformed: extra colon
-        result = (List<ServiceItem>) deserializeMethod.invoke(db, "A:1.0:extra");
-        assertTrue(result.isEmpty());
+        assertTrue(InvoiceItemsMigration.parseLegacyServices("A:1.0:extra").isEmpty());
     }
 
     @Test
@@ -276,7 +279,7 @@ class InvoiceDBTest {
     @Test
     void testUpdateInvoiceWithNullStatus() throws Exception {
         insertAppointment("4");
-        Invoice inv = new Invoice("invNullStatus", "4", "NullStatus", List.of(new ServiceItem("Test", 1)), 0);
+        Invoice inv = new Invoice("invNullStatus", "4", "NullStatus", List.of(new ServiceItem("Test", 1_00)), 0);
         db.addInvoice(inv);
         inv.setStatus(null);
         db.updateInvoice(inv);
@@ -299,16 +302,16 @@ class InvoiceDBTest {
     @Test
     void testFromResultSetCoversAllFields() throws Exception {
         insertAppointment("1");
-        Invoice inv = new Invoice("invF", "1", "F", List.of(new ServiceItem("F", 99)), 5.5);
-        inv.setBalance(10.1);
+        Invoice inv = new Invoice("invF", "1", "F", List.of(new ServiceItem("F", 99_00)), 5_50);
+        inv.setBalanceCents(10_10);
         inv.setStatus("Paid");
         db.addInvoice(inv);
         Invoice fetched = db.getInvoiceById("invF");
         assertEquals("invF", fetched.getId());
         assertEquals("1", fetched.getAppointmentId());
         assertEquals("F", fetched.getPatientName());
-        assertEquals(5.5, fetched.getInsuranceAdjustment());
-        assertEquals(10.1, fetched.getBalance());
+        assertEquals(5_50, fetched.getInsuranceAdjustmentCents());
+        assertEquals(10_10, fetched.getBalanceCents());
         assertEquals("Paid", fetched.getStatus());
         assertFalse(fetched.getServices().isEmpty());
         assertNotNull(fetched.getCreatedAt());
@@ -318,15 +321,15 @@ class InvoiceDBTest {
     void testFromResultSetWithNullStatus() throws Exception {
         insertAppointment("5");
         // Insert invoice directly with status NULL
-        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment_cents, total_cents, balance_cents, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "invNull");
             stmt.setInt(2, 5);
             stmt.setString(3, "NullStatus");
             stmt.setString(4, ""); // empty services
-            stmt.setDouble(5, 0.0);
-            stmt.setDouble(6, 0.0);
-            stmt.setDouble(7, 0.0);
+            stmt.setLong(5, 0);
+            stmt.setLong(6, 0);
+            stmt.setLong(7, 0);
             stmt.setNull(8, java.sql.Types.VARCHAR); // status is NULL
             stmt.setString(9, LocalDateTime.now().toString());
             stmt.executeUpdate();
@@ -335,4 +338,178 @@ class InvoiceDBTest {
         assertNotNull(fetched);
         assertNull(fetched.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetInvoicesByMonthUsesStoredCreatedAt() throws Exception {
+        insertAppointment("1");
+        insertAppointment("2");
+        insertAppointment("3");
+        List<ServiceItem> services = List.of(new ServiceItem("Consult", 100_00));
+        db.addInvoice(new Invoice("may", "1", "A", services, 0, LocalDateTime.of(2024, 5, 31, 23, 59, 59)));
+        db.addInvoice(new Invoice("jun", "2", "B", services, 0, LocalDateTime.of(2024, 6, 1, 0, 0)));
+        db.addInvoice(new Invoice("jun2", "3", "C", services, 0, LocalDateTime.of(2024, 6, 30, 12, 0, 0, 123456789)));
+
+        List<Invoice> june = db.getInvoicesByMonth(2024, 6);
+        assertEquals(List.of("jun", "jun2"), june.stream().map(Invoice::getId).toList());
+        assertEquals(LocalDateTime.of(2024, 6, 1, 0, 0), june.get(0).getCreatedAt());
+        assertEquals(1, db.getInvoicesByMonth(2024, 5).size());
+        assertTrue(db.getInvoicesByMonth(2024, 7).isEmpty());
+    }
+
+    @Test
+    void testGetInvoicesCreatedBetween() throws Exception {
+        insertAppointment("1");
+        insertAppointment("2");
+        List<ServiceItem> services = List.of(new ServiceItem("Consult", 100_00));
+        db.addInvoice(new Invoice("a", "1", "A", services, 0, LocalDateTime.of(2024, 6, 10, 9, 0)));
+        db.addInvoice(new Invoice("b", "2", "B", services, 0, LocalDateTime.of(2024, 6, 20, 9, 0)));
+
+        List<Invoice> result = db.getInvoicesCreatedBetween(
+                LocalDateTime.of(2024, 6, 10, 9, 0), LocalDateTime.of(2024, 6, 20, 9, 0));
+        assertEquals(1, result.size());
+        assertEquals("a", result.get(0).getId());
+    }
+
+    @Test
+    void testGetInvoicesCreatedBetweenCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class, () -> db.getInvoicesCreatedBetween(
+                LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 7, 1, 0, 0)));
+        assertTrue(ex.getMessage().contains("Failed to fetch invoices by date range"));
+    }
+
+    @Test
+    void testSchemaMigrationAddsEpochColumnToExistingInvoices() throws Exception {
+        Connection legacy = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (var stmt = legacy.createStatement()) {
+            stmt.execute("CREATE TABLE invoices (id TEXT PRIMARY KEY, appointment_id INTEGER, patient_name TEXT, "
+                    + "services TEXT, insurance_adjustment REAL, total_amount REAL, balance REAL, status TEXT, "
+                    + "created_at TEXT)");
+            stmt.execute("INSERT INTO invoices VALUES ('old', NULL, 'P', 'Consult:100.0', 0, 100, 100, 'Sent', "
+                    + "'2023-02-14T10:15:30')");
+        }
+        SchemaInitializer.initializeSchema(legacy);
+
+        List<Invoice> february = new InvoiceDB(legacy).getInvoicesByMonth(2023, 2);
+        assertEquals(1, february.size());
+        assertEquals(LocalDateTime.of(2023, 2, 14, 10, 15, 30), february.get(0).getCreatedAt());
+        assertEquals(1, february.get(0).getServices().size());
+        assertEquals(100_00, february.get(0).getTotalCents());
+        legacy.close();
+    }
+
+    @Test
+    void testServicesRoundTripThroughInvoiceItemsInOrder() throws Exception {
+        insertAppointment("1");
+        db.addInvoice(new Invoice("inv1", "1", "Alice", List.of(
+                new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00), new ServiceItem("Consult", 25_00)), 10_00));
+
+        Invoice fetched = db.getInvoiceById("inv1");
+        assertEquals(List.of("Consult", "Lab", "Consult"), fetched.getServices().stream().map(ServiceItem::getName).toList());
+        assertEquals(165_00, fetched.getTotalCents());
+        try (var stmt = conn.createStatement();
+                var rs = stmt.executeQuery("SELECT COUNT(*) FROM invoice_items WHERE invoice_id = 'inv1'")) {
+            assertEquals(3, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void testGetAllInvoicesGroupsItemsPerInvoice() throws Exception {
+        insertAppointment("1");
+        insertAppointment("2");
+        insertAppointment("3");
+        db.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00)), 0));
+        db.addInvoice(new Invoice("b", "2", "B", List.of(), 0));
+        db.addInvoice(new Invoice("c", "3", "C", List.of(new ServiceItem("XRay", 75_00)), 0));
+
+        List<Invoice> all = db.getAllInvoices();
+        assertEquals(List.of("a", "b", "c"), all.stream().map(Invoice::getId).toList());
+        assertEquals(2, all.get(0).getServices().size());
+        assertTrue(all.get(1).getServices().isEmpty());
+        assertEquals(75_00, all.get(2).getTotalCents());
+    }
+
+    @Test
+    void testDeleteInvoiceRemovesItems() throws Exception {
+        insertAppointment("1");
+        db.addInvoice(new Invoice("inv1", "1", "A", List.of(new ServiceItem("Consult", 100_00)), 0));
+        db.deleteInvoiceById("inv1");
+        try (var stmt = conn.createStatement(); var rs = stmt.executeQuery("SELECT COUNT(*) FROM invoice_items")) {
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    void testFailedItemInsertRollsBackInvoice() throws Exception {
+        insertAppointment("1");
+        Invoice bad = new Invoice("inv1", "1", "A", List.of(new ServiceItem(null, 100_00)), 0);
+        assertThrows(RuntimeException.class, () -> db.addInvoice(bad));
+        assertNull(db.getInvoiceById("inv1"));
+    }
+
+    @Test
+    void testGetRevenueByService() throws Exception {
+        insertAppointment("1");
+        insertAppointment("2");
+        insertAppointment("3");
+        LocalDateTime june = LocalDateTime.of(2024, 6, 10, 9, 0);
+        db.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00)), 0, june));
+        db.addInvoice(new Invoice("b", "2", "B", List.of(new ServiceItem("Consult", 100_00)), 0, june.plusDays(1)));
+        db.addInvoice(new Invoice("c", "3", "C", List.of(new ServiceItem("XRay", 500_00)), 0, june.plusMonths(1)));
+
+        Map<String, Long> revenue = db.getRevenueByService(LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 7, 1, 0, 0));
+        assertEquals(List.of("Consult", "Lab"), List.copyOf(revenue.keySet()));
+        assertEquals(200_00L, revenue.get("Consult"));
+        assertEquals(50_00L, revenue.get("Lab"));
+    }
+
+    @Test
+    void testMigrationMovesLegacyServicesIntoItems() throws Exception {
+        // the schema as it stood before version 7, still in REAL dollars
+        Connection legacy = DriverManager.getConnection("jdbc:sqlite::memory:");
+        MigrationRunner.migrate(legacy, SchemaInitializer.MIGRATIONS.subList(0, 6));
+        try (var stmt = legacy.createStatement()) {
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, "
+                    + "total_amount, balance, status, created_at) VALUES ('legacy', NULL, 'P', 'Consult:100.0;Lab:50.0', "
+                    + "0, 150, 150, 'Sent', '2024-01-05T10:00')");
+        }
+        InvoiceItemsMigration.migrate(legacy);
+        // running it again must not duplicate anything
+        InvoiceItemsMigration.migrate(legacy);
+        SchemaInitializer.initializeSchema(legacy);
+
+        Invoice fetched = new InvoiceDB(legacy).getInvoiceById("legacy");
+        assertEquals(2, fetched.getServices().size());
+        assertEquals("Lab", fetched.getServices().get(1).getName());
+        assertEquals(50_00, fetched.getServices().get(1).getCostCents());
+        assertEquals(150_00, fetched.getTotalCents());
+        try (var stmt = legacy.createStatement();
+                var rs = stmt.executeQuery("SELECT services FROM invoices WHERE id = 'legacy'")) {
+            assertNull(rs.getString(1));
+        }
+        legacy.close();
+    }
+
+    @Test
+    void testInvoicesPageLimitsInvoicesNotItemRows() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            insertAppointment(String.valueOf(i));
+            db.addInvoice(new Invoice("inv" + i, String.valueOf(i), "Patient " + i,
+                    List.of(new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00)), 0));
+        }
+
+        Page<Invoice> first = db.getInvoicesPage(null, 2);
+        assertEquals(List.of("inv1", "inv2"), first.items().stream().map(Invoice::getId).toList());
+        assertEquals(2, first.items().get(1).getServices().size());
+        assertTrue(first.hasMore());
+
+        Page<Invoice> rest = db.getInvoicesPage(first.nextCursor(), 2);
+        assertEquals(List.of("inv3"), rest.items().stream().map(Invoice::getId).toList());
+        assertFalse(rest.hasMore());
+
+        assertEquals(3, db.streamInvoices().count());
+        List<Invoice> seen = new java.util.ArrayList<>();
+        db.forEachInvoice(seen::add);
+        assertEquals(3, seen.size());
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Medication;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -108,4 +109,25 @@ public class MedicationDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.deleteAllMedications());
         assertTrue(ex.getMessage().contains("Failed to delete all medications"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMedicationsPageAndStream() {
+        db.addMedication(new Medication("Ibuprofen", "200mg", "Twice a day", ""));
+        db.addMedication(new Medication("Amoxicillin", "500mg", "Three times a day", ""));
+        db.addMedication(new Medication("Aspirin", "81mg", "Daily", ""));
+
+        Page<Medication> first = db.getMedicationsPage(null, 2);
+        assertEquals(List.of("Ibuprofen", "Amoxicillin"), first.items().stream().map(Medication::getName).toList());
+        Page<Medication> rest = db.getMedicationsPage(first.nextCursor(), 2);
+        assertEquals(List.of("Aspirin"), rest.items().stream().map(Medication::getName).toList());
+        assertFalse(rest.hasMore());
+
+        // an exactly full last page has no next cursor
+        assertFalse(db.getMedicationsPage(null, 3).hasMore());
+
+        assertEquals(3, db.streamMedications().count());
+        List<Medication> seen = new java.util.ArrayList<>();
+        db.forEachMedication(seen::add);
+        assertEquals(3, seen.size());
+    }
+}
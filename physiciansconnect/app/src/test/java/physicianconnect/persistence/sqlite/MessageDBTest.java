@@ -301,4 +301,183 @@ class MessageDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.countUnreadMessages("rid", "rtype"));
         assertTrue(ex.getMessage().contains("Failed to count unread messages"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindConversationReturnsBothDirectionsOldestFirst() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        Message m1 = makeMessage("doc1", "physician", "rec1", "receptionist", "first");
+        Message m2 = makeMessage("rec1", "receptionist", "doc1", "physician", "second");
+        Message other = makeMessage("doc1", "physician", "rec2", "receptionist", "elsewhere");
+        m1.setTimestamp(base);
+        m2.setTimestamp(base.plusMinutes(1));
+        other.setTimestamp(base.plusMinutes(2));
+        db.save(m2);
+        db.save(m1);
+        db.save(other);
+
+        List<Message> fromDoctor = db.findConversation("doc1", "physician", "rec1", "receptionist", null, 50);
+        List<Message> fromReceptionist = db.findConversation("rec1", "receptionist", "doc1", "physician", null, 50);
+
+        assertEquals(List.of("first", "second"), fromDoctor.stream().map(Message::getContent).toList());
+        assertEquals(List.of("first", "second"), fromReceptionist.stream().map(Message::getContent).toList());
+    }
+
+    @Test
+    void testFindConversationSinceAndLimit() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            Message m = makeMessage("doc1", "physician", "rec1", "receptionist", "m" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            db.save(m);
+        }
+
+        List<Message> latest = db.findConversation("doc1", "physician", "rec1", "receptionist", null, 2);
+        assertEquals(List.of("m3", "m4"), latest.stream().map(Message::getContent).toList());
+
+        List<Message> after = db.findConversation("doc1", "physician", "rec1", "receptionist", base.plusMinutes(2), 50);
+        assertEquals(List.of("m3", "m4"), after.stream().map(Message::getContent).toList());
+
+        assertTrue(db.findConversation("doc1", "physician", "rec1", "receptionist", base.plusMinutes(4), 50).isEmpty());
+    }
+
+    @Test
+    void testFindConversationSincePagesForwardWithoutGaps() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            Message m = makeMessage("doc1", "physician", "rec1", "receptionist", "m" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            db.save(m);
+        }
+
+        List<Message> first = db.findConversation("doc1", "physician", "rec1", "receptionist", base, 2);
+        assertEquals(List.of("m1", "m2"), first.stream().map(Message::getContent).toList());
+
+        List<Message> second = db.findConversation("doc1", "physician", "rec1", "receptionist",
+                first.get(1).getTimestamp(), 2);
+        assertEquals(List.of("m3", "m4"), second.stream().map(Message::getContent).toList());
+    }
+
+    @Test
+    void testFindConversationBeforePagesBack() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            Message m = makeMessage("rec1", "receptionist", "doc1", "physician", "m" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            db.save(m);
+        }
+
+        List<Message> older = db.findConversationBefore("doc1", "physician", "rec1", "receptionist",
+                base.plusMinutes(3), 2);
+        assertEquals(List.of("m1", "m2"), older.stream().map(Message::getContent).toList());
+
+        List<Message> oldest = db.findConversationBefore("doc1", "physician", "rec1", "receptionist",
+                older.get(0).getTimestamp(), 2);
+        assertEquals(List.of("m0"), oldest.stream().map(Message::getContent).toList());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversationBefore("doc1", "physician", "rec1", "receptionist", null, 2));
+    }
+
+    @Test
+    void testFindConversationTypeMatters() {
+        db.save(makeMessage("u1", "physician", "u2", "receptionist", "hello"));
+        assertTrue(db.findConversation("u1", "physician", "u2", "physician", null, 50).isEmpty());
+    }
+
+    @Test
+    void testFindConversationRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversation("doc1", "physician", "rec1", "receptionist", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> db.findConversation(null, "physician", "rec1", "receptionist", null, 10));
+    }
+
+    @Test
+    void testFindConversationCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> db.findConversation("doc1", "physician", "rec1", "receptionist", null, 10));
+        assertTrue(ex.getMessage().contains("Failed to find conversation"));
+    }
+
+    @Test
+    void testMarkConversationReadUpToTime() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            Message m = makeMessage("rec1", "receptionist", "doc1", "physician", "in" + i);
+            m.setTimestamp(base.plusMinutes(i));
+            db.save(m);
+        }
+        Message mine = makeMessage("doc1", "physician", "rec1", "receptionist", "out");
+        mine.setTimestamp(base);
+        db.save(mine);
+        Message elsewhere = makeMessage("rec2", "receptionist", "doc1", "physician", "other thread");
+        elsewhere.setTimestamp(base);
+        db.save(elsewhere);
+
+        int unread = db.markConversationRead("doc1", "physician", "rec1", "receptionist", base.plusMinutes(1));
+
+        assertEquals(2, unread); // in2 and the other thread
+        assertEquals(List.of("in2", "other thread"),
+                db.findUnreadByReceiverId("doc1", "physician").stream().map(Message::getContent).sorted().toList());
+        assertEquals(1, db.countUnreadMessages("rec1", "receptionist"));
+    }
+
+    @Test
+    void testMarkConversationReadWithNothingToMark() {
+        assertEquals(0, db.markConversationRead("doc1", "physician", "rec1", "receptionist", LocalDateTime.now()));
+    }
+
+    @Test
+    void testMarkConversationReadRejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> db.markConversationRead("doc1", "physician", "rec1", "receptionist", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> db.markConversationRead("doc1", " ", "rec1", "receptionist", LocalDateTime.now()));
+    }
+
+    @Test
+    void testMarkConversationReadCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> db.markConversationRead("doc1", "physician", "rec1", "receptionist", LocalDateTime.now()));
+        assertTrue(ex.getMessage().contains("Failed to mark conversation as read"));
+    }
+
+    @Test
+    void testUnreadCounterFollowsSaveAndMarkAsRead() {
+        Message m1 = makeMessage("sid", "stype", "rid", "rtype", "one");
+        Message m2 = makeMessage("sid", "stype", "rid", "rtype", "two");
+        db.save(m1);
+        db.save(m2);
+        db.save(m2); // re-saving replaces the row, it does not count it again
+        assertEquals(2, db.countUnreadMessages("rid", "rtype"));
+
+        db.markAsRead(m1.getMessageId());
+        db.markAsRead(m1.getMessageId());
+        assertEquals(1, db.countUnreadMessages("rid", "rtype"));
+
+        m2.setRead(true);
+        db.save(m2);
+        assertEquals(0, db.countUnreadMessages("rid", "rtype"));
+    }
+
+    @Test
+    void testResaveToAnotherReceiverMovesTheCount() {
+        Message m = makeMessage("sid", "stype", "rid", "rtype", "hello");
+        db.save(m);
+        Message redirected = new Message("sid", "stype", "rid2", "rtype", "hello");
+        redirected.setMessageId(m.getMessageId());
+        db.save(redirected);
+
+        assertEquals(0, db.countUnreadMessages("rid", "rtype"));
+        assertEquals(1, db.countUnreadMessages("rid2", "rtype"));
+    }
+
+    @Test
+    void testMarkAsReadOfMissingMessageLeavesCounterAlone() {
+        db.save(makeMessage("sid", "stype", "rid", "rtype", "hello"));
+        assertThrows(RuntimeException.class, () -> db.markAsRead(UUID.randomUUID()));
+        assertEquals(1, db.countUnreadMessages("rid", "rtype"));
+    }
+}
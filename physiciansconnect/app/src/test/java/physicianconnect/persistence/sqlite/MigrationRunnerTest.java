@@ -0,0 +1,294 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Message;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationRunnerTest {
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private int userVersion() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            return MigrationRunner.getUserVersion(stmt);
+        }
+    }
+
+    private boolean tableExists(String name) throws Exception {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + name + "'")) {
+            return rs.next();
+        }
+    }
+
+    private int historyCount() throws Exception {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM schema_migrations")) {
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void testFreshDatabaseAppliesEveryMigrationWithTiming() throws Exception {
+        List<MigrationRunner.Applied> applied = MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        assertEquals(SchemaInitializer.MIGRATIONS.size(), applied.size());
+        assertTrue(applied.stream().allMatch(a -> a.durationMillis() >= 0));
+        assertEquals(SchemaInitializer.MIGRATIONS.size(), userVersion());
+        assertEquals(SchemaInitializer.MIGRATIONS.size(), historyCount());
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT checksum, duration_ms FROM schema_migrations WHERE version = 1")) {
+            assertEquals(SchemaInitializer.MIGRATIONS.get(0).getChecksum(), rs.getString("checksum"));
+            assertTrue(rs.getLong("duration_ms") >= 0);
+        }
+    }
+
+    @Test
+    void testCurrentDatabaseRunsNothing() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+        assertTrue(MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS).isEmpty());
+        assertEquals(SchemaInitializer.MIGRATIONS.size(), historyCount());
+    }
+
+    @Test
+    void testOnlyPendingMigrationsRun() throws Exception {
+        List<Migration> first = List.of(Migration.sql(1, "a", "CREATE TABLE a (id INTEGER)"));
+        List<Migration> both = List.of(first.get(0), Migration.sql(2, "b", "CREATE TABLE b (id INTEGER)"));
+
+        MigrationRunner.migrate(conn, first);
+        List<MigrationRunner.Applied> applied = MigrationRunner.migrate(conn, both);
+
+        assertEquals(1, applied.size());
+        assertEquals(2, applied.get(0).version());
+        assertTrue(tableExists("b"));
+        assertEquals(2, userVersion());
+    }
+
+    @Test
+    void testEditedMigrationIsRejected() throws Exception {
+        MigrationRunner.migrate(conn, List.of(Migration.sql(1, "a", "CREATE TABLE a (id INTEGER)")));
+
+        List<Migration> edited = List.of(Migration.sql(1, "a", "CREATE TABLE a (id INTEGER, name TEXT)"));
+        RuntimeException ex = assertThrows(IllegalStateException.class, () -> MigrationRunner.migrate(conn, edited));
+        assertTrue(ex.getMessage().contains("changed after it was applied"));
+    }
+
+    @Test
+    void testFailureRollsBackEveryPendingMigration() throws Exception {
+        List<Migration> migrations = List.of(
+                Migration.sql(1, "a", "CREATE TABLE a (id INTEGER)"),
+                Migration.sql(2, "broken", "CREATE TABLE b (id INTEGER)", "NOT VALID SQL"));
+
+        assertThrows(RuntimeException.class, () -> MigrationRunner.migrate(conn, migrations));
+
+        assertFalse(tableExists("a"));
+        assertFalse(tableExists("b"));
+        assertFalse(tableExists("schema_migrations"));
+        assertEquals(0, userVersion());
+        assertTrue(conn.getAutoCommit());
+    }
+
+    @Test
+    void testMigrationsMustBeNumberedInOrder() {
+        List<Migration> gap = List.of(
+                Migration.sql(1, "a", "CREATE TABLE a (id INTEGER)"),
+                Migration.sql(3, "c", "CREATE TABLE c (id INTEGER)"));
+        assertThrows(IllegalStateException.class, () -> MigrationRunner.migrate(conn, gap));
+    }
+
+    @Test
+    void testConversationKeyIsBackfilled() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS.subList(0, 8));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, "
+                    + "content, timestamp, is_read) VALUES ('m1', 'rec1', 'receptionist', 'doc1', 'physician', "
+                    + "'hi', '2025-06-01T09:00', 0)");
+        }
+
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT conversation_key FROM messages WHERE message_id = 'm1'")) {
+            assertTrue(rs.next());
+            assertEquals(Message.conversationKey("doc1", "physician", "rec1", "receptionist"),
+                    rs.getString(1));
+        }
+    }
+
+    @Test
+    void testUnreadCountersAreBackfilled() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS.subList(0, 9));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, "
+                    + "content, timestamp, is_read) VALUES ('m1', 'rec1', 'receptionist', 'doc1', 'physician', "
+                    + "'hi', '2025-06-01T09:00', 0), ('m2', 'rec1', 'receptionist', 'doc1', 'physician', "
+                    + "'seen', '2025-06-01T09:01', 1)");
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr', 'd@x', 'pw')");
+            stmt.execute("INSERT INTO notifications (user_id, user_type, message, type, timestamp, is_read) "
+                    + "VALUES ('doc1', 'physician', 'hi', 'info', '2025-06-01T09:00', 0)");
+        }
+
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT kind, unread FROM unread_counters WHERE user_id = 'doc1' ORDER BY kind")) {
+            assertTrue(rs.next());
+            assertEquals("message", rs.getString(1));
+            assertEquals(1, rs.getInt(2));
+            assertTrue(rs.next());
+            assertEquals("notification", rs.getString(1));
+            assertEquals(1, rs.getInt(2));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void testRevenueRollupsAreBackfilled() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS.subList(0, 10));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr', 'd@x', 'pw')");
+            stmt.execute("INSERT INTO appointments (id, physician_id, patient_name, datetime, notes) "
+                    + "VALUES (1, 'doc1', 'Alice', '2025-06-01T09:00', '')");
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, "
+                    + "balance, status, created_at) VALUES ('i1', 1, 'Alice', 0, 100, 40, 'Partial', "
+                    + "'2025-06-01T10:30:00'), ('i2', 1, 'Alice', 0, 50, 50, 'Partial', '2025-06-02T10:30:00')");
+        }
+
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT month, status, invoice_count, billed_cents, outstanding_cents FROM revenue_rollups")) {
+            assertTrue(rs.next());
+            assertEquals("2025-06", rs.getString(1));
+            assertEquals("Partial", rs.getString(2));
+            assertEquals(2, rs.getInt(3));
+            assertEquals(150_00, rs.getLong(4));
+            assertEquals(90_00, rs.getLong(5));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void testMoneyIsConvertedToCents() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS.subList(0, 11));
+        try (Statement stmt = conn.createStatement()) {
+            // REAL dollars as they were left by arithmetic on doubles
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, "
+                    + "balance, status, created_at) VALUES ('i1', NULL, 'Alice', 0.1 + 0.2, 49.99, 49.99 - 0.1 - 0.2, "
+                    + "'Partial', '2025-06-01T10:30:00'), ('i2', NULL, 'Bob', NULL, 10, 0, 'Paid', "
+                    + "'2025-06-02T10:30:00')");
+            stmt.execute("INSERT INTO invoice_items (invoice_id, position, name, cost) VALUES ('i1', 0, 'Lab', 49.99)");
+            stmt.execute("INSERT INTO payments (id, invoice_id, amount, method, paid_at) "
+                    + "VALUES ('p1', 'i1', 0.1 + 0.2, 'Cash', '2025-06-03T10:30:00')");
+        }
+
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT insurance_adjustment_cents, total_cents, balance_cents "
+                        + "FROM invoices ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals(30, rs.getLong(1));
+            assertEquals(49_99, rs.getLong(2));
+            assertEquals(49_69, rs.getLong(3));
+            assertTrue(rs.next());
+            assertEquals(0, rs.getLong(1));
+            assertEquals(10_00, rs.getLong(2));
+        }
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT (SELECT cost_cents FROM invoice_items), "
+                        + "(SELECT amount_cents FROM payments), "
+                        + "(SELECT SUM(billed_cents) FROM revenue_rollups)")) {
+            assertEquals(49_99, rs.getLong(1));
+            assertEquals(30, rs.getLong(2));
+            assertEquals(59_99, rs.getLong(3));
+        }
+    }
+
+    @Test
+    void testDriftedBalanceIsPaidOff() throws Exception {
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS.subList(0, 11));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment, total_amount, "
+                    + "balance, status, created_at) VALUES ('i1', NULL, 'Alice', 0, 100, 0.004, 'Partial', "
+                    + "'2025-06-01T10:30:00'), ('i2', NULL, 'Bob', 0, 100, 0.5, 'Partial', '2025-06-02T10:30:00')");
+        }
+
+        MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS);
+
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT id, balance_cents, status FROM invoices ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals(0, rs.getLong(2));
+            assertEquals("Paid", rs.getString(3));
+            assertTrue(rs.next());
+            assertEquals(50, rs.getLong(2));
+            assertEquals("Partial", rs.getString(3));
+        }
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT status, invoice_count, outstanding_cents FROM revenue_rollups "
+                        + "ORDER BY status")) {
+            assertTrue(rs.next());
+            assertEquals("Paid", rs.getString(1));
+            assertEquals(1, rs.getInt(2));
+            assertEquals(0, rs.getLong(3));
+            assertTrue(rs.next());
+            assertEquals("Partial", rs.getString(1));
+            assertEquals(50, rs.getLong(3));
+            assertFalse(rs.next());
+        }
+    }
+
+    @Test
+    void testLegacyDatabaseIsUpgradedInPlace() throws Exception {
+        // Shape of a prod.db from before the runner: tables created ad hoc, notifications
+        // without is_read, and a user_version left behind by the old index stage
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE physicians (id TEXT PRIMARY KEY, name TEXT NOT NULL, email TEXT NOT NULL, "
+                    + "password TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE notifications (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, "
+                    + "user_type TEXT NOT NULL, message TEXT NOT NULL, type TEXT NOT NULL, timestamp TEXT NOT NULL)");
+            stmt.execute("INSERT INTO physicians VALUES ('doc1', 'Dr', 'd@x', 'pw')");
+            stmt.execute("INSERT INTO notifications (user_id, user_type, message, type, timestamp) "
+                    + "VALUES ('doc1', 'physician', 'hi', 'info', '2024-01-01T10:00')");
+            stmt.execute("PRAGMA user_version = 2");
+        }
+
+        SchemaInitializer.initializeSchema(conn);
+
+        assertEquals(SchemaInitializer.MIGRATIONS.size(), userVersion());
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT is_read FROM notifications")) {
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+        assertTrue(tableExists("invoice_items"));
+    }
+
+    @Test
+    void testClosedConnectionThrows() throws Exception {
+        conn.close();
+        assertThrows(RuntimeException.class, () -> MigrationRunner.migrate(conn, SchemaInitializer.MIGRATIONS));
+    }
+}
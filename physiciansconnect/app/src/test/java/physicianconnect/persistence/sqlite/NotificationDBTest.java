@@ -1,12 +1,16 @@
 package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
+import physicianconnect.events.EventBus;
+import physicianconnect.events.NotificationAdded;
 import physicianconnect.objects.Notification;
+import physicianconnect.persistence.ConnectionPool;
 import physicianconnect.persistence.interfaces.ReceptionistPersistence;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -94,4 +98,120 @@ void testAddAndFetchNotification() {
         conn.close();
         assertDoesNotThrow(() -> db.clearNotificationsForUser("uid", "utype")); // e.printStackTrace() is called, not thrown
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddNotificationsWritesBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        db.addNotifications(List.of(
+                new Notification("one", "type", now, "uid", "utype"),
+                new Notification("two", "type", now, "uid", "utype")));
+        assertEquals(2, db.getNotificationsForUser("uid", "utype").size());
+    }
+
+    @Test
+    void testBroadcastToReceptionistsNotifiesEachReceptionist() {
+        when(receptionistPersistence.getAllReceptionistIds()).thenReturn(List.of("r1", "r2", "r3"));
+        db.broadcastToReceptionists("Invoice overdue", "invoice");
+
+        for (String id : List.of("r1", "r2", "r3")) {
+            List<Notification> list = db.getNotificationsForUser(id, "receptionist");
+            assertEquals(1, list.size());
+            assertEquals("Invoice overdue", list.get(0).getMessage());
+        }
+    }
+
+    @Test
+    void testAddNotificationsCatchesSQLException() throws Exception {
+        Notification n = new Notification("msg", "type", LocalDateTime.now(), "uid", "utype");
+        conn.close();
+        assertDoesNotThrow(() -> db.addNotifications(List.of(n)));
+    }
+
+    @Test
+    void testAddNotificationPublishesEvent() {
+        EventBus bus = new EventBus();
+        List<NotificationAdded> events = new ArrayList<>();
+        bus.subscribe(NotificationAdded.class, events::add);
+        NotificationDB publishing = new NotificationDB(ConnectionPool.wrap(conn), receptionistPersistence, bus);
+
+        Notification n = new Notification("msg", "type", LocalDateTime.now(), "uid", "utype");
+        publishing.addNotification(n);
+
+        assertEquals(1, events.size());
+        assertSame(n, events.get(0).notification());
+    }
+
+    @Test
+    void testAddNotificationsPublishesEachAfterCommit() {
+        EventBus bus = new EventBus();
+        List<NotificationAdded> events = new ArrayList<>();
+        bus.subscribe(NotificationAdded.class, events::add);
+        NotificationDB publishing = new NotificationDB(ConnectionPool.wrap(conn), receptionistPersistence, bus);
+
+        LocalDateTime now = LocalDateTime.now();
+        publishing.addNotifications(List.of(
+                new Notification("one", "type", now, "uid", "utype"),
+                new Notification("two", "type", now, "uid", "utype")));
+
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testFailedAddPublishesNothing() throws Exception {
+        EventBus bus = new EventBus();
+        List<NotificationAdded> events = new ArrayList<>();
+        bus.subscribe(NotificationAdded.class, events::add);
+        NotificationDB publishing = new NotificationDB(ConnectionPool.wrap(conn), receptionistPersistence, bus);
+        conn.close();
+
+        publishing.addNotification(new Notification("msg", "type", LocalDateTime.now(), "uid", "utype"));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testUnreadCounterFollowsEveryWrite() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification first = new Notification("one", "type", now, "uid", "utype");
+        db.addNotification(first);
+        db.addNotifications(List.of(
+                new Notification("two", "type", now, "uid", "utype"),
+                new Notification("three", "type", now, "uid", "utype")));
+        assertEquals(3, db.countUnreadNotifications("uid", "utype"));
+
+        db.markNotificationAsRead(first);
+        db.markNotificationAsRead(first); // already read, not counted twice
+        assertEquals(2, db.countUnreadNotifications("uid", "utype"));
+
+        db.markAllAsRead("uid", "utype");
+        assertEquals(0, db.countUnreadNotifications("uid", "utype"));
+        assertTrue(db.getNotificationsForUser("uid", "utype").stream().allMatch(Notification::isRead));
+
+        db.addNotification(new Notification("four", "type", now, "uid", "utype"));
+        db.clearNotificationsForUser("uid", "utype");
+        assertEquals(0, db.countUnreadNotifications("uid", "utype"));
+    }
+
+    @Test
+    void testUnreadCounterIsPerUser() throws Exception {
+        try (var stmt = conn.prepareStatement(
+                "INSERT INTO physicians (id, name, email, password) VALUES ('uid2', 'Other', 'o@doc.com', 'pw')")) {
+            stmt.executeUpdate();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        db.addNotifications(List.of(
+                new Notification("one", "type", now, "uid", "utype"),
+                new Notification("two", "type", now, "uid2", "utype")));
+        db.markAllAsRead("uid", "utype");
+
+        assertEquals(0, db.countUnreadNotifications("uid", "utype"));
+        assertEquals(1, db.countUnreadNotifications("uid2", "utype"));
+        assertEquals(0, db.countUnreadNotifications("uid2", "othertype"));
+    }
+
+    @Test
+    void testCountUnreadNotificationsCatchesSQLException() throws Exception {
+        conn.close();
+        assertEquals(0, db.countUnreadNotifications("uid", "utype"));
+    }
+}
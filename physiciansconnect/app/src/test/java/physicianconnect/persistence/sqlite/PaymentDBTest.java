@@ -2,6 +2,9 @@ package physicianconnect.persistence.sqlite;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.PaymentPosting.Outcome;
+import physicianconnect.objects.RevenueSummary;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -61,33 +64,52 @@ class PaymentDBTest {
 
     // Helper to insert an invoice
     private void insertInvoice(String id, String appointmentId) throws Exception {
-        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment, total_amount, balance, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO invoices (id, appointment_id, patient_name, services, insurance_adjustment_cents, total_cents, balance_cents, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (var stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, id);
             stmt.setInt(2, Integer.parseInt(appointmentId));
             stmt.setString(3, "Test Patient");
             stmt.setString(4, "");
-            stmt.setDouble(5, 0.0);
-            stmt.setDouble(6, 0.0);
-            stmt.setDouble(7, 0.0);
+            stmt.setLong(5, 0);
+            stmt.setLong(6, 0);
+            stmt.setLong(7, 0);
             stmt.setString(8, "Unpaid");
             stmt.setString(9, LocalDateTime.now().toString());
             stmt.executeUpdate();
         }
     }
 
+    // Gives the invoice something to pay off
+    private void fundInvoice(String id, long amountCents) throws Exception {
+        try (var stmt = conn.prepareStatement("UPDATE invoices SET total_cents = ?, balance_cents = ?, status = 'Sent' WHERE id = ?")) {
+            stmt.setLong(1, amountCents);
+            stmt.setLong(2, amountCents);
+            stmt.setString(3, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private Object[] invoiceState(String id) throws Exception {
+        try (var stmt = conn.prepareStatement("SELECT balance_cents, status FROM invoices WHERE id = ?")) {
+            stmt.setString(1, id);
+            var rs = stmt.executeQuery();
+            assertTrue(rs.next());
+            return new Object[] { rs.getLong("balance_cents"), rs.getString("status") };
+        }
+    }
+
     @Test
     void testAddAndFetchPayment() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         db.addPayment(p);
         List<Payment> payments = db.getPaymentsByInvoice("inv1");
         assertEquals(1, payments.size());
-        assertEquals(50.0, payments.get(0).getAmount());
+        assertEquals(50_00, payments.get(0).getAmountCents());
     }
 
     @Test
     void testGetPaymentsByMonth() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         db.addPayment(p);
         List<Payment> payments = db.getPaymentsByMonth(LocalDateTime.now().getYear(), LocalDateTime.now().getMonthValue());
         assertFalse(payments.isEmpty());
@@ -98,14 +120,14 @@ class PaymentDBTest {
     @Test
     void testAddPaymentCatchesSQLException() throws Exception {
         conn.close();
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         Exception ex = assertThrows(RuntimeException.class, () -> db.addPayment(p));
         assertTrue(ex.getMessage().contains("Failed to add payment"));
     }
 
     @Test
     void testGetPaymentsByInvoiceCatchesSQLException() throws Exception {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         db.addPayment(p);
         conn.close();
         Exception ex = assertThrows(RuntimeException.class, () -> db.getPaymentsByInvoice("inv1"));
@@ -114,10 +136,135 @@ class PaymentDBTest {
 
     @Test
     void testGetPaymentsByMonthCatchesSQLException() throws Exception {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         db.addPayment(p);
         conn.close();
         Exception ex = assertThrows(RuntimeException.class, () -> db.getPaymentsByMonth(LocalDateTime.now().getYear(), LocalDateTime.now().getMonthValue()));
         assertTrue(ex.getMessage().contains("Failed to fetch payments by month"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPaymentsByMonthFiltersOnPaidAt() {
+        db.addPayment(new Payment("p1", "inv1", 10_00, "Cash", LocalDateTime.of(2024, 1, 31, 23, 0)));
+        db.addPayment(new Payment("p2", "inv1", 20_00, "Card", LocalDateTime.of(2024, 2, 1, 8, 30)));
+        db.addPayment(new Payment("p3", "inv1", 30_00, "Card", LocalDateTime.of(2024, 3, 1, 0, 0)));
+
+        List<Payment> february = db.getPaymentsByMonth(2024, 2);
+        assertEquals(1, february.size());
+        assertEquals("p2", february.get(0).getId());
+        assertEquals(LocalDateTime.of(2024, 2, 1, 8, 30), february.get(0).getPaidAt());
+    }
+
+    @Test
+    void testPostPaymentsDebitsInvoice() throws Exception {
+        fundInvoice("inv1", 100_00);
+
+        PaymentPosting posting = db.postPayments(List.of(new Payment("p1", "inv1", 40_00, "Card"))).get(0);
+
+        assertTrue(posting.isPosted());
+        assertEquals("Sent", posting.oldStatus());
+        assertEquals(100_00, posting.oldBalanceCents());
+        assertEquals("Partial", posting.newStatus());
+        assertEquals(60_00, posting.newBalanceCents());
+        assertEquals(100_00, posting.invoiceTotalCents());
+        assertNotNull(posting.invoiceCreatedAt());
+        assertArrayEquals(new Object[] { 60_00L, "Partial" }, invoiceState("inv1"));
+        assertEquals(1, db.getPaymentsByInvoice("inv1").size());
+    }
+
+    @Test
+    void testPostPaymentsPaysOffExactBalance() throws Exception {
+        fundInvoice("inv1", 80_00);
+
+        PaymentPosting posting = db.postPayments(List.of(new Payment("p1", "inv1", 80_00, "Insurance"))).get(0);
+
+        assertEquals("Paid", posting.newStatus());
+        assertEquals(0, posting.newBalanceCents());
+        assertArrayEquals(new Object[] { 0L, "Paid" }, invoiceState("inv1"));
+    }
+
+    @Test
+    void testPostPaymentsInCentsPayOffToExactlyZero() throws Exception {
+        // 0.10 + 0.20 dollars as doubles is 0.30000000000000004 and would have been refused
+        fundInvoice("inv1", 30);
+
+        List<PaymentPosting> postings = db.postPayments(List.of(
+                new Payment("p1", "inv1", 10, "Cash"),
+                new Payment("p2", "inv1", 20, "Cash")));
+
+        assertTrue(postings.get(1).isPosted());
+        assertEquals("Paid", postings.get(1).newStatus());
+        assertArrayEquals(new Object[] { 0L, "Paid" }, invoiceState("inv1"));
+    }
+
+    @Test
+    void testPostPaymentsReportsEachLine() throws Exception {
+        fundInvoice("inv1", 100_00);
+
+        List<PaymentPosting> postings = db.postPayments(List.of(
+                new Payment("p1", "inv1", 30_00, "Insurance"),
+                new Payment("p2", "inv1", 200_00, "Insurance"),
+                new Payment("p3", "missing", 10_00, "Insurance"),
+                new Payment("p4", "inv1", 0, "Insurance"),
+                new Payment("p5", "inv1", 70_00, "Insurance")));
+
+        assertEquals(List.of(Outcome.POSTED, Outcome.EXCEEDS_BALANCE, Outcome.INVOICE_NOT_FOUND,
+                Outcome.INVALID_AMOUNT, Outcome.POSTED), postings.stream().map(PaymentPosting::outcome).toList());
+        // the second good line sees the first one's debit
+        assertEquals(70_00, postings.get(4).oldBalanceCents());
+        assertEquals("Partial", postings.get(4).oldStatus());
+        assertArrayEquals(new Object[] { 0L, "Paid" }, invoiceState("inv1"));
+        assertEquals(List.of("p1", "p5"), db.getPaymentsByInvoice("inv1").stream().map(Payment::getId).sorted().toList());
+    }
+
+    @Test
+    void testPostPaymentsNeverOverdraws() throws Exception {
+        fundInvoice("inv1", 50_00);
+
+        List<PaymentPosting> postings = db.postPayments(List.of(
+                new Payment("p1", "inv1", 50_00, "Cash"),
+                new Payment("p2", "inv1", 50_00, "Card")));
+
+        assertTrue(postings.get(0).isPosted());
+        assertEquals(Outcome.EXCEEDS_BALANCE, postings.get(1).outcome());
+        assertEquals(0L, invoiceState("inv1")[0]);
+        assertEquals(1, db.getPaymentsByInvoice("inv1").size());
+    }
+
+    @Test
+    void testPostPaymentsMoveRollupsInTheSameCommit() throws Exception {
+        fundInvoice("inv1", 100_00);
+        RevenueRollupDB rollups = new RevenueRollupDB(conn);
+        rollups.rebuild();
+
+        db.postPayments(List.of(
+                new Payment("p1", "inv1", 40_00, "Card"),
+                new Payment("p2", "inv1", 500_00, "Card")));
+
+        RevenueSummary summary = RevenueSummary.of(rollups.getRollups(null, null));
+        assertEquals(1, summary.getInvoiceCount());
+        assertEquals(40_00, summary.getTotalPaidCents());
+        assertEquals(60_00, summary.getOutstandingCents());
+        assertTrue(rollups.getRollups(null, null).stream()
+                .anyMatch(r -> r.getStatus().equals("Partial") && r.getInvoiceCount() == 1));
+        assertTrue(rollups.getRollups(null, null).stream()
+                .anyMatch(r -> r.getStatus().equals("Sent") && r.getInvoiceCount() == 0));
+    }
+
+    @Test
+    void testPostPaymentsCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class,
+                () -> db.postPayments(List.of(new Payment("p1", "inv1", 10_00, "Cash"))));
+        assertTrue(ex.getMessage().contains("Failed to post payments"));
+    }
+
+    @Test
+    void testGetPaymentsBetweenIsOrdered() {
+        db.addPayment(new Payment("late", "inv1", 10_00, "Cash", LocalDateTime.of(2024, 2, 20, 9, 0)));
+        db.addPayment(new Payment("early", "inv1", 20_00, "Card", LocalDateTime.of(2024, 2, 2, 9, 0)));
+
+        List<Payment> result = db.getPaymentsBetween(LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0));
+        assertEquals(List.of("early", "late"), result.stream().map(Payment::getId).toList());
+    }
+}
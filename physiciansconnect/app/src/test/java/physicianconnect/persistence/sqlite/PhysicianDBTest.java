@@ -39,6 +39,16 @@ public class PhysicianDBTest {
         assertEquals("secret", fetched.getPassword());
     }
 
+    @Test
+    public void testGetPhysicianByEmailIgnoresCase() {
+        db.addPhysician(new Physician("e1", "Dr. Case", "Case@Email.com", "pw"));
+
+        Physician fetched = db.getPhysicianByEmail("case@email.COM");
+        assertNotNull(fetched);
+        assertEquals("e1", fetched.getId());
+        assertNull(db.getPhysicianByEmail("nobody@email.com"));
+    }
+
     @Test
     public void testDuplicatePhysicianIsIgnored() {
         Physician p1 = new Physician("x", "A", "a@email.com", "pw1");
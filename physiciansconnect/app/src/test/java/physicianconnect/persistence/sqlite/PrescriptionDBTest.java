@@ -6,6 +6,7 @@ import org.junit.jupiter.api.*;
 
 import physicianconnect.objects.Prescription;
 import physicianconnect.objects.Physician;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -131,4 +132,39 @@ public class PrescriptionDBTest {
         Exception ex = assertThrows(RuntimeException.class, () -> db.deleteAllPrescriptions());
         assertTrue(ex.getMessage().contains("Failed to delete all prescriptions"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPrescriptionsPageAndStream() {
+        for (int i = 0; i < 3; i++) {
+            db.addPrescription(new Prescription(0, "doc1", "Patient " + i, "Ibuprofen", "200mg", "200mg",
+                    "Once a day", "", "2025-06-0" + (i + 1) + "T10:00"));
+        }
+
+        Page<Prescription> first = db.getPrescriptionsPage(null, 2);
+        assertEquals(2, first.items().size());
+        Page<Prescription> rest = db.getPrescriptionsPage(first.nextCursor(), 2);
+        assertEquals(1, rest.items().size());
+        assertNull(rest.nextCursor());
+        assertTrue(first.items().get(1).getId() < rest.items().get(0).getId());
+
+        assertEquals(3, db.streamPrescriptions().count());
+        List<Prescription> seen = new java.util.ArrayList<>();
+        db.forEachPrescription(seen::add);
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    public void testAddPrescriptionsIsAllOrNothing() {
+        Prescription first = new Prescription(
+                0, "doc1", "Bruce Banner", "Ibuprofen", "200mg", "200mg", "Once a day", "", "2025-06-01T10:00");
+        Prescription second = new Prescription(
+                0, "doc1", "Bruce Banner", "Aspirin", "81mg", "81mg", "Once a day", "", "2025-06-01T10:00");
+        db.addPrescriptions(List.of(first, second));
+        assertEquals(2, db.getPrescriptionsForPatient("Bruce Banner").size());
+
+        Prescription third = new Prescription(
+                0, "doc2", "Tony Stark", "Amoxicillin", "500mg", "500mg", "Twice a day", "", "2025-06-02T09:00");
+        assertThrows(RuntimeException.class, () -> db.addPrescriptions(List.of(third, first)));
+        assertTrue(db.getPrescriptionsForPatient("Tony Stark").isEmpty());
+    }
+}
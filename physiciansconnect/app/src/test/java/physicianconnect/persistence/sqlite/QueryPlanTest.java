@@ -0,0 +1,145 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN QUERY PLAN over the keyed lookups issued by the sqlite DAOs and
+ * fails if any of them falls back to a full table SCAN.
+ */
+class QueryPlanTest {
+    private Connection conn;
+
+    private static final List<String> HOT_QUERIES = List.of(
+            AppointmentDB.FIND_FOR_PHYSICIAN,
+            AppointmentDB.FIND_FOR_PHYSICIAN_IN_RANGE,
+            AppointmentDB.FIND_BY_ID,
+            AppointmentDB.UPDATE,
+            AppointmentDB.DELETE,
+            AppointmentDB.PAGE,
+            AppointmentDB.findForPhysiciansInRange(2),
+            AppointmentDB.SLOT_TAKEN,
+            AppointmentDB.SLOT_TAKEN_BY_OTHER,
+            AppointmentDB.INSERT_IF_SLOT_FREE,
+            MessageDB.FIND_BY_RECEIVER,
+            MessageDB.FIND_BY_SENDER,
+            MessageDB.FIND_UNREAD_BY_RECEIVER,
+            MessageDB.FIND_READ_STATE,
+            MessageDB.MARK_READ,
+            MessageDB.FIND_CONVERSATION_AFTER,
+            MessageDB.FIND_CONVERSATION_BEFORE,
+            MessageDB.MARK_CONVERSATION_READ,
+            NotificationDB.FIND_FOR_USER,
+            NotificationDB.CLEAR_FOR_USER,
+            NotificationDB.MARK_READ,
+            NotificationDB.MARK_ALL_READ,
+            UnreadCounters.GET,
+            UnreadCounters.ADJUST,
+            UnreadCounters.CLEAR,
+            RevenueRollupDB.RANGE,
+            RevenueRollupDB.ADJUST,
+            RevenueRollupDB.INVOICE_STATE,
+            ReferralDB.FIND_FOR_PHYSICIAN,
+            ReferralDB.FIND_FOR_PATIENT,
+            ReferralDB.DELETE_BY_ID,
+            PrescriptionDB.FIND_FOR_PATIENT,
+            PrescriptionDB.DELETE_BY_ID,
+            PrescriptionDB.PAGE,
+            PaymentDB.FIND_BY_INVOICE,
+            PaymentDB.FIND_BETWEEN,
+            PaymentDB.DEBIT,
+            InvoiceDB.FIND_BY_ID,
+            InvoiceDB.FIND_BETWEEN,
+            InvoiceDB.PAGE,
+            InvoiceDB.REVENUE_BY_SERVICE,
+            InvoiceDB.UPDATE,
+            InvoiceDB.DELETE_ITEMS,
+            InvoiceDB.DELETE_BY_ID,
+            PhysicianDB.FIND_BY_ID,
+            PhysicianDB.FIND_BY_EMAIL,
+            PhysicianDB.DELETE_BY_ID,
+            ReceptionistDB.FIND_BY_ID,
+            ReceptionistDB.FIND_BY_EMAIL,
+            ReceptionistDB.DELETE_BY_ID,
+            MedicationDB.DELETE,
+            MedicationDB.PAGE);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    private List<String> explain(String sql) throws Exception {
+        List<String> details = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                details.add(rs.getString("detail"));
+            }
+        }
+        return details;
+    }
+
+    @Test
+    void testNoHotQueryFallsBackToTableScan() throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (String sql : HOT_QUERIES) {
+            // a LIMITed subquery (e.g. InvoiceDB.PAGE) is scanned as a co-routine, not as a table
+            List<String> subqueries = new ArrayList<>();
+            for (String detail : explain(sql)) {
+                if (detail.startsWith("CO-ROUTINE ") || detail.startsWith("MATERIALIZE ")) {
+                    subqueries.add("SCAN " + detail.substring(detail.indexOf(' ') + 1));
+                } else if (detail.startsWith("SCAN ") && !subqueries.contains(detail)) {
+                    failures.add(sql + " -> " + detail);
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), "Full table scans found:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void testNotificationQueryUsesIndexForOrdering() throws Exception {
+        List<String> plan = explain(NotificationDB.FIND_FOR_USER);
+        assertTrue(plan.stream().anyMatch(d -> d.contains("idx_notifications_user_timestamp")));
+        assertTrue(plan.stream().noneMatch(d -> d.contains("TEMP B-TREE")));
+    }
+
+    @Test
+    void testUnreadRecountUsesCoveringIndex() throws Exception {
+        // the reconciler's recount of messages, grouped along the index without touching the table
+        List<String> plan = explain("SELECT receiver_id, receiver_type, COUNT(*) FROM messages "
+                + "WHERE is_read = 0 GROUP BY receiver_id, receiver_type");
+        assertTrue(plan.stream().anyMatch(d -> d.contains("COVERING INDEX idx_messages_receiver_read")));
+        assertTrue(plan.stream().noneMatch(d -> d.contains("TEMP B-TREE")));
+    }
+
+    @Test
+    void testConversationPageUsesIndexForOrdering() throws Exception {
+        for (String sql : List.of(MessageDB.FIND_CONVERSATION_AFTER, MessageDB.FIND_CONVERSATION_BEFORE)) {
+            List<String> plan = explain(sql);
+            assertTrue(plan.stream().anyMatch(d -> d.contains("idx_messages_conversation")), sql);
+            assertTrue(plan.stream().noneMatch(d -> d.contains("TEMP B-TREE")), sql);
+        }
+    }
+
+    @Test
+    void testSchemaIsIdempotent() {
+        assertDoesNotThrow(() -> SchemaInitializer.initializeSchema(conn));
+    }
+}
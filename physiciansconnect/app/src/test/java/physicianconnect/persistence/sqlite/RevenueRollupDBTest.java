@@ -0,0 +1,168 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.persistence.ConnectionPool;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueRollupDBTest {
+    private Connection conn;
+    private ConnectionPool pool;
+    private RevenueRollupDB db;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+        pool = ConnectionPool.wrap(conn);
+        db = new RevenueRollupDB(pool);
+    }
+
+    // the DAOs adjust inside their own transactions; stand in for one of them
+    private void adjust(YearMonth month, String status, int invoiceDelta, long billedCentsDelta,
+                        long outstandingCentsDelta) throws Exception {
+        pool.inTransaction(lease -> {
+            RevenueRollupDB.adjust(lease, month, status, invoiceDelta, billedCentsDelta, outstandingCentsDelta);
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    @Test
+    void testAdjustAddsUp() throws Exception {
+        YearMonth june = YearMonth.of(2025, 6);
+        adjust(june, "Sent", 1, 100_00, 100_00);
+        adjust(june, "Sent", 1, 50_00, 50_00);
+        adjust(june, "Sent", 0, 0, -30_00);
+
+        List<RevenueRollup> rollups = db.getRollups(june, june.plusMonths(1));
+        assertEquals(1, rollups.size());
+        RevenueRollup r = rollups.get(0);
+        assertEquals("Sent", r.getStatus());
+        assertEquals(2, r.getInvoiceCount());
+        assertEquals(150_00, r.getBilledCents());
+        assertEquals(120_00, r.getOutstandingCents());
+        assertEquals(30_00, r.getPaidCents());
+    }
+
+    @Test
+    void testRangeIsHalfOpenAndOrdered() throws Exception {
+        adjust(YearMonth.of(2025, 5), "Paid", 1, 10_00, 0);
+        adjust(YearMonth.of(2025, 6), "Sent", 1, 20_00, 20_00);
+        adjust(YearMonth.of(2025, 6), "Paid", 1, 30_00, 0);
+        adjust(YearMonth.of(2025, 7), "Sent", 1, 40_00, 40_00);
+
+        List<RevenueRollup> june = db.getRollups(YearMonth.of(2025, 6), YearMonth.of(2025, 7));
+        assertEquals(2, june.size());
+        assertEquals("Paid", june.get(0).getStatus());
+        assertEquals("Sent", june.get(1).getStatus());
+
+        assertEquals(4, db.getRollups(null, null).size());
+        assertEquals(YearMonth.of(2025, 5), db.getRollups(null, YearMonth.of(2025, 6)).get(0).getMonth());
+        assertEquals(1, db.getRollups(YearMonth.of(2025, 7), null).size());
+    }
+
+    @Test
+    void testInvoiceChangedMovesBetweenStatuses() throws Exception {
+        LocalDateTime created = LocalDateTime.of(2025, 6, 3, 9, 0);
+        pool.inTransaction(lease -> {
+            RevenueRollupDB.adjust(lease, YearMonth.from(created), "Sent", 1, 100_00, 100_00);
+            RevenueRollupDB.invoiceChanged(lease, created, 100_00, "Sent", 100_00, "Partial", 60_00);
+            RevenueRollupDB.invoiceChanged(lease, created, 100_00, "Partial", 60_00, "Partial", 20_00);
+            return null;
+        });
+
+        List<RevenueRollup> rollups = db.getRollups(null, null);
+        RevenueRollup partial = rollups.stream().filter(r -> r.getStatus().equals("Partial")).findFirst().orElseThrow();
+        RevenueRollup sent = rollups.stream().filter(r -> r.getStatus().equals("Sent")).findFirst().orElseThrow();
+        assertEquals(1, partial.getInvoiceCount());
+        assertEquals(20_00, partial.getOutstandingCents());
+        assertEquals(0, sent.getInvoiceCount());
+        assertEquals(0, sent.getBilledCents());
+    }
+
+    @Test
+    void testRolledBackTransactionTakesItsAdjustmentsWithIt() {
+        assertThrows(SQLException.class, () -> pool.inTransaction(lease -> {
+            RevenueRollupDB.adjust(lease, YearMonth.of(2025, 6), "Sent", 1, 100_00, 100_00);
+            throw new SQLException("invoice insert failed");
+        }));
+        assertTrue(db.getRollups(null, null).isEmpty());
+    }
+
+    private void insertInvoices() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr', 'd@x', 'pw')");
+            stmt.execute("INSERT INTO appointments (id, physician_id, patient_name, datetime, notes) "
+                    + "VALUES (1, 'doc1', 'Alice', '2025-06-01T09:00', '')");
+            stmt.execute("INSERT INTO invoices (id, appointment_id, patient_name, insurance_adjustment_cents, "
+                    + "total_cents, balance_cents, status, created_at) VALUES "
+                    + "('i1', 1, 'Alice', 0, 10000, 0, 'Paid', '2025-06-01T10:30:00'), "
+                    + "('i2', 1, 'Alice', 0, 8000, 4000, 'Partial', '2025-06-20T10:30:00'), "
+                    + "('i3', 1, 'Alice', 0, 7500, 7500, 'Sent', '2025-07-03T09:30:00')");
+        }
+    }
+
+    @Test
+    void testInvoicesInsertedOutsideTheDaosAreCounted() throws Exception {
+        insertInvoices();
+        try (Statement stmt = conn.createStatement()) {
+            // a seed script run again: the ignored duplicate must not count twice
+            stmt.execute("INSERT OR IGNORE INTO invoices (id, appointment_id, patient_name, "
+                    + "insurance_adjustment_cents, total_cents, balance_cents, status, created_at) VALUES "
+                    + "('i1', 1, 'Alice', 0, 10000, 0, 'Paid', '2025-06-01T10:30:00')");
+        }
+
+        List<RevenueRollup> rollups = db.getRollups(null, null);
+        assertEquals(3, rollups.size());
+        assertEquals(1, rollups.get(0).getInvoiceCount());
+        assertEquals(100_00, rollups.get(0).getBilledCents());
+        assertEquals(40_00, rollups.get(1).getOutstandingCents());
+    }
+
+    @Test
+    void testInvoicesCascadedFromADeletedAppointmentLeaveTheRollups() throws Exception {
+        insertInvoices();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM appointments WHERE id = 1");
+        }
+
+        for (RevenueRollup r : db.getRollups(null, null)) {
+            assertEquals(0, r.getInvoiceCount());
+            assertEquals(0, r.getBilledCents());
+            assertEquals(0, r.getOutstandingCents());
+        }
+    }
+
+    @Test
+    void testRebuildMatchesInvoices() throws Exception {
+        insertInvoices();
+        adjust(YearMonth.of(2024, 1), "Sent", 5, 999_00, 999_00); // drift
+
+        db.rebuild();
+
+        List<RevenueRollup> rollups = db.getRollups(null, null);
+        assertEquals(3, rollups.size());
+        assertEquals(YearMonth.of(2025, 6), rollups.get(0).getMonth());
+        assertEquals("Paid", rollups.get(0).getStatus());
+        assertEquals(100_00, rollups.get(0).getBilledCents());
+        assertEquals("Partial", rollups.get(1).getStatus());
+        assertEquals(40_00, rollups.get(1).getOutstandingCents());
+        assertEquals(YearMonth.of(2025, 7), rollups.get(2).getMonth());
+    }
+}
@@ -0,0 +1,86 @@
+package physicianconnect.persistence.sqlite;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Message;
+import physicianconnect.objects.Notification;
+import physicianconnect.persistence.ConnectionPool;
+import physicianconnect.persistence.interfaces.ReceptionistPersistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UnreadCounterReconcilerTest {
+    private Connection conn;
+    private ConnectionPool pool;
+    private MessageDB messages;
+    private NotificationDB notifications;
+    private UnreadCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SchemaInitializer.initializeSchema(conn);
+        pool = ConnectionPool.wrap(conn);
+        messages = new MessageDB(pool);
+        notifications = new NotificationDB(pool, mock(ReceptionistPersistence.class));
+        reconciler = new UnreadCounterReconciler(pool);
+        try (Statement stmt = conn.createStatement()) {
+            // notifications.user_id references physicians
+            stmt.execute("INSERT INTO physicians (id, name, email, password) VALUES ('doc1', 'Dr', 'd@x', 'pw')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        reconciler.close();
+        if (conn != null && !conn.isClosed()) {
+            conn.close();
+        }
+    }
+
+    @Test
+    void testCountersKeptByTheDaosNeedNoRepair() {
+        messages.save(new Message("doc1", "physician", "rec1", "receptionist", "hello"));
+        notifications.addNotification(new Notification("msg", "type", LocalDateTime.now(), "doc1", "physician"));
+
+        assertTrue(reconciler.reconcile().isEmpty());
+    }
+
+    @Test
+    void testDriftIsReportedAndRepaired() throws Exception {
+        messages.save(new Message("doc1", "physician", "rec1", "receptionist", "hello"));
+        notifications.addNotification(new Notification("msg", "type", LocalDateTime.now(), "doc1", "physician"));
+        try (Statement stmt = conn.createStatement()) {
+            // written around the DAO, as another tool might
+            stmt.execute("INSERT INTO messages (message_id, sender_id, sender_type, receiver_id, receiver_type, "
+                    + "content, timestamp, is_read, conversation_key) VALUES ('m2', 'doc1', 'physician', 'rec1', "
+                    + "'receptionist', 'again', '2025-06-01T09:00', 0, 'x')");
+            stmt.execute("UPDATE unread_counters SET unread = 5 WHERE kind = 'notification'");
+            stmt.execute("INSERT INTO unread_counters VALUES ('ghost', 'physician', 'notification', 3)");
+        }
+
+        List<UnreadCounterReconciler.Drift> drifts = reconciler.reconcile();
+
+        assertEquals(3, drifts.size());
+        assertTrue(drifts.contains(new UnreadCounterReconciler.Drift("rec1", "receptionist", "message", 1, 2)));
+        assertTrue(drifts.contains(new UnreadCounterReconciler.Drift("doc1", "physician", "notification", 5, 1)));
+        assertTrue(drifts.contains(new UnreadCounterReconciler.Drift("ghost", "physician", "notification", 3, 0)));
+        assertEquals(2, messages.countUnreadMessages("rec1", "receptionist"));
+        assertEquals(1, notifications.countUnreadNotifications("doc1", "physician"));
+        assertEquals(0, notifications.countUnreadNotifications("ghost", "physician"));
+        assertTrue(reconciler.reconcile().isEmpty());
+    }
+
+    @Test
+    void testReconcileCatchesSQLException() throws Exception {
+        conn.close();
+        Exception ex = assertThrows(RuntimeException.class, () -> reconciler.reconcile());
+        assertTrue(ex.getMessage().contains("Failed to reconcile unread counters"));
+    }
+}
@@ -2,6 +2,7 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Appointment;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -107,4 +108,103 @@ void testUpdateAppointmentNoMatchDoesNothing() {
         stub.close();
         assertTrue(stub.getAllAppointments().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAppointmentsPageIsKeyedOnId() {
+        // ids 1, 2, 3 in insertion order, not date order
+        stub.addAppointment(new Appointment("doc1", "Carol", LocalDateTime.of(2025, 6, 12, 9, 0)));
+        stub.addAppointment(new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0)));
+        stub.addAppointment(new Appointment("doc2", "Bob", LocalDateTime.of(2025, 6, 11, 9, 0)));
+
+        Page<Appointment> first = stub.getAppointmentsPage(null, 2);
+        assertEquals(List.of("Carol", "Alice"), first.items().stream().map(Appointment::getPatientName).toList());
+        assertEquals("2", first.nextCursor());
+        Page<Appointment> rest = stub.getAppointmentsPage(first.nextCursor(), 2);
+        assertEquals(List.of("Bob"), rest.items().stream().map(Appointment::getPatientName).toList());
+        assertFalse(rest.hasMore());
+
+        assertEquals(3, stub.streamAppointments().count());
+        List<Appointment> seen = new java.util.ArrayList<>();
+        stub.forEachAppointment(seen::add);
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    void testBatchAddAndUpdate() {
+        Appointment a = new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0));
+        Appointment b = new Appointment("doc1", "Bob", LocalDateTime.of(2025, 6, 10, 9, 30));
+        stub.addAppointments(List.of(a, b));
+        assertEquals(2, stub.getAppointmentsForPhysician("doc1").size());
+
+        Appointment aNotes = new Appointment("doc1", "Alice", a.getDateTime(), "updated");
+        stub.updateAppointments(List.of(aNotes));
+        assertTrue(stub.getAppointmentsForPhysician("doc1").stream()
+                .anyMatch(x -> x.getPatientName().equals("Alice") && "updated".equals(x.getNotes())));
+    }
+
+    @Test
+    void testSlotIndexFollowsWrites() {
+        LocalDateTime slot = LocalDateTime.of(2025, 6, 10, 9, 0);
+        assertTrue(stub.addAppointmentIfSlotFree(new Appointment("doc1", "Alice", slot)));
+        assertFalse(stub.addAppointmentIfSlotFree(new Appointment("doc1", "Bob", slot)));
+        assertTrue(stub.isSlotTaken("doc1", slot));
+        assertFalse(stub.isSlotTakenByOther("doc1", slot, "Alice"));
+        assertTrue(stub.isSlotTakenByOther("doc1", slot, "Bob"));
+
+        stub.deleteAppointment(new Appointment("doc1", "Alice", slot));
+        assertFalse(stub.isSlotTaken("doc1", slot));
+        assertTrue(stub.getAppointmentsForPhysicianInRange("doc1", slot, slot.plusHours(1)).isEmpty());
+
+        stub.addAppointment(new Appointment("doc1", "Bob", slot));
+        stub.deleteAllAppointments();
+        assertFalse(stub.isSlotTaken("doc1", slot));
+    }
+
+    @Test
+    void testAppointmentsForPhysiciansInRange() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 10, 8, 0);
+        stub.addAppointment(new Appointment("doc2", "Bob", day.plusHours(1)));
+        stub.addAppointment(new Appointment("doc1", "Alice", day.plusHours(2)));
+        stub.addAppointment(new Appointment("doc3", "Carol", day.plusHours(3)));
+
+        List<Appointment> found = stub.getAppointmentsForPhysiciansInRange(List.of("doc2", "doc1"), day, day.plusHours(9));
+        assertEquals(List.of("Alice", "Bob"), found.stream().map(Appointment::getPatientName).toList());
+    }
+
+    @Test
+    void testAddRejectsAppointmentWithId() {
+        Appointment stored = new Appointment(5, "doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0), "");
+        assertThrows(IllegalArgumentException.class, () -> stub.addAppointment(stored));
+        assertTrue(stub.getAllAppointments().isEmpty());
+    }
+
+    @Test
+    void testUpdateAndDeleteResolveById() {
+        LocalDateTime nine = LocalDateTime.of(2025, 6, 10, 9, 0);
+        Appointment appt = new Appointment("doc1", "Alice", nine);
+        stub.addAppointment(appt);
+
+        // what AppointmentController.updateAppointmentDateTime passes: same id, new time
+        Appointment moved = new Appointment(appt.getId(), "doc1", "Alice", nine.plusHours(1), "");
+        stub.updateAppointment(moved);
+        assertFalse(stub.isSlotTaken("doc1", nine));
+        assertTrue(stub.isSlotTaken("doc1", nine.plusHours(1)));
+        assertSame(moved, stub.getAppointmentById(appt.getId()));
+        assertEquals(1, stub.getAllAppointments().size());
+
+        stub.deleteAppointment(moved);
+        assertTrue(stub.getAllAppointments().isEmpty());
+        assertFalse(stub.isSlotTaken("doc1", nine.plusHours(1)));
+    }
+
+    @Test
+    void testGetAppointmentById() {
+        Appointment appt = new Appointment("doc1", "Alice", LocalDateTime.of(2025, 6, 10, 9, 0));
+        stub.addAppointment(appt);
+        assertTrue(appt.getId() > 0);
+        assertSame(appt, stub.getAppointmentById(appt.getId()));
+
+        stub.deleteAppointment(appt);
+        assertNull(stub.getAppointmentById(appt.getId()));
+    }
+}
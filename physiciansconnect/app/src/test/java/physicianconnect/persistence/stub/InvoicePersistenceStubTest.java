@@ -3,6 +3,7 @@ package physicianconnect.persistence.stub;
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Invoice;
 import physicianconnect.objects.ServiceItem;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,7 +21,7 @@ class InvoicePersistenceStubTest {
 
     @Test
     void testAddAndGetInvoice() {
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.addInvoice(inv);
         assertEquals("Alice", stub.getInvoiceById("inv1").getPatientName());
     }
@@ -34,22 +35,22 @@ class InvoicePersistenceStubTest {
 
     @Test
     void testAddInvoiceNullIdDoesNothing() {
-        Invoice inv = new Invoice(null, "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice(null, "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.addInvoice(inv);
         assertTrue(stub.getAllInvoices().isEmpty());
     }
 
     @Test
     void testGetAllInvoices() {
-        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0));
-        stub.addInvoice(new Invoice("inv2", "2", "Bob", List.of(new ServiceItem("Lab", 50)), 0));
+        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0));
+        stub.addInvoice(new Invoice("inv2", "2", "Bob", List.of(new ServiceItem("Lab", 50_00)), 0));
         List<Invoice> all = stub.getAllInvoices();
         assertEquals(2, all.size());
     }
 
     @Test
     void testUpdateInvoice() {
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.addInvoice(inv);
         inv.setStatus("Paid");
         stub.updateInvoice(inv);
@@ -66,28 +67,28 @@ class InvoicePersistenceStubTest {
 
     @Test
     void testUpdateInvoiceNullIdDoesNothing() {
-        Invoice inv = new Invoice(null, "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice(null, "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.updateInvoice(inv);
         assertTrue(stub.getAllInvoices().isEmpty());
     }
 
     @Test
     void testDeleteInvoice() {
-        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0));
+        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0));
         stub.deleteInvoiceById("inv1");
         assertNull(stub.getInvoiceById("inv1"));
     }
 
     @Test
     void testDeleteAllInvoices() {
-        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0));
+        stub.addInvoice(new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0));
         stub.deleteAllInvoices();
         assertTrue(stub.getAllInvoices().isEmpty());
     }
 
     @Test
     void testGetInvoicesByMonth() {
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.addInvoice(inv);
         LocalDateTime created = inv.getCreatedAt();
         List<Invoice> result = stub.getInvoicesByMonth(created.getYear(), created.getMonthValue());
@@ -96,7 +97,7 @@ class InvoicePersistenceStubTest {
 
     @Test
     void testGetInvoicesByMonthNotFound() {
-        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100)), 0);
+        Invoice inv = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
         stub.addInvoice(inv);
         List<Invoice> result = stub.getInvoicesByMonth(1999, 1);
         assertTrue(result.isEmpty());
@@ -107,4 +108,39 @@ class InvoicePersistenceStubTest {
         InvoicePersistenceStub seededStub = new InvoicePersistenceStub(true);
         assertFalse(seededStub.getAllInvoices().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetInvoicesCreatedBetweenIsHalfOpenAndOrdered() {
+        List<ServiceItem> services = List.of(new ServiceItem("Consult", 100_00));
+        stub.addInvoice(new Invoice("b", "2", "B", services, 0, LocalDateTime.of(2024, 6, 15, 9, 0)));
+        stub.addInvoice(new Invoice("a", "1", "A", services, 0, LocalDateTime.of(2024, 6, 1, 0, 0)));
+        stub.addInvoice(new Invoice("c", "3", "C", services, 0, LocalDateTime.of(2024, 7, 1, 0, 0)));
+
+        List<Invoice> june = stub.getInvoicesCreatedBetween(LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 7, 1, 0, 0));
+        assertEquals(List.of("a", "b"), june.stream().map(Invoice::getId).toList());
+        assertEquals(2, stub.getInvoicesByMonth(2024, 6).size());
+    }
+
+    @Test
+    void testGetRevenueByService() {
+        LocalDateTime june = LocalDateTime.of(2024, 6, 10, 9, 0);
+        stub.addInvoice(new Invoice("a", "1", "A", List.of(new ServiceItem("Lab", 50_00), new ServiceItem("Consult", 100_00)), 0, june));
+        stub.addInvoice(new Invoice("b", "2", "B", List.of(new ServiceItem("Consult", 100_00)), 0, june));
+
+        var revenue = stub.getRevenueByService(june.withDayOfMonth(1), june.withDayOfMonth(1).plusMonths(1));
+        assertEquals(List.of("Consult", "Lab"), List.copyOf(revenue.keySet()));
+        assertEquals(200_00L, revenue.get("Consult"));
+    }
+
+    @Test
+    void testInvoicesPageOrdersById() {
+        InvoicePersistenceStub seeded = new InvoicePersistenceStub(true);
+
+        Page<Invoice> first = seeded.getInvoicesPage(null, 3);
+        assertEquals(List.of("inv-1", "inv-2", "inv-3"), first.items().stream().map(Invoice::getId).toList());
+        Page<Invoice> rest = seeded.getInvoicesPage(first.nextCursor(), 3);
+        assertEquals(List.of("inv-4"), rest.items().stream().map(Invoice::getId).toList());
+        assertFalse(rest.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> seeded.getInvoicesPage(null, -1));
+    }
+}
@@ -2,6 +2,7 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Medication;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.util.List;
 
@@ -46,4 +47,18 @@ class MedicationPersistenceStubTest {
         stub.close();
         assertTrue(stub.getAllMedications().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMedicationsPage() {
+        stub.addMedication(new Medication("Ibuprofen", "200mg", "Once a day", ""));
+        stub.addMedication(new Medication("Aspirin", "10mg", "daily", ""));
+        stub.addMedication(new Medication("Aspirin", "81mg", "daily", ""));
+
+        Page<Medication> first = stub.getMedicationsPage(null, 2);
+        assertEquals(List.of("10mg", "81mg"), first.items().stream().map(Medication::getDosage).toList());
+        Page<Medication> rest = stub.getMedicationsPage(first.nextCursor(), 2);
+        assertEquals(List.of("Ibuprofen"), rest.items().stream().map(Medication::getName).toList());
+        assertNull(rest.nextCursor());
+        assertEquals(3, stub.streamMedications().count());
+    }
+}
@@ -35,4 +35,17 @@ class NotificationPersistenceStubTest {
         List<Notification> list = stub.getNotificationsForUser("uid", "utype");
         assertTrue(list.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMarkAllAsReadAndCountUnread() {
+        stub.addNotification(new Notification("one", "type", LocalDateTime.now(), "uid", "utype"));
+        stub.addNotification(new Notification("two", "type", LocalDateTime.now(), "uid", "utype"));
+        stub.addNotification(new Notification("other", "type", LocalDateTime.now(), "other", "utype"));
+        assertEquals(2, stub.countUnreadNotifications("uid", "utype"));
+
+        stub.markAllAsRead("uid", "utype");
+
+        assertEquals(0, stub.countUnreadNotifications("uid", "utype"));
+        assertEquals(1, stub.countUnreadNotifications("other", "utype"));
+    }
+}
@@ -1,7 +1,11 @@
 package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
+import physicianconnect.objects.Invoice;
 import physicianconnect.objects.Payment;
+import physicianconnect.objects.PaymentPosting;
+import physicianconnect.objects.PaymentPosting.Outcome;
+import physicianconnect.objects.ServiceItem;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,11 +23,39 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testAddAndGetPaymentsByInvoice() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         stub.addPayment(p);
         List<Payment> payments = stub.getPaymentsByInvoice("inv1");
         assertEquals(1, payments.size());
-        assertEquals(50.0, payments.get(0).getAmount());
+        assertEquals(50_00, payments.get(0).getAmountCents());
+    }
+
+    @Test
+    void testPostPaymentsDebitsInvoices() {
+        InvoicePersistenceStub invoices = new InvoicePersistenceStub(false);
+        Invoice invoice = new Invoice("inv1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0);
+        invoices.addInvoice(invoice);
+        stub = new PaymentPersistenceStub(false, invoices);
+
+        List<PaymentPosting> postings = stub.postPayments(List.of(
+                new Payment("p1", "inv1", 60_00, "Card"),
+                new Payment("p2", "inv1", 60_00, "Card"),
+                new Payment("p3", "inv2", 10_00, "Card"),
+                new Payment("p4", "inv1", 40_00, "Card")));
+
+        assertEquals(List.of(Outcome.POSTED, Outcome.EXCEEDS_BALANCE, Outcome.INVOICE_NOT_FOUND, Outcome.POSTED),
+                postings.stream().map(PaymentPosting::outcome).toList());
+        assertEquals("Partial", postings.get(0).newStatus());
+        assertEquals(0, invoice.getBalanceCents());
+        assertEquals("Paid", invoice.getStatus());
+        assertEquals(2, stub.getPaymentsByInvoice("inv1").size());
+    }
+
+    @Test
+    void testPostPaymentsWithoutInvoicesFindsNone() {
+        PaymentPosting posting = stub.postPayments(List.of(new Payment("p1", "inv1", 10_00, "Cash"))).get(0);
+        assertEquals(Outcome.INVOICE_NOT_FOUND, posting.outcome());
+        assertTrue(stub.getPaymentsByInvoice("inv1").isEmpty());
     }
 
     @Test
@@ -35,7 +67,7 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testGetPaymentsByInvoiceNotFound() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         stub.addPayment(p);
         List<Payment> payments = stub.getPaymentsByInvoice("inv2");
         assertTrue(payments.isEmpty());
@@ -43,7 +75,7 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testGetPaymentsByMonth() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         stub.addPayment(p);
         int year = p.getPaidAt().getYear();
         int month = p.getPaidAt().getMonthValue();
@@ -53,7 +85,7 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testGetPaymentsByMonthNotFound() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         stub.addPayment(p);
         // Use a year/month that does not match
         List<Payment> payments = stub.getPaymentsByMonth(1999, 1);
@@ -62,7 +94,7 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testDeletePaymentById() {
-        Payment p = new Payment("pid1", "inv1", 50.0, "Cash");
+        Payment p = new Payment("pid1", "inv1", 50_00, "Cash");
         stub.addPayment(p);
         stub.deletePaymentById("pid1");
         assertTrue(stub.getPaymentsByInvoice("inv1").isEmpty());
@@ -78,10 +110,20 @@ class PaymentPersistenceStubTest {
 
     @Test
     void testDeleteAllPayments() {
-        stub.addPayment(new Payment("pid1", "inv1", 50.0, "Cash"));
-        stub.addPayment(new Payment("pid2", "inv2", 100.0, "Card"));
+        stub.addPayment(new Payment("pid1", "inv1", 50_00, "Cash"));
+        stub.addPayment(new Payment("pid2", "inv2", 100_00, "Card"));
         stub.deleteAllPayments();
         assertTrue(stub.getPaymentsByInvoice("inv1").isEmpty());
         assertTrue(stub.getPaymentsByInvoice("inv2").isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPaymentsBetweenIsHalfOpen() {
+        stub.addPayment(new Payment("p1", "inv1", 10_00, "Cash", LocalDateTime.of(2024, 2, 1, 0, 0)));
+        stub.addPayment(new Payment("p2", "inv1", 20_00, "Card", LocalDateTime.of(2024, 3, 1, 0, 0)));
+
+        List<Payment> february = stub.getPaymentsBetween(LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0));
+        assertEquals(1, february.size());
+        assertEquals("p1", february.get(0).getId());
+    }
+}
@@ -24,6 +24,13 @@ class PhysicianPersistenceStubTest {
         assertEquals(p.getName(), stub.getPhysicianById("id1").getName());
     }
 
+    @Test
+    void testGetPhysicianByEmailIgnoresCase() {
+        stub.addPhysician(new Physician("id1", "Dr. Alice", "alice@email.com", "pw"));
+        assertEquals("id1", stub.getPhysicianByEmail("ALICE@email.com").getId());
+        assertNull(stub.getPhysicianByEmail("bob@email.com"));
+    }
+
     @Test
     void testAddPhysicianNullThrows() {
         assertThrows(IllegalArgumentException.class, () -> stub.addPhysician(null));
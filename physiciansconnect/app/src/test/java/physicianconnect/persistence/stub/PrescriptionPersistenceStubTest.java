@@ -2,6 +2,7 @@ package physicianconnect.persistence.stub;
 
 import org.junit.jupiter.api.*;
 import physicianconnect.objects.Prescription;
+import physicianconnect.persistence.interfaces.Page;
 
 import java.util.List;
 
@@ -71,4 +72,30 @@ public void testGetPrescriptionsForPatientNotFound() {
     List<Prescription> result = stub.getPrescriptionsForPatient("Nonexistent");
     assertTrue(result.isEmpty());
 }
-}
\ No newline at end of file
+
+    @Test
+    void testPrescriptionsPageAndForEach() {
+        PrescriptionPersistenceStub seeded = new PrescriptionPersistenceStub(true);
+
+        Page<Prescription> first = seeded.getPrescriptionsPage(null, 1);
+        Page<Prescription> rest = seeded.getPrescriptionsPage(first.nextCursor(), 1);
+        assertTrue(first.hasMore());
+        assertTrue(first.items().get(0).getId() < rest.items().get(0).getId());
+        assertThrows(IllegalArgumentException.class, () -> seeded.getPrescriptionsPage("x", 1));
+
+        List<Prescription> seen = new java.util.ArrayList<>();
+        seeded.forEachPrescription(seen::add);
+        assertEquals(seeded.getAllPrescriptions().size(), seen.size());
+    }
+
+    @Test
+    void testAddPrescriptionsAssignsIds() {
+        stub.addPrescriptions(List.of(
+                new Prescription(0, "1", "Pat", "Aspirin", "81mg", "81mg", "Daily", "", "2025-06-01T10:00"),
+                new Prescription(0, "1", "Pat", "Ibuprofen", "200mg", "200mg", "Daily", "", "2025-06-01T10:00")));
+
+        List<Prescription> added = stub.getPrescriptionsForPatient("Pat");
+        assertEquals(2, added.size());
+        assertNotEquals(added.get(0).getId(), added.get(1).getId());
+    }
+}
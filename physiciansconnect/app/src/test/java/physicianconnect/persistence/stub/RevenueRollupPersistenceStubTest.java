@@ -0,0 +1,51 @@
+package physicianconnect.persistence.stub;
+
+import org.junit.jupiter.api.*;
+import physicianconnect.objects.Invoice;
+import physicianconnect.objects.RevenueRollup;
+import physicianconnect.objects.ServiceItem;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueRollupPersistenceStubTest {
+
+    private InvoicePersistenceStub invoices;
+    private RevenueRollupPersistenceStub stub;
+
+    @BeforeEach
+    void setUp() {
+        invoices = new InvoicePersistenceStub(false);
+        invoices.addInvoice(new Invoice("i1", "1", "Alice", List.of(new ServiceItem("Consult", 100_00)), 0,
+                LocalDateTime.of(2025, 6, 1, 10, 0)));
+        stub = new RevenueRollupPersistenceStub(invoices);
+    }
+
+    @Test
+    void testStartsRolledUpFromInvoices() {
+        List<RevenueRollup> rollups = stub.getRollups(null, null);
+        assertEquals(1, rollups.size());
+        assertEquals(YearMonth.of(2025, 6), rollups.get(0).getMonth());
+        assertEquals(100_00, rollups.get(0).getBilledCents());
+    }
+
+    @Test
+    void testFollowsInvoiceChangesAndRange() {
+        invoices.addInvoice(new Invoice("i2", "1", "Bob", List.of(new ServiceItem("Lab", 40_00)), 0,
+                LocalDateTime.of(2025, 7, 2, 10, 0)));
+        Invoice first = invoices.getInvoiceById("i1");
+        first.setBalanceCents(75_00);
+        first.setStatus("Partial");
+        invoices.updateInvoice(first);
+
+        assertEquals(75_00,
+                stub.getRollups(YearMonth.of(2025, 6), YearMonth.of(2025, 7)).get(0).getOutstandingCents());
+        assertEquals(1, stub.getRollups(YearMonth.of(2025, 7), null).size());
+
+        invoices.deleteInvoiceById("i2");
+        assertTrue(stub.getRollups(YearMonth.of(2025, 7), null).isEmpty());
+    }
+}
@@ -6,12 +6,14 @@ import physicianconnect.logic.controller.AppointmentController;
 import physicianconnect.logic.manager.PhysicianManager;
 import physicianconnect.logic.AvailabilityService;
 import physicianconnect.objects.Physician;
+import physicianconnect.objects.TimeSlot;
 import physicianconnect.presentation.util.TestUtils; // <-- Add this import
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -127,4 +129,65 @@ class AllPhysiciansDailyPanelTest {
         searchField.postActionEvent();
         assertEquals(0, panelsContainer.getComponentCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGridsLoadOnceAndFilteringReusesThem() throws Exception {
+        Physician p1 = new Physician("doc1", "Dr. Alice", "alice@email.com", "pw");
+        Physician p2 = new Physician("doc2", "Dr. Bob", "bob@email.com", "pw");
+        when(physicianManager.getAllPhysicians()).thenReturn(List.of(p1, p2));
+        LocalDate date = LocalDate.of(2025, 6, 10);
+        when(availabilityService.getDailyAvailability(anyCollection(), eq(date))).thenReturn(Map.of(
+                "doc1", TimeSlot.generateDailySlots(date),
+                "doc2", TimeSlot.generateDailySlots(date)));
+
+        AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
+                physicianManager, appointmentController, availabilityService, date, d -> {});
+        verify(availabilityService, timeout(2000)).getDailyAvailability(anyCollection(), eq(date));
+        SwingUtilities.invokeAndWait(() -> {}); // let the worker's done() run
+
+        JTextField searchField = (JTextField) TestUtils.getField(panel, "searchField");
+        JPanel panelsContainer = (JPanel) TestUtils.getField(panel, "panelsContainer");
+        Component aliceBefore = panelsContainer.getComponent(0);
+        assertTrue(((JPanel) aliceBefore).getComponent(1) instanceof DailyAvailabilityPanel);
+
+        searchField.setText("Bob");
+        searchField.setText("");
+
+        assertSame(aliceBefore, panelsContainer.getComponent(0));
+        verify(availabilityService, times(1)).getDailyAvailability(anyCollection(), any());
+        verify(availabilityService, never()).getDailyAvailability(anyString(), any());
+    }
+
+    @Test
+    void testFailedLoadOffersRetryInsteadOfQueryingPerPhysician() throws Exception {
+        Physician p1 = new Physician("doc1", "Dr. Alice", "alice@email.com", "pw");
+        Physician p2 = new Physician("doc2", "Dr. Bob", "bob@email.com", "pw");
+        when(physicianManager.getAllPhysicians()).thenReturn(List.of(p1, p2));
+        LocalDate date = LocalDate.of(2025, 6, 10);
+        when(availabilityService.getDailyAvailability(anyCollection(), eq(date)))
+                .thenThrow(new java.sql.SQLException("db down"))
+                .thenReturn(Map.of(
+                        "doc1", TimeSlot.generateDailySlots(date),
+                        "doc2", TimeSlot.generateDailySlots(date)));
+
+        AllPhysiciansDailyPanel panel = new AllPhysiciansDailyPanel(
+                physicianManager, appointmentController, availabilityService, date, d -> {});
+        verify(availabilityService, timeout(2000)).getDailyAvailability(anyCollection(), eq(date));
+        SwingUtilities.invokeAndWait(() -> {}); // let the worker's done() run
+
+        JPanel panelsContainer = (JPanel) TestUtils.getField(panel, "panelsContainer");
+        for (Component comp : panelsContainer.getComponents()) {
+            assertFalse(((JPanel) comp).getComponent(1) instanceof DailyAvailabilityPanel);
+        }
+        verify(availabilityService, never()).getDailyAvailability(anyString(), any());
+
+        SwingUtilities.invokeAndWait(() -> TestUtils.getButton(panel, "Retry").doClick());
+        verify(availabilityService, timeout(2000).times(2)).getDailyAvailability(anyCollection(), eq(date));
+        SwingUtilities.invokeAndWait(() -> {});
+
+        for (Component comp : panelsContainer.getComponents()) {
+            assertTrue(((JPanel) comp).getComponent(1) instanceof DailyAvailabilityPanel);
+        }
+        verify(availabilityService, never()).getDailyAvailability(anyString(), any());
+    }
+}
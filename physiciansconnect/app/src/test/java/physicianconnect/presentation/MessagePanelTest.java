@@ -11,14 +11,17 @@ import physicianconnect.objects.Receptionist;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class MessagePanelTest {
@@ -84,7 +87,8 @@ class MessagePanelTest {
     void testSelectRecipientAndLoadMessages() throws Exception {
         Message m1 = createMessage("doc1", "physician", "rec1", "receptionist", "Hello", false);
         Message m2 = createMessage("rec1", "receptionist", "doc1", "physician", "Hi!", false);
-        when(messageController.getAllMessagesForUser("doc1", "physician")).thenReturn(List.of(m1, m2));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                isNull(), anyInt())).thenReturn(List.of(m1, m2));
         when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
         when(messageController.getUnreadMessageCount(anyString(), anyString())).thenReturn(0);
 
@@ -107,6 +111,120 @@ class MessagePanelTest {
         assertEquals(2, messageListModel.size());
     }
 
+    @Test
+    void testReselectingRecipientFetchesOnlyNewerMessages() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        Message m1 = createMessage("doc1", "physician", "rec1", "receptionist", "Hello", false);
+        Message m2 = createMessage("rec1", "receptionist", "doc1", "physician", "Hi!", true);
+        Message m3 = createMessage("rec1", "receptionist", "doc1", "physician", "Still there?", false);
+        m1.setTimestamp(base);
+        m2.setTimestamp(base.plusMinutes(1));
+        m3.setTimestamp(base.plusMinutes(2));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                isNull(), anyInt())).thenReturn(List.of(m1, m2));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                eq(m2.getTimestamp()), anyInt())).thenReturn(List.of(m3));
+        when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
+        searchResultsList.setSelectedValue(r1, false);
+
+        // picking the same recipient again
+        var refresh = MessagePanel.class.getDeclaredMethod("refreshMessages");
+        refresh.setAccessible(true);
+        refresh.invoke(panel);
+
+        DefaultListModel<Message> messageListModel = (DefaultListModel<Message>) getField(panel, "messageListModel");
+        assertEquals(3, messageListModel.size());
+        assertEquals("Still there?", messageListModel.get(2).getContent());
+        verify(messageController).markConversationRead("doc1", "physician", "rec1", "receptionist", m3.getTimestamp());
+        verify(messageController, never()).markMessageAsRead(any());
+        verify(messageController, never()).getAllMessagesForUser(anyString(), anyString());
+    }
+
+    @Test
+    void testFullPagesAfterSinceAreAllFetched() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        Message first = createMessage("doc1", "physician", "rec1", "receptionist", "Hello", true);
+        first.setTimestamp(base);
+        List<Message> fullPage = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            Message m = createMessage("rec1", "receptionist", "doc1", "physician", "m" + i, true);
+            m.setTimestamp(base.plusSeconds(i));
+            fullPage.add(m);
+        }
+        Message last = createMessage("rec1", "receptionist", "doc1", "physician", "last", true);
+        last.setTimestamp(base.plusSeconds(201));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                isNull(), anyInt())).thenReturn(List.of(first));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                eq(base), anyInt())).thenReturn(fullPage);
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                eq(base.plusSeconds(200)), anyInt())).thenReturn(List.of(last));
+        when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
+        searchResultsList.setSelectedValue(r1, false);
+
+        var refresh = MessagePanel.class.getDeclaredMethod("refreshMessages");
+        refresh.setAccessible(true);
+        refresh.invoke(panel);
+
+        DefaultListModel<Message> messageListModel = (DefaultListModel<Message>) getField(panel, "messageListModel");
+        assertEquals(202, messageListModel.size());
+        assertEquals("last", messageListModel.get(201).getContent());
+    }
+
+    @Test
+    void testLoadOlderMessagesPrependsHistory() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 9, 0);
+        List<Message> latestPage = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Message m = createMessage("rec1", "receptionist", "doc1", "physician", "m" + i, true);
+            m.setTimestamp(base.plusMinutes(i));
+            latestPage.add(m);
+        }
+        Message older = createMessage("doc1", "physician", "rec1", "receptionist", "older", true);
+        older.setTimestamp(base.minusMinutes(1));
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                isNull(), anyInt())).thenReturn(latestPage);
+        when(messageController.getConversationBefore(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                eq(base), anyInt())).thenReturn(List.of(older));
+        when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
+        searchResultsList.setSelectedValue(r1, false);
+
+        JButton olderButton = (JButton) getField(panel, "olderMessagesButton");
+        assertTrue(olderButton.isVisible());
+        olderButton.doClick();
+
+        DefaultListModel<Message> messageListModel = (DefaultListModel<Message>) getField(panel, "messageListModel");
+        assertEquals(201, messageListModel.size());
+        assertEquals("older", messageListModel.get(0).getContent());
+        assertEquals("m0", messageListModel.get(1).getContent());
+        assertFalse(olderButton.isVisible());
+    }
+
+    @Test
+    void testShortLatestPageHidesOlderButton() {
+        Message m1 = createMessage("doc1", "physician", "rec1", "receptionist", "Hello", false);
+        when(messageController.getConversation(eq("doc1"), eq("physician"), eq("rec1"), eq("receptionist"),
+                isNull(), anyInt())).thenReturn(List.of(m1));
+        when(messageController.getUnreadMessagesForUser(anyString(), anyString())).thenReturn(List.of());
+
+        MessagePanel panel = new MessagePanel(messageController, "doc1", "physician", users);
+        JList<Object> searchResultsList = (JList<Object>) getField(panel, "searchResultsList");
+        searchResultsList.setSelectedValue(r1, false);
+
+        assertFalse(((JButton) getField(panel, "olderMessagesButton")).isVisible());
+        verify(messageController, never()).getConversationBefore(anyString(), anyString(), anyString(), anyString(),
+                any(), anyInt());
+    }
+
 @Test
 void testSendMessageSuccess() throws Exception {
     Message sent = createMessage("doc1", "physician", "rec1", "receptionist", "How are you?", false);
@@ -34,7 +34,7 @@ void testLoadNotificationsFromPersistence() {
     when(notificationPersistence.getNotificationsForUser("uid", "utype")).thenReturn(stored);
 
     NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
-    panel.loadNotifications();
+    panel.refresh(null);
 
     DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
     assertEquals(2, model.size());
@@ -124,4 +124,46 @@ void testLoadNotificationsFromPersistence() {
     }
 
 
-}
\ No newline at end of file
+
+    @Test
+    void testNotificationStoredAddsWithoutQuerying() {
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        clearInvocations(notificationPersistence);
+
+        Notification n = new Notification("pushed", "typeX", LocalDateTime.now(), "uid", "utype");
+        panel.notificationStored(n);
+        panel.notificationStored(n);
+
+        DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
+        assertEquals(1, model.size());
+        assertEquals(1, panel.getKnownUnreadCount());
+        verifyNoInteractions(notificationPersistence);
+    }
+
+    @Test
+    void testNotificationStoredIgnoresOtherUsersAndOwnAdds() {
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        panel.notificationStored(new Notification("other", "typeX", LocalDateTime.now(), "someone", "utype"));
+
+        panel.addNotification("mine", "typeX");
+        DefaultListModel<?> model = (DefaultListModel<?>) TestUtils.getField(panel, "notificationListModel");
+        panel.notificationStored((Notification) model.get(0));
+
+        assertEquals(1, model.size());
+        assertEquals(1, panel.getKnownUnreadCount());
+    }
+
+    @Test
+    void testMarkAllAsReadIsOneUpdate() {
+        Notification n = new Notification("msg", "typeX", LocalDateTime.now(), "uid", "utype");
+        when(notificationPersistence.getNotificationsForUser("uid", "utype")).thenReturn(List.of(n));
+        NotificationPanel panel = new NotificationPanel(notificationPersistence, "uid", "utype");
+        assertEquals(1, panel.getKnownUnreadCount());
+
+        panel.markAllAsRead();
+
+        verify(notificationPersistence).markAllAsRead("uid", "utype");
+        assertTrue(n.isRead());
+        assertEquals(0, panel.getKnownUnreadCount());
+    }
+}
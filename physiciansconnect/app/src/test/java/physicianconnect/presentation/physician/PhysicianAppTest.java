@@ -214,7 +214,7 @@ public class PhysicianAppTest {
             NotificationPanel notifPanel = (NotificationPanel) getField(app, "notificationPanel");
             assertNotNull(notifPanel);
             // Should be 0 unread after opening
-            assertEquals(0, notifPanel.getUnreadNotificationCount());
+            assertEquals(0, notifPanel.getKnownUnreadCount());
 
             frame.dispose();
         });
@@ -402,7 +402,11 @@ public class PhysicianAppTest {
                     physicianconnect.persistence.PersistenceFactory.class)) {
                 pfMock.when(physicianconnect.persistence.PersistenceFactory::getNotificationPersistence).thenReturn(np);
                 app.onAppointmentCreated(apt);
-                verify(np, atLeastOnce()).addNotification(any(Notification.class));
+                // one batched write for all receptionists, off the EDT
+                verify(np, timeout(2000)).addNotifications(argThat(batch -> batch.size() == 1
+                        && batch.get(0).getUserId().equals("rec1")
+                        && batch.get(0).getUserType().equals("receptionist")));
+                verify(np, never()).addNotification(argThat(n -> n.getUserType().equals("receptionist")));
             }
             frame.dispose();
         });
@@ -433,7 +437,8 @@ public class PhysicianAppTest {
                 pfMock.when(physicianconnect.persistence.PersistenceFactory::getNotificationPersistence).thenReturn(np);
                 app.onAppointmentUpdated(apt);
                 app.onAppointmentDeleted(apt);
-                verify(np, atLeastOnce()).addNotification(any(Notification.class));
+                verify(np, timeout(2000).times(2)).addNotifications(argThat(batch -> batch.size() == 1
+                        && batch.get(0).getUserId().equals("rec1")));
             }
             frame.dispose();
         });
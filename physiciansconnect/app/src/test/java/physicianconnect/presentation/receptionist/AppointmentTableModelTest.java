@@ -0,0 +1,136 @@
+package physicianconnect.presentation.receptionist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import physicianconnect.objects.Appointment;
+import physicianconnect.presentation.config.UIConfig;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppointmentTableModelTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    private AppointmentTableModel model;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        model = new AppointmentTableModel();
+        model.load(null, List.of(
+                new Appointment(3, "doc2", "Cara", NINE.plusHours(2), ""),
+                new Appointment(1, "doc1", "Alice", NINE, ""),
+                new Appointment(2, "doc1", "Bob", NINE.plusHours(1), "")),
+                Map.of("doc1", "Dr. One", "doc2", "Dr. Two"));
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    @Test
+    void testLoadSortsByDateTime() {
+        assertEquals(3, model.getRowCount());
+        assertEquals("Alice", model.getValueAt(0, AppointmentTableModel.PATIENT_COLUMN));
+        assertEquals("Bob", model.getValueAt(1, AppointmentTableModel.PATIENT_COLUMN));
+        assertEquals("Cara", model.getValueAt(2, AppointmentTableModel.PATIENT_COLUMN));
+    }
+
+    @Test
+    void testCellsHoldRawValues() {
+        assertEquals("Dr. One", model.getValueAt(0, AppointmentTableModel.PHYSICIAN_COLUMN));
+        assertEquals(LocalDate.of(2030, 3, 4), model.getValueAt(0, AppointmentTableModel.DATE_COLUMN));
+        assertEquals(LocalTime.of(9, 0), model.getValueAt(0, AppointmentTableModel.TIME_COLUMN));
+        assertEquals(LocalDate.class, model.getColumnClass(AppointmentTableModel.DATE_COLUMN));
+        assertFalse(model.isCellEditable(0, 0));
+    }
+
+    @Test
+    void testUnknownPhysicianGetsPlaceholder() {
+        model.appointmentCreated(new Appointment(4, "ghost", "Dan", NINE.plusDays(1), ""));
+        assertEquals(UIConfig.UNKNOWN_PHYSICIAN_LABEL, model.getValueAt(3, AppointmentTableModel.PHYSICIAN_COLUMN));
+    }
+
+    @Test
+    void testCreatedInsertsOneRowInOrder() {
+        model.appointmentCreated(new Appointment("doc2", "Dan", NINE.plusMinutes(30)));
+
+        assertEquals(4, model.getRowCount());
+        assertEquals("Dan", model.getValueAt(1, AppointmentTableModel.PATIENT_COLUMN));
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(1, events.get(0).getFirstRow());
+        assertEquals(1, events.get(0).getLastRow());
+    }
+
+    @Test
+    void testCreatedTwiceIsOneRow() {
+        Appointment a = new Appointment("doc2", "Dan", NINE.plusMinutes(30));
+        model.appointmentCreated(a);
+        model.appointmentCreated(a);
+        assertEquals(4, model.getRowCount());
+    }
+
+    @Test
+    void testUpdateInPlaceRepaintsOneRow() {
+        Appointment bob = model.getAppointmentAt(1);
+        bob.setNotes("follow-up");
+        model.appointmentUpdated(bob);
+
+        assertEquals(3, model.getRowCount());
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.UPDATE, events.get(0).getType());
+        assertEquals(1, events.get(0).getFirstRow());
+        assertEquals(1, events.get(0).getLastRow());
+    }
+
+    @Test
+    void testMovedAppointmentChangesRow() {
+        // same id at a new time, as updateAppointmentDateTime hands it out
+        model.appointmentUpdated(new Appointment(1, "doc1", "Alice", NINE.plusHours(3), ""));
+
+        assertEquals(3, model.getRowCount());
+        assertEquals("Bob", model.getValueAt(0, AppointmentTableModel.PATIENT_COLUMN));
+        assertEquals("Alice", model.getValueAt(2, AppointmentTableModel.PATIENT_COLUMN));
+        assertEquals(2, model.rowOfId(1));
+    }
+
+    @Test
+    void testDeletedByIdRemovesOneRow() {
+        model.appointmentDeleted(new Appointment(2, "doc1", "Bob", NINE.plusHours(1), ""));
+
+        assertEquals(2, model.getRowCount());
+        assertEquals(-1, model.rowOfId(2));
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.DELETE, events.get(0).getType());
+        assertEquals(1, events.get(0).getFirstRow());
+    }
+
+    @Test
+    void testDeletedWithoutIdMatchesSlotAndPatient() {
+        model.appointmentDeleted(new Appointment("doc2", "Cara", NINE.plusHours(2)));
+        assertEquals(2, model.getRowCount());
+
+        model.appointmentDeleted(new Appointment("doc1", "Someone else", NINE));
+        assertEquals(2, model.getRowCount());
+    }
+
+    @Test
+    void testPhysicianFilterIgnoresOtherPhysicians() {
+        model.load("doc1", List.of(new Appointment(1, "doc1", "Alice", NINE, ""),
+                new Appointment(3, "doc2", "Cara", NINE.plusHours(2), "")), Map.of());
+        assertEquals(1, model.getRowCount());
+
+        model.appointmentCreated(new Appointment("doc2", "Dan", NINE.plusHours(4)));
+        assertEquals(1, model.getRowCount());
+
+        model.appointmentCreated(new Appointment("doc1", "Eve", NINE.plusHours(4)));
+        assertEquals(2, model.getRowCount());
+    }
+}
@@ -0,0 +1,50 @@
+package physicianconnect.presentation.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdtWatchdogTest {
+
+    @Test
+    void testDescribeNamesOutermostPersistenceFrameAndCaller() {
+        StackTraceElement[] stack = {
+                new StackTraceElement("org.sqlite.core.NativeDB", "step", "NativeDB.java", 1),
+                new StackTraceElement("physicianconnect.persistence.ConnectionPool", "read", "ConnectionPool.java", 2),
+                new StackTraceElement("physicianconnect.persistence.sqlite.InvoiceDB", "getAllInvoices", "InvoiceDB.java", 3),
+                new StackTraceElement("physicianconnect.presentation.receptionist.BillingPanel", "refreshInvoices",
+                        "BillingPanel.java", 4),
+                new StackTraceElement("java.awt.EventQueue", "dispatchEvent", "EventQueue.java", 5)
+        };
+
+        String description = EdtWatchdog.describe(stack);
+
+        assertTrue(description.contains("physicianconnect.persistence.sqlite.InvoiceDB.getAllInvoices"));
+        assertTrue(description.contains("BillingPanel.refreshInvoices"));
+    }
+
+    @Test
+    void testDescribeWithoutPersistenceFrames() {
+        StackTraceElement[] stack = {
+                new StackTraceElement("java.lang.Thread", "sleep", "Thread.java", 1)
+        };
+        assertEquals("outside persistence", EdtWatchdog.describe(stack));
+    }
+
+    @Test
+    void testStallOverThresholdIsReported() throws Exception {
+        try (EdtWatchdog watchdog = EdtWatchdog.start(50)) {
+            Thread.sleep(100); // let the first heartbeat through
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    Thread.sleep(400);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(watchdog.getStallCount() >= 1);
+        }
+    }
+}
@@ -26,18 +26,18 @@ class InvoiceExportUtilTest {
 
     @BeforeEach
     void setup() {
-        services = List.of(new ServiceItem("Consult", 100.0), new ServiceItem("Lab", 50.0));
+        services = List.of(new ServiceItem("Consult", 100_00), new ServiceItem("Lab", 50_00));
         invoice = mock(Invoice.class);
         when(invoice.getPatientName()).thenReturn("John Doe");
         when(invoice.getServices()).thenReturn(services);
-        when(invoice.getInsuranceAdjustment()).thenReturn(10.0);
-        when(invoice.getTotalAmount()).thenReturn(150.0);
-        when(invoice.getBalance()).thenReturn(40.0);
+        when(invoice.getInsuranceAdjustmentCents()).thenReturn(10_00L);
+        when(invoice.getTotalCents()).thenReturn(150_00L);
+        when(invoice.getBalanceCents()).thenReturn(40_00L);
         when(invoice.getStatus()).thenReturn("Unpaid");
         when(invoice.getCreatedAt()).thenReturn(LocalDateTime.of(2024, 1, 1, 10, 0));
         payments = List.of(
-                new Payment("1", "1", 50.0, "Cash"),
-                new Payment("2", "1", 60.0, "Card")
+                new Payment("1", "1", 50_00, "Cash"),
+                new Payment("2", "1", 60_00, "Card")
         );
     }
 
@@ -0,0 +1,111 @@
+package physicianconnect.presentation.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UiTasksTest {
+
+    @Test
+    void testSubmitFromEdtRunsWorkOffEdtAndCompletesOnEdt() throws Exception {
+        AtomicBoolean workOnEdt = new AtomicBoolean(true);
+        AtomicBoolean doneOnEdt = new AtomicBoolean(false);
+        AtomicReference<String> result = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        SwingUtilities.invokeAndWait(() -> UiTasks.submit("test", () -> {
+            workOnEdt.set(SwingUtilities.isEventDispatchThread());
+            return "loaded";
+        }, value -> {
+            doneOnEdt.set(SwingUtilities.isEventDispatchThread());
+            result.set(value);
+            done.countDown();
+        }));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(workOnEdt.get());
+        assertTrue(doneOnEdt.get());
+        assertEquals("loaded", result.get());
+    }
+
+    @Test
+    void testSubmitOffEdtRunsInline() {
+        List<String> results = new ArrayList<>();
+        UiTasks.Task task = UiTasks.submit("inline", () -> "now", results::add);
+
+        assertEquals(List.of("now"), results);
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    void testFailureGoesToOnError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        UiTasks.submit("failing", () -> {
+            throw new IllegalStateException("db down");
+        }, value -> fail("should not complete"), error::set);
+
+        assertEquals("db down", error.get().getMessage());
+    }
+
+    @Test
+    void testLaneDropsSupersededResult() throws Exception {
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        CountDownLatch slowFinished = new CountDownLatch(1);
+        UiTasks.Lane lane = new UiTasks.Lane();
+
+        SwingUtilities.invokeAndWait(() -> lane.submit("slow", () -> {
+            slowStarted.countDown();
+            releaseSlow.await();
+            slowFinished.countDown();
+            return "stale";
+        }, results::add));
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch freshDone = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> lane.submit("fresh", () -> "fresh", value -> {
+            results.add(value);
+            freshDone.countDown();
+        }));
+        assertTrue(freshDone.await(5, TimeUnit.SECONDS));
+
+        releaseSlow.countDown();
+        assertTrue(slowFinished.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { }); // let any stale completion run
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of("fresh"), results);
+    }
+
+    @Test
+    void testCancelledTaskDoesNotComplete() throws Exception {
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<UiTasks.Task> task = new AtomicReference<>();
+
+        SwingUtilities.invokeAndWait(() -> task.set(UiTasks.submit("cancel me", () -> {
+            release.await();
+            finished.countDown();
+            return "late";
+        }, results::add)));
+        SwingUtilities.invokeAndWait(() -> task.get().cancel());
+        release.countDown();
+        finished.await(1, TimeUnit.SECONDS);
+        SwingUtilities.invokeAndWait(() -> { });
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertTrue(task.get().isCancelled());
+        assertTrue(results.isEmpty());
+    }
+}
@@ -0,0 +1,4 @@
+INSERT OR IGNORE INTO invoice_items (invoice_id, position, name, cost) VALUES
+('inv-1', 0, 'Lab', 100),
+('inv-2', 0, 'Consult', 100),
+('inv-3', 0, 'XRay', 75);